@@ -0,0 +1,106 @@
+package de.invesdwin.context.julia.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+import de.invesdwin.context.julia.runtime.contract.AScriptTaskJulia;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
+
+/**
+ * Each operation is a complete script task, thus it includes borrowing and resetting the julia instance. Compare with
+ * JuliaEvalBenchmark.task to get the share of the transfer itself.
+ */
+@NotThreadSafe
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class AJuliaTransferBenchmark {
+
+    private static final String VARIABLE = "benchmarkValue";
+
+    //jmh injects the parameters into public fields, all enum values are used by default
+    @Param
+    public JuliaBenchmarkRuntime runtime;
+    @Param
+    public JuliaBenchmarkType type;
+
+    private IScriptTaskRunnerJulia runner;
+    private AScriptTaskJulia<Void> putTask;
+    private AScriptTaskJulia<Object> getTask;
+
+    protected abstract JuliaBenchmarkShape getShape();
+
+    protected abstract int getElements();
+
+    @Setup
+    public void setup() {
+        runner = runtime.getRunner();
+        final JuliaBenchmarkShape shape = getShape();
+        final int elements = getElements();
+        final Object value = shape.newValue(type, elements);
+        final String juliaValue = shape.newJuliaValue(type, elements);
+        putTask = new AScriptTaskJulia<Void>() {
+            @Override
+            public void populateInputs(final IScriptTaskInputs inputs) {
+                shape.put(type, inputs, VARIABLE, value);
+            }
+
+            @Override
+            public void executeScript(final IScriptTaskEngine engine) {
+                //only the transfer is measured
+            }
+
+            @Override
+            public Void extractResults(final IScriptTaskResults results) {
+                return null;
+            }
+        };
+        getTask = new AScriptTaskJulia<Object>() {
+            @Override
+            public void populateInputs(final IScriptTaskInputs inputs) {}
+
+            @Override
+            public void executeScript(final IScriptTaskEngine engine) {
+                engine.eval(VARIABLE + " = " + juliaValue);
+            }
+
+            @Override
+            public Object extractResults(final IScriptTaskResults results) {
+                return shape.get(type, results, VARIABLE);
+            }
+        };
+    }
+
+    @Benchmark
+    public void put() {
+        putTask.run(runner);
+    }
+
+    /**
+     * Also includes creating the value in julia, which is negligible compared to the transfer for larger sizes.
+     */
+    @Benchmark
+    public Object get() {
+        return getTask.run(runner);
+    }
+
+}
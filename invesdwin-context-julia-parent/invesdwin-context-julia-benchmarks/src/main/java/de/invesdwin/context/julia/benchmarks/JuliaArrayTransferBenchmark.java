@@ -0,0 +1,29 @@
+package de.invesdwin.context.julia.benchmarks;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Use e.g. "-p elements=1000" to only measure a specific size, the larger sizes take a long time with the json and
+ * expression based transfers.
+ */
+@NotThreadSafe
+public class JuliaArrayTransferBenchmark extends AJuliaTransferBenchmark {
+
+    @Param({ "VECTOR", "MATRIX" })
+    public JuliaBenchmarkShape shape;
+    @Param({ "1", "10", "100", "1000", "10000", "100000", "1000000", "10000000" })
+    public int elements;
+
+    @Override
+    protected JuliaBenchmarkShape getShape() {
+        return shape;
+    }
+
+    @Override
+    protected int getElements() {
+        return elements;
+    }
+
+}
@@ -0,0 +1,44 @@
+package de.invesdwin.context.julia.benchmarks;
+
+import javax.annotation.concurrent.Immutable;
+
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
+import de.invesdwin.context.julia.runtime.jajub.JajubScriptTaskRunnerJulia;
+import de.invesdwin.context.julia.runtime.julia4j.Julia4jScriptTaskRunnerJulia;
+import de.invesdwin.context.julia.runtime.juliacaller.JuliaCallerScriptTaskRunnerJulia;
+import de.invesdwin.context.julia.runtime.libjuliaclj.LibjuliacljScriptTaskRunnerJulia;
+
+/**
+ * The runners are only resolved in the forked benchmark jvm, thus julia4j and libjuliaclj never load their native
+ * julia library into the same process.
+ */
+@Immutable
+public enum JuliaBenchmarkRuntime {
+    JAJUB {
+        @Override
+        public IScriptTaskRunnerJulia getRunner() {
+            return JajubScriptTaskRunnerJulia.INSTANCE;
+        }
+    },
+    JULIACALLER {
+        @Override
+        public IScriptTaskRunnerJulia getRunner() {
+            return JuliaCallerScriptTaskRunnerJulia.INSTANCE;
+        }
+    },
+    JULIA4J {
+        @Override
+        public IScriptTaskRunnerJulia getRunner() {
+            return Julia4jScriptTaskRunnerJulia.INSTANCE;
+        }
+    },
+    LIBJULIACLJ {
+        @Override
+        public IScriptTaskRunnerJulia getRunner() {
+            return LibjuliacljScriptTaskRunnerJulia.INSTANCE;
+        }
+    };
+
+    public abstract IScriptTaskRunnerJulia getRunner();
+
+}
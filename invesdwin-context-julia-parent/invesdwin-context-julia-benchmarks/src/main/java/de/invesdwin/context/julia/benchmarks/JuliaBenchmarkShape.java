@@ -0,0 +1,102 @@
+package de.invesdwin.context.julia.benchmarks;
+
+import javax.annotation.concurrent.Immutable;
+
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+
+@Immutable
+public enum JuliaBenchmarkShape {
+    SCALAR {
+        @Override
+        public Object newValue(final JuliaBenchmarkType type, final int elements) {
+            return type.newScalar();
+        }
+
+        @Override
+        public String newJuliaValue(final JuliaBenchmarkType type, final int elements) {
+            return type.getJuliaScalar();
+        }
+
+        @Override
+        public void put(final JuliaBenchmarkType type, final IScriptTaskInputs inputs, final String variable,
+                final Object value) {
+            type.putScalar(inputs, variable, value);
+        }
+
+        @Override
+        public Object get(final JuliaBenchmarkType type, final IScriptTaskResults results, final String variable) {
+            return type.getScalar(results, variable);
+        }
+    },
+    VECTOR {
+        @Override
+        public Object newValue(final JuliaBenchmarkType type, final int elements) {
+            return type.newVector(elements);
+        }
+
+        @Override
+        public String newJuliaValue(final JuliaBenchmarkType type, final int elements) {
+            return "fill(" + type.getJuliaScalar() + ", " + elements + ")";
+        }
+
+        @Override
+        public void put(final JuliaBenchmarkType type, final IScriptTaskInputs inputs, final String variable,
+                final Object value) {
+            type.putVector(inputs, variable, value);
+        }
+
+        @Override
+        public Object get(final JuliaBenchmarkType type, final IScriptTaskResults results, final String variable) {
+            return type.getVector(results, variable);
+        }
+    },
+    MATRIX {
+        @Override
+        public Object newValue(final JuliaBenchmarkType type, final int elements) {
+            final int rows = getRows(elements);
+            return type.newMatrix(rows, elements / rows);
+        }
+
+        @Override
+        public String newJuliaValue(final JuliaBenchmarkType type, final int elements) {
+            final int rows = getRows(elements);
+            return "fill(" + type.getJuliaScalar() + ", " + rows + ", " + elements / rows + ")";
+        }
+
+        @Override
+        public void put(final JuliaBenchmarkType type, final IScriptTaskInputs inputs, final String variable,
+                final Object value) {
+            type.putMatrix(inputs, variable, value);
+        }
+
+        @Override
+        public Object get(final JuliaBenchmarkType type, final IScriptTaskResults results, final String variable) {
+            return type.getMatrix(results, variable);
+        }
+    };
+
+    /**
+     * Keeps the matrix as square as possible for a power of ten, e.g. 10x100 for 1000 elements. Other element counts
+     * are rounded down to a multiple of the rows.
+     */
+    private static int getRows(final int elements) {
+        int rows = 1;
+        while ((long) rows * rows * 100 <= elements) {
+            rows *= 10;
+        }
+        return rows;
+    }
+
+    public abstract Object newValue(JuliaBenchmarkType type, int elements);
+
+    /**
+     * The julia expression that creates the same value as newValue().
+     */
+    public abstract String newJuliaValue(JuliaBenchmarkType type, int elements);
+
+    public abstract void put(JuliaBenchmarkType type, IScriptTaskInputs inputs, String variable, Object value);
+
+    public abstract Object get(JuliaBenchmarkType type, IScriptTaskResults results, String variable);
+
+}
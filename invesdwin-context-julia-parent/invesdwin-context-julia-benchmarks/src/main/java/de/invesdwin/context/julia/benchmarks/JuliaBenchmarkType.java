@@ -0,0 +1,351 @@
+package de.invesdwin.context.julia.benchmarks;
+
+import java.lang.reflect.Array;
+
+import javax.annotation.concurrent.Immutable;
+
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+
+/**
+ * Every primitive type that can be transferred, all elements are filled with the same non default value so that
+ * missing value handling does not distort the measurements.
+ */
+@Immutable
+public enum JuliaBenchmarkType {
+    BOOLEAN(boolean.class, "true") {
+        @Override
+        public Object newScalar() {
+            return Boolean.valueOf(true);
+        }
+
+        @Override
+        public void putScalar(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putBoolean(variable, (Boolean) value);
+        }
+
+        @Override
+        public void putVector(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putBooleanVector(variable, (boolean[]) value);
+        }
+
+        @Override
+        public void putMatrix(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putBooleanMatrix(variable, (boolean[][]) value);
+        }
+
+        @Override
+        public Object getScalar(final IScriptTaskResults results, final String variable) {
+            return results.getBoolean(variable);
+        }
+
+        @Override
+        public Object getVector(final IScriptTaskResults results, final String variable) {
+            return results.getBooleanVector(variable);
+        }
+
+        @Override
+        public Object getMatrix(final IScriptTaskResults results, final String variable) {
+            return results.getBooleanMatrix(variable);
+        }
+    },
+    BYTE(byte.class, "Int8(1)") {
+        @Override
+        public Object newScalar() {
+            return Byte.valueOf((byte) 1);
+        }
+
+        @Override
+        public void putScalar(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putByte(variable, (Byte) value);
+        }
+
+        @Override
+        public void putVector(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putByteVector(variable, (byte[]) value);
+        }
+
+        @Override
+        public void putMatrix(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putByteMatrix(variable, (byte[][]) value);
+        }
+
+        @Override
+        public Object getScalar(final IScriptTaskResults results, final String variable) {
+            return results.getByte(variable);
+        }
+
+        @Override
+        public Object getVector(final IScriptTaskResults results, final String variable) {
+            return results.getByteVector(variable);
+        }
+
+        @Override
+        public Object getMatrix(final IScriptTaskResults results, final String variable) {
+            return results.getByteMatrix(variable);
+        }
+    },
+    CHARACTER(char.class, "'a'") {
+        @Override
+        public Object newScalar() {
+            return Character.valueOf('a');
+        }
+
+        @Override
+        public void putScalar(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putCharacter(variable, (Character) value);
+        }
+
+        @Override
+        public void putVector(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putCharacterVector(variable, (char[]) value);
+        }
+
+        @Override
+        public void putMatrix(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putCharacterMatrix(variable, (char[][]) value);
+        }
+
+        @Override
+        public Object getScalar(final IScriptTaskResults results, final String variable) {
+            return results.getCharacter(variable);
+        }
+
+        @Override
+        public Object getVector(final IScriptTaskResults results, final String variable) {
+            return results.getCharacterVector(variable);
+        }
+
+        @Override
+        public Object getMatrix(final IScriptTaskResults results, final String variable) {
+            return results.getCharacterMatrix(variable);
+        }
+    },
+    SHORT(short.class, "Int16(1)") {
+        @Override
+        public Object newScalar() {
+            return Short.valueOf((short) 1);
+        }
+
+        @Override
+        public void putScalar(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putShort(variable, (Short) value);
+        }
+
+        @Override
+        public void putVector(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putShortVector(variable, (short[]) value);
+        }
+
+        @Override
+        public void putMatrix(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putShortMatrix(variable, (short[][]) value);
+        }
+
+        @Override
+        public Object getScalar(final IScriptTaskResults results, final String variable) {
+            return results.getShort(variable);
+        }
+
+        @Override
+        public Object getVector(final IScriptTaskResults results, final String variable) {
+            return results.getShortVector(variable);
+        }
+
+        @Override
+        public Object getMatrix(final IScriptTaskResults results, final String variable) {
+            return results.getShortMatrix(variable);
+        }
+    },
+    INTEGER(int.class, "Int32(1)") {
+        @Override
+        public Object newScalar() {
+            return Integer.valueOf(1);
+        }
+
+        @Override
+        public void putScalar(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putInteger(variable, (Integer) value);
+        }
+
+        @Override
+        public void putVector(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putIntegerVector(variable, (int[]) value);
+        }
+
+        @Override
+        public void putMatrix(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putIntegerMatrix(variable, (int[][]) value);
+        }
+
+        @Override
+        public Object getScalar(final IScriptTaskResults results, final String variable) {
+            return results.getInteger(variable);
+        }
+
+        @Override
+        public Object getVector(final IScriptTaskResults results, final String variable) {
+            return results.getIntegerVector(variable);
+        }
+
+        @Override
+        public Object getMatrix(final IScriptTaskResults results, final String variable) {
+            return results.getIntegerMatrix(variable);
+        }
+    },
+    LONG(long.class, "Int64(1)") {
+        @Override
+        public Object newScalar() {
+            return Long.valueOf(1L);
+        }
+
+        @Override
+        public void putScalar(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putLong(variable, (Long) value);
+        }
+
+        @Override
+        public void putVector(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putLongVector(variable, (long[]) value);
+        }
+
+        @Override
+        public void putMatrix(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putLongMatrix(variable, (long[][]) value);
+        }
+
+        @Override
+        public Object getScalar(final IScriptTaskResults results, final String variable) {
+            return results.getLong(variable);
+        }
+
+        @Override
+        public Object getVector(final IScriptTaskResults results, final String variable) {
+            return results.getLongVector(variable);
+        }
+
+        @Override
+        public Object getMatrix(final IScriptTaskResults results, final String variable) {
+            return results.getLongMatrix(variable);
+        }
+    },
+    FLOAT(float.class, "Float32(1)") {
+        @Override
+        public Object newScalar() {
+            return Float.valueOf(1F);
+        }
+
+        @Override
+        public void putScalar(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putFloat(variable, (Float) value);
+        }
+
+        @Override
+        public void putVector(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putFloatVector(variable, (float[]) value);
+        }
+
+        @Override
+        public void putMatrix(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putFloatMatrix(variable, (float[][]) value);
+        }
+
+        @Override
+        public Object getScalar(final IScriptTaskResults results, final String variable) {
+            return results.getFloat(variable);
+        }
+
+        @Override
+        public Object getVector(final IScriptTaskResults results, final String variable) {
+            return results.getFloatVector(variable);
+        }
+
+        @Override
+        public Object getMatrix(final IScriptTaskResults results, final String variable) {
+            return results.getFloatMatrix(variable);
+        }
+    },
+    DOUBLE(double.class, "Float64(1)") {
+        @Override
+        public Object newScalar() {
+            return Double.valueOf(1D);
+        }
+
+        @Override
+        public void putScalar(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putDouble(variable, (Double) value);
+        }
+
+        @Override
+        public void putVector(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putDoubleVector(variable, (double[]) value);
+        }
+
+        @Override
+        public void putMatrix(final IScriptTaskInputs inputs, final String variable, final Object value) {
+            inputs.putDoubleMatrix(variable, (double[][]) value);
+        }
+
+        @Override
+        public Object getScalar(final IScriptTaskResults results, final String variable) {
+            return results.getDouble(variable);
+        }
+
+        @Override
+        public Object getVector(final IScriptTaskResults results, final String variable) {
+            return results.getDoubleVector(variable);
+        }
+
+        @Override
+        public Object getMatrix(final IScriptTaskResults results, final String variable) {
+            return results.getDoubleMatrix(variable);
+        }
+    };
+
+    private final Class<?> componentType;
+    private final String juliaScalar;
+
+    JuliaBenchmarkType(final Class<?> componentType, final String juliaScalar) {
+        this.componentType = componentType;
+        this.juliaScalar = juliaScalar;
+    }
+
+    /**
+     * The julia expression that creates the same value as newScalar().
+     */
+    public String getJuliaScalar() {
+        return juliaScalar;
+    }
+
+    public abstract Object newScalar();
+
+    public Object newVector(final int length) {
+        final Object vector = Array.newInstance(componentType, length);
+        final Object scalar = newScalar();
+        for (int i = 0; i < length; i++) {
+            Array.set(vector, i, scalar);
+        }
+        return vector;
+    }
+
+    public Object newMatrix(final int rows, final int columns) {
+        final Object matrix = Array.newInstance(componentType, rows, columns);
+        for (int r = 0; r < rows; r++) {
+            Array.set(matrix, r, newVector(columns));
+        }
+        return matrix;
+    }
+
+    public abstract void putScalar(IScriptTaskInputs inputs, String variable, Object value);
+
+    public abstract void putVector(IScriptTaskInputs inputs, String variable, Object value);
+
+    public abstract void putMatrix(IScriptTaskInputs inputs, String variable, Object value);
+
+    public abstract Object getScalar(IScriptTaskResults results, String variable);
+
+    public abstract Object getVector(IScriptTaskResults results, String variable);
+
+    public abstract Object getMatrix(IScriptTaskResults results, String variable);
+
+}
@@ -0,0 +1,32 @@
+package de.invesdwin.context.julia.benchmarks;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks with the gc profiler (allocation rate and gc counts per operation). Accepts the usual jmh
+ * arguments, e.g. "JuliaArrayTransferBenchmark -p runtime=JAJUB,LIBJULIACLJ -p type=DOUBLE -rf json". Each parameter
+ * combination runs in a forked jvm that inherits the jvm arguments (system properties) and environment (e.g.
+ * LD_PRELOAD for julia4j and libjuliaclj) of this process.
+ */
+@Immutable
+public final class JuliaBenchmarks {
+
+    private JuliaBenchmarks() {}
+
+    public static void main(final String[] args) throws Exception {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions)
+                .addProfiler(GCProfiler.class);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include(JuliaBenchmarks.class.getPackage().getName() + ".*");
+        }
+        new Runner(options.build()).run();
+    }
+
+}
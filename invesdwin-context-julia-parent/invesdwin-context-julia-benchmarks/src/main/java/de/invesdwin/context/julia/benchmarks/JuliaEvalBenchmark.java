@@ -0,0 +1,99 @@
+package de.invesdwin.context.julia.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+import de.invesdwin.context.julia.runtime.contract.AScriptTaskJulia;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
+
+@NotThreadSafe
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JuliaEvalBenchmark {
+
+    private static final int EVALS = 100;
+
+    //jmh injects the parameters into public fields, all enum values are used by default
+    @Param
+    public JuliaBenchmarkRuntime runtime;
+
+    private IScriptTaskRunnerJulia runner;
+    private AScriptTaskJulia<Void> emptyTask;
+    private AScriptTaskJulia<Void> evalTask;
+
+    @Setup
+    public void setup() {
+        runner = runtime.getRunner();
+        emptyTask = new AScriptTaskJulia<Void>() {
+            @Override
+            public void populateInputs(final IScriptTaskInputs inputs) {}
+
+            @Override
+            public void executeScript(final IScriptTaskEngine engine) {
+                engine.eval("nothing");
+            }
+
+            @Override
+            public Void extractResults(final IScriptTaskResults results) {
+                return null;
+            }
+        };
+        evalTask = new AScriptTaskJulia<Void>() {
+            @Override
+            public void populateInputs(final IScriptTaskInputs inputs) {}
+
+            @Override
+            public void executeScript(final IScriptTaskEngine engine) {
+                for (int i = 0; i < EVALS; i++) {
+                    engine.eval("nothing");
+                }
+            }
+
+            @Override
+            public Void extractResults(final IScriptTaskResults results) {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Overhead of a script task with a single eval: borrowing, resetting and one round trip.
+     */
+    @Benchmark
+    public void task() {
+        emptyTask.run(runner);
+    }
+
+    /**
+     * Latency of one eval round trip. Each invocation runs a whole task with EVALS evals, thus the overhead of
+     * borrowing and resetting the instance is amortized over them instead of being excluded. Subtract task() / EVALS
+     * to approximate the pure round trip.
+     */
+    @Benchmark
+    @OperationsPerInvocation(EVALS)
+    public void eval() {
+        evalTask.run(runner);
+    }
+
+}
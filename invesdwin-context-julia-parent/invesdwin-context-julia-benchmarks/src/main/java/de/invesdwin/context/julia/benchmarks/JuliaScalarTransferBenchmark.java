@@ -0,0 +1,18 @@
+package de.invesdwin.context.julia.benchmarks;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+@NotThreadSafe
+public class JuliaScalarTransferBenchmark extends AJuliaTransferBenchmark {
+
+    @Override
+    protected JuliaBenchmarkShape getShape() {
+        return JuliaBenchmarkShape.SCALAR;
+    }
+
+    @Override
+    protected int getElements() {
+        return 1;
+    }
+
+}
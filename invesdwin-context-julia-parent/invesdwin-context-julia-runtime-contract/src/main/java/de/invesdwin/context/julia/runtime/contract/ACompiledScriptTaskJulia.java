@@ -0,0 +1,21 @@
+package de.invesdwin.context.julia.runtime.contract;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaCompiledScript;
+
+/**
+ * The compiled script should be kept in a static field so that the script content is only read and hashed once.
+ */
+@NotThreadSafe
+public abstract class ACompiledScriptTaskJulia<V> extends AScriptTaskJulia<V> {
+
+    public abstract JuliaCompiledScript getCompiledScript();
+
+    @Override
+    public void executeScript(final IScriptTaskEngine engine) {
+        getCompiledScript().eval(engine);
+    }
+
+}
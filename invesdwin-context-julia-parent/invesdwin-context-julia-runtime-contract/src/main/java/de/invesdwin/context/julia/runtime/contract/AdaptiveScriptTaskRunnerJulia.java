@@ -0,0 +1,215 @@
+package de.invesdwin.context.julia.runtime.contract;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Routes each task to the runner that has been fastest for tasks of the same class. Every runner first gets
+ * JuliaProperties.ADAPTIVE_WARMUP_TASKS tasks of a class, afterwards the runner with the lowest moving average latency
+ * is chosen while 1 of JuliaProperties.ADAPTIVE_EXPLORE_INTERVAL tasks is sent to a random runner so that changed
+ * conditions are noticed. The lookup on the hot path only uses a concurrent map and atomics.
+ *
+ * Failed tasks count towards the warmup, a runner whose last task failed is only chosen again when exploring or when
+ * all runners are failing. Thus a runner that can not work in this environment does not get all tasks.
+ *
+ * The task class is used as the workload key because inputs are only visible to the runner itself, tasks of the same
+ * class usually transfer similar amounts of data.
+ */
+@ThreadSafe
+public class AdaptiveScriptTaskRunnerJulia implements IScriptTaskRunnerJulia {
+
+    /**
+     * the moving average adds 1/8 of the difference to a new sample
+     */
+    private static final int AVERAGE_SHIFT = 3;
+
+    private final IScriptTaskRunnerJulia[] runners;
+    private final int warmupTasks;
+    private final int exploreInterval;
+    private final Map<Class<?>, Stats> class_stats = new ConcurrentHashMap<>();
+
+    public AdaptiveScriptTaskRunnerJulia(final List<? extends IScriptTaskRunnerJulia> runners) {
+        this(runners, JuliaProperties.ADAPTIVE_WARMUP_TASKS, JuliaProperties.ADAPTIVE_EXPLORE_INTERVAL);
+    }
+
+    public AdaptiveScriptTaskRunnerJulia(final List<? extends IScriptTaskRunnerJulia> runners, final int warmupTasks,
+            final int exploreInterval) {
+        if (runners.isEmpty()) {
+            throw new IllegalArgumentException("runners should not be empty");
+        }
+        this.runners = runners.toArray(new IScriptTaskRunnerJulia[runners.size()]);
+        this.warmupTasks = warmupTasks;
+        this.exploreInterval = exploreInterval;
+    }
+
+    public IScriptTaskRunnerJulia[] getRunners() {
+        return runners.clone();
+    }
+
+    /**
+     * Returns the number of consecutive failures per runner for tasks of the given class.
+     */
+    public long[] getFailures(final Class<?> scriptTaskClass) {
+        final Stats stats = class_stats.get(scriptTaskClass);
+        final long[] failures = new long[runners.length];
+        if (stats != null) {
+            for (int i = 0; i < runners.length; i++) {
+                failures[i] = stats.failures.get(i);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Returns the moving average latency in nanoseconds per runner for tasks of the given class, 0 when not measured
+     * yet.
+     */
+    public long[] getAverageNanos(final Class<?> scriptTaskClass) {
+        final Stats stats = class_stats.get(scriptTaskClass);
+        final long[] averageNanos = new long[runners.length];
+        if (stats != null) {
+            for (int i = 0; i < runners.length; i++) {
+                averageNanos[i] = stats.averageNanos.get(i);
+            }
+        }
+        return averageNanos;
+    }
+
+    @Override
+    public <T> T run(final AScriptTaskJulia<T> scriptTask) {
+        final Stats stats = getStats(scriptTask.getClass());
+        final int index = stats.select();
+        final long startNanos = System.nanoTime();
+        final T result;
+        try {
+            result = runners[index].run(scriptTask);
+        } catch (final Throwable t) {
+            //failed tasks are not measured, they might have failed early
+            stats.recordFailure(index);
+            throw t;
+        }
+        stats.record(index, System.nanoTime() - startNanos);
+        return result;
+    }
+
+    /**
+     * Each group of tasks with the same class is run as one batch on the runner that is selected for that class, so
+     * the batch keeps the partitioning and light reset of that runner.
+     */
+    @Override
+    public <T> List<T> runAll(final Collection<? extends AScriptTaskJulia<T>> scriptTasks) {
+        final List<AScriptTaskJulia<T>> tasks = new ArrayList<>(scriptTasks);
+        final Map<Class<?>, List<Integer>> class_indexes = new LinkedHashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            class_indexes.computeIfAbsent(tasks.get(i).getClass(), (k) -> new ArrayList<>()).add(i);
+        }
+        if (class_indexes.size() <= 1) {
+            return runGroup(tasks);
+        }
+        final List<T> results = new ArrayList<>(Collections.<T> nCopies(tasks.size(), null));
+        for (final List<Integer> indexes : class_indexes.values()) {
+            final List<AScriptTaskJulia<T>> group = new ArrayList<>(indexes.size());
+            for (int i = 0; i < indexes.size(); i++) {
+                group.add(tasks.get(indexes.get(i)));
+            }
+            final List<T> groupResults = runGroup(group);
+            for (int i = 0; i < indexes.size(); i++) {
+                results.set(indexes.get(i), groupResults.get(i));
+            }
+        }
+        return results;
+    }
+
+    private <T> List<T> runGroup(final List<AScriptTaskJulia<T>> scriptTasks) {
+        if (scriptTasks.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final Stats stats = getStats(scriptTasks.get(0).getClass());
+        final int index = stats.select();
+        final long startNanos = System.nanoTime();
+        final List<T> results;
+        try {
+            results = runners[index].runAll(scriptTasks);
+        } catch (final Throwable t) {
+            stats.recordFailure(index);
+            throw t;
+        }
+        //one sample with the latency per task, batches are cheaper per task than single runs on every runner
+        stats.record(index, (System.nanoTime() - startNanos) / scriptTasks.size());
+        return results;
+    }
+
+    private Stats getStats(final Class<?> scriptTaskClass) {
+        return class_stats.computeIfAbsent(scriptTaskClass, (k) -> new Stats(runners.length));
+    }
+
+    private final class Stats {
+
+        private final AtomicLongArray counts;
+        private final AtomicLongArray averageNanos;
+        private final AtomicLongArray failures;
+
+        private Stats(final int size) {
+            this.counts = new AtomicLongArray(size);
+            this.averageNanos = new AtomicLongArray(size);
+            this.failures = new AtomicLongArray(size);
+        }
+
+        private int select() {
+            int fastest = 0;
+            long fastestFailures = Long.MAX_VALUE;
+            long fastestNanos = Long.MAX_VALUE;
+            for (int i = 0; i < runners.length; i++) {
+                if (counts.get(i) < warmupTasks) {
+                    return i;
+                }
+                //runners that failed recently only win when every runner is failing
+                final long runnerFailures = failures.get(i);
+                final long nanos = averageNanos.get(i);
+                if (runnerFailures < fastestFailures || runnerFailures == fastestFailures && nanos < fastestNanos) {
+                    fastest = i;
+                    fastestFailures = runnerFailures;
+                    fastestNanos = nanos;
+                }
+            }
+            if (runners.length > 1 && exploreInterval > 0
+                    && ThreadLocalRandom.current().nextInt(exploreInterval) == 0) {
+                return ThreadLocalRandom.current().nextInt(runners.length);
+            }
+            return fastest;
+        }
+
+        private void recordFailure(final int index) {
+            counts.incrementAndGet(index);
+            failures.incrementAndGet(index);
+        }
+
+        private void record(final int index, final long nanos) {
+            counts.incrementAndGet(index);
+            failures.set(index, 0);
+            while (true) {
+                final long average = averageNanos.get(index);
+                final long newAverage;
+                if (average == 0) {
+                    newAverage = Math.max(1, nanos);
+                } else {
+                    newAverage = average + ((nanos - average) >> AVERAGE_SHIFT);
+                }
+                if (averageNanos.compareAndSet(index, average, newAverage)) {
+                    return;
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,258 @@
+package de.invesdwin.context.julia.runtime.contract;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaCompiledScript;
+
+/**
+ * Runs many tasks of the same compiled script as one task. The input sets of all tasks are collected as expressions on
+ * the java side and sent together with the call of the compiled function, which loops over them (see scriptCache_fuse
+ * in JuliaScriptCache.jl). Afterwards each return is fetched once as an array over all tasks and the results of each
+ * task are extracted from its element. Thus borrowing an instance, resetting it, dispatching the script and the
+ * transfers only happen once for the whole batch instead of once per task. Only the parameters of the compiled script
+ * are transferred, other inputs of the tasks are ignored. Runtimes that do not fetch results as json (in process
+ * engines without a round trip) assign the returns of each task one after another instead.
+ *
+ * The threaded variant distributes the loop via Threads.@threads, it should only be used for scripts that do not modify
+ * global state and only has an effect when julia was started with multiple threads. Callbacks are not supported since
+ * each task would require its own callback context.
+ */
+@NotThreadSafe
+public class FusedScriptTaskJulia<V> extends AScriptTaskJulia<List<V>> {
+
+    private static final String RETURNS = "scriptCache_fusedReturns";
+    private static final Pattern RETURN_PATH = Pattern
+            .compile("[\\p{L}_][\\p{L}\\p{N}_!]*(\\.[\\p{L}_][\\p{L}\\p{N}_!]*)*");
+
+    private final List<? extends ACompiledScriptTaskJulia<V>> tasks;
+    private final JuliaCompiledScript script;
+    private final boolean threaded;
+    private List<V> results;
+
+    public FusedScriptTaskJulia(final List<? extends ACompiledScriptTaskJulia<V>> tasks) {
+        this(tasks, false);
+    }
+
+    public FusedScriptTaskJulia(final List<? extends ACompiledScriptTaskJulia<V>> tasks, final boolean threaded) {
+        if (tasks.isEmpty()) {
+            throw new IllegalArgumentException("tasks should not be empty");
+        }
+        this.tasks = tasks;
+        this.script = tasks.get(0).getCompiledScript();
+        for (final ACompiledScriptTaskJulia<V> task : tasks) {
+            if (!script.getHash().equals(task.getCompiledScript().getHash())) {
+                throw new IllegalArgumentException("All tasks need to share the same compiled script: "
+                        + script.getFunctionName() + " != " + task.getCompiledScript().getFunctionName());
+            }
+            if (task.getCallback() != null) {
+                throw new IllegalArgumentException(
+                        "Callbacks are not supported for fused tasks: " + task.getClass().getName());
+            }
+        }
+        this.threaded = threaded;
+    }
+
+    public List<? extends ACompiledScriptTaskJulia<V>> getTasks() {
+        return tasks;
+    }
+
+    public boolean isThreaded() {
+        return threaded;
+    }
+
+    @Override
+    public void populateInputs(final IScriptTaskInputs inputs) {
+        //the inputs of each task are populated and collected one after another in executeScript
+    }
+
+    @Override
+    public void executeScript(final IScriptTaskEngine engine) {
+        results = new ArrayList<V>(tasks.size());
+        if (!(engine instanceof IScriptTaskEngineJulia)) {
+            //without a script cache the compiled function is not available, thus run the tasks one after another
+            for (final ACompiledScriptTaskJulia<V> task : tasks) {
+                task.populateInputs(engine.getInputs());
+                task.executeScript(engine);
+                results.add(task.extractResults(engine.getResults()));
+            }
+            return;
+        }
+        ((IScriptTaskEngineJulia) engine).getScriptCache().compile(engine, script);
+        engine.eval(RETURNS + " = scriptCache_fuse(" + script.getFunctionName() + ", " + newArgsExpression(engine)
+                + ", " + threaded + ")");
+        final IScriptTaskResults engineResults = engine.getResults();
+        if (engineResults instanceof AScriptTaskResultsJuliaFromJson) {
+            final FusedScriptTaskResultsJulia fusedResults = new FusedScriptTaskResultsJulia(
+                    (AScriptTaskResultsJuliaFromJson) engineResults);
+            for (int i = 0; i < tasks.size(); i++) {
+                fusedResults.index = i;
+                results.add(tasks.get(i).extractResults(fusedResults));
+            }
+        } else {
+            final String[] returns = script.getReturns();
+            for (int i = 0; i < tasks.size(); i++) {
+                if (returns.length > 0) {
+                    engine.eval(newPopExpression(returns, i));
+                }
+                results.add(tasks.get(i).extractResults(engineResults));
+            }
+        }
+        engine.eval(RETURNS + " = nothing");
+    }
+
+    @Override
+    public List<V> extractResults(final IScriptTaskResults results) {
+        final List<V> resultsCopy = this.results;
+        this.results = null;
+        return resultsCopy;
+    }
+
+    /**
+     * Builds the vector of argument tuples for scriptCache_fuse, parameters that a task did not put are resolved as
+     * globals like in an unfused invocation.
+     */
+    private String newArgsExpression(final IScriptTaskEngine engine) {
+        final String[] parameters = script.getParameters();
+        final FusedScriptTaskInputsJulia inputs = new FusedScriptTaskInputsJulia(engine);
+        final StringBuilder sb = new StringBuilder("Any[");
+        for (int i = 0; i < tasks.size(); i++) {
+            inputs.expressions.clear();
+            tasks.get(i).populateInputs(inputs);
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append("(");
+            for (int p = 0; p < parameters.length; p++) {
+                final String expression = inputs.expressions.get(parameters[p]);
+                if (expression != null) {
+                    sb.append(expression);
+                } else {
+                    sb.append(parameters[p]);
+                }
+                sb.append(",");
+            }
+            sb.append(")");
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    private static String newPopExpression(final String[] returns, final int index) {
+        final StringBuilder sb = new StringBuilder();
+        if (returns.length == 1) {
+            sb.append(returns[0]);
+        } else {
+            sb.append("(");
+            sb.append(String.join(", ", returns));
+            sb.append(")");
+        }
+        sb.append(" = ");
+        sb.append(RETURNS);
+        sb.append("[");
+        //julia indexes start at 1
+        sb.append(index + 1);
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * Collects the inputs of one task as expressions instead of sending them.
+     */
+    private static final class FusedScriptTaskInputsJulia extends AScriptTaskInputsJuliaToExpression {
+
+        private final IScriptTaskEngine engine;
+        private final Map<String, String> expressions = new HashMap<String, String>();
+
+        private FusedScriptTaskInputsJulia(final IScriptTaskEngine engine) {
+            this.engine = engine;
+        }
+
+        @Override
+        public IScriptTaskEngine getEngine() {
+            return engine;
+        }
+
+        @Override
+        public void putExpression(final String variable, final String expression) {
+            expressions.put(variable, expression);
+        }
+
+    }
+
+    /**
+     * Serves the returns (and field accesses on them) of the current task from the arrays that were fetched once for
+     * all tasks. Any other expression is evaluated after assigning the returns of the current task as globals.
+     */
+    private final class FusedScriptTaskResultsJulia extends AScriptTaskResultsJuliaFromJson {
+
+        private final AScriptTaskResultsJuliaFromJson delegate;
+        private final Map<String, JsonNode> fetchedReturns = new HashMap<String, JsonNode>();
+        private int index;
+        private int assignedIndex = -1;
+
+        private FusedScriptTaskResultsJulia(final AScriptTaskResultsJuliaFromJson delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public IScriptTaskEngine getEngine() {
+            return delegate.getEngine();
+        }
+
+        @Override
+        protected JsonNode getAsJsonNode(final String variable) {
+            if (RETURN_PATH.matcher(variable).matches()) {
+                final String[] path = variable.split("\\.");
+                final JsonNode returns = getFetchedReturns(path[0]);
+                if (returns != null) {
+                    JsonNode node = returns.get(index);
+                    for (int i = 1; i < path.length && node != null; i++) {
+                        node = node.get(path[i]);
+                    }
+                    if (node != null) {
+                        return node;
+                    }
+                }
+            }
+            final String[] returns = script.getReturns();
+            if (assignedIndex != index && returns.length > 0) {
+                delegate.getEngine().eval(newPopExpression(returns, index));
+                assignedIndex = index;
+            }
+            return delegate.getAsJsonNode(variable);
+        }
+
+        private JsonNode getFetchedReturns(final String variable) {
+            final String[] returns = script.getReturns();
+            for (int i = 0; i < returns.length; i++) {
+                if (returns[i].equals(variable)) {
+                    JsonNode fetched = fetchedReturns.get(variable);
+                    if (fetched == null) {
+                        if (returns.length == 1) {
+                            fetched = delegate.getAsJsonNode(RETURNS);
+                        } else {
+                            //julia indexes start at 1
+                            fetched = delegate.getAsJsonNode("[r[" + (i + 1) + "] for r in " + RETURNS + "]");
+                        }
+                        fetchedReturns.put(variable, fetched);
+                    }
+                    return fetched;
+                }
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,26 @@
+package de.invesdwin.context.julia.runtime.contract;
+
+import org.springframework.core.io.Resource;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptSource;
+
+public interface IScriptTaskEngineJulia extends IScriptTaskEngine {
+
+    /**
+     * The cache is bound to the julia instance behind this engine, thus it is shared by all engines that operate on the
+     * same instance.
+     */
+    JuliaScriptCache getScriptCache();
+
+    /**
+     * Transfers and parses the script only once per julia instance, afterwards only the id of the stored expression is
+     * sent.
+     */
+    @Override
+    default void eval(final Resource resource) {
+        getScriptCache().eval(this, JuliaScriptSource.valueOf(resource));
+    }
+
+}
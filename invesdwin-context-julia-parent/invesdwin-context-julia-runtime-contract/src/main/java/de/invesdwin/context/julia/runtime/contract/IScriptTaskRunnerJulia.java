@@ -1,5 +1,9 @@
 package de.invesdwin.context.julia.runtime.contract;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import de.invesdwin.context.log.Log;
 
 public interface IScriptTaskRunnerJulia {
@@ -8,4 +12,24 @@ public interface IScriptTaskRunnerJulia {
 
     <T> T run(AScriptTaskJulia<T> scriptTask);
 
+    /**
+     * Returns the results in the order of the tasks. Runtimes override this to run many small tasks on one borrowed
+     * instance with only a light reset in between.
+     */
+    default <T> List<T> runAll(final Collection<? extends AScriptTaskJulia<T>> scriptTasks) {
+        final List<T> results = new ArrayList<>(scriptTasks.size());
+        for (final AScriptTaskJulia<T> scriptTask : scriptTasks) {
+            results.add(run(scriptTask));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the number of tasks that are running or queued on this runner, including the ones submitted by other
+     * callers. Runners that do not know their queue depth (e.g. pools that create instances on demand) return -1.
+     */
+    default int getPendingCount() {
+        return -1;
+    }
+
 }
@@ -0,0 +1,75 @@
+package de.invesdwin.context.julia.runtime.contract;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import javax.annotation.concurrent.Immutable;
+
+import de.invesdwin.util.concurrent.Executors;
+import de.invesdwin.util.concurrent.WrappedExecutorService;
+import de.invesdwin.util.concurrent.future.Futures;
+import de.invesdwin.util.error.Throwables;
+
+/**
+ * Splits a batch of tasks into contiguous partitions that are run concurrently, so the results can be concatenated in
+ * order. Each partition is meant to be run sequentially on one borrowed julia instance.
+ */
+@Immutable
+public final class JuliaBatches {
+
+    private static final WrappedExecutorService EXECUTOR = Executors
+            .newCachedThreadPool(JuliaBatches.class.getSimpleName());
+
+    private JuliaBatches() {
+    }
+
+    public static <T> List<T> runPartitioned(final Collection<? extends AScriptTaskJulia<T>> scriptTasks,
+            final Function<List<? extends AScriptTaskJulia<T>>, List<T>> partitionRunner) {
+        return runPartitioned(scriptTasks, JuliaProperties.BATCH_MAX_PARTITIONS, partitionRunner);
+    }
+
+    public static <T> List<T> runPartitioned(final Collection<? extends AScriptTaskJulia<T>> scriptTasks,
+            final int maxPartitions, final Function<List<? extends AScriptTaskJulia<T>>, List<T>> partitionRunner) {
+        final List<? extends AScriptTaskJulia<T>> tasks = new ArrayList<>(scriptTasks);
+        final int partitions = Math.max(1, Math.min(maxPartitions, tasks.size()));
+        if (partitions == 1) {
+            return partitionRunner.apply(tasks);
+        }
+        final List<Future<List<T>>> futures = new ArrayList<>(partitions - 1);
+        final int partitionSize = (tasks.size() + partitions - 1) / partitions;
+        for (int from = partitionSize; from < tasks.size(); from += partitionSize) {
+            final List<? extends AScriptTaskJulia<T>> partition = tasks.subList(from,
+                    Math.min(from + partitionSize, tasks.size()));
+            futures.add(EXECUTOR.submit(() -> partitionRunner.apply(partition)));
+        }
+        //the first partition runs on the calling thread
+        Throwable error = null;
+        final List<T> results = new ArrayList<>(tasks.size());
+        try {
+            results.addAll(partitionRunner.apply(tasks.subList(0, partitionSize)));
+        } catch (final Throwable t) {
+            error = t;
+        }
+        //wait for all partitions so that no instance is still in use when this method returns
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                final List<T> partitionResults = Futures.getNoInterrupt(futures.get(i));
+                if (error == null) {
+                    results.addAll(partitionResults);
+                }
+            } catch (final Throwable t) {
+                if (error == null) {
+                    error = t;
+                }
+            }
+        }
+        if (error != null) {
+            throw Throwables.propagate(error);
+        }
+        return results;
+    }
+
+}
@@ -0,0 +1,71 @@
+package de.invesdwin.context.julia.runtime.contract;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import de.invesdwin.context.system.properties.SystemProperties;
+import de.invesdwin.util.concurrent.Executors;
+
+@ThreadSafe
+public final class JuliaProperties {
+
+    public static final int WAIT_SPIN_MICROS;
+    public static final int WAIT_YIELD_MICROS;
+    public static final int WAIT_MAX_PARK_MICROS;
+    public static final int CONSOLE_MAX_PARK_MICROS;
+    public static final int CONSOLE_LOG_MAX_LINES;
+    public static final boolean CALLBACK_BINARY_PROTOCOL;
+    public static final boolean CALLBACK_VIRTUAL_THREADS;
+    public static final int CALLBACK_MAX_IN_FLIGHT;
+    public static final boolean CALLBACK_SHARED_MEMORY;
+    public static final int CALLBACK_SHARED_MEMORY_CAPACITY;
+    public static final boolean CALLBACK_NATIVE;
+    public static final int OVERFLOW_MAX_PRIMARY_PENDING;
+    public static final boolean ADAPTIVE_RUNNER;
+    public static final int ADAPTIVE_WARMUP_TASKS;
+    public static final int ADAPTIVE_EXPLORE_INTERVAL;
+    public static final int BATCH_MAX_PARTITIONS;
+    public static final boolean TASK_METRICS;
+
+    static {
+        final SystemProperties systemProperties = new SystemProperties(JuliaProperties.class);
+        WAIT_SPIN_MICROS = getInteger(systemProperties, "WAIT_SPIN_MICROS", 50);
+        WAIT_YIELD_MICROS = getInteger(systemProperties, "WAIT_YIELD_MICROS", 200);
+        WAIT_MAX_PARK_MICROS = getInteger(systemProperties, "WAIT_MAX_PARK_MICROS", 1000);
+        CONSOLE_MAX_PARK_MICROS = getInteger(systemProperties, "CONSOLE_MAX_PARK_MICROS", 10000);
+        CONSOLE_LOG_MAX_LINES = getInteger(systemProperties, "CONSOLE_LOG_MAX_LINES", 1000);
+        CALLBACK_BINARY_PROTOCOL = getBoolean(systemProperties, "CALLBACK_BINARY_PROTOCOL", true);
+        CALLBACK_VIRTUAL_THREADS = getBoolean(systemProperties, "CALLBACK_VIRTUAL_THREADS", true);
+        CALLBACK_MAX_IN_FLIGHT = getInteger(systemProperties, "CALLBACK_MAX_IN_FLIGHT", 64);
+        CALLBACK_SHARED_MEMORY = getBoolean(systemProperties, "CALLBACK_SHARED_MEMORY", false);
+        CALLBACK_SHARED_MEMORY_CAPACITY = getInteger(systemProperties, "CALLBACK_SHARED_MEMORY_CAPACITY", 1048576);
+        CALLBACK_NATIVE = getBoolean(systemProperties, "CALLBACK_NATIVE", true);
+        OVERFLOW_MAX_PRIMARY_PENDING = getInteger(systemProperties, "OVERFLOW_MAX_PRIMARY_PENDING", 1);
+        ADAPTIVE_RUNNER = getBoolean(systemProperties, "ADAPTIVE_RUNNER", false);
+        ADAPTIVE_WARMUP_TASKS = getInteger(systemProperties, "ADAPTIVE_WARMUP_TASKS", 3);
+        ADAPTIVE_EXPLORE_INTERVAL = getInteger(systemProperties, "ADAPTIVE_EXPLORE_INTERVAL", 100);
+        BATCH_MAX_PARTITIONS = getInteger(systemProperties, "BATCH_MAX_PARTITIONS", Executors.getCpuThreadPoolCount());
+        TASK_METRICS = getBoolean(systemProperties, "TASK_METRICS", false);
+    }
+
+    private JuliaProperties() {
+    }
+
+    private static int getInteger(final SystemProperties systemProperties, final String key,
+            final int defaultValue) {
+        if (systemProperties.containsValue(key)) {
+            return systemProperties.getInteger(key);
+        } else {
+            return defaultValue;
+        }
+    }
+
+    private static boolean getBoolean(final SystemProperties systemProperties, final String key,
+            final boolean defaultValue) {
+        if (systemProperties.containsValue(key)) {
+            return systemProperties.getBoolean(key);
+        } else {
+            return defaultValue;
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package de.invesdwin.context.julia.runtime.contract;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * An exception that was caught inside julia and returned on the response channel as a structured error with type,
+ * message and backtrace.
+ */
+@Immutable
+public class JuliaScriptException extends IllegalStateException {
+
+    private final String type;
+    private final String juliaMessage;
+    private final String backtrace;
+
+    public JuliaScriptException(final String type, final String juliaMessage, final String backtrace) {
+        super(newMessage(type, juliaMessage, backtrace));
+        this.type = type;
+        this.juliaMessage = juliaMessage;
+        this.backtrace = backtrace;
+    }
+
+    /**
+     * The fully qualified julia type of the exception (e.g. Core.UndefVarError).
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * The message as shown by julia's showerror.
+     */
+    public String getJuliaMessage() {
+        return juliaMessage;
+    }
+
+    public String getBacktrace() {
+        return backtrace;
+    }
+
+    private static String newMessage(final String type, final String juliaMessage, final String backtrace) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(type);
+        sb.append(": ");
+        sb.append(juliaMessage);
+        if (backtrace != null && !backtrace.isEmpty()) {
+            sb.append("\n");
+            sb.append(backtrace.trim());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Parses an error of the form: {"type": "...", "message": "...", "backtrace": "..."}
+     */
+    public static JuliaScriptException valueOf(final JsonNode node) {
+        return new JuliaScriptException(getText(node, "type"), getText(node, "message"),
+                getText(node, "backtrace"));
+    }
+
+    private static String getText(final JsonNode node, final String field) {
+        final JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        } else {
+            return value.asText();
+        }
+    }
+
+}
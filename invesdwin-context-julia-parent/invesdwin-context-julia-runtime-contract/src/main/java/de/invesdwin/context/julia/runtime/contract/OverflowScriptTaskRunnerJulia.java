@@ -0,0 +1,111 @@
+package de.invesdwin.context.julia.runtime.contract;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Sends tasks to a primary runner (e.g. an in process engine with the lowest latency) as long as it does not have too
+ * many pending tasks, otherwise the tasks spill over to an overflow runner (e.g. a pool of julia processes) which can
+ * scale horizontally. This gives low latency at low load and more throughput under bursts.
+ */
+@ThreadSafe
+public class OverflowScriptTaskRunnerJulia implements IScriptTaskRunnerJulia {
+
+    private final IScriptTaskRunnerJulia primary;
+    private final IScriptTaskRunnerJulia overflow;
+    private final int maxPrimaryPending;
+    private final AtomicInteger primaryPending = new AtomicInteger();
+    private final AtomicLong primaryCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+
+    public OverflowScriptTaskRunnerJulia(final IScriptTaskRunnerJulia primary, final IScriptTaskRunnerJulia overflow) {
+        this(primary, overflow, JuliaProperties.OVERFLOW_MAX_PRIMARY_PENDING);
+    }
+
+    /**
+     * The primary runner gets tasks while it has less than maxPrimaryPending tasks running or queued. 1 means it only
+     * gets tasks while it is idle, 0 sends everything to the overflow runner. The queue depth reported by the primary
+     * runner is used when it knows it, thus tasks that other callers submit to it directly are also considered.
+     */
+    public OverflowScriptTaskRunnerJulia(final IScriptTaskRunnerJulia primary, final IScriptTaskRunnerJulia overflow,
+            final int maxPrimaryPending) {
+        this.primary = primary;
+        this.overflow = overflow;
+        this.maxPrimaryPending = maxPrimaryPending;
+    }
+
+    public IScriptTaskRunnerJulia getPrimary() {
+        return primary;
+    }
+
+    public IScriptTaskRunnerJulia getOverflow() {
+        return overflow;
+    }
+
+    public int getMaxPrimaryPending() {
+        return maxPrimaryPending;
+    }
+
+    public int getPrimaryPending() {
+        return Math.max(primaryPending.get(), primary.getPendingCount());
+    }
+
+    public long getPrimaryCount() {
+        return primaryCount.get();
+    }
+
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    @Override
+    public <T> T run(final AScriptTaskJulia<T> scriptTask) {
+        if (tryAcquirePrimary()) {
+            primaryCount.incrementAndGet();
+            try {
+                return primary.run(scriptTask);
+            } finally {
+                primaryPending.decrementAndGet();
+            }
+        } else {
+            overflowCount.incrementAndGet();
+            return overflow.run(scriptTask);
+        }
+    }
+
+    /**
+     * The whole batch goes either to the primary or to the overflow runner so that it keeps their partitioning and
+     * light reset, for the primary it counts as one pending task.
+     */
+    @Override
+    public <T> List<T> runAll(final Collection<? extends AScriptTaskJulia<T>> scriptTasks) {
+        if (tryAcquirePrimary()) {
+            primaryCount.addAndGet(scriptTasks.size());
+            try {
+                return primary.runAll(scriptTasks);
+            } finally {
+                primaryPending.decrementAndGet();
+            }
+        } else {
+            overflowCount.addAndGet(scriptTasks.size());
+            return overflow.runAll(scriptTasks);
+        }
+    }
+
+    private boolean tryAcquirePrimary() {
+        while (true) {
+            final int pending = primaryPending.get();
+            if (Math.max(pending, primary.getPendingCount()) >= maxPrimaryPending) {
+                return false;
+            }
+            if (primaryPending.compareAndSet(pending, pending + 1)) {
+                return true;
+            }
+        }
+    }
+
+}
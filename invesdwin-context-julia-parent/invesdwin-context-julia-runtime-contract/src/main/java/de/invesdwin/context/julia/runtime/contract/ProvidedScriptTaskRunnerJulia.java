@@ -1,6 +1,9 @@
 package de.invesdwin.context.julia.runtime.contract;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 
@@ -16,7 +19,9 @@ import de.invesdwin.util.lang.string.Strings;
 
 /**
  * This instance will use the IScriptTaskRunner that was chosen by the user either by including the appropriate runtime
- * module in the classpath or by defining the class to be used as a system property.
+ * module in the classpath or by defining the class to be used as a system property. With
+ * JuliaProperties.ADAPTIVE_RUNNER multiple runtime modules in the classpath are combined via
+ * AdaptiveScriptTaskRunnerJulia.
  */
 @Immutable
 @Named
@@ -27,35 +32,41 @@ public final class ProvidedScriptTaskRunnerJulia
 
     public static final ProvidedScriptTaskRunnerJulia INSTANCE = new ProvidedScriptTaskRunnerJulia();
 
-    @GuardedBy("this.class")
-    private static IScriptTaskRunnerJulia providedInstance;
+    @GuardedBy("this.class for writes")
+    private static volatile IScriptTaskRunnerJulia providedInstance;
 
     private ProvidedScriptTaskRunnerJulia() {
     }
 
-    public static synchronized IScriptTaskRunnerJulia getProvidedInstance() {
+    public static IScriptTaskRunnerJulia getProvidedInstance() {
+        //lock free on the hot path
+        final IScriptTaskRunnerJulia instance = providedInstance;
+        if (instance != null) {
+            return instance;
+        }
+        return initProvidedInstance();
+    }
+
+    private static synchronized IScriptTaskRunnerJulia initProvidedInstance() {
         if (providedInstance == null) {
             final SystemProperties systemProperties = new SystemProperties();
             if (systemProperties.containsValue(PROVIDED_INSTANCE_KEY)) {
                 try {
                     final String runner = systemProperties.getString(PROVIDED_INSTANCE_KEY);
-                    return (IScriptTaskRunnerJulia) Reflections.classForName(runner).newInstance();
+                    if (AdaptiveScriptTaskRunnerJulia.class.getName().equals(runner)) {
+                        //the adaptive runner has no default constructor, it was chosen from the service providers
+                        providedInstance = newAdaptiveInstance(loadRunners());
+                    } else {
+                        providedInstance = (IScriptTaskRunnerJulia) Reflections.classForName(runner).newInstance();
+                    }
                 } catch (InstantiationException | IllegalAccessException e) {
                     throw new RuntimeException(e);
                 }
             } else {
-                final Map<String, IScriptTaskRunnerJulia> runners = new LinkedHashMap<String, IScriptTaskRunnerJulia>();
-                for (final IScriptTaskRunnerJulia runner : ServiceLoader.load(IScriptTaskRunnerJulia.class)) {
-                    final IScriptTaskRunnerJulia existing = runners.put(runner.getClass().getName(), runner);
-                    if (existing != null) {
-                        throw new IllegalStateException("Duplicate service provider found for [" + PROVIDED_INSTANCE_KEY
-                                + "=" + existing.getClass().getName()
-                                + "]. Please make sure you have only one provider for it in the classpath.");
-                    }
-                }
-                if (runners.isEmpty()) {
-                    throw new IllegalStateException("No service provider found for [" + PROVIDED_INSTANCE_KEY
-                            + "]. Please add one provider for it to the classpath.");
+                final Map<String, IScriptTaskRunnerJulia> runners = loadRunners();
+                if (runners.size() > 1 && JuliaProperties.ADAPTIVE_RUNNER) {
+                    setProvidedInstance(newAdaptiveInstance(runners));
+                    return providedInstance;
                 }
                 if (runners.size() > 1) {
                     final StringBuilder runnersStr = new StringBuilder("(");
@@ -77,6 +88,28 @@ public final class ProvidedScriptTaskRunnerJulia
         return providedInstance;
     }
 
+    private static Map<String, IScriptTaskRunnerJulia> loadRunners() {
+        final Map<String, IScriptTaskRunnerJulia> runners = new LinkedHashMap<String, IScriptTaskRunnerJulia>();
+        for (final IScriptTaskRunnerJulia runner : ServiceLoader.load(IScriptTaskRunnerJulia.class)) {
+            final IScriptTaskRunnerJulia existing = runners.put(runner.getClass().getName(), runner);
+            if (existing != null) {
+                throw new IllegalStateException("Duplicate service provider found for [" + PROVIDED_INSTANCE_KEY + "="
+                        + existing.getClass().getName()
+                        + "]. Please make sure you have only one provider for it in the classpath.");
+            }
+        }
+        if (runners.isEmpty()) {
+            throw new IllegalStateException("No service provider found for [" + PROVIDED_INSTANCE_KEY
+                    + "]. Please add one provider for it to the classpath.");
+        }
+        return runners;
+    }
+
+    private static AdaptiveScriptTaskRunnerJulia newAdaptiveInstance(
+            final Map<String, IScriptTaskRunnerJulia> runners) {
+        return new AdaptiveScriptTaskRunnerJulia(new ArrayList<>(runners.values()));
+    }
+
     public static synchronized void setProvidedInstance(final IScriptTaskRunnerJulia providedInstance) {
         ProvidedScriptTaskRunnerJulia.providedInstance = providedInstance;
         final SystemProperties systemProperties = new SystemProperties();
@@ -92,6 +125,16 @@ public final class ProvidedScriptTaskRunnerJulia
         return getProvidedInstance().run(scriptTask);
     }
 
+    @Override
+    public <T> List<T> runAll(final Collection<? extends AScriptTaskJulia<T>> scriptTasks) {
+        return getProvidedInstance().runAll(scriptTasks);
+    }
+
+    @Override
+    public int getPendingCount() {
+        return getProvidedInstance().getPendingCount();
+    }
+
     @Override
     public Class<?> getObjectType() {
         return ProvidedScriptTaskRunnerJulia.class;
@@ -0,0 +1,216 @@
+package de.invesdwin.context.julia.runtime.contract.callback;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.integration.script.callback.IScriptTaskCallback;
+import de.invesdwin.context.integration.script.callback.IScriptTaskParameters;
+import de.invesdwin.context.integration.script.callback.IScriptTaskReturns;
+import de.invesdwin.context.julia.runtime.contract.JuliaProperties;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaCallbackEvent;
+import de.invesdwin.context.log.error.Err;
+import de.invesdwin.context.log.error.LoggedRuntimeException;
+import de.invesdwin.util.error.Throwables;
+import de.invesdwin.util.lang.UUIDs;
+import de.invesdwin.util.lang.string.Strings;
+
+/**
+ * Makes an IScriptTaskCallback available to julia for the duration of one script task. The transport that carries the
+ * callbacks is defined by the subclass, julia binds to the context via its uuid.
+ */
+@ThreadSafe
+public abstract class AScriptTaskCallbackContextJulia implements Closeable {
+
+    private static final Map<String, AScriptTaskCallbackContextJulia> UUID_CONTEXT = new ConcurrentHashMap<>();
+
+    private final String uuid;
+    private final IScriptTaskCallback callback;
+    private final boolean nonBlocking;
+    private final Semaphore inFlight;
+    private final Map<String, Memoized> memoizedMethods;
+    private final Map<String, Map<ByteBuffer, byte[]>> memoizedReturns;
+    private final LongAdder callbackCount;
+    private final LongAdder callbackNanos;
+    private volatile boolean closed;
+
+    protected AScriptTaskCallbackContextJulia(final IScriptTaskCallback callback, final boolean nonBlocking) {
+        this(callback, nonBlocking, Collections.emptyMap());
+    }
+
+    /**
+     * Non blocking callbacks are invoked inline on the transport thread, all others are limited to
+     * JuliaProperties.CALLBACK_MAX_IN_FLIGHT concurrent invocations. The returns of memoized methods are cached per
+     * argument tuple until the context is closed.
+     */
+    protected AScriptTaskCallbackContextJulia(final IScriptTaskCallback callback, final boolean nonBlocking,
+            final Map<String, Memoized> memoizedMethods) {
+        this.uuid = UUIDs.newPseudoRandomUUID();
+        this.callback = callback;
+        this.nonBlocking = nonBlocking;
+        this.inFlight = new Semaphore(JuliaProperties.CALLBACK_MAX_IN_FLIGHT);
+        this.memoizedMethods = memoizedMethods;
+        if (memoizedMethods.isEmpty()) {
+            this.memoizedReturns = null;
+        } else {
+            this.memoizedReturns = new ConcurrentHashMap<>();
+        }
+        if (JuliaProperties.TASK_METRICS) {
+            this.callbackCount = new LongAdder();
+            this.callbackNanos = new LongAdder();
+        } else {
+            this.callbackCount = null;
+            this.callbackNanos = null;
+        }
+        UUID_CONTEXT.put(uuid, this);
+    }
+
+    public static AScriptTaskCallbackContextJulia getContext(final String uuid) {
+        return UUID_CONTEXT.get(uuid);
+    }
+
+    public abstract void init(IScriptTaskEngine engine);
+
+    public abstract void deinit(IScriptTaskEngine engine);
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public boolean isNonBlocking() {
+        return nonBlocking;
+    }
+
+    /**
+     * Number of callback invocations (excluding memoized hits), only counted with JuliaProperties.TASK_METRICS.
+     */
+    public long getCallbackCount() {
+        if (callbackCount == null) {
+            return 0;
+        }
+        return callbackCount.sum();
+    }
+
+    /**
+     * Sum of the durations of all callback invocations, concurrent invocations overlap.
+     */
+    public long getCallbackNanos() {
+        if (callbackNanos == null) {
+            return 0;
+        }
+        return callbackNanos.sum();
+    }
+
+    public boolean isMemoized(final String methodName) {
+        return memoizedMethods.containsKey(methodName);
+    }
+
+    /**
+     * Returns the comma separated names of the methods that julia should cache itself.
+     */
+    public String getJuliaMemoizedMethods() {
+        final StringBuilder sb = new StringBuilder();
+        for (final Map.Entry<String, Memoized> entry : memoizedMethods.entrySet()) {
+            if (entry.getValue().julia()) {
+                if (sb.length() > 0) {
+                    sb.append(",");
+                }
+                sb.append(entry.getKey());
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Invokes the callback for the binary protocol, errors are returned as a message that julia rethrows.
+     */
+    public void invoke(final String methodName, final ScriptTaskParametersJuliaFromBinary parameters,
+            final ScriptTaskReturnsJuliaToBinary returns) {
+        try {
+            if (memoizedReturns != null && isMemoized(methodName)) {
+                invokeMemoized(methodName, parameters, returns);
+            } else {
+                invokeCallback(methodName, parameters, returns);
+            }
+        } catch (final Throwable t) {
+            final LoggedRuntimeException loggedError = Err.process(t);
+            returns.close();
+            returns.returnError(Strings.normalizeNewlines(Throwables.concatMessages(loggedError)));
+        }
+    }
+
+    private void invokeMemoized(final String methodName, final ScriptTaskParametersJuliaFromBinary parameters,
+            final ScriptTaskReturnsJuliaToBinary returns) throws InterruptedException {
+        final Map<ByteBuffer, byte[]> methodReturns = memoizedReturns.computeIfAbsent(methodName,
+                (k) -> new ConcurrentHashMap<>());
+        final ByteBuffer key = ByteBuffer.wrap(parameters.getEncoded());
+        final byte[] cached = methodReturns.get(key);
+        if (cached != null) {
+            returns.returnPayload(cached);
+            return;
+        }
+        invokeCallback(methodName, parameters, returns);
+        final byte[] payload = returns.getPayloadBytes();
+        //errors are not cached so that they get logged again
+        if (payload[0] == ScriptTaskReturnsJuliaToBinary.STATUS_OK) {
+            methodReturns.put(key, payload);
+        }
+    }
+
+    protected void invokeCallback(final String methodName, final IScriptTaskParameters parameters,
+            final IScriptTaskReturns returns) throws InterruptedException {
+        final JuliaCallbackEvent event = new JuliaCallbackEvent();
+        event.begin();
+        try {
+            if (callbackNanos == null) {
+                invokeCallbackUnmeasured(methodName, parameters, returns);
+            } else {
+                final long startNanos = System.nanoTime();
+                try {
+                    invokeCallbackUnmeasured(methodName, parameters, returns);
+                } finally {
+                    callbackNanos.add(System.nanoTime() - startNanos);
+                    callbackCount.increment();
+                }
+            }
+            event.success();
+        } finally {
+            event.finish(getClass().getSimpleName(), methodName);
+        }
+    }
+
+    private void invokeCallbackUnmeasured(final String methodName, final IScriptTaskParameters parameters,
+            final IScriptTaskReturns returns) throws InterruptedException {
+        if (nonBlocking) {
+            callback.invoke(methodName, parameters, returns);
+            return;
+        }
+        inFlight.acquire();
+        try {
+            callback.invoke(methodName, parameters, returns);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        UUID_CONTEXT.remove(uuid);
+        if (memoizedReturns != null) {
+            memoizedReturns.clear();
+        }
+    }
+
+}
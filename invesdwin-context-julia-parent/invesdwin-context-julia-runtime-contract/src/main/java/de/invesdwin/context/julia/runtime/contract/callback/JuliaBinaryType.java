@@ -0,0 +1,68 @@
+package de.invesdwin.context.julia.runtime.contract.callback;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Value types of the binary callback protocol, the codes need to match CALLBACK_BINARY_TYPES in
+ * SocketScriptTaskCallbackContext.jl.
+ *
+ * A value is encoded as: type code (1 byte), dimension count (1 byte, 0 for scalars), dimensions (int32 each), data.
+ * Numbers are stored in their raw column-major little endian layout, characters as int32 code points and strings as
+ * int32 length + utf8 bytes per element.
+ */
+@Immutable
+public enum JuliaBinaryType {
+    NOTHING(0, 0),
+    BOOLEAN(1, 1),
+    BYTE(2, Byte.BYTES),
+    SHORT(3, Short.BYTES),
+    INTEGER(4, Integer.BYTES),
+    LONG(5, Long.BYTES),
+    FLOAT(6, Float.BYTES),
+    DOUBLE(7, Double.BYTES),
+    CHARACTER(8, Integer.BYTES),
+    /**
+     * Elements have a variable length.
+     */
+    STRING(9, -1),
+    /**
+     * Julia source text that is evaluated on the receiving side, only used for return values.
+     */
+    EXPRESSION(10, -1);
+
+    private static final JuliaBinaryType[] CODE_LOOKUP;
+
+    static {
+        CODE_LOOKUP = new JuliaBinaryType[values().length];
+        for (final JuliaBinaryType type : values()) {
+            CODE_LOOKUP[type.code] = type;
+        }
+    }
+
+    private final byte code;
+    private final int bytes;
+
+    JuliaBinaryType(final int code, final int bytes) {
+        this.code = (byte) code;
+        this.bytes = bytes;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * The size of one element in bytes or -1 for variable length elements.
+     */
+    public int getBytes() {
+        return bytes;
+    }
+
+    public static JuliaBinaryType valueOfCode(final byte code) {
+        if (code < 0 || code >= CODE_LOOKUP.length) {
+            throw new IllegalArgumentException("Unknown binary type code: " + code);
+        }
+        return CODE_LOOKUP[code];
+    }
+
+}
@@ -0,0 +1,75 @@
+package de.invesdwin.context.julia.runtime.contract.callback;
+
+import java.util.Map;
+
+import javax.annotation.concurrent.Immutable;
+
+import de.invesdwin.context.integration.script.callback.IScriptTaskCallback;
+import de.invesdwin.context.integration.script.callback.LoggingDelegateScriptTaskCallback;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
+import de.invesdwin.context.julia.runtime.contract.JuliaProperties;
+import de.invesdwin.context.julia.runtime.contract.callback.jna.JnaScriptTaskCallbackContext;
+import de.invesdwin.context.julia.runtime.contract.callback.shm.SharedMemoryScriptTaskCallbackContext;
+import de.invesdwin.context.julia.runtime.contract.callback.socket.SocketScriptTaskCallbackContext;
+
+/**
+ * Creates the callback context with the transport that is configured via JuliaProperties. The callback is wrapped for
+ * logging after the flags of NonBlockingScriptTaskCallback and MemoizedReflectiveScriptTaskCallback were read.
+ */
+@Immutable
+public final class JuliaCallbackContexts {
+
+    private JuliaCallbackContexts() {
+    }
+
+    public static boolean isSharedMemory() {
+        //shared memory only supports the binary protocol
+        return JuliaProperties.CALLBACK_SHARED_MEMORY && JuliaProperties.CALLBACK_BINARY_PROTOCOL;
+    }
+
+    public static boolean isSharedMemory(final IScriptTaskCallback callback) {
+        if (SharedMemoryScriptTaskCallback.isSharedMemory(callback)) {
+            return JuliaProperties.CALLBACK_BINARY_PROTOCOL;
+        } else {
+            return isSharedMemory();
+        }
+    }
+
+    public static boolean isNative() {
+        //the native function pointer only supports the binary protocol
+        return JuliaProperties.CALLBACK_NATIVE && JuliaProperties.CALLBACK_BINARY_PROTOCOL;
+    }
+
+    /**
+     * For julia processes that are separate from this jvm.
+     */
+    public static AScriptTaskCallbackContextJulia newContext(final IScriptTaskCallback callback) {
+        //the flags have to be determined before the callback is wrapped for logging
+        final boolean nonBlocking = NonBlockingScriptTaskCallback.isNonBlocking(callback);
+        final Map<String, Memoized> memoizedMethods = MemoizedReflectiveScriptTaskCallback.getMemoizedMethods(callback);
+        final IScriptTaskCallback logged = LoggingDelegateScriptTaskCallback.maybeWrap(IScriptTaskRunnerJulia.LOG,
+                callback);
+        if (isSharedMemory(callback)) {
+            return new SharedMemoryScriptTaskCallbackContext(logged, nonBlocking, memoizedMethods);
+        } else {
+            return new SocketScriptTaskCallbackContext(logged, nonBlocking, memoizedMethods);
+        }
+    }
+
+    /**
+     * For julia that is embedded in this jvm.
+     */
+    public static AScriptTaskCallbackContextJulia newInProcessContext(final IScriptTaskCallback callback) {
+        //the flags have to be determined before the callback is wrapped for logging
+        final boolean nonBlocking = NonBlockingScriptTaskCallback.isNonBlocking(callback);
+        final Map<String, Memoized> memoizedMethods = MemoizedReflectiveScriptTaskCallback.getMemoizedMethods(callback);
+        final IScriptTaskCallback logged = LoggingDelegateScriptTaskCallback.maybeWrap(IScriptTaskRunnerJulia.LOG,
+                callback);
+        if (isNative()) {
+            return new JnaScriptTaskCallbackContext(logged, nonBlocking, memoizedMethods);
+        } else {
+            return new SocketScriptTaskCallbackContext(logged, nonBlocking, memoizedMethods);
+        }
+    }
+
+}
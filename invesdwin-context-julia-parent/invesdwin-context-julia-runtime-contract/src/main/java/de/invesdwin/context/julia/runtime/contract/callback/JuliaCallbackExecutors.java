@@ -0,0 +1,49 @@
+package de.invesdwin.context.julia.runtime.contract.callback;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.concurrent.Immutable;
+
+import de.invesdwin.context.julia.runtime.contract.JuliaProperties;
+import de.invesdwin.util.concurrent.Executors;
+
+/**
+ * Creates the executors that run callback invocations. Virtual threads are used when enabled and available (java
+ * 21+), they are looked up reflectively so that older runtimes fall back to a cached platform thread pool.
+ */
+@Immutable
+public final class JuliaCallbackExecutors {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method method;
+        try {
+            method = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (final NoSuchMethodException e) {
+            method = null;
+        }
+        NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = method;
+    }
+
+    private JuliaCallbackExecutors() {
+    }
+
+    public static boolean isVirtualThreads() {
+        return JuliaProperties.CALLBACK_VIRTUAL_THREADS && NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    public static ExecutorService newExecutor(final String name) {
+        if (isVirtualThreads()) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+            } catch (final ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        } else {
+            return Executors.newCachedThreadPool(name);
+        }
+    }
+
+}
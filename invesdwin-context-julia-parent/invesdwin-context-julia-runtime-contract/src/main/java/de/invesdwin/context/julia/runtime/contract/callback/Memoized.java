@@ -0,0 +1,21 @@
+package de.invesdwin.context.julia.runtime.contract.callback;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a callback method as deterministic so that its return value is cached per argument tuple for the lifetime of
+ * a script task (see MemoizedReflectiveScriptTaskCallback).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Memoized {
+
+    /**
+     * Additionally caches the values inside julia so that cache hits do not need to call back into java at all.
+     */
+    boolean julia() default false;
+
+}
@@ -0,0 +1,59 @@
+package de.invesdwin.context.julia.runtime.contract.callback;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.concurrent.Immutable;
+
+import de.invesdwin.context.integration.script.callback.IScriptTaskCallback;
+import de.invesdwin.context.integration.script.callback.IScriptTaskParameters;
+import de.invesdwin.context.integration.script.callback.IScriptTaskReturns;
+import de.invesdwin.context.integration.script.callback.ReflectiveScriptTaskCallback;
+
+/**
+ * Same as ReflectiveScriptTaskCallback, but additionally exposes the methods of the target that are annotated with
+ * Memoized so that the callback context can cache their return values.
+ */
+@Immutable
+public class MemoizedReflectiveScriptTaskCallback implements IScriptTaskCallback {
+
+    private final IScriptTaskCallback delegate;
+    private final Map<String, Memoized> memoizedMethods;
+
+    public MemoizedReflectiveScriptTaskCallback(final Object target) {
+        this.delegate = new ReflectiveScriptTaskCallback(target);
+        final Map<String, Memoized> methods = new HashMap<>();
+        for (final Method method : target.getClass().getMethods()) {
+            final Memoized memoized = method.getAnnotation(Memoized.class);
+            if (memoized != null) {
+                methods.put(method.getName(), memoized);
+            }
+        }
+        this.memoizedMethods = Collections.unmodifiableMap(methods);
+    }
+
+    public Map<String, Memoized> getMemoizedMethods() {
+        return memoizedMethods;
+    }
+
+    @Override
+    public void invoke(final String methodName, final IScriptTaskParameters parameters,
+            final IScriptTaskReturns returns) {
+        delegate.invoke(methodName, parameters, returns);
+    }
+
+    public static Map<String, Memoized> getMemoizedMethods(final IScriptTaskCallback callback) {
+        IScriptTaskCallback unwrapped = SharedMemoryScriptTaskCallback.unwrap(callback);
+        while (unwrapped instanceof NonBlockingScriptTaskCallback) {
+            unwrapped = ((NonBlockingScriptTaskCallback) unwrapped).getDelegate();
+        }
+        if (unwrapped instanceof MemoizedReflectiveScriptTaskCallback) {
+            return ((MemoizedReflectiveScriptTaskCallback) unwrapped).getMemoizedMethods();
+        } else {
+            return Collections.emptyMap();
+        }
+    }
+
+}
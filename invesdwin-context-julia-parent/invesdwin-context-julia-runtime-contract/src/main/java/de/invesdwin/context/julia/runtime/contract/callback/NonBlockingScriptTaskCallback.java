@@ -0,0 +1,36 @@
+package de.invesdwin.context.julia.runtime.contract.callback;
+
+import javax.annotation.concurrent.Immutable;
+
+import de.invesdwin.context.integration.script.callback.IScriptTaskCallback;
+import de.invesdwin.context.integration.script.callback.IScriptTaskParameters;
+import de.invesdwin.context.integration.script.callback.IScriptTaskReturns;
+
+/**
+ * Declares that the delegate returns quickly and never blocks, thus it is invoked inline on the network thread
+ * instead of being dispatched to a separate thread.
+ */
+@Immutable
+public class NonBlockingScriptTaskCallback implements IScriptTaskCallback {
+
+    private final IScriptTaskCallback delegate;
+
+    public NonBlockingScriptTaskCallback(final IScriptTaskCallback delegate) {
+        this.delegate = delegate;
+    }
+
+    public IScriptTaskCallback getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void invoke(final String methodName, final IScriptTaskParameters parameters,
+            final IScriptTaskReturns returns) {
+        delegate.invoke(methodName, parameters, returns);
+    }
+
+    public static boolean isNonBlocking(final IScriptTaskCallback callback) {
+        return SharedMemoryScriptTaskCallback.unwrap(callback) instanceof NonBlockingScriptTaskCallback;
+    }
+
+}
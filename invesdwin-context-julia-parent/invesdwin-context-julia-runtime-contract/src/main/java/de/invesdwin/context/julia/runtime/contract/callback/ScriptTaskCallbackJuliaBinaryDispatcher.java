@@ -0,0 +1,241 @@
+package de.invesdwin.context.julia.runtime.contract.callback;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Answers the requests of one julia connection of the binary callback protocol independent of the transport that
+ * carries the frames. The payload of a request starts with the request type:
+ *
+ * REQUEST_BIND: followed by the uuid (int32 length + utf8) of the callback context that handles further invocations.
+ * The connection stays open across script tasks and is only rebound to the context of the current task.
+ *
+ * REQUEST_INVOKE: followed by the method name (int32 length + utf8) and the parameters as parsed by
+ * ScriptTaskParametersJuliaFromBinary.
+ *
+ * REQUEST_INVOKE_BATCH: followed by the method name, a parallel flag (1 byte), the number of calls (int32) and the
+ * parameters of each call. All calls are answered in one response (see ScriptTaskReturnsJuliaToBinary.returnBatch).
+ *
+ * REQUEST_INVOKE_ASYNC: same as REQUEST_INVOKE, but julia does not wait for a response. The invocations are executed in
+ * order and the first failure is returned instead of the response of the next synchronous request.
+ *
+ * REQUEST_FLUSH: only returns a failure of previous asynchronous invocations.
+ *
+ * Each request except REQUEST_INVOKE_ASYNC is answered with a payload as written by ScriptTaskReturnsJuliaToBinary.
+ */
+@NotThreadSafe
+public class ScriptTaskCallbackJuliaBinaryDispatcher implements Closeable {
+
+    public static final byte REQUEST_BIND = 0x01;
+    public static final byte REQUEST_INVOKE = 0x02;
+    public static final byte REQUEST_INVOKE_BATCH = 0x03;
+    public static final byte REQUEST_INVOKE_ASYNC = 0x04;
+    public static final byte REQUEST_FLUSH = 0x05;
+
+    private static final ExecutorService BATCH_EXECUTOR = JuliaCallbackExecutors
+            .newExecutor(ScriptTaskCallbackJuliaBinaryDispatcher.class.getSimpleName() + "_BATCH");
+
+    private final ScriptTaskParametersJuliaFromBinary parameters = new ScriptTaskParametersJuliaFromBinary();
+    private final ScriptTaskReturnsJuliaToBinary returns = new ScriptTaskReturnsJuliaToBinary();
+    private final List<ScriptTaskParametersJuliaFromBinary> batchParameters = new ArrayList<>();
+    private final List<ScriptTaskReturnsJuliaToBinary> batchReturns = new ArrayList<>();
+    private final ExecutorService asyncExecutor;
+    private AScriptTaskCallbackContextJulia callbackContext;
+    private Future<?> pendingAsync;
+    private volatile String asyncError;
+
+    /**
+     * Asynchronous invocations are executed inline, which is fine when julia does not wait for the transport thread.
+     */
+    public ScriptTaskCallbackJuliaBinaryDispatcher() {
+        this(null);
+    }
+
+    /**
+     * The executor needs to be single threaded so that asynchronous invocations are executed in order, it is used
+     * when julia would otherwise be blocked by the invocation.
+     */
+    public ScriptTaskCallbackJuliaBinaryDispatcher(final ExecutorService asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Returns the response payload, it stays valid until close() is called after it was written. Returns null for
+     * asynchronous invocations that must not be answered.
+     */
+    public ByteBuffer dispatch(final ByteBuffer request) throws Exception {
+        final byte requestType = request.get();
+        if (requestType == REQUEST_INVOKE_ASYNC) {
+            invokeAsync(readString(request), request);
+            return null;
+        }
+        awaitAsync();
+        if (requestType == REQUEST_BIND) {
+            //errors of a previous task were already flushed or that task failed anyway
+            asyncError = null;
+            bind(readString(request));
+        } else if (surfaceAsyncError()) {
+            return returns.getPayload();
+        } else if (requestType == REQUEST_INVOKE) {
+            invoke(readString(request), request);
+        } else if (requestType == REQUEST_INVOKE_BATCH) {
+            invokeBatch(readString(request), request);
+        } else if (requestType == REQUEST_FLUSH) {
+            returns.returnNull();
+        } else {
+            returns.returnError("Unknown request type: " + requestType);
+        }
+        return returns.getPayload();
+    }
+
+    private void awaitAsync() throws Exception {
+        if (pendingAsync != null) {
+            pendingAsync.get();
+            pendingAsync = null;
+        }
+    }
+
+    private boolean surfaceAsyncError() {
+        final String error = asyncError;
+        if (error == null) {
+            return false;
+        }
+        asyncError = null;
+        returns.returnError(error);
+        return true;
+    }
+
+    private void invokeAsync(final String methodName, final ByteBuffer request) {
+        final AScriptTaskCallbackContextJulia context = callbackContext;
+        if (context == null || context.isClosed()) {
+            onAsyncError(methodName, AScriptTaskCallbackContextJulia.class.getSimpleName() + " not bound");
+            return;
+        }
+        if (asyncExecutor == null) {
+            parameters.setParameters(request);
+            context.invoke(methodName, parameters, returns);
+            checkAsyncReturn(methodName, returns.getPayload());
+        } else {
+            //the request buffer is reused for the next request, thus copy it
+            final ByteBuffer copy = ByteBuffer.allocate(request.remaining()).order(ByteOrder.LITTLE_ENDIAN);
+            copy.put(request);
+            copy.flip();
+            pendingAsync = asyncExecutor.submit(() -> {
+                final ScriptTaskParametersJuliaFromBinary asyncParameters = new ScriptTaskParametersJuliaFromBinary();
+                final ScriptTaskReturnsJuliaToBinary asyncReturns = new ScriptTaskReturnsJuliaToBinary();
+                asyncParameters.setParameters(copy);
+                context.invoke(methodName, asyncParameters, asyncReturns);
+                checkAsyncReturn(methodName, asyncReturns.getPayload());
+            });
+        }
+    }
+
+    private void checkAsyncReturn(final String methodName, final ByteBuffer payload) {
+        if (payload.get(0) == ScriptTaskReturnsJuliaToBinary.STATUS_ERROR) {
+            onAsyncError(methodName, new String(payload.array(), payload.arrayOffset() + 1, payload.remaining() - 1,
+                    StandardCharsets.UTF_8));
+        }
+    }
+
+    private void onAsyncError(final String methodName, final String error) {
+        //only the first failure is reported, later ones might just be consequences of it
+        if (asyncError == null) {
+            asyncError = "Asynchronous callback " + methodName + " failed: " + error;
+        }
+    }
+
+    private void bind(final String uuid) {
+        callbackContext = AScriptTaskCallbackContextJulia.getContext(uuid);
+        if (callbackContext == null) {
+            returns.returnError(
+                    AScriptTaskCallbackContextJulia.class.getSimpleName() + " not found for uuid: " + uuid);
+        } else {
+            returns.returnNull();
+        }
+    }
+
+    private boolean checkBound() {
+        if (callbackContext == null || callbackContext.isClosed()) {
+            //the previous task is finished and the current task did not bind the connection yet
+            callbackContext = null;
+            returns.returnError(AScriptTaskCallbackContextJulia.class.getSimpleName() + " not bound");
+            return false;
+        }
+        return true;
+    }
+
+    private void invoke(final String methodName, final ByteBuffer request) {
+        if (!checkBound()) {
+            return;
+        }
+        parameters.setParameters(request);
+        callbackContext.invoke(methodName, parameters, returns);
+    }
+
+    private void invokeBatch(final String methodName, final ByteBuffer request) throws Exception {
+        if (!checkBound()) {
+            return;
+        }
+        final boolean parallel = request.get() != 0;
+        final int count = request.getInt();
+        while (batchParameters.size() < count) {
+            batchParameters.add(new ScriptTaskParametersJuliaFromBinary());
+            batchReturns.add(new ScriptTaskReturnsJuliaToBinary());
+        }
+        try {
+            for (int i = 0; i < count; i++) {
+                batchParameters.get(i).setParameters(request);
+            }
+            final AScriptTaskCallbackContextJulia context = callbackContext;
+            if (parallel && count > 1) {
+                //parameters only use absolute reads on the shared request buffer after parsing
+                final Future<?>[] futures = new Future<?>[count];
+                for (int i = 0; i < count; i++) {
+                    final ScriptTaskParametersJuliaFromBinary callParameters = batchParameters.get(i);
+                    final ScriptTaskReturnsJuliaToBinary callReturns = batchReturns.get(i);
+                    futures[i] = BATCH_EXECUTOR
+                            .submit(() -> context.invoke(methodName, callParameters, callReturns));
+                }
+                for (int i = 0; i < count; i++) {
+                    futures[i].get();
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    context.invoke(methodName, batchParameters.get(i), batchReturns.get(i));
+                }
+            }
+            returns.returnBatch(batchReturns, count);
+        } finally {
+            for (int i = 0; i < count; i++) {
+                batchParameters.get(i).close();
+                batchReturns.get(i).close();
+            }
+        }
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        final String str = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return str;
+    }
+
+    /**
+     * Releases the request data and the response payload, the binding to the callback context is kept.
+     */
+    @Override
+    public void close() {
+        parameters.close();
+        returns.close();
+    }
+
+}
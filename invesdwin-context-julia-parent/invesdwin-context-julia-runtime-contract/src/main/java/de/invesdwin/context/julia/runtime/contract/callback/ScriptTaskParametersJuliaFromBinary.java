@@ -0,0 +1,516 @@
+package de.invesdwin.context.julia.runtime.contract.callback;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import de.invesdwin.context.integration.script.callback.AScriptTaskParametersFromString;
+import de.invesdwin.util.lang.string.Strings;
+
+/**
+ * Reads typed parameters from the binary callback protocol (see JuliaBinaryType) without an intermediate json tree.
+ * Primitive getters read the raw values directly, the remaining getters fall back to parsing the string
+ * representation.
+ */
+@NotThreadSafe
+public class ScriptTaskParametersJuliaFromBinary extends AScriptTaskParametersFromString implements Closeable {
+
+    private static final int[] SCALAR_DIMENSIONS = new int[0];
+
+    private ByteBuffer buffer;
+    private int start;
+    private int end;
+    private int size;
+    private JuliaBinaryType[] types = new JuliaBinaryType[8];
+    private int[][] dimensions = new int[8][];
+    private int[] offsets = new int[8];
+
+    /**
+     * Parses the parameter count and the parameters starting at the current position of the little endian buffer.
+     * The buffer is referenced until the parameters are closed.
+     */
+    public void setParameters(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.start = buffer.position();
+        this.size = buffer.getInt();
+        if (types.length < size) {
+            types = new JuliaBinaryType[size];
+            dimensions = new int[size][];
+            offsets = new int[size];
+        }
+        for (int i = 0; i < size; i++) {
+            final JuliaBinaryType type = JuliaBinaryType.valueOfCode(buffer.get());
+            final int dimensionsCount = buffer.get();
+            final int[] dims;
+            if (dimensionsCount == 0) {
+                dims = SCALAR_DIMENSIONS;
+            } else {
+                dims = new int[dimensionsCount];
+                for (int d = 0; d < dimensionsCount; d++) {
+                    dims[d] = buffer.getInt();
+                }
+            }
+            types[i] = type;
+            dimensions[i] = dims;
+            offsets[i] = buffer.position();
+            skip(type, getLength(i));
+        }
+        this.end = buffer.position();
+    }
+
+    /**
+     * Returns a copy of the encoded parameters, equal parameters have equal encodings.
+     */
+    public byte[] getEncoded() {
+        final byte[] encoded = new byte[end - start];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = buffer.get(start + i);
+        }
+        return encoded;
+    }
+
+    private void skip(final JuliaBinaryType type, final int length) {
+        if (type == JuliaBinaryType.NOTHING) {
+            return;
+        }
+        if (type.getBytes() >= 0) {
+            buffer.position(buffer.position() + length * type.getBytes());
+        } else {
+            for (int e = 0; e < length; e++) {
+                final int bytes = buffer.getInt();
+                buffer.position(buffer.position() + bytes);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public JuliaBinaryType getType(final int index) {
+        return types[index];
+    }
+
+    private int getLength(final int index) {
+        final int[] dims = dimensions[index];
+        int length = 1;
+        for (int d = 0; d < dims.length; d++) {
+            length = Math.multiplyExact(length, dims[d]);
+        }
+        return length;
+    }
+
+    private int getRows(final int index) {
+        final int[] dims = dimensions[index];
+        if (dims.length == 0) {
+            return 1;
+        } else {
+            return dims[0];
+        }
+    }
+
+    private int getColumns(final int index) {
+        final int[] dims = dimensions[index];
+        if (dims.length < 2) {
+            return 1;
+        } else {
+            return dims[1];
+        }
+    }
+
+    @Override
+    public boolean isNull(final int index) {
+        return types[index] == JuliaBinaryType.NOTHING;
+    }
+
+    @Override
+    public String getString(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        return getStringElement(index, 0);
+    }
+
+    @Override
+    public String[] getStringVector(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final String[] values = new String[getLength(index)];
+        for (int e = 0; e < values.length; e++) {
+            values[e] = getStringElement(index, e);
+        }
+        return values;
+    }
+
+    @Override
+    public String[][] getStringMatrix(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        //strings are read sequentially in column-major order before transposing
+        final String[] columnMajor = getStringVector(index);
+        final int rows = getRows(index);
+        final int columns = getColumns(index);
+        final String[][] valuesMatrix = new String[rows][];
+        for (int r = 0; r < rows; r++) {
+            final String[] values = new String[columns];
+            valuesMatrix[r] = values;
+            for (int c = 0; c < columns; c++) {
+                values[c] = columnMajor[c * rows + r];
+            }
+        }
+        return valuesMatrix;
+    }
+
+    private String getStringElement(final int index, final int element) {
+        final JuliaBinaryType type = types[index];
+        final int offset = offsets[index];
+        final String str;
+        switch (type) {
+        case STRING:
+        case EXPRESSION:
+            int position = offset;
+            for (int e = 0; e < element; e++) {
+                position += Integer.BYTES + buffer.getInt(position);
+            }
+            final int bytes = buffer.getInt(position);
+            final byte[] array = new byte[bytes];
+            for (int b = 0; b < bytes; b++) {
+                array[b] = buffer.get(position + Integer.BYTES + b);
+            }
+            str = new String(array, StandardCharsets.UTF_8);
+            break;
+        case CHARACTER:
+            str = new String(Character.toChars(buffer.getInt(offset + element * Integer.BYTES)));
+            break;
+        case BOOLEAN:
+            str = String.valueOf(getBooleanElement(index, element));
+            break;
+        case FLOAT:
+        case DOUBLE:
+            str = String.valueOf(getDoubleElement(index, element));
+            break;
+        default:
+            str = String.valueOf(getLongElement(index, element));
+            break;
+        }
+        if (Strings.isBlankOrNullText(str)) {
+            return null;
+        } else {
+            return str;
+        }
+    }
+
+    private boolean getBooleanElement(final int index, final int element) {
+        if (types[index] == JuliaBinaryType.BOOLEAN) {
+            return buffer.get(offsets[index] + element) != 0;
+        } else if (types[index] == JuliaBinaryType.STRING) {
+            return Boolean.parseBoolean(getStringElement(index, element));
+        } else {
+            return getLongElement(index, element) != 0;
+        }
+    }
+
+    private long getLongElement(final int index, final int element) {
+        final int offset = offsets[index];
+        switch (types[index]) {
+        case BOOLEAN:
+        case BYTE:
+            return buffer.get(offset + element);
+        case SHORT:
+            return buffer.getShort(offset + element * Short.BYTES);
+        case INTEGER:
+        case CHARACTER:
+            return buffer.getInt(offset + element * Integer.BYTES);
+        case LONG:
+            return buffer.getLong(offset + element * Long.BYTES);
+        case FLOAT:
+        case DOUBLE:
+            return (long) getDoubleElement(index, element);
+        default:
+            return Long.parseLong(getStringElement(index, element));
+        }
+    }
+
+    private double getDoubleElement(final int index, final int element) {
+        final int offset = offsets[index];
+        switch (types[index]) {
+        case FLOAT:
+            return buffer.getFloat(offset + element * Float.BYTES);
+        case DOUBLE:
+            return buffer.getDouble(offset + element * Double.BYTES);
+        case STRING:
+            return Double.parseDouble(getStringElement(index, element));
+        default:
+            return getLongElement(index, element);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(final int index) {
+        return getBooleanElement(index, 0);
+    }
+
+    @Override
+    public boolean[] getBooleanVector(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final boolean[] values = new boolean[getLength(index)];
+        for (int e = 0; e < values.length; e++) {
+            values[e] = getBooleanElement(index, e);
+        }
+        return values;
+    }
+
+    @Override
+    public boolean[][] getBooleanMatrix(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final int rows = getRows(index);
+        final int columns = getColumns(index);
+        final boolean[][] valuesMatrix = new boolean[rows][];
+        for (int r = 0; r < rows; r++) {
+            final boolean[] values = new boolean[columns];
+            valuesMatrix[r] = values;
+            for (int c = 0; c < columns; c++) {
+                values[c] = getBooleanElement(index, c * rows + r);
+            }
+        }
+        return valuesMatrix;
+    }
+
+    @Override
+    public byte getByte(final int index) {
+        return (byte) getLongElement(index, 0);
+    }
+
+    @Override
+    public byte[] getByteVector(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final byte[] values = new byte[getLength(index)];
+        for (int e = 0; e < values.length; e++) {
+            values[e] = (byte) getLongElement(index, e);
+        }
+        return values;
+    }
+
+    @Override
+    public byte[][] getByteMatrix(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final int rows = getRows(index);
+        final int columns = getColumns(index);
+        final byte[][] valuesMatrix = new byte[rows][];
+        for (int r = 0; r < rows; r++) {
+            final byte[] values = new byte[columns];
+            valuesMatrix[r] = values;
+            for (int c = 0; c < columns; c++) {
+                values[c] = (byte) getLongElement(index, c * rows + r);
+            }
+        }
+        return valuesMatrix;
+    }
+
+    @Override
+    public short getShort(final int index) {
+        return (short) getLongElement(index, 0);
+    }
+
+    @Override
+    public short[] getShortVector(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final short[] values = new short[getLength(index)];
+        for (int e = 0; e < values.length; e++) {
+            values[e] = (short) getLongElement(index, e);
+        }
+        return values;
+    }
+
+    @Override
+    public short[][] getShortMatrix(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final int rows = getRows(index);
+        final int columns = getColumns(index);
+        final short[][] valuesMatrix = new short[rows][];
+        for (int r = 0; r < rows; r++) {
+            final short[] values = new short[columns];
+            valuesMatrix[r] = values;
+            for (int c = 0; c < columns; c++) {
+                values[c] = (short) getLongElement(index, c * rows + r);
+            }
+        }
+        return valuesMatrix;
+    }
+
+    @Override
+    public int getInteger(final int index) {
+        return (int) getLongElement(index, 0);
+    }
+
+    @Override
+    public int[] getIntegerVector(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final int[] values = new int[getLength(index)];
+        for (int e = 0; e < values.length; e++) {
+            values[e] = (int) getLongElement(index, e);
+        }
+        return values;
+    }
+
+    @Override
+    public int[][] getIntegerMatrix(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final int rows = getRows(index);
+        final int columns = getColumns(index);
+        final int[][] valuesMatrix = new int[rows][];
+        for (int r = 0; r < rows; r++) {
+            final int[] values = new int[columns];
+            valuesMatrix[r] = values;
+            for (int c = 0; c < columns; c++) {
+                values[c] = (int) getLongElement(index, c * rows + r);
+            }
+        }
+        return valuesMatrix;
+    }
+
+    @Override
+    public long getLong(final int index) {
+        return getLongElement(index, 0);
+    }
+
+    @Override
+    public long[] getLongVector(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final long[] values = new long[getLength(index)];
+        for (int e = 0; e < values.length; e++) {
+            values[e] = getLongElement(index, e);
+        }
+        return values;
+    }
+
+    @Override
+    public long[][] getLongMatrix(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final int rows = getRows(index);
+        final int columns = getColumns(index);
+        final long[][] valuesMatrix = new long[rows][];
+        for (int r = 0; r < rows; r++) {
+            final long[] values = new long[columns];
+            valuesMatrix[r] = values;
+            for (int c = 0; c < columns; c++) {
+                values[c] = getLongElement(index, c * rows + r);
+            }
+        }
+        return valuesMatrix;
+    }
+
+    @Override
+    public float getFloat(final int index) {
+        return (float) getDoubleElement(index, 0);
+    }
+
+    @Override
+    public float[] getFloatVector(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final float[] values = new float[getLength(index)];
+        for (int e = 0; e < values.length; e++) {
+            values[e] = (float) getDoubleElement(index, e);
+        }
+        return values;
+    }
+
+    @Override
+    public float[][] getFloatMatrix(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final int rows = getRows(index);
+        final int columns = getColumns(index);
+        final float[][] valuesMatrix = new float[rows][];
+        for (int r = 0; r < rows; r++) {
+            final float[] values = new float[columns];
+            valuesMatrix[r] = values;
+            for (int c = 0; c < columns; c++) {
+                values[c] = (float) getDoubleElement(index, c * rows + r);
+            }
+        }
+        return valuesMatrix;
+    }
+
+    @Override
+    public double getDouble(final int index) {
+        return getDoubleElement(index, 0);
+    }
+
+    @Override
+    public double[] getDoubleVector(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final double[] values = new double[getLength(index)];
+        for (int e = 0; e < values.length; e++) {
+            values[e] = getDoubleElement(index, e);
+        }
+        return values;
+    }
+
+    @Override
+    public double[][] getDoubleMatrix(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final int rows = getRows(index);
+        final int columns = getColumns(index);
+        final double[][] valuesMatrix = new double[rows][];
+        for (int r = 0; r < rows; r++) {
+            final double[] values = new double[columns];
+            valuesMatrix[r] = values;
+            for (int c = 0; c < columns; c++) {
+                values[c] = getDoubleElement(index, c * rows + r);
+            }
+        }
+        return valuesMatrix;
+    }
+
+    @Override
+    public void close() {
+        buffer = null;
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append(types[i]);
+        }
+        return sb.toString();
+    }
+
+}
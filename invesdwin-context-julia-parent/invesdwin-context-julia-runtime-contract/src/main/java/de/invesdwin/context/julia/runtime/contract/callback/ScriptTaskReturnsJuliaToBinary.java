@@ -0,0 +1,520 @@
+package de.invesdwin.context.julia.runtime.contract.callback;
+
+import java.io.Closeable;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import de.invesdwin.context.integration.script.callback.IScriptTaskReturns;
+import de.invesdwin.util.assertions.Assertions;
+
+/**
+ * Writes the return value in the binary callback protocol (see JuliaBinaryType) so that julia can read it without
+ * parsing and evaluating source text.
+ *
+ * Payload layout: status (1 byte), followed by the value for STATUS_OK or an utf8 message for STATUS_ERROR.
+ */
+@NotThreadSafe
+public class ScriptTaskReturnsJuliaToBinary implements IScriptTaskReturns, Closeable {
+
+    public static final byte STATUS_OK = 0x10;
+    public static final byte STATUS_ERROR = 0x11;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+    private boolean returned;
+
+    /**
+     * Returns the flipped payload, it stays valid until the next return value is written.
+     */
+    public ByteBuffer getPayload() {
+        if (!returned) {
+            returnNull();
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Returns a copy of the payload without flipping it, it can be replayed later via returnPayload.
+     */
+    public byte[] getPayloadBytes() {
+        if (!returned) {
+            returnNull();
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    public void returnPayload(final byte[] payload) {
+        assert !returned;
+        returned = true;
+        buffer.clear();
+        ensureCapacity(payload.length);
+        buffer.put(payload);
+    }
+
+    public void returnError(final String message) {
+        beginReturn(STATUS_ERROR);
+        final byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Combines the return values of a batch into a single payload of status, int32 count and the values. An error of
+     * any call fails the whole batch with that error.
+     */
+    public void returnBatch(final List<ScriptTaskReturnsJuliaToBinary> results, final int count) {
+        for (int i = 0; i < count; i++) {
+            final ByteBuffer payload = results.get(i).getPayload();
+            if (payload.get(0) == STATUS_ERROR) {
+                beginReturn(STATUS_ERROR);
+                ensureCapacity(payload.remaining() - 1);
+                buffer.put(payload.array(), payload.arrayOffset() + 1, payload.remaining() - 1);
+                return;
+            }
+        }
+        beginReturn(STATUS_OK);
+        ensureCapacity(Integer.BYTES);
+        buffer.putInt(count);
+        for (int i = 0; i < count; i++) {
+            final ByteBuffer payload = results.get(i).buffer;
+            //skip the status of each value
+            ensureCapacity(payload.remaining() - 1);
+            buffer.put(payload.array(), payload.arrayOffset() + 1, payload.remaining() - 1);
+        }
+    }
+
+    @Override
+    public void returnExpression(final String expression) {
+        beginValue(JuliaBinaryType.EXPRESSION);
+        putString(expression);
+    }
+
+    @Override
+    public void returnNull() {
+        beginValue(JuliaBinaryType.NOTHING);
+    }
+
+    private void beginReturn(final byte status) {
+        assert !returned;
+        returned = true;
+        buffer.clear();
+        buffer.put(status);
+    }
+
+    private void beginValue(final JuliaBinaryType type, final int... dimensions) {
+        beginReturn(STATUS_OK);
+        ensureCapacity(2 + dimensions.length * Integer.BYTES);
+        buffer.put(type.getCode());
+        buffer.put((byte) dimensions.length);
+        for (int d = 0; d < dimensions.length; d++) {
+            buffer.putInt(dimensions[d]);
+        }
+    }
+
+    private void beginMatrix(final JuliaBinaryType type, final int rows, final int columns) {
+        beginValue(type, rows, columns);
+        if (type.getBytes() > 0) {
+            ensureCapacity(Math.multiplyExact(rows * columns, type.getBytes()));
+        }
+    }
+
+    private void ensureCapacity(final int bytes) {
+        if (buffer.remaining() < bytes) {
+            final int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+            final ByteBuffer newBuffer = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.flip();
+            newBuffer.put(buffer);
+            buffer = newBuffer;
+        }
+    }
+
+    private void putString(final String value) {
+        final byte[] bytes;
+        if (value == null) {
+            bytes = new byte[0];
+        } else {
+            bytes = value.getBytes(StandardCharsets.UTF_8);
+        }
+        ensureCapacity(Integer.BYTES + bytes.length);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static int getColumns(final Object[] matrix) {
+        if (matrix.length == 0) {
+            return 0;
+        } else {
+            return Array.getLength(matrix[0]);
+        }
+    }
+
+    private static void checkColumns(final Object row, final int columns) {
+        Assertions.checkEquals(Array.getLength(row), columns);
+    }
+
+    @Override
+    public void returnCharacter(final char value) {
+        beginValue(JuliaBinaryType.CHARACTER);
+        ensureCapacity(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    @Override
+    public void returnCharacterVector(final char[] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            beginValue(JuliaBinaryType.CHARACTER, value.length);
+            ensureCapacity(value.length * Integer.BYTES);
+            for (int i = 0; i < value.length; i++) {
+                buffer.putInt(value[i]);
+            }
+        }
+    }
+
+    @Override
+    public void returnCharacterMatrix(final char[][] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            final int rows = value.length;
+            final int columns = getColumns(value);
+            beginMatrix(JuliaBinaryType.CHARACTER, rows, columns);
+            for (int r = 0; r < rows; r++) {
+                checkColumns(value[r], columns);
+            }
+            for (int c = 0; c < columns; c++) {
+                for (int r = 0; r < rows; r++) {
+                    buffer.putInt(value[r][c]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void returnString(final String value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            beginValue(JuliaBinaryType.STRING);
+            putString(value);
+        }
+    }
+
+    @Override
+    public void returnStringVector(final String[] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            beginValue(JuliaBinaryType.STRING, value.length);
+            for (int i = 0; i < value.length; i++) {
+                putString(value[i]);
+            }
+        }
+    }
+
+    @Override
+    public void returnStringMatrix(final String[][] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            final int rows = value.length;
+            final int columns = getColumns(value);
+            beginMatrix(JuliaBinaryType.STRING, rows, columns);
+            for (int r = 0; r < rows; r++) {
+                checkColumns(value[r], columns);
+            }
+            for (int c = 0; c < columns; c++) {
+                for (int r = 0; r < rows; r++) {
+                    putString(value[r][c]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void returnBoolean(final boolean value) {
+        beginValue(JuliaBinaryType.BOOLEAN);
+        ensureCapacity(1);
+        buffer.put(value ? (byte) 1 : (byte) 0);
+    }
+
+    @Override
+    public void returnBooleanVector(final boolean[] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            beginValue(JuliaBinaryType.BOOLEAN, value.length);
+            ensureCapacity(value.length);
+            for (int i = 0; i < value.length; i++) {
+                buffer.put(value[i] ? (byte) 1 : (byte) 0);
+            }
+        }
+    }
+
+    @Override
+    public void returnBooleanMatrix(final boolean[][] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            final int rows = value.length;
+            final int columns = getColumns(value);
+            beginMatrix(JuliaBinaryType.BOOLEAN, rows, columns);
+            for (int r = 0; r < rows; r++) {
+                checkColumns(value[r], columns);
+            }
+            for (int c = 0; c < columns; c++) {
+                for (int r = 0; r < rows; r++) {
+                    buffer.put(value[r][c] ? (byte) 1 : (byte) 0);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void returnByte(final byte value) {
+        beginValue(JuliaBinaryType.BYTE);
+        ensureCapacity(Byte.BYTES);
+        buffer.put(value);
+    }
+
+    @Override
+    public void returnByteVector(final byte[] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            beginValue(JuliaBinaryType.BYTE, value.length);
+            ensureCapacity(value.length);
+            buffer.put(value);
+        }
+    }
+
+    @Override
+    public void returnByteMatrix(final byte[][] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            final int rows = value.length;
+            final int columns = getColumns(value);
+            beginMatrix(JuliaBinaryType.BYTE, rows, columns);
+            for (int r = 0; r < rows; r++) {
+                checkColumns(value[r], columns);
+            }
+            for (int c = 0; c < columns; c++) {
+                for (int r = 0; r < rows; r++) {
+                    buffer.put(value[r][c]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void returnShort(final short value) {
+        beginValue(JuliaBinaryType.SHORT);
+        ensureCapacity(Short.BYTES);
+        buffer.putShort(value);
+    }
+
+    @Override
+    public void returnShortVector(final short[] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            beginValue(JuliaBinaryType.SHORT, value.length);
+            ensureCapacity(value.length * Short.BYTES);
+            for (int i = 0; i < value.length; i++) {
+                buffer.putShort(value[i]);
+            }
+        }
+    }
+
+    @Override
+    public void returnShortMatrix(final short[][] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            final int rows = value.length;
+            final int columns = getColumns(value);
+            beginMatrix(JuliaBinaryType.SHORT, rows, columns);
+            for (int r = 0; r < rows; r++) {
+                checkColumns(value[r], columns);
+            }
+            for (int c = 0; c < columns; c++) {
+                for (int r = 0; r < rows; r++) {
+                    buffer.putShort(value[r][c]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void returnInteger(final int value) {
+        beginValue(JuliaBinaryType.INTEGER);
+        ensureCapacity(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    @Override
+    public void returnIntegerVector(final int[] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            beginValue(JuliaBinaryType.INTEGER, value.length);
+            ensureCapacity(value.length * Integer.BYTES);
+            for (int i = 0; i < value.length; i++) {
+                buffer.putInt(value[i]);
+            }
+        }
+    }
+
+    @Override
+    public void returnIntegerMatrix(final int[][] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            final int rows = value.length;
+            final int columns = getColumns(value);
+            beginMatrix(JuliaBinaryType.INTEGER, rows, columns);
+            for (int r = 0; r < rows; r++) {
+                checkColumns(value[r], columns);
+            }
+            for (int c = 0; c < columns; c++) {
+                for (int r = 0; r < rows; r++) {
+                    buffer.putInt(value[r][c]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void returnLong(final long value) {
+        beginValue(JuliaBinaryType.LONG);
+        ensureCapacity(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    @Override
+    public void returnLongVector(final long[] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            beginValue(JuliaBinaryType.LONG, value.length);
+            ensureCapacity(value.length * Long.BYTES);
+            for (int i = 0; i < value.length; i++) {
+                buffer.putLong(value[i]);
+            }
+        }
+    }
+
+    @Override
+    public void returnLongMatrix(final long[][] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            final int rows = value.length;
+            final int columns = getColumns(value);
+            beginMatrix(JuliaBinaryType.LONG, rows, columns);
+            for (int r = 0; r < rows; r++) {
+                checkColumns(value[r], columns);
+            }
+            for (int c = 0; c < columns; c++) {
+                for (int r = 0; r < rows; r++) {
+                    buffer.putLong(value[r][c]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void returnFloat(final float value) {
+        beginValue(JuliaBinaryType.FLOAT);
+        ensureCapacity(Float.BYTES);
+        buffer.putFloat(value);
+    }
+
+    @Override
+    public void returnFloatVector(final float[] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            beginValue(JuliaBinaryType.FLOAT, value.length);
+            ensureCapacity(value.length * Float.BYTES);
+            for (int i = 0; i < value.length; i++) {
+                buffer.putFloat(value[i]);
+            }
+        }
+    }
+
+    @Override
+    public void returnFloatMatrix(final float[][] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            final int rows = value.length;
+            final int columns = getColumns(value);
+            beginMatrix(JuliaBinaryType.FLOAT, rows, columns);
+            for (int r = 0; r < rows; r++) {
+                checkColumns(value[r], columns);
+            }
+            for (int c = 0; c < columns; c++) {
+                for (int r = 0; r < rows; r++) {
+                    buffer.putFloat(value[r][c]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void returnDouble(final double value) {
+        beginValue(JuliaBinaryType.DOUBLE);
+        ensureCapacity(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    @Override
+    public void returnDoubleVector(final double[] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            beginValue(JuliaBinaryType.DOUBLE, value.length);
+            ensureCapacity(value.length * Double.BYTES);
+            for (int i = 0; i < value.length; i++) {
+                buffer.putDouble(value[i]);
+            }
+        }
+    }
+
+    @Override
+    public void returnDoubleMatrix(final double[][] value) {
+        if (value == null) {
+            returnNull();
+        } else {
+            final int rows = value.length;
+            final int columns = getColumns(value);
+            beginMatrix(JuliaBinaryType.DOUBLE, rows, columns);
+            for (int r = 0; r < rows; r++) {
+                checkColumns(value[r], columns);
+            }
+            for (int c = 0; c < columns; c++) {
+                for (int r = 0; r < rows; r++) {
+                    buffer.putDouble(value[r][c]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        returned = false;
+        buffer.clear();
+    }
+
+}
@@ -0,0 +1,45 @@
+package de.invesdwin.context.julia.runtime.contract.callback;
+
+import javax.annotation.concurrent.Immutable;
+
+import de.invesdwin.context.integration.script.callback.IScriptTaskCallback;
+import de.invesdwin.context.integration.script.callback.IScriptTaskParameters;
+import de.invesdwin.context.integration.script.callback.IScriptTaskReturns;
+
+/**
+ * Requests the shared memory transport for the callbacks of this task even when JuliaProperties.CALLBACK_SHARED_MEMORY
+ * is disabled. It only has an effect for julia processes that are separate from this jvm and requires the binary
+ * protocol. Needs to be the outermost wrapper, e.g. around a NonBlockingScriptTaskCallback.
+ */
+@Immutable
+public class SharedMemoryScriptTaskCallback implements IScriptTaskCallback {
+
+    private final IScriptTaskCallback delegate;
+
+    public SharedMemoryScriptTaskCallback(final IScriptTaskCallback delegate) {
+        this.delegate = delegate;
+    }
+
+    public IScriptTaskCallback getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void invoke(final String methodName, final IScriptTaskParameters parameters,
+            final IScriptTaskReturns returns) {
+        delegate.invoke(methodName, parameters, returns);
+    }
+
+    public static boolean isSharedMemory(final IScriptTaskCallback callback) {
+        return callback instanceof SharedMemoryScriptTaskCallback;
+    }
+
+    public static IScriptTaskCallback unwrap(final IScriptTaskCallback callback) {
+        if (callback instanceof SharedMemoryScriptTaskCallback) {
+            return ((SharedMemoryScriptTaskCallback) callback).getDelegate();
+        } else {
+            return callback;
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package de.invesdwin.context.julia.runtime.contract.callback.jna;
+
+import java.util.Map;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.integration.script.callback.IScriptTaskCallback;
+import de.invesdwin.context.julia.runtime.contract.callback.AScriptTaskCallbackContextJulia;
+import de.invesdwin.context.julia.runtime.contract.callback.Memoized;
+import de.invesdwin.context.julia.runtime.contract.callback.MemoizedReflectiveScriptTaskCallback;
+import de.invesdwin.context.julia.runtime.contract.callback.NonBlockingScriptTaskCallback;
+import de.invesdwin.context.julia.runtime.contract.callback.socket.SocketScriptTaskCallbackContext;
+
+/**
+ * Lets julia in the same process invoke callbacks via a native function pointer with the binary callback protocol, so
+ * no socket is involved and the callbacks run directly on the thread that executes julia.
+ */
+@ThreadSafe
+public class JnaScriptTaskCallbackContext extends AScriptTaskCallbackContextJulia {
+
+    public JnaScriptTaskCallbackContext(final IScriptTaskCallback callback) {
+        this(callback, NonBlockingScriptTaskCallback.isNonBlocking(callback),
+                MemoizedReflectiveScriptTaskCallback.getMemoizedMethods(callback));
+    }
+
+    public JnaScriptTaskCallbackContext(final IScriptTaskCallback callback, final boolean nonBlocking,
+            final Map<String, Memoized> memoizedMethods) {
+        super(callback, nonBlocking, memoizedMethods);
+    }
+
+    @Override
+    public void init(final IScriptTaskEngine engine) {
+        engine.getInputs().putString("socketScriptTaskCallbackContextUuid", getUuid());
+        engine.getInputs().putBoolean("socketScriptTaskCallbackBinary", true);
+        engine.getInputs().putString("socketScriptTaskCallbackSharedMemoryPath", "");
+        engine.getInputs()
+                .putLong("socketScriptTaskCallbackNativeFunction", JnaScriptTaskCallbackFunction.INSTANCE.getAddress());
+        engine.getInputs().putString("socketScriptTaskCallbackMemoized", getJuliaMemoizedMethods());
+        SocketScriptTaskCallbackContext.SCRIPT.eval(engine);
+    }
+
+    @Override
+    public void deinit(final IScriptTaskEngine engine) {
+        //the function pointer stays valid and is rebound by the next task
+        engine.eval("callback_flush()");
+    }
+
+}
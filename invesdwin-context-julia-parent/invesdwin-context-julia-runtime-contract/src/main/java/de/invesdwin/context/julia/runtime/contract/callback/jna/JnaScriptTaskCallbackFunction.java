@@ -0,0 +1,106 @@
+package de.invesdwin.context.julia.runtime.contract.callback.jna;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.sun.jna.Callback;
+import com.sun.jna.CallbackReference;
+import com.sun.jna.Memory;
+import com.sun.jna.Pointer;
+
+import de.invesdwin.context.julia.runtime.contract.callback.ScriptTaskCallbackJuliaBinaryDispatcher;
+import de.invesdwin.context.julia.runtime.contract.callback.ScriptTaskReturnsJuliaToBinary;
+import de.invesdwin.context.log.error.Err;
+import de.invesdwin.util.concurrent.Executors;
+import de.invesdwin.util.error.Throwables;
+import de.invesdwin.util.lang.string.Strings;
+
+/**
+ * Native upcall for julia in the same process (see callback_exchangeNative in SocketScriptTaskCallbackContext.jl). It
+ * receives a request of the binary callback protocol and returns a pointer to the int32 length (native order) followed
+ * by the response payload. The response stays valid until the next invocation, julia copies it right away.
+ *
+ * The function pointer is created only once because the julia runtime can only be loaded once per process.
+ * Invocations are serialized since the binary protocol in julia uses a single request buffer anyway.
+ */
+@ThreadSafe
+public final class JnaScriptTaskCallbackFunction implements Callback {
+
+    public static final JnaScriptTaskCallbackFunction INSTANCE = new JnaScriptTaskCallbackFunction();
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final ExecutorService ASYNC_EXECUTOR = Executors
+            .newFixedThreadPool(JnaScriptTaskCallbackFunction.class.getSimpleName() + "_ASYNC", 1);
+
+    private final long address;
+    @GuardedBy("this")
+    private final ScriptTaskCallbackJuliaBinaryDispatcher dispatcher = new ScriptTaskCallbackJuliaBinaryDispatcher(
+            ASYNC_EXECUTOR);
+    @GuardedBy("this")
+    private final ScriptTaskReturnsJuliaToBinary internalReturns = new ScriptTaskReturnsJuliaToBinary();
+    @GuardedBy("this")
+    private ByteBuffer request = ByteBuffer.allocate(INITIAL_CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+    @GuardedBy("this")
+    private Memory response = new Memory(INITIAL_CAPACITY);
+
+    private JnaScriptTaskCallbackFunction() {
+        //this instance keeps the native trampoline from being garbage collected
+        this.address = Pointer.nativeValue(CallbackReference.getFunctionPointer(this));
+    }
+
+    public long getAddress() {
+        return address;
+    }
+
+    /**
+     * Exceptions must not escape into julia, thus errors are returned as an error response.
+     */
+    public synchronized Pointer callback(final Pointer requestPointer, final int requestLength) {
+        try {
+            try {
+                if (request.capacity() < requestLength) {
+                    request = ByteBuffer.allocate(Math.max(requestLength, request.capacity() * 2))
+                            .order(ByteOrder.LITTLE_ENDIAN);
+                }
+                request.clear();
+                requestPointer.read(0, request.array(), request.arrayOffset(), requestLength);
+                request.limit(requestLength);
+                final ByteBuffer payload = dispatcher.dispatch(request);
+                if (payload != null) {
+                    return respond(payload);
+                } else {
+                    //julia ignores the response of asynchronous invocations, but the call still needs to return one
+                    internalReturns.returnNull();
+                    return respond(internalReturns.getPayload());
+                }
+            } catch (final Throwable t) {
+                internalReturns.close();
+                internalReturns.returnError(Strings.normalizeNewlines(Throwables.concatMessages(Err.process(t))));
+                return respond(internalReturns.getPayload());
+            } finally {
+                dispatcher.close();
+                internalReturns.close();
+            }
+        } catch (final Throwable t) {
+            //nothing can be returned to julia, it fails on the null pointer
+            Err.process(t);
+            return null;
+        }
+    }
+
+    private Pointer respond(final ByteBuffer payload) {
+        final int length = payload.remaining();
+        if (response.size() < Integer.BYTES + length) {
+            response.close();
+            response = new Memory(Math.max(Integer.BYTES + length, response.size() * 2));
+        }
+        response.setInt(0, length);
+        response.write(Integer.BYTES, payload.array(), payload.arrayOffset() + payload.position(), length);
+        return response;
+    }
+
+}
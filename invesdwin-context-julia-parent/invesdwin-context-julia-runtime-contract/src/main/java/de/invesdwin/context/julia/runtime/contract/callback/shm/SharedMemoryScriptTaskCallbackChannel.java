@@ -0,0 +1,193 @@
+package de.invesdwin.context.julia.runtime.contract.callback.shm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import de.invesdwin.context.ContextProperties;
+import de.invesdwin.context.julia.runtime.contract.callback.JuliaCallbackExecutors;
+import de.invesdwin.context.julia.runtime.contract.callback.ScriptTaskCallbackJuliaBinaryDispatcher;
+import de.invesdwin.context.julia.runtime.contract.callback.ScriptTaskReturnsJuliaToBinary;
+import de.invesdwin.context.julia.runtime.contract.io.JuliaWaitStrategy;
+import de.invesdwin.context.log.error.Err;
+import de.invesdwin.util.error.Throwables;
+import de.invesdwin.util.lang.UUIDs;
+import de.invesdwin.util.lang.string.Strings;
+
+/**
+ * Carries the binary callback protocol over a memory mapped file (preferably in /dev/shm) that contains a request ring
+ * (julia to java) followed by a response ring (java to julia). While a script task has the channel borrowed, a single
+ * thread polls the request ring and invokes the callbacks, otherwise the thread is parked. When the thread stops
+ * unexpectedly, the rings are marked as closed so that julia fails instead of waiting for a response forever.
+ */
+@ThreadSafe
+public class SharedMemoryScriptTaskCallbackChannel implements Closeable {
+
+    private static final Path DIRECTORY = newDirectory();
+    private static final ExecutorService EXECUTOR = JuliaCallbackExecutors
+            .newExecutor(SharedMemoryScriptTaskCallbackChannel.class.getSimpleName());
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Path file;
+    private final MappedByteBuffer mapping;
+    private final SharedMemoryScriptTaskCallbackRing requestRing;
+    private final SharedMemoryScriptTaskCallbackRing responseRing;
+    private final ScriptTaskCallbackJuliaBinaryDispatcher dispatcher = new ScriptTaskCallbackJuliaBinaryDispatcher();
+    private final ScriptTaskReturnsJuliaToBinary errorReturns = new ScriptTaskReturnsJuliaToBinary();
+    private ByteBuffer request = ByteBuffer.allocate(INITIAL_CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+    private volatile Thread thread;
+    private volatile boolean active;
+    private volatile boolean closed;
+
+    public SharedMemoryScriptTaskCallbackChannel(final int capacity) {
+        this.file = DIRECTORY.resolve("invesdwin_julia_callback_" + UUIDs.newPseudoRandomUUID());
+        final int ringSize = SharedMemoryScriptTaskCallbackRing.getSize(capacity);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(ringSize * 2L);
+            this.mapping = raf.getChannel().map(MapMode.READ_WRITE, 0, ringSize * 2L);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+        this.requestRing = new SharedMemoryScriptTaskCallbackRing(mapping, 0, capacity);
+        this.responseRing = new SharedMemoryScriptTaskCallbackRing(mapping, ringSize, capacity);
+        EXECUTOR.execute(this::run);
+    }
+
+    private static Path newDirectory() {
+        final Path shm = Paths.get("/dev/shm");
+        if (Files.isDirectory(shm) && Files.isWritable(shm)) {
+            return shm;
+        } else {
+            //still uses the page cache, but might be written to disk eventually
+            return ContextProperties.TEMP_DIRECTORY.toPath();
+        }
+    }
+
+    public String getPath() {
+        return file.toAbsolutePath().toString();
+    }
+
+    /**
+     * Starts polling for requests, should be called when the channel is borrowed for a script task.
+     */
+    public void activate() {
+        active = true;
+        final Thread threadCopy = thread;
+        if (threadCopy != null) {
+            LockSupport.unpark(threadCopy);
+        }
+    }
+
+    /**
+     * Stops polling for requests, julia does not send any further requests after the script task is finished.
+     */
+    public void deactivate() {
+        active = false;
+    }
+
+    private void run() {
+        thread = Thread.currentThread();
+        long waitStartNanos = 0;
+        try {
+            while (!closed) {
+                if (!active) {
+                    LockSupport.park(this);
+                    waitStartNanos = 0;
+                    continue;
+                }
+                final ByteBuffer message = requestRing.read(request);
+                if (message == null) {
+                    if (waitStartNanos == 0) {
+                        waitStartNanos = System.nanoTime();
+                    }
+                    JuliaWaitStrategy.DEFAULT.idle(waitStartNanos);
+                    continue;
+                }
+                request = message;
+                handle();
+                waitStartNanos = System.nanoTime();
+            }
+        } catch (final Throwable t) {
+            Err.process(t);
+        } finally {
+            thread = null;
+            //this channel can not be used anymore without its poll thread
+            close();
+        }
+    }
+
+    /**
+     * Errors of a request must not stop the poll thread, thus they are returned as an error response.
+     */
+    private void handle() {
+        final boolean awaitResponse = request.get(0) != ScriptTaskCallbackJuliaBinaryDispatcher.REQUEST_INVOKE_ASYNC;
+        try {
+            final ByteBuffer payload = dispatcher.dispatch(request);
+            if (payload != null) {
+                respond(payload);
+            }
+        } catch (final Throwable t) {
+            final String error = Strings.normalizeNewlines(Throwables.concatMessages(Err.process(t)));
+            if (awaitResponse) {
+                errorReturns.close();
+                errorReturns.returnError(error);
+                respond(errorReturns.getPayload());
+            }
+        } finally {
+            dispatcher.close();
+            errorReturns.close();
+        }
+    }
+
+    private void respond(final ByteBuffer payload) {
+        ByteBuffer response = payload;
+        if (!responseRing.isWritable(response.remaining())) {
+            errorReturns.returnError("Response of " + response.remaining()
+                    + " bytes exceeds the shared memory capacity of " + responseRing.getCapacity() + " bytes");
+            response = errorReturns.getPayload();
+        }
+        final long waitStartNanos = System.nanoTime();
+        while (!responseRing.write(response)) {
+            if (closed) {
+                return;
+            }
+            JuliaWaitStrategy.DEFAULT.idle(waitStartNanos);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            active = false;
+            requestRing.close();
+            responseRing.close();
+            final Thread threadCopy = thread;
+            if (threadCopy != null) {
+                LockSupport.unpark(threadCopy);
+            }
+            try {
+                //julia keeps its mapping valid until it maps the file of another channel
+                Files.deleteIfExists(file);
+            } catch (final IOException e) {
+                Err.process(e);
+            }
+        }
+    }
+
+}
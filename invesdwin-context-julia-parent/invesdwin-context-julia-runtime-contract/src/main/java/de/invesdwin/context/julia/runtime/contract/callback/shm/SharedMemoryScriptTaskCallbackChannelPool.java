@@ -0,0 +1,41 @@
+package de.invesdwin.context.julia.runtime.contract.callback.shm;
+
+import javax.annotation.concurrent.Immutable;
+
+import de.invesdwin.context.julia.runtime.contract.JuliaProperties;
+import de.invesdwin.util.concurrent.pool.timeout.ATimeoutObjectPool;
+import de.invesdwin.util.lang.Closeables;
+import de.invesdwin.util.time.date.FTimeUnit;
+import de.invesdwin.util.time.duration.Duration;
+
+/**
+ * Each script task borrows its own channel so that every ring buffer has exactly one producer and one consumer.
+ */
+@Immutable
+public final class SharedMemoryScriptTaskCallbackChannelPool
+        extends ATimeoutObjectPool<SharedMemoryScriptTaskCallbackChannel> {
+
+    public static final SharedMemoryScriptTaskCallbackChannelPool INSTANCE =
+            new SharedMemoryScriptTaskCallbackChannelPool();
+
+    private SharedMemoryScriptTaskCallbackChannelPool() {
+        super(Duration.ONE_MINUTE, new Duration(10, FTimeUnit.SECONDS));
+    }
+
+    @Override
+    protected SharedMemoryScriptTaskCallbackChannel newObject() {
+        return new SharedMemoryScriptTaskCallbackChannel(JuliaProperties.CALLBACK_SHARED_MEMORY_CAPACITY);
+    }
+
+    @Override
+    protected boolean passivateObject(final SharedMemoryScriptTaskCallbackChannel element) {
+        element.deactivate();
+        return true;
+    }
+
+    @Override
+    public void invalidateObject(final SharedMemoryScriptTaskCallbackChannel element) {
+        Closeables.closeQuietly(element);
+    }
+
+}
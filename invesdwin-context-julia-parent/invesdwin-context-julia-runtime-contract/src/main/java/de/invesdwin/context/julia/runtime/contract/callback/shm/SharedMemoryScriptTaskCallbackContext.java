@@ -0,0 +1,72 @@
+package de.invesdwin.context.julia.runtime.contract.callback.shm;
+
+import java.util.Map;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.integration.script.callback.IScriptTaskCallback;
+import de.invesdwin.context.julia.runtime.contract.callback.AScriptTaskCallbackContextJulia;
+import de.invesdwin.context.julia.runtime.contract.callback.Memoized;
+import de.invesdwin.context.julia.runtime.contract.callback.MemoizedReflectiveScriptTaskCallback;
+import de.invesdwin.context.julia.runtime.contract.callback.NonBlockingScriptTaskCallback;
+import de.invesdwin.context.julia.runtime.contract.callback.socket.SocketScriptTaskCallbackContext;
+
+/**
+ * Uses the binary callback protocol over shared memory ring buffers instead of a loopback socket, thus it only works
+ * for julia processes on the same host. Julia keeps the file mapped across tasks and only remaps it when a task
+ * borrowed a different channel.
+ */
+@ThreadSafe
+public class SharedMemoryScriptTaskCallbackContext extends AScriptTaskCallbackContextJulia {
+
+    private final SharedMemoryScriptTaskCallbackChannel channel;
+
+    public SharedMemoryScriptTaskCallbackContext(final IScriptTaskCallback callback) {
+        this(callback, NonBlockingScriptTaskCallback.isNonBlocking(callback),
+                MemoizedReflectiveScriptTaskCallback.getMemoizedMethods(callback));
+    }
+
+    /**
+     * Callbacks are invoked on the thread that polls the request ring, non blocking callbacks additionally skip the
+     * in flight limit.
+     */
+    public SharedMemoryScriptTaskCallbackContext(final IScriptTaskCallback callback, final boolean nonBlocking,
+            final Map<String, Memoized> memoizedMethods) {
+        super(callback, nonBlocking, memoizedMethods);
+        this.channel = SharedMemoryScriptTaskCallbackChannelPool.INSTANCE.borrowObject();
+        channel.activate();
+    }
+
+    @Override
+    public void init(final IScriptTaskEngine engine) {
+        engine.getInputs().putString("socketScriptTaskCallbackContextUuid", getUuid());
+        engine.getInputs().putBoolean("socketScriptTaskCallbackBinary", true);
+        engine.getInputs().putString("socketScriptTaskCallbackSharedMemoryPath", channel.getPath());
+        engine.getInputs().putLong("socketScriptTaskCallbackNativeFunction", 0L);
+        engine.getInputs().putString("socketScriptTaskCallbackMemoized", getJuliaMemoizedMethods());
+        SocketScriptTaskCallbackContext.SCRIPT.eval(engine);
+    }
+
+    @Override
+    public void deinit(final IScriptTaskEngine engine) {
+        //the mapping stays open and is rebound by the next task
+        engine.eval("callback_flush()");
+    }
+
+    public String getPath() {
+        return channel.getPath();
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        if (channel.isClosed()) {
+            //the poll thread stopped due to an error
+            SharedMemoryScriptTaskCallbackChannelPool.INSTANCE.invalidateObject(channel);
+        } else {
+            SharedMemoryScriptTaskCallbackChannelPool.INSTANCE.returnObject(channel);
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+package de.invesdwin.context.julia.runtime.contract.callback.shm;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import de.invesdwin.util.assertions.Assertions;
+
+/**
+ * Single producer single consumer ring buffer on a memory mapped region that is shared with julia (see
+ * callback_writeSharedMemory and callback_readSharedMemory in SocketScriptTaskCallbackContext.jl).
+ *
+ * Layout: write sequence (int64) followed by the closed flag (int64) and the read sequence (int64) on a separate cache
+ * line in a header of HEADER_SIZE bytes, followed by the data of capacity bytes. Each message is an int32 length followed by the payload, padded to a multiple
+ * of 8 bytes so that the length never wraps around the end of the data. The sequences are published with release
+ * semantics after the data was written, little endian is used for all values.
+ */
+@NotThreadSafe
+public class SharedMemoryScriptTaskCallbackRing {
+
+    public static final int HEADER_SIZE = 128;
+    private static final int WRITE_SEQUENCE_INDEX = 0;
+    private static final int CLOSED_INDEX = 8;
+    private static final int READ_SEQUENCE_INDEX = 64;
+    private static final int ALIGNMENT = Long.BYTES;
+    private static final VarHandle SEQUENCE = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    private final ByteBuffer header;
+    private final ByteBuffer data;
+    private final int capacity;
+
+    public SharedMemoryScriptTaskCallbackRing(final ByteBuffer mapping, final int offset, final int capacity) {
+        Assertions.checkEquals(0, capacity % ALIGNMENT);
+        this.capacity = capacity;
+        this.header = slice(mapping, offset, HEADER_SIZE);
+        this.data = slice(mapping, offset + HEADER_SIZE, capacity);
+    }
+
+    private static ByteBuffer slice(final ByteBuffer mapping, final int offset, final int length) {
+        final ByteBuffer duplicate = mapping.duplicate();
+        duplicate.position(offset);
+        duplicate.limit(offset + length);
+        return duplicate.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public static int getSize(final int capacity) {
+        return HEADER_SIZE + capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isWritable(final int length) {
+        return align(Integer.BYTES + length) <= capacity;
+    }
+
+    /**
+     * Copies the next message into the given buffer (or a larger one if needed) and returns it flipped, returns null if
+     * no message is available. Should only be called by the consumer.
+     */
+    public ByteBuffer read(final ByteBuffer message) {
+        final long readSequence = header.getLong(READ_SEQUENCE_INDEX);
+        final long writeSequence = (long) SEQUENCE.getAcquire(header, WRITE_SEQUENCE_INDEX);
+        if (writeSequence == readSequence) {
+            return null;
+        }
+        final int position = (int) (readSequence % capacity);
+        final int length = data.getInt(position);
+        ByteBuffer target = message;
+        if (target.capacity() < length) {
+            target = ByteBuffer.allocate(Math.max(length, target.capacity() * 2)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        target.clear();
+        final int head = Math.min(length, capacity - position - Integer.BYTES);
+        data.position(position + Integer.BYTES);
+        data.get(target.array(), target.arrayOffset(), head);
+        if (length > head) {
+            data.position(0);
+            data.get(target.array(), target.arrayOffset() + head, length - head);
+        }
+        target.limit(length);
+        SEQUENCE.setRelease(header, READ_SEQUENCE_INDEX, readSequence + align(Integer.BYTES + length));
+        return target;
+    }
+
+    /**
+     * Returns false when the consumer did not free enough space yet. Should only be called by the producer.
+     */
+    public boolean write(final ByteBuffer payload) {
+        final int length = payload.remaining();
+        final int required = align(Integer.BYTES + length);
+        if (required > capacity) {
+            throw new IllegalArgumentException(
+                    "Message of " + length + " bytes exceeds the ring capacity of " + capacity + " bytes");
+        }
+        final long writeSequence = header.getLong(WRITE_SEQUENCE_INDEX);
+        final long readSequence = (long) SEQUENCE.getAcquire(header, READ_SEQUENCE_INDEX);
+        if (capacity - (writeSequence - readSequence) < required) {
+            return false;
+        }
+        final int position = (int) (writeSequence % capacity);
+        data.putInt(position, length);
+        final int head = Math.min(length, capacity - position - Integer.BYTES);
+        data.position(position + Integer.BYTES);
+        data.put(payload.array(), payload.arrayOffset() + payload.position(), head);
+        if (length > head) {
+            data.position(0);
+            data.put(payload.array(), payload.arrayOffset() + payload.position() + head, length - head);
+        }
+        payload.position(payload.limit());
+        SEQUENCE.setRelease(header, WRITE_SEQUENCE_INDEX, writeSequence + required);
+        return true;
+    }
+
+    /**
+     * Tells julia that the java side stopped, julia checks this flag while it waits for the ring so that it fails
+     * instead of waiting forever.
+     */
+    public void close() {
+        SEQUENCE.setRelease(header, CLOSED_INDEX, 1L);
+    }
+
+    public boolean isClosed() {
+        return (long) SEQUENCE.getAcquire(header, CLOSED_INDEX) != 0;
+    }
+
+    private static int align(final int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+}
@@ -0,0 +1,107 @@
+package de.invesdwin.context.julia.runtime.contract.callback.socket;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import de.invesdwin.context.integration.channel.sync.ISynchronousChannel;
+import de.invesdwin.context.julia.runtime.contract.callback.JuliaCallbackExecutors;
+import de.invesdwin.context.log.error.Err;
+import de.invesdwin.util.assertions.Assertions;
+import de.invesdwin.util.lang.Closeables;
+
+/**
+ * Serves the binary callback protocol with plain blocking sockets. Each julia connection gets its own thread (virtual
+ * if available) that invokes the callbacks directly, thus no handoff between a network thread and a worker thread is
+ * needed.
+ */
+@ThreadSafe
+public class SocketScriptTaskCallbackBinaryServer implements ISynchronousChannel {
+
+    private static final ExecutorService EXECUTOR = JuliaCallbackExecutors
+            .newExecutor(SocketScriptTaskCallbackBinaryServer.class.getSimpleName());
+
+    private final String host;
+    private final int configuredPort;
+    private final Set<SocketScriptTaskCallbackBinaryServerHandler> handlers = ConcurrentHashMap.newKeySet();
+    private volatile ServerSocketChannel server;
+    private volatile int port;
+
+    public SocketScriptTaskCallbackBinaryServer(final String host, final int port) {
+        this.host = host;
+        this.configuredPort = port;
+        this.port = port;
+    }
+
+    @Override
+    public synchronized void open() {
+        Assertions.checkNull(server);
+        try {
+            final ServerSocketChannel newServer = ServerSocketChannel.open();
+            //port 0 lets the operating system choose a free port without a race
+            newServer.bind(new InetSocketAddress(host, Math.max(0, configuredPort)));
+            port = ((InetSocketAddress) newServer.getLocalAddress()).getPort();
+            server = newServer;
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+        final ServerSocketChannel acceptingServer = server;
+        EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                accept(acceptingServer);
+            }
+        });
+    }
+
+    private void accept(final ServerSocketChannel acceptingServer) {
+        try {
+            while (acceptingServer.isOpen()) {
+                final SocketChannel client = acceptingServer.accept();
+                client.socket().setTcpNoDelay(true);
+                final SocketScriptTaskCallbackBinaryServerHandler handler;
+                handler = new SocketScriptTaskCallbackBinaryServerHandler(client) {
+                    @Override
+                    public void close() {
+                        super.close();
+                        handlers.remove(this);
+                    }
+                };
+                handlers.add(handler);
+                EXECUTOR.execute(handler);
+            }
+        } catch (final ClosedChannelException e) {
+            //server was closed
+        } catch (final Throwable t) {
+            Err.process(t);
+        }
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            Closeables.closeQuietly(server);
+            server = null;
+            port = configuredPort;
+            for (final SocketScriptTaskCallbackBinaryServerHandler handler : handlers) {
+                handler.close();
+            }
+        }
+    }
+
+}
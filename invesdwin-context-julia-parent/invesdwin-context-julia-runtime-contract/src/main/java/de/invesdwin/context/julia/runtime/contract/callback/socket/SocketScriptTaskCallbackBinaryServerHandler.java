@@ -0,0 +1,100 @@
+package de.invesdwin.context.julia.runtime.contract.callback.socket;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SocketChannel;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import de.invesdwin.context.julia.runtime.contract.callback.ScriptTaskCallbackJuliaBinaryDispatcher;
+import de.invesdwin.context.log.error.Err;
+import de.invesdwin.util.lang.Closeables;
+
+/**
+ * Handles one julia connection of the binary callback protocol. Every message is a frame of int32 length (little
+ * endian) followed by the payload, the payloads are answered by ScriptTaskCallbackJuliaBinaryDispatcher.
+ */
+@NotThreadSafe
+public class SocketScriptTaskCallbackBinaryServerHandler implements Runnable, Closeable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final SocketChannel client;
+    private final ByteBuffer header = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer[] response = new ByteBuffer[2];
+    private final ScriptTaskCallbackJuliaBinaryDispatcher dispatcher = new ScriptTaskCallbackJuliaBinaryDispatcher();
+    private ByteBuffer request = ByteBuffer.allocate(INITIAL_CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+
+    public SocketScriptTaskCallbackBinaryServerHandler(final SocketChannel client) {
+        this.client = client;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (readFrame()) {
+                try {
+                    final ByteBuffer payload = dispatcher.dispatch(request);
+                    if (payload != null) {
+                        writeFrame(payload);
+                    }
+                } finally {
+                    dispatcher.close();
+                }
+            }
+        } catch (final EOFException | ClosedChannelException e) {
+            //julia closed the connection
+        } catch (final Throwable t) {
+            Err.process(t);
+        } finally {
+            close();
+        }
+    }
+
+    private boolean readFrame() throws IOException {
+        header.clear();
+        while (header.hasRemaining()) {
+            if (client.read(header) < 0) {
+                if (header.position() == 0) {
+                    return false;
+                } else {
+                    throw new EOFException();
+                }
+            }
+        }
+        final int length = header.getInt(0);
+        if (request.capacity() < length) {
+            request = ByteBuffer.allocate(Math.max(length, request.capacity() * 2)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        request.clear();
+        request.limit(length);
+        while (request.hasRemaining()) {
+            if (client.read(request) < 0) {
+                throw new EOFException();
+            }
+        }
+        request.flip();
+        return true;
+    }
+
+    private void writeFrame(final ByteBuffer payload) throws IOException {
+        header.clear();
+        header.putInt(payload.remaining());
+        header.flip();
+        response[0] = header;
+        response[1] = payload;
+        while (payload.hasRemaining()) {
+            client.write(response);
+        }
+    }
+
+    @Override
+    public void close() {
+        Closeables.closeQuietly(client);
+    }
+
+}
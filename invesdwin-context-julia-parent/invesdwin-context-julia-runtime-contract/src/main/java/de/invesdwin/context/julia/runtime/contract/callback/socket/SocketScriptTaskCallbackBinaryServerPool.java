@@ -0,0 +1,64 @@
+package de.invesdwin.context.julia.runtime.contract.callback.socket;
+
+import javax.annotation.concurrent.Immutable;
+
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaPoolEvent;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaPoolMetrics;
+import de.invesdwin.util.concurrent.pool.timeout.ASingletonTimeoutObjectPool;
+import de.invesdwin.util.lang.Closeables;
+import de.invesdwin.util.time.date.FTimeUnit;
+import de.invesdwin.util.time.duration.Duration;
+
+@Immutable
+public final class SocketScriptTaskCallbackBinaryServerPool
+        extends ASingletonTimeoutObjectPool<SocketScriptTaskCallbackBinaryServer> {
+
+    public static final SocketScriptTaskCallbackBinaryServerPool INSTANCE =
+            new SocketScriptTaskCallbackBinaryServerPool();
+
+    private final JuliaPoolMetrics metrics = JuliaPoolMetrics
+            .getInstance(SocketScriptTaskCallbackBinaryServerPool.class);
+
+    private SocketScriptTaskCallbackBinaryServerPool() {
+        super(Duration.ONE_MINUTE, new Duration(10, FTimeUnit.SECONDS));
+    }
+
+    @Override
+    public SocketScriptTaskCallbackBinaryServer borrowObject() {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
+        final SocketScriptTaskCallbackBinaryServer element = super.borrowObject();
+        metrics.recordBorrow(event, element);
+        return element;
+    }
+
+    @Override
+    public void returnObject(final SocketScriptTaskCallbackBinaryServer element) {
+        super.returnObject(element);
+        metrics.recordReturn(element);
+    }
+
+    @Override
+    protected SocketScriptTaskCallbackBinaryServer newObject() {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
+        final SocketScriptTaskCallbackBinaryServer server = new SocketScriptTaskCallbackBinaryServer("localhost", 0);
+        server.open();
+        metrics.recordCreate(event, server);
+        return server;
+    }
+
+    @Override
+    protected boolean passivateObject(final SocketScriptTaskCallbackBinaryServer element) {
+        return true;
+    }
+
+    /**
+     * Servers are only invalidated by the pool itself when they timed out.
+     */
+    @Override
+    public void invalidateObject(final SocketScriptTaskCallbackBinaryServer element) {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
+        Closeables.closeQuietly(element);
+        metrics.recordTimeout(event, element);
+    }
+
+}
@@ -1,6 +1,5 @@
 package de.invesdwin.context.julia.runtime.contract.callback.socket;
 
-import java.io.Closeable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -15,63 +14,125 @@ import com.fasterxml.jackson.databind.node.NullNode;
 import de.invesdwin.context.integration.marshaller.MarshallerJsonJackson;
 import de.invesdwin.context.integration.script.IScriptTaskEngine;
 import de.invesdwin.context.integration.script.callback.IScriptTaskCallback;
+import de.invesdwin.context.julia.runtime.contract.JuliaProperties;
+import de.invesdwin.context.julia.runtime.contract.callback.AScriptTaskCallbackContextJulia;
+import de.invesdwin.context.julia.runtime.contract.callback.Memoized;
+import de.invesdwin.context.julia.runtime.contract.callback.MemoizedReflectiveScriptTaskCallback;
+import de.invesdwin.context.julia.runtime.contract.callback.NonBlockingScriptTaskCallback;
 import de.invesdwin.context.julia.runtime.contract.callback.ScriptTaskParametersJuliaFromJson;
 import de.invesdwin.context.julia.runtime.contract.callback.ScriptTaskParametersJuliaFromJsonPool;
 import de.invesdwin.context.julia.runtime.contract.callback.ScriptTaskReturnsJuliaToExpression;
 import de.invesdwin.context.julia.runtime.contract.callback.ScriptTaskReturnsJuliaToExpressionPool;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptSource;
 import de.invesdwin.context.log.error.Err;
 import de.invesdwin.context.log.error.LoggedRuntimeException;
 import de.invesdwin.util.error.Throwables;
-import de.invesdwin.util.lang.UUIDs;
 import de.invesdwin.util.lang.string.Strings;
 
 @ThreadSafe
-public class SocketScriptTaskCallbackContext implements Closeable {
+public class SocketScriptTaskCallbackContext extends AScriptTaskCallbackContextJulia {
 
-    private static final Map<String, SocketScriptTaskCallbackContext> UUID_CONTEXT = new ConcurrentHashMap<>();
+    /**
+     * Also used by other transports of the binary protocol, they share the serialization functions.
+     */
+    public static final JuliaScriptSource SCRIPT = JuliaScriptSource.valueOf(new ClassPathResource(
+            SocketScriptTaskCallbackContext.class.getSimpleName() + ".jl", SocketScriptTaskCallbackContext.class));
 
-    private final String uuid;
-    private final IScriptTaskCallback callback;
     private final ObjectMapper mapper;
+    private final boolean binary;
     private final SocketScriptTaskCallbackServer server;
+    private final SocketScriptTaskCallbackBinaryServer binaryServer;
+    private final Map<String, Map<String, String>> memoizedExpressions = new ConcurrentHashMap<>();
 
     public SocketScriptTaskCallbackContext(final IScriptTaskCallback callback) {
-        this.uuid = UUIDs.newPseudoRandomUUID();
-        this.callback = callback;
-        UUID_CONTEXT.put(uuid, this);
+        this(callback, NonBlockingScriptTaskCallback.isNonBlocking(callback),
+                MemoizedReflectiveScriptTaskCallback.getMemoizedMethods(callback));
+    }
+
+    /**
+     * Non blocking callbacks are invoked inline on the network thread, all others are dispatched to a separate thread.
+     */
+    public SocketScriptTaskCallbackContext(final IScriptTaskCallback callback, final boolean nonBlocking,
+            final Map<String, Memoized> memoizedMethods) {
+        super(callback, nonBlocking, memoizedMethods);
         this.mapper = MarshallerJsonJackson.getInstance().getJsonMapper(false);
-        this.server = SocketScriptTaskCallbackServerPool.INSTANCE.borrowObject();
+        this.binary = JuliaProperties.CALLBACK_BINARY_PROTOCOL;
+        if (binary) {
+            this.server = null;
+            this.binaryServer = SocketScriptTaskCallbackBinaryServerPool.INSTANCE.borrowObject();
+        } else {
+            this.server = SocketScriptTaskCallbackServerPool.INSTANCE.borrowObject();
+            this.binaryServer = null;
+        }
     }
 
     public static SocketScriptTaskCallbackContext getContext(final String uuid) {
-        return UUID_CONTEXT.get(uuid);
+        final AScriptTaskCallbackContextJulia context = AScriptTaskCallbackContextJulia.getContext(uuid);
+        if (context instanceof SocketScriptTaskCallbackContext) {
+            return (SocketScriptTaskCallbackContext) context;
+        } else {
+            return null;
+        }
     }
 
+    @Override
     public void init(final IScriptTaskEngine engine) {
         engine.getInputs().putString("socketScriptTaskCallbackContextUuid", getUuid());
         engine.getInputs().putString("socketScriptTaskCallbackServerHost", getServerHost());
         engine.getInputs().putInteger("socketScriptTaskCallbackServerPort", getServerPort());
-        engine.eval(new ClassPathResource(SocketScriptTaskCallbackContext.class.getSimpleName() + ".jl",
-                SocketScriptTaskCallbackContext.class));
+        engine.getInputs().putBoolean("socketScriptTaskCallbackBinary", binary);
+        engine.getInputs().putString("socketScriptTaskCallbackSharedMemoryPath", "");
+        engine.getInputs().putLong("socketScriptTaskCallbackNativeFunction", 0L);
+        engine.getInputs().putString("socketScriptTaskCallbackMemoized", getJuliaMemoizedMethods());
+        SCRIPT.eval(engine);
     }
 
+    @Override
     public void deinit(final IScriptTaskEngine engine) {
-        engine.eval("close(socketScriptTaskCallbackSocket)");
-    }
-
-    public String getUuid() {
-        return uuid;
+        if (binary) {
+            //the binary connection stays open and is rebound by the next task
+            engine.eval("callback_flush()");
+        } else {
+            engine.eval("close(socketScriptTaskCallbackSocket)");
+        }
     }
 
     public String getServerHost() {
-        return server.getHost();
+        if (binary) {
+            return binaryServer.getHost();
+        } else {
+            return server.getHost();
+        }
     }
 
     public int getServerPort() {
-        return server.getPort();
+        if (binary) {
+            return binaryServer.getPort();
+        } else {
+            return server.getPort();
+        }
     }
 
     public String invoke(final String methodName, final String dims, final String args) {
+        if (!isMemoized(methodName)) {
+            return invokeUncached(methodName, dims, args);
+        }
+        final Map<String, String> methodExpressions = memoizedExpressions.computeIfAbsent(methodName,
+                (k) -> new ConcurrentHashMap<>());
+        final String key = dims + ";" + args;
+        final String cached = methodExpressions.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final String expression = invokeUncached(methodName, dims, args);
+        //errors are not cached so that they get logged again
+        if (!expression.startsWith("error(\"CallbackException: ")) {
+            methodExpressions.put(key, expression);
+        }
+        return expression;
+    }
+
+    private String invokeUncached(final String methodName, final String dims, final String args) {
         final ScriptTaskParametersJuliaFromJson parameters = ScriptTaskParametersJuliaFromJsonPool.INSTANCE
                 .borrowObject();
         final ScriptTaskReturnsJuliaToExpression returns = ScriptTaskReturnsJuliaToExpressionPool.INSTANCE
@@ -80,7 +141,7 @@ public class SocketScriptTaskCallbackContext implements Closeable {
             final JsonNode jsonDims = toJsonNode(dims);
             final JsonNode jsonArgs = toJsonNode(args);
             parameters.setParameters(jsonDims, jsonArgs);
-            callback.invoke(methodName, parameters, returns);
+            invokeCallback(methodName, parameters, returns);
             return returns.getReturnExpression();
         } catch (final Throwable t) {
             final LoggedRuntimeException loggedError = Err.process(t);
@@ -110,8 +171,13 @@ public class SocketScriptTaskCallbackContext implements Closeable {
 
     @Override
     public void close() {
-        UUID_CONTEXT.remove(uuid);
-        SocketScriptTaskCallbackServerPool.INSTANCE.returnObject(server);
+        super.close();
+        memoizedExpressions.clear();
+        if (binary) {
+            SocketScriptTaskCallbackBinaryServerPool.INSTANCE.returnObject(binaryServer);
+        } else {
+            SocketScriptTaskCallbackServerPool.INSTANCE.returnObject(server);
+        }
     }
 
 }
@@ -1,56 +1,496 @@
 #disable repl output during initialization by wrapping everything in a begin ... end
 begin
 
-	using Sockets
-	using Pkg
+	# functions and constants are defined only once per process so that the binary connection survives across tasks
+	if !isdefined(Main, :CALLBACK_BINARY_TYPES)
 	
-	# https://discourse.julialang.org/t/how-to-use-pkg-dependencies-instead-of-pkg-installed/36416/10
-	isinstalled(pkg::String) = any(x -> x.name == pkg && x.is_direct_dep, values(Pkg.dependencies()))
-	
-	if !isinstalled("JSON")
-		# redirect stderr to stdout so that stderr parsing on java does not confused falsely in jajub or juliacaller
-	    redirect_stderr(stdout) do
-	        Pkg.add("JSON")
-	    end
-	end
-	
-	using JSON
-	
-	function callback_createSocket()
-		if socketScriptTaskCallbackServerHost == "localhost"
-			global socketScriptTaskCallbackSocket = connect(socketScriptTaskCallbackServerPort)
-		else
-	    	global socketScriptTaskCallbackSocket = connect(socketScriptTaskCallbackServerHost, socketScriptTaskCallbackServerPort)
+		using Sockets
+		using Mmap
+		using Pkg
+		
+		# https://discourse.julialang.org/t/how-to-use-pkg-dependencies-instead-of-pkg-installed/36416/10
+		isinstalled(pkg::String) = any(x -> x.name == pkg && x.is_direct_dep, values(Pkg.dependencies()))
+		
+		if !isinstalled("JSON")
+			# redirect stderr to stdout so that stderr parsing on java does not confused falsely in jajub or juliacaller
+		    redirect_stderr(stdout) do
+		        Pkg.add("JSON")
+		    end
 		end
-	    write(socketScriptTaskCallbackSocket, socketScriptTaskCallbackContextUuid * "\n")
-	end
-	
-	function callback_paramSize(x)
-		if isa(x, Array)
-			return size(x)
-		else
+		
+		using JSON
+		
+		# binary protocol, the codes need to match JuliaBinaryType, ScriptTaskReturnsJuliaToBinary and ScriptTaskCallbackJuliaBinaryDispatcher
+		const CALLBACK_BINARY_NOTHING = 0x00
+		const CALLBACK_BINARY_CHARACTER = 0x08
+		const CALLBACK_BINARY_STRING = 0x09
+		const CALLBACK_BINARY_EXPRESSION = 0x0a
+		const CALLBACK_BINARY_STATUS_ERROR = 0x11
+		const CALLBACK_BINARY_BIND = 0x01
+		const CALLBACK_BINARY_INVOKE = 0x02
+		const CALLBACK_BINARY_INVOKE_BATCH = 0x03
+		const CALLBACK_BINARY_INVOKE_ASYNC = 0x04
+		const CALLBACK_BINARY_FLUSH = 0x05
+		const CALLBACK_BINARY_TYPES = Dict{DataType, UInt8}(Bool => 0x01, Int8 => 0x02, Int16 => 0x03, Int32 => 0x04, Int64 => 0x05, Float32 => 0x06, Float64 => 0x07)
+		const CALLBACK_BINARY_ELTYPES = Dict{UInt8, DataType}(v => k for (k, v) in CALLBACK_BINARY_TYPES)
+		const CALLBACK_BINARY_BUFFER = IOBuffer()
+		# constants are not cleared when the context is reset between tasks
+		const CALLBACK_BINARY_CONNECTION = Ref{Any}(nothing)
+		const CALLBACK_BINARY_CONNECTION_ADDRESS = Ref{String}("")
+		const CALLBACK_BINARY_CONNECTION_UUID = Ref{String}("")
+		# values of callbacks that are annotated with @Memoized(julia = true), only valid for the context of CALLBACK_MEMOIZED_UUID
+		const CALLBACK_MEMOIZED_CACHE = Dict{Any, Any}()
+		const CALLBACK_MEMOIZED_METHODS = Set{String}()
+		const CALLBACK_MEMOIZED_UUID = Ref{String}("")
+		# true when asynchronous callbacks were sent after the last response, their failures are only reported by the next response
+		const CALLBACK_BINARY_ASYNC_PENDING = Ref{Bool}(false)
+		# needs to match SharedMemoryScriptTaskCallbackRing
+		const CALLBACK_SHARED_MEMORY_HEADER_SIZE = 128
+		const CALLBACK_SHARED_MEMORY_CLOSED = 8
+		const CALLBACK_SHARED_MEMORY_READ_SEQUENCE = 64
+		
+		function callback_createSocket()
+			if socketScriptTaskCallbackServerHost == "localhost"
+				global socketScriptTaskCallbackSocket = connect(socketScriptTaskCallbackServerPort)
+			else
+		    	global socketScriptTaskCallbackSocket = connect(socketScriptTaskCallbackServerHost, socketScriptTaskCallbackServerPort)
+			end
+			global socketScriptTaskCallbackSocketUuid = socketScriptTaskCallbackContextUuid
+		    write(socketScriptTaskCallbackSocket, socketScriptTaskCallbackContextUuid * "\n")
+		end
+		
+		function callback_paramSize(x)
+			if isa(x, Array)
+				return size(x)
+			else
+				return nothing
+			end
+		end
+		
+		function callback_invokeSocket(methodName, parameters)
+			dims = map(callback_paramSize, parameters)
+		    write(socketScriptTaskCallbackSocket, methodName  * ";" * json(dims) * ";" * json(parameters) * "\n")
+		    # WORKAOUND: newlines need to be escaped over the wire, unescape here
+		    returnExpression = replace(readline(socketScriptTaskCallbackSocket), "__##J@NL@C##__" => "\n")
+		    # https://stackoverflow.com/a/54317201
+		    return eval(Meta.parse("begin $returnExpression end"))
+		end
+		
+		function callback_writeString(io, str::AbstractString)
+			write(io, htol(Int32(sizeof(str))))
+			write(io, str)
+		end
+		
+		function callback_writeDims(io, code::UInt8, x::Array)
+			write(io, code)
+			write(io, UInt8(ndims(x)))
+			for dim in size(x)
+				write(io, htol(Int32(dim)))
+			end
+		end
+		
+		function callback_writeValue(io, x)
+			if x === nothing
+				write(io, CALLBACK_BINARY_NOTHING)
+				write(io, 0x00)
+			elseif x isa Array
+				T = eltype(x)
+				if haskey(CALLBACK_BINARY_TYPES, T)
+					callback_writeDims(io, CALLBACK_BINARY_TYPES[T], x)
+					write(io, x)
+				elseif T <: Real
+					callback_writeDims(io, CALLBACK_BINARY_TYPES[Float64], x)
+					write(io, Float64.(x))
+				elseif T <: AbstractChar
+					callback_writeDims(io, CALLBACK_BINARY_CHARACTER, x)
+					write(io, UInt32.(x))
+				else
+					# strings and mixed arrays are transferred as strings, java parses them as needed
+					callback_writeDims(io, CALLBACK_BINARY_STRING, x)
+					for v in x
+						callback_writeString(io, v === nothing ? "" : string(v))
+					end
+				end
+			elseif haskey(CALLBACK_BINARY_TYPES, typeof(x))
+				write(io, CALLBACK_BINARY_TYPES[typeof(x)])
+				write(io, 0x00)
+				write(io, htol(x))
+			elseif x isa Real
+				write(io, CALLBACK_BINARY_TYPES[Float64])
+				write(io, 0x00)
+				write(io, htol(Float64(x)))
+			elseif x isa AbstractChar
+				write(io, CALLBACK_BINARY_CHARACTER)
+				write(io, 0x00)
+				write(io, htol(UInt32(x)))
+			else
+				write(io, CALLBACK_BINARY_STRING)
+				write(io, 0x00)
+				callback_writeString(io, string(x))
+			end
+		end
+		
+		function callback_readString(io)
+			return String(read(io, Int(ltoh(read(io, Int32)))))
+		end
+		
+		function callback_readValue(io)
+			code = read(io, UInt8)
+			dims = Tuple(Int(ltoh(read(io, Int32))) for _ in 1:read(io, UInt8))
+			if code == CALLBACK_BINARY_NOTHING
+				return nothing
+			elseif code == CALLBACK_BINARY_EXPRESSION
+				returnExpression = callback_readString(io)
+				return eval(Meta.parse("begin $returnExpression end"))
+			elseif code == CALLBACK_BINARY_STRING
+				values = String[callback_readString(io) for _ in 1:prod(dims)]
+			elseif code == CALLBACK_BINARY_CHARACTER
+				values = Char.(ltoh.(read!(io, Vector{UInt32}(undef, prod(dims)))))
+			else
+				T = CALLBACK_BINARY_ELTYPES[code]
+				if isempty(dims)
+					return ltoh(read(io, T))
+				end
+				return read!(io, Array{T}(undef, dims))
+			end
+			if isempty(dims)
+				return values[1]
+			else
+				return reshape(values, dims)
+			end
+		end
+		
+		callback_isSharedMemory() = !isempty(socketScriptTaskCallbackSharedMemoryPath)
+		
+		callback_isNative() = socketScriptTaskCallbackNativeFunction != 0
+		
+		callback_loadSequence(ptr) = Core.Intrinsics.atomic_pointerref(Ptr{Int64}(ptr), :acquire)
+		
+		callback_storeSequence(ptr, sequence) = Core.Intrinsics.atomic_pointerset(Ptr{Int64}(ptr), sequence, :release)
+		
+		# spins first for lowest latency, then yields and finally sleeps with an increasing duration similar to JuliaWaitStrategy
+		function callback_idleSharedMemory(waitStart)
+			waited = time_ns() - waitStart
+			if waited < 50_000
+				GC.safepoint()
+			elseif waited < 250_000
+				yield()
+			else
+				Libc.systemsleep(clamp((waited - 250_000) / 8e9, 1e-6, 1e-3))
+			end
+		end
+		
+		# java marks the rings as closed when it stops polling, otherwise we would wait forever
+		function callback_checkSharedMemoryClosed(ring)
+			if callback_loadSequence(ring + CALLBACK_SHARED_MEMORY_CLOSED) != 0
+				error("CallbackException: Shared memory channel was closed by java")
+			end
+		end
+		
+		# messages are an int32 length followed by the payload, padded to 8 bytes so that the length never wraps around
+		function callback_writeSharedMemory(ring, capacity, payload)
+			payloadLength = length(payload)
+			required = (4 + payloadLength + 7) & ~7
+			if required > capacity
+				error("CallbackException: Request of $(payloadLength) bytes exceeds the shared memory capacity of $(capacity) bytes")
+			end
+			writeSequence = callback_loadSequence(ring)
+			waitStart = time_ns()
+			while capacity - (writeSequence - callback_loadSequence(ring + CALLBACK_SHARED_MEMORY_READ_SEQUENCE)) < required
+				callback_checkSharedMemoryClosed(ring)
+				callback_idleSharedMemory(waitStart)
+			end
+			data = ring + CALLBACK_SHARED_MEMORY_HEADER_SIZE
+			offset = Int(writeSequence % capacity)
+			unsafe_store!(Ptr{Int32}(data + offset), htol(Int32(payloadLength)))
+			head = min(payloadLength, capacity - offset - 4)
+			GC.@preserve payload begin
+				unsafe_copyto!(data + offset + 4, pointer(payload), head)
+				if payloadLength > head
+					unsafe_copyto!(data, pointer(payload, head + 1), payloadLength - head)
+				end
+			end
+			callback_storeSequence(ring, writeSequence + required)
+		end
+		
+		function callback_readSharedMemory(ring, capacity)
+			readSequence = callback_loadSequence(ring + CALLBACK_SHARED_MEMORY_READ_SEQUENCE)
+			waitStart = time_ns()
+			while callback_loadSequence(ring) == readSequence
+				callback_checkSharedMemoryClosed(ring)
+				callback_idleSharedMemory(waitStart)
+			end
+			data = ring + CALLBACK_SHARED_MEMORY_HEADER_SIZE
+			offset = Int(readSequence % capacity)
+			payloadLength = Int(ltoh(unsafe_load(Ptr{Int32}(data + offset))))
+			payload = Vector{UInt8}(undef, payloadLength)
+			head = min(payloadLength, capacity - offset - 4)
+			GC.@preserve payload begin
+				unsafe_copyto!(pointer(payload), data + offset + 4, head)
+				if payloadLength > head
+					unsafe_copyto!(pointer(payload, head + 1), data, payloadLength - head)
+				end
+			end
+			callback_storeSequence(ring + CALLBACK_SHARED_MEMORY_READ_SEQUENCE, readSequence + ((4 + payloadLength + 7) & ~7))
+			return payload
+		end
+		
+		# the mapped file contains the request ring (julia to java) followed by the response ring (java to julia)
+		function callback_exchangeSharedMemory(mapping, payload, awaitResponse)
+			capacity = length(mapping) ÷ 2 - CALLBACK_SHARED_MEMORY_HEADER_SIZE
+			response = nothing
+			GC.@preserve mapping begin
+				request = pointer(mapping)
+				callback_writeSharedMemory(request, capacity, payload)
+				if awaitResponse
+					response = callback_readSharedMemory(request + CALLBACK_SHARED_MEMORY_HEADER_SIZE + capacity, capacity)
+				end
+			end
+			return response
+		end
+		
+		# java returns a pointer to the int32 length followed by the response, it stays valid until the next callback
+		function callback_exchangeNative(fn, payload)
+			response = ccall(fn, Ptr{UInt8}, (Ptr{UInt8}, Int32), payload, length(payload))
+			if response == C_NULL
+				error("CallbackException: Native callback failed")
+			end
+			payloadLength = Int(unsafe_load(Ptr{Int32}(response)))
+			return copy(unsafe_wrap(Array, response + 4, payloadLength))
+		end
+		
+		function callback_exchangeSocket(socket, payload, awaitResponse)
+			# send a frame of int32 length followed by the payload with a single write
+			write(CALLBACK_BINARY_BUFFER, htol(Int32(length(payload))))
+			write(CALLBACK_BINARY_BUFFER, payload)
+			write(socket, take!(CALLBACK_BINARY_BUFFER))
+			if !awaitResponse
+				return nothing
+			end
+			payloadLength = Int(ltoh(read(socket, Int32)))
+			data = read(socket, payloadLength)
+			if sizeof(data) != payloadLength
+				throw(EOFError())
+			end
+			return data
+		end
+		
+		# sends the buffer content as a request and returns the response, asynchronous requests are not answered
+		function callback_request(awaitResponse::Bool=true)
+			connection = CALLBACK_BINARY_CONNECTION[]
+			payload = try
+				if connection isa IO
+					callback_exchangeSocket(connection, take!(CALLBACK_BINARY_BUFFER), awaitResponse)
+				elseif connection isa Ptr
+					# the native call always returns, for asynchronous requests the response is only an acknowledgement
+					callback_exchangeNative(connection, take!(CALLBACK_BINARY_BUFFER))
+				else
+					callback_exchangeSharedMemory(connection, take!(CALLBACK_BINARY_BUFFER), awaitResponse)
+				end
+			catch
+				# the connection is in an undefined state, thus drop it so that the next callback reconnects
+				if connection isa IO
+					close(connection)
+				end
+				CALLBACK_BINARY_CONNECTION[] = nothing
+				CALLBACK_BINARY_CONNECTION_UUID[] = ""
+				rethrow()
+			end
+			if !awaitResponse
+				CALLBACK_BINARY_ASYNC_PENDING[] = true
+				return nothing
+			end
+			CALLBACK_BINARY_ASYNC_PENDING[] = false
+			response = IOBuffer(payload)
+			if read(response, UInt8) == CALLBACK_BINARY_STATUS_ERROR
+				error("CallbackException: " * String(read(response)))
+			end
+			return response
+		end
+		
+		function callback_connectBinary(address)
+			if CALLBACK_BINARY_CONNECTION[] isa IO
+				close(CALLBACK_BINARY_CONNECTION[])
+			end
+			if callback_isNative()
+				CALLBACK_BINARY_CONNECTION[] = Ptr{Cvoid}(socketScriptTaskCallbackNativeFunction)
+			elseif callback_isSharedMemory()
+				# the mapping stays valid even after java deleted the file
+				CALLBACK_BINARY_CONNECTION[] = open(io -> Mmap.mmap(io, Vector{UInt8}, filesize(io)), address, "r+")
+			elseif socketScriptTaskCallbackServerHost == "localhost"
+				CALLBACK_BINARY_CONNECTION[] = connect(socketScriptTaskCallbackServerPort)
+			else
+				CALLBACK_BINARY_CONNECTION[] = connect(socketScriptTaskCallbackServerHost, socketScriptTaskCallbackServerPort)
+			end
+			CALLBACK_BINARY_CONNECTION_ADDRESS[] = address
+		end
+		
+		function callback_bindBinary()
+			truncate(CALLBACK_BINARY_BUFFER, 0)
+			write(CALLBACK_BINARY_BUFFER, CALLBACK_BINARY_BIND)
+			callback_writeString(CALLBACK_BINARY_BUFFER, socketScriptTaskCallbackContextUuid)
+			callback_request()
+		end
+		
+		# the connection is kept open across tasks and only rebound to the callback context of the current task
+		function callback_rebindBinary()
+			CALLBACK_BINARY_CONNECTION_UUID[] = ""
+			if callback_isNative()
+				address = string("native:", socketScriptTaskCallbackNativeFunction)
+			elseif callback_isSharedMemory()
+				address = socketScriptTaskCallbackSharedMemoryPath
+			else
+				address = string(socketScriptTaskCallbackServerHost, ":", socketScriptTaskCallbackServerPort)
+			end
+			connection = CALLBACK_BINARY_CONNECTION[]
+			if connection === nothing || (connection isa IO && !isopen(connection)) || CALLBACK_BINARY_CONNECTION_ADDRESS[] != address
+				callback_connectBinary(address)
+				callback_bindBinary()
+			else
+				try
+					callback_bindBinary()
+				catch err
+					if !(err isa EOFError || err isa Base.IOError)
+						rethrow()
+					end
+					# the server might have been closed after being idle, bind is idempotent so just retry once
+					callback_connectBinary(address)
+					callback_bindBinary()
+				end
+			end
+			CALLBACK_BINARY_CONNECTION_UUID[] = socketScriptTaskCallbackContextUuid
+		end
+		
+		function callback_invokeBinary(methodName, parameters)
+			truncate(CALLBACK_BINARY_BUFFER, 0)
+			write(CALLBACK_BINARY_BUFFER, CALLBACK_BINARY_INVOKE)
+			callback_writeString(CALLBACK_BINARY_BUFFER, methodName)
+			write(CALLBACK_BINARY_BUFFER, htol(Int32(length(parameters))))
+			for parameter in parameters
+				callback_writeValue(CALLBACK_BINARY_BUFFER, parameter)
+			end
+			return callback_readValue(callback_request())
+		end
+		
+		function callback_invokeBatchBinary(methodName, argsList, parallel)
+			truncate(CALLBACK_BINARY_BUFFER, 0)
+			write(CALLBACK_BINARY_BUFFER, CALLBACK_BINARY_INVOKE_BATCH)
+			callback_writeString(CALLBACK_BINARY_BUFFER, methodName)
+			write(CALLBACK_BINARY_BUFFER, parallel ? 0x01 : 0x00)
+			write(CALLBACK_BINARY_BUFFER, htol(Int32(length(argsList))))
+			for args in argsList
+				parameters = args isa Tuple ? args : (args,)
+				write(CALLBACK_BINARY_BUFFER, htol(Int32(length(parameters))))
+				for parameter in parameters
+					callback_writeValue(CALLBACK_BINARY_BUFFER, parameter)
+				end
+			end
+			response = callback_request()
+			results = Any[callback_readValue(response) for _ in 1:Int(ltoh(read(response, Int32)))]
+			# narrow the element type when all results have the same type
+			return identity.(results)
+		end
+		
+		function callback_invokeAsyncBinary(methodName, parameters)
+			truncate(CALLBACK_BINARY_BUFFER, 0)
+			write(CALLBACK_BINARY_BUFFER, CALLBACK_BINARY_INVOKE_ASYNC)
+			callback_writeString(CALLBACK_BINARY_BUFFER, methodName)
+			write(CALLBACK_BINARY_BUFFER, htol(Int32(length(parameters))))
+			for parameter in parameters
+				callback_writeValue(CALLBACK_BINARY_BUFFER, parameter)
+			end
+			callback_request(false)
 			return nothing
 		end
-	end
-	
-	function callback_invokeSocket(methodName, parameters)
-		dims = map(callback_paramSize, parameters)
-	    write(socketScriptTaskCallbackSocket, methodName  * ";" * json(dims) * ";" * json(parameters) * "\n")
-	    # WORKAOUND: newlines need to be escaped over the wire, unescape here
-	    returnExpression = replace(readline(socketScriptTaskCallbackSocket), "__##J@NL@C##__" => "\n")
-	    # https://stackoverflow.com/a/54317201
-	    return eval(Meta.parse("begin $returnExpression end"))
-	end
-	
-	function callback(methodName, parameters...)
-	    if !isdefined(Main, :socketScriptTaskCallbackContext)
-	        if isdefined(Main, :socketScriptTaskCallbackContextUuid)
-	            callback_createSocket()
-	        else
-	            error("IScriptTaskCallback not available")
-	        end
-	    end
-        return callback_invokeSocket(methodName, parameters)
+		
+		# reports failures of asynchronous callbacks that were not followed by a synchronous callback, called when the task is finished
+		function callback_flush()
+			if CALLBACK_BINARY_ASYNC_PENDING[] && CALLBACK_BINARY_CONNECTION[] !== nothing
+				truncate(CALLBACK_BINARY_BUFFER, 0)
+				write(CALLBACK_BINARY_BUFFER, CALLBACK_BINARY_FLUSH)
+				callback_request()
+			end
+			return nothing
+		end
+		
+		function callback_checkAvailable()
+		    if !isdefined(Main, :socketScriptTaskCallbackContextUuid) || socketScriptTaskCallbackContextUuid === nothing
+		        error("IScriptTaskCallback not available")
+		    end
+		    if socketScriptTaskCallbackBinary && CALLBACK_BINARY_CONNECTION_UUID[] != socketScriptTaskCallbackContextUuid
+		    	callback_rebindBinary()
+		    end
+		    if CALLBACK_MEMOIZED_UUID[] != socketScriptTaskCallbackContextUuid
+		    	callback_resetMemoized()
+		    end
+		end
+		
+		function callback_resetMemoized()
+			empty!(CALLBACK_MEMOIZED_CACHE)
+			empty!(CALLBACK_MEMOIZED_METHODS)
+			if isdefined(Main, :socketScriptTaskCallbackMemoized) && socketScriptTaskCallbackMemoized !== nothing
+				for methodName in split(socketScriptTaskCallbackMemoized, ",", keepempty=false)
+					push!(CALLBACK_MEMOIZED_METHODS, String(methodName))
+				end
+			end
+			CALLBACK_MEMOIZED_UUID[] = socketScriptTaskCallbackContextUuid
+		end
+		
+		# arrays are copied so that modifications by the caller do not alter the cache
+		callback_copyMemoized(value) = value isa AbstractArray ? copy(value) : value
+		
+		function callback_memoized(methodName, parameters)
+			key = (String(methodName), parameters)
+			value = get(CALLBACK_MEMOIZED_CACHE, key, CALLBACK_MEMOIZED_CACHE)
+			if value === CALLBACK_MEMOIZED_CACHE
+				value = callback_invoke(methodName, parameters)
+				CALLBACK_MEMOIZED_CACHE[deepcopy(key)] = callback_copyMemoized(value)
+				return value
+			end
+			return callback_copyMemoized(value)
+		end
+		
+		# invokes the callback once for each element of argsList (a tuple of arguments or a single argument) within one round trip,
+		# parallel=true allows java to evaluate the calls concurrently when they are independent of each other
+		function callback_batch(methodName, argsList; parallel::Bool=false)
+		    callback_checkAvailable()
+		    if socketScriptTaskCallbackBinary
+		    	return callback_invokeBatchBinary(methodName, argsList, parallel)
+		    else
+		    	return identity.(Any[callback(methodName, (args isa Tuple ? args : (args,))...) for args in argsList])
+		    end
+		end
+		
+		# invokes a void callback without waiting for it, java executes asynchronous callbacks in order and reports the first failure
+		# with the response of the next synchronous callback or when the task is finished
+		function callback_async(methodName, parameters...)
+		    callback_checkAvailable()
+		    if socketScriptTaskCallbackBinary
+		    	return callback_invokeAsyncBinary(methodName, parameters)
+		    else
+		    	callback(methodName, parameters...)
+		    	return nothing
+		    end
+		end
+		
+		function callback(methodName, parameters...)
+		    callback_checkAvailable()
+		    if !isempty(CALLBACK_MEMOIZED_METHODS) && in(String(methodName), CALLBACK_MEMOIZED_METHODS)
+		    	return callback_memoized(methodName, parameters)
+		    end
+		    return callback_invoke(methodName, parameters)
+		end
+		
+		function callback_invoke(methodName, parameters)
+		    if socketScriptTaskCallbackBinary
+		    	return callback_invokeBinary(methodName, parameters)
+		    else
+		    	if !isdefined(Main, :socketScriptTaskCallbackSocket) || socketScriptTaskCallbackSocket === nothing || !isopen(socketScriptTaskCallbackSocket) || socketScriptTaskCallbackSocketUuid != socketScriptTaskCallbackContextUuid
+		    		callback_createSocket()
+		    	end
+		    	return callback_invokeSocket(methodName, parameters)
+		    end
+		end
 	end
 
 
@@ -1,20 +1,20 @@
 package de.invesdwin.context.julia.runtime.contract.callback.socket;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
 import de.invesdwin.context.integration.channel.async.IAsynchronousHandler;
 import de.invesdwin.context.integration.channel.async.IAsynchronousHandlerContext;
-import de.invesdwin.util.concurrent.Executors;
-import de.invesdwin.util.concurrent.WrappedExecutorService;
+import de.invesdwin.context.julia.runtime.contract.callback.JuliaCallbackExecutors;
 import de.invesdwin.util.lang.string.Strings;
 
 @NotThreadSafe
 public class SocketScriptTaskCallbackServerHandler implements IAsynchronousHandler<String, String> {
 
-    private static final WrappedExecutorService EXECUTOR = Executors
-            .newCachedThreadPool(SocketScriptTaskCallbackServerHandler.class.getSimpleName());
+    private static final ExecutorService EXECUTOR = JuliaCallbackExecutors
+            .newExecutor(SocketScriptTaskCallbackServerHandler.class.getSimpleName());
     private SocketScriptTaskCallbackContext callbackContext;
 
     @Override
@@ -49,6 +49,10 @@ public class SocketScriptTaskCallbackServerHandler implements IAsynchronousHandl
         }
         final String dims = dimsAndArgs.substring(0, dimsEndIndex);
         final String args = dimsAndArgs.substring(dimsEndIndex + 1, dimsAndArgs.length());
+        if (callbackContext.isNonBlocking()) {
+            final String result = callbackContext.invoke(methodName, dims, args);
+            return Strings.replace(result, "\n", "__##J@NL@C##__");
+        }
         //use executor to prevent blocking requests in a shared netty handler thread
         EXECUTOR.execute(new Runnable() {
             @Override
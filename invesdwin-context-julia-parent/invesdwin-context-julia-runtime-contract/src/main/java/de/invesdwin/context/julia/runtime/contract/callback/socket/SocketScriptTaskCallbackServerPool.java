@@ -2,6 +2,8 @@ package de.invesdwin.context.julia.runtime.contract.callback.socket;
 
 import javax.annotation.concurrent.Immutable;
 
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaPoolEvent;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaPoolMetrics;
 import de.invesdwin.util.concurrent.pool.timeout.ASingletonTimeoutObjectPool;
 import de.invesdwin.util.lang.Closeables;
 import de.invesdwin.util.time.date.FTimeUnit;
@@ -13,14 +15,32 @@ public final class SocketScriptTaskCallbackServerPool
 
     public static final SocketScriptTaskCallbackServerPool INSTANCE = new SocketScriptTaskCallbackServerPool();
 
+    private final JuliaPoolMetrics metrics = JuliaPoolMetrics.getInstance(SocketScriptTaskCallbackServerPool.class);
+
     private SocketScriptTaskCallbackServerPool() {
         super(Duration.ONE_MINUTE, new Duration(10, FTimeUnit.SECONDS));
     }
 
+    @Override
+    public SocketScriptTaskCallbackServer borrowObject() {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
+        final SocketScriptTaskCallbackServer element = super.borrowObject();
+        metrics.recordBorrow(event, element);
+        return element;
+    }
+
+    @Override
+    public void returnObject(final SocketScriptTaskCallbackServer element) {
+        super.returnObject(element);
+        metrics.recordReturn(element);
+    }
+
     @Override
     protected SocketScriptTaskCallbackServer newObject() {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
         final SocketScriptTaskCallbackServer server = new SocketScriptTaskCallbackServer("localhost", 0);
         server.open();
+        metrics.recordCreate(event, server);
         return server;
     }
 
@@ -29,9 +49,14 @@ public final class SocketScriptTaskCallbackServerPool
         return true;
     }
 
+    /**
+     * Servers are only invalidated by the pool itself when they timed out.
+     */
     @Override
     public void invalidateObject(final SocketScriptTaskCallbackServer element) {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
         Closeables.closeQuietly(element);
+        metrics.recordTimeout(event, element);
     }
 
 }
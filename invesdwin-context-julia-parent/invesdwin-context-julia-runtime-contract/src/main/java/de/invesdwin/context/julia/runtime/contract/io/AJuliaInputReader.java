@@ -0,0 +1,150 @@
+package de.invesdwin.context.julia.runtime.contract.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Reads responses from julia in bulk into a buffer instead of one byte per call. While no data is available the
+ * configured wait strategy is applied and errors are checked periodically.
+ */
+@NotThreadSafe
+public abstract class AJuliaInputReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long CHECK_ERROR_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final byte NEW_LINE = '\n';
+
+    private final JuliaWaitStrategy waitStrategy;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private byte[] lineBuffer = new byte[128];
+
+    public AJuliaInputReader(final JuliaWaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Should return 0 when no data is available instead of blocking and -1 on end of stream.
+     */
+    protected abstract int readAvailable(byte[] buffer, int offset, int length) throws IOException;
+
+    /**
+     * Is called periodically while waiting for data.
+     */
+    protected abstract void checkError();
+
+    /**
+     * Returns the next line without the line separator, an empty string is returned for empty lines.
+     */
+    public String readLine() throws IOException {
+        int lineLength = 0;
+        while (true) {
+            awaitData();
+            for (int i = position; i < limit; i++) {
+                if (buffer[i] == NEW_LINE) {
+                    final int length = i - position;
+                    lineLength = appendLine(lineLength, length);
+                    position = i + 1;
+                    return new String(lineBuffer, 0, lineLength, StandardCharsets.UTF_8);
+                }
+            }
+            lineLength = appendLine(lineLength, limit - position);
+            position = limit;
+        }
+    }
+
+    private int appendLine(final int lineLength, final int length) {
+        final int newLineLength = lineLength + length;
+        if (newLineLength > lineBuffer.length) {
+            final byte[] newLineBuffer = new byte[Math.max(newLineLength, lineBuffer.length * 2)];
+            System.arraycopy(lineBuffer, 0, newLineBuffer, 0, lineLength);
+            lineBuffer = newLineBuffer;
+        }
+        System.arraycopy(buffer, position, lineBuffer, lineLength, length);
+        return newLineLength;
+    }
+
+    public void readFully(final byte[] dst) throws IOException {
+        readFully(dst, 0, dst.length);
+    }
+
+    public void readFully(final byte[] dst, final int offset, final int length) throws IOException {
+        int copied = 0;
+        while (copied < length) {
+            if (position == limit && length - copied >= buffer.length) {
+                //large payloads are read directly into the destination
+                final int n = readAvailable(dst, offset + copied, length - copied);
+                if (n < 0) {
+                    throw new EOFException();
+                } else if (n > 0) {
+                    copied += n;
+                    continue;
+                }
+            }
+            awaitData();
+            final int n = Math.min(limit - position, length - copied);
+            System.arraycopy(buffer, position, dst, offset + copied, n);
+            position += n;
+            copied += n;
+        }
+    }
+
+    /**
+     * Discards buffered and currently available data.
+     */
+    public void skipAvailable() throws IOException {
+        position = 0;
+        limit = 0;
+        while (readAvailable(buffer, 0, buffer.length) > 0) {
+            continue;
+        }
+    }
+
+    private void awaitData() throws IOException {
+        if (position < limit || fill()) {
+            return;
+        }
+        final long waitStartNanos = System.nanoTime();
+        long lastCheckErrorNanos = waitStartNanos;
+        while (!fill()) {
+            final long nanos = System.nanoTime();
+            if (nanos - lastCheckErrorNanos >= CHECK_ERROR_INTERVAL_NANOS) {
+                checkError();
+                lastCheckErrorNanos = nanos;
+            }
+            waitStrategy.idle(waitStartNanos);
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (position == limit) {
+            position = 0;
+            limit = 0;
+        }
+        final int n = readAvailable(buffer, limit, buffer.length - limit);
+        if (n < 0) {
+            throw new EOFException();
+        }
+        limit += n;
+        return n > 0;
+    }
+
+    /**
+     * Uses InputStream.available() to avoid blocking reads, this works for process pipes and sockets.
+     */
+    public static int readAvailable(final InputStream in, final byte[] buffer, final int offset, final int length)
+            throws IOException {
+        final int available = in.available();
+        if (available <= 0) {
+            return 0;
+        }
+        return in.read(buffer, offset, Math.min(available, length));
+    }
+
+}
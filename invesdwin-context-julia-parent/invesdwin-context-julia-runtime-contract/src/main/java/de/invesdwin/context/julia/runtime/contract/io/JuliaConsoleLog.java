@@ -0,0 +1,81 @@
+package de.invesdwin.context.julia.runtime.contract.io;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import de.invesdwin.context.julia.runtime.contract.JuliaProperties;
+
+/**
+ * A lock-free buffer for console lines of a julia process. The oldest lines are dropped when the maximum size is
+ * exceeded so that a chatty process does not accumulate memory.
+ */
+@ThreadSafe
+public class JuliaConsoleLog {
+
+    private final Queue<String> lines = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int maxLines;
+
+    public JuliaConsoleLog() {
+        this(JuliaProperties.CONSOLE_LOG_MAX_LINES);
+    }
+
+    public JuliaConsoleLog(final int maxLines) {
+        this.maxLines = maxLines;
+    }
+
+    public void add(final String line) {
+        lines.add(line);
+        if (size.incrementAndGet() > maxLines) {
+            if (lines.poll() != null) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    public void clear() {
+        while (lines.poll() != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Removes the buffered lines and returns them joined by newlines, null if the log is empty.
+     */
+    public String drain() {
+        StringBuilder sb = null;
+        while (true) {
+            final String line = lines.poll();
+            if (line == null) {
+                break;
+            }
+            size.decrementAndGet();
+            if (sb == null) {
+                sb = new StringBuilder();
+            } else {
+                sb.append("\n");
+            }
+            sb.append(line);
+        }
+        if (sb == null) {
+            return null;
+        }
+        final String str = sb.toString().trim();
+        if (str.isEmpty()) {
+            return null;
+        }
+        return str;
+    }
+
+}
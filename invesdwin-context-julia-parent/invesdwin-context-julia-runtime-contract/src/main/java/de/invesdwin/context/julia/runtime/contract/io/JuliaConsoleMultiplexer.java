@@ -0,0 +1,159 @@
+package de.invesdwin.context.julia.runtime.contract.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+import de.invesdwin.context.julia.runtime.contract.JuliaProperties;
+import de.invesdwin.context.log.error.Err;
+
+/**
+ * Watches the console streams of all julia processes from a single daemon thread instead of one blocking thread per
+ * stream. Streams are polled via InputStream.available() and the thread parks with an increasing duration while all
+ * streams are silent, or indefinitely while nothing is registered.
+ */
+@ThreadSafe
+public final class JuliaConsoleMultiplexer {
+
+    public static final JuliaConsoleMultiplexer INSTANCE = new JuliaConsoleMultiplexer();
+
+    private static final JuliaWaitStrategy WAIT_STRATEGY = new JuliaWaitStrategy(0, 0,
+            TimeUnit.MICROSECONDS.toNanos(JuliaProperties.CONSOLE_MAX_PARK_MICROS));
+
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+    @GuardedBy("this")
+    private Thread thread;
+
+    private JuliaConsoleMultiplexer() {
+    }
+
+    /**
+     * The listener is invoked from the multiplexer thread for each line, thus it should not block. Closing the
+     * returned handle stops watching the stream without closing it.
+     */
+    public Closeable register(final InputStream in, final Consumer<String> lineListener) {
+        final Registration registration = new Registration(in, lineListener);
+        registrations.add(registration);
+        LockSupport.unpark(getOrStartThread());
+        return registration;
+    }
+
+    private synchronized Thread getOrStartThread() {
+        if (thread == null) {
+            thread = new Thread(this::run, JuliaConsoleMultiplexer.class.getSimpleName());
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return thread;
+    }
+
+    private void run() {
+        long waitStartNanos = 0;
+        while (true) {
+            if (registrations.isEmpty()) {
+                LockSupport.park(this);
+                waitStartNanos = 0;
+                continue;
+            }
+            boolean read = false;
+            for (int i = 0; i < registrations.size(); i++) {
+                final Registration registration;
+                try {
+                    registration = registrations.get(i);
+                } catch (final IndexOutOfBoundsException e) {
+                    //removed concurrently
+                    break;
+                }
+                if (registration.poll()) {
+                    read = true;
+                }
+            }
+            if (read) {
+                waitStartNanos = 0;
+            } else {
+                if (waitStartNanos == 0) {
+                    waitStartNanos = System.nanoTime();
+                }
+                WAIT_STRATEGY.idle(waitStartNanos);
+            }
+        }
+    }
+
+    @NotThreadSafe
+    private final class Registration implements Closeable {
+
+        private static final int BUFFER_SIZE = 8192;
+        private static final byte NEW_LINE = '\n';
+        private static final byte CARRIAGE_RETURN = '\r';
+
+        private final InputStream in;
+        private final Consumer<String> lineListener;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private byte[] line = new byte[256];
+        private int lineLength = 0;
+
+        private Registration(final InputStream in, final Consumer<String> lineListener) {
+            this.in = in;
+            this.lineListener = lineListener;
+        }
+
+        /**
+         * Returns true if data was read.
+         */
+        private boolean poll() {
+            final int n;
+            try {
+                n = AJuliaInputReader.readAvailable(in, buffer, 0, buffer.length);
+            } catch (final IOException e) {
+                //process must have been closed
+                close();
+                return false;
+            }
+            if (n < 0) {
+                close();
+                return false;
+            }
+            for (int i = 0; i < n; i++) {
+                final byte b = buffer[i];
+                if (b == NEW_LINE) {
+                    emitLine();
+                } else if (b != CARRIAGE_RETURN) {
+                    if (lineLength == line.length) {
+                        final byte[] newLine = new byte[line.length * 2];
+                        System.arraycopy(line, 0, newLine, 0, lineLength);
+                        line = newLine;
+                    }
+                    line[lineLength++] = b;
+                }
+            }
+            return n > 0;
+        }
+
+        private void emitLine() {
+            final String str = new String(line, 0, lineLength, StandardCharsets.UTF_8);
+            lineLength = 0;
+            try {
+                lineListener.accept(str);
+            } catch (final Throwable t) {
+                Err.process(t);
+            }
+        }
+
+        @Override
+        public void close() {
+            registrations.remove(this);
+        }
+
+    }
+
+}
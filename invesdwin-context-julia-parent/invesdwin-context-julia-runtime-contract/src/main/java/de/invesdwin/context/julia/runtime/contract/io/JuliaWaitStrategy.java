@@ -0,0 +1,65 @@
+package de.invesdwin.context.julia.runtime.contract.io;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.annotation.concurrent.Immutable;
+
+import de.invesdwin.context.julia.runtime.contract.JuliaProperties;
+
+/**
+ * Spins briefly for low latency on short requests, then yields and finally parks with an increasing duration so that
+ * waiting on long running scripts does not burn a core.
+ */
+@Immutable
+public final class JuliaWaitStrategy {
+
+    public static final JuliaWaitStrategy DEFAULT = new JuliaWaitStrategy(
+            TimeUnit.MICROSECONDS.toNanos(JuliaProperties.WAIT_SPIN_MICROS),
+            TimeUnit.MICROSECONDS.toNanos(JuliaProperties.WAIT_YIELD_MICROS),
+            TimeUnit.MICROSECONDS.toNanos(JuliaProperties.WAIT_MAX_PARK_MICROS));
+
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    /**
+     * park for 1/8 of the time already spent parking, this keeps the added latency proportional to the wait
+     */
+    private static final int PARK_BACKOFF_SHIFT = 3;
+
+    private final long spinNanos;
+    private final long yieldUntilNanos;
+    private final long maxParkNanos;
+
+    public JuliaWaitStrategy(final long spinNanos, final long yieldNanos, final long maxParkNanos) {
+        this.spinNanos = spinNanos;
+        this.yieldUntilNanos = spinNanos + yieldNanos;
+        this.maxParkNanos = Math.max(MIN_PARK_NANOS, maxParkNanos);
+    }
+
+    public long getSpinNanos() {
+        return spinNanos;
+    }
+
+    public long getYieldNanos() {
+        return yieldUntilNanos - spinNanos;
+    }
+
+    public long getMaxParkNanos() {
+        return maxParkNanos;
+    }
+
+    /**
+     * Should be called once per unsuccessful poll.
+     */
+    public void idle(final long waitStartNanos) {
+        final long waited = System.nanoTime() - waitStartNanos;
+        if (waited < spinNanos) {
+            Thread.onSpinWait();
+        } else if (waited < yieldUntilNanos) {
+            Thread.yield();
+        } else {
+            final long parked = waited - yieldUntilNanos;
+            LockSupport.parkNanos(Math.max(MIN_PARK_NANOS, Math.min(maxParkNanos, parked >> PARK_BACKOFF_SHIFT)));
+        }
+    }
+
+}
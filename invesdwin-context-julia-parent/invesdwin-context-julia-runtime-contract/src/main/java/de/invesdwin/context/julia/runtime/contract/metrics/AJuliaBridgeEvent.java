@@ -0,0 +1,65 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of the flight recorder events that measure a call from java into julia. Usage follows the usual JFR pattern:
+ * create the event, call begin() and beginTransfers() before the call and finish(...) afterwards in a finally block.
+ * The call marks the event via success() when it completed, thus failed calls are recorded too. When the event is
+ * disabled in the recording settings nothing besides the allocation (which gets eliminated by the JIT) happens.
+ */
+@NotThreadSafe
+@Category(AJuliaBridgeEvent.CATEGORY)
+public abstract class AJuliaBridgeEvent extends Event {
+
+    public static final String CATEGORY = "Julia";
+
+    @Label("Runtime")
+    protected String runtime;
+
+    @Label("Sent")
+    @DataAmount
+    protected long sentBytes;
+
+    @Label("Received")
+    @DataAmount
+    protected long receivedBytes;
+
+    @Label("Success")
+    protected boolean success;
+
+    private transient JuliaTransferCounter transferCounter;
+    private transient long startSentBytes;
+    private transient long startReceivedBytes;
+
+    /**
+     * The counter may be null when the runtime does not count its transfers, then the payload is reported as zero.
+     */
+    public void beginTransfers(final JuliaTransferCounter counter) {
+        if (counter == null || !isEnabled()) {
+            return;
+        }
+        transferCounter = counter;
+        startSentBytes = counter.getSentBytes();
+        startReceivedBytes = counter.getReceivedBytes();
+    }
+
+    public void success() {
+        success = true;
+    }
+
+    protected void endTransfers() {
+        if (transferCounter == null) {
+            return;
+        }
+        sentBytes = transferCounter.getSentBytes() - startSentBytes;
+        receivedBytes = transferCounter.getReceivedBytes() - startReceivedBytes;
+        transferCounter = null;
+    }
+
+}
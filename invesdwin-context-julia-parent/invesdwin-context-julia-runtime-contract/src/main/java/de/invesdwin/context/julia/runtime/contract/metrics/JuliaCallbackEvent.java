@@ -0,0 +1,45 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@NotThreadSafe
+@Name(JuliaCallbackEvent.NAME)
+@Label("Julia Callback")
+@Description("Invocation of a java callback from julia, memoized hits are not recorded")
+@Category(AJuliaBridgeEvent.CATEGORY)
+public class JuliaCallbackEvent extends Event {
+
+    public static final String NAME = "de.invesdwin.context.julia.Callback";
+
+    @Label("Context")
+    protected String context;
+
+    @Label("Method")
+    protected String method;
+
+    @Label("Success")
+    protected boolean success;
+
+    /**
+     * Should be called when the callback completed, finish(...) is called in a finally block to record failures too.
+     */
+    public void success() {
+        success = true;
+    }
+
+    public void finish(final String context, final String method) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.context = context;
+        this.method = method;
+        commit();
+    }
+
+}
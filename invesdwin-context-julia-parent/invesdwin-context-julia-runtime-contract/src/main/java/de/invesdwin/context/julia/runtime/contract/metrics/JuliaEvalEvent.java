@@ -0,0 +1,48 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@NotThreadSafe
+@Name(JuliaEvalEvent.NAME)
+@Label("Julia Eval")
+@Description("Evaluation of a command in julia, inputs that are transferred as expressions show up as evals too")
+public class JuliaEvalEvent extends AJuliaBridgeEvent {
+
+    public static final String NAME = "de.invesdwin.context.julia.Eval";
+    private static final int MAX_COMMAND_LENGTH = 200;
+
+    @Label("Command")
+    protected String command;
+
+    /**
+     * Only the first line of the command is recorded, at most MAX_COMMAND_LENGTH characters.
+     */
+    public void finish(final String runtime, final String command) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.runtime = runtime;
+        this.command = abbreviate(command);
+        endTransfers();
+        commit();
+    }
+
+    private static String abbreviate(final String command) {
+        int end = command.indexOf('\n');
+        if (end < 0) {
+            end = command.length();
+        }
+        if (end > MAX_COMMAND_LENGTH) {
+            return command.substring(0, MAX_COMMAND_LENGTH) + "...";
+        } else if (end < command.length()) {
+            return command.substring(0, end) + "...";
+        } else {
+            return command;
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.springframework.core.io.ClassPathResource;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.julia.runtime.contract.JuliaProperties;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptSource;
+
+/**
+ * Julia side accounting of evals via @timed: elapsed time, allocated bytes, gc time and compile time. The eval
+ * functions of the runtimes (__jajub_exec__, handle_frame in ModifiedJuliaCaller.jl, j4j_exec,
+ * libjuliaclj_evalTimed) only measure when evalStats_timed is defined, which is the case when
+ * JuliaProperties.TASK_METRICS is enabled. The totals are cumulative per julia instance, thus tasks fetch them before
+ * and after they run and record the difference. Task modules of libjuliaclj (libjuliaclj_evalTaskTimed) additionally
+ * keep their own totals because they run concurrently.
+ */
+@Immutable
+public final class JuliaEvalStats {
+
+    public static final int COUNT = 0;
+    public static final int ELAPSED_NANOS = 1;
+    public static final int ALLOCATED_BYTES = 2;
+    public static final int GC_NANOS = 3;
+    public static final int COMPILE_NANOS = 4;
+    public static final String GET_EXPRESSION = "evalStats_get()";
+
+    /**
+     * Can not be evaluated via the script cache because it wraps the evals themselves.
+     */
+    private static final String INIT_SCRIPT = JuliaScriptSource.readScript(
+            new ClassPathResource(JuliaEvalStats.class.getSimpleName() + ".jl", JuliaEvalStats.class));
+
+    private JuliaEvalStats() {}
+
+    /**
+     * Needs to be called before the reset context protects the current variables.
+     */
+    public static void init(final IScriptTaskEngine engine) {
+        if (JuliaProperties.TASK_METRICS) {
+            engine.eval(INIT_SCRIPT);
+        }
+    }
+
+    /**
+     * The fetch itself is an eval that gets counted as well.
+     */
+    public static long[] get(final IScriptTaskEngine engine) {
+        return engine.getResults().getLongVector(GET_EXPRESSION);
+    }
+
+}
@@ -0,0 +1,42 @@
+#disable repl output during initialization by wrapping everything in a begin ... end
+begin
+
+	# count, elapsed time, allocated bytes, gc time and compile time (nanoseconds) of all timed evals so far
+	const evalStats_totals = zeros(Int64, 5)
+	# tasks in separate modules might be evaluated on multiple julia threads
+	const evalStats_lock = ReentrantLock()
+
+	# returns (compile, recompile) since julia 1.8, before that only the compile time
+	evalStats_compileTimeNs() = Int64(first(Base.cumulative_compile_time_ns()))
+
+	# called by the eval functions of the runtimes when this script was loaded, tasks that run concurrently in their own
+	# module additionally keep their own totals
+	function evalStats_timed(f, taskTotals::Union{Nothing, Vector{Int64}}=nothing)
+		Base.cumulative_compile_timing(true)
+		compileStart = evalStats_compileTimeNs()
+		stats = try
+			@timed f()
+		finally
+			Base.cumulative_compile_timing(false)
+		end
+		compile = evalStats_compileTimeNs() - compileStart
+		lock(evalStats_lock) do
+			evalStats_add(evalStats_totals, stats, compile)
+		end
+		if taskTotals !== nothing
+			evalStats_add(taskTotals, stats, compile)
+		end
+		return stats.value
+	end
+
+	function evalStats_add(totals::Vector{Int64}, stats, compile::Int64)
+		totals[1] += 1
+		totals[2] += round(Int64, stats.time * 1e9)
+		totals[3] += stats.bytes
+		totals[4] += round(Int64, stats.gctime * 1e9)
+		totals[5] += compile
+	end
+
+	evalStats_get() = lock(() -> copy(evalStats_totals), evalStats_lock)
+
+end
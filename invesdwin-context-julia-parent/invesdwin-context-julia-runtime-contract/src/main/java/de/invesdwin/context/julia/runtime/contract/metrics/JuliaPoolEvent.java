@@ -0,0 +1,61 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Created via start() by the pools and finished by the record methods of JuliaPoolMetrics, which also take the
+ * duration for their histograms from it.
+ */
+@NotThreadSafe
+@Name(JuliaPoolEvent.NAME)
+@Label("Julia Pool")
+@Description("Borrowing, creation, reset and invalidation of pooled julia instances and callback servers")
+@Category(AJuliaBridgeEvent.CATEGORY)
+public class JuliaPoolEvent extends Event {
+
+    public static final String NAME = "de.invesdwin.context.julia.Pool";
+    public static final String BORROW = "borrow";
+    public static final String CREATE = "create";
+    public static final String PASSIVATE = "passivate";
+    public static final String TIMEOUT = "timeout";
+    public static final String INVALIDATE = "invalidate";
+
+    @Label("Pool")
+    protected String pool;
+
+    @Label("Operation")
+    protected String operation;
+
+    @Label("Cause")
+    protected String cause;
+
+    private transient long startNanos;
+
+    public static JuliaPoolEvent start() {
+        final JuliaPoolEvent event = new JuliaPoolEvent();
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    public long getNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public void finish(final String pool, final String operation, final String cause) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.pool = pool;
+        this.operation = operation;
+        this.cause = cause;
+        commit();
+    }
+
+}
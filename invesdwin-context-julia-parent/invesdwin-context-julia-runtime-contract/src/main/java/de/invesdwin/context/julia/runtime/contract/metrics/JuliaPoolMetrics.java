@@ -0,0 +1,250 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import de.invesdwin.context.log.error.Err;
+
+/**
+ * Aggregates the behaviour of one object pool: how long borrowing takes (including the creation of new instances when
+ * the pool is empty), how long julia takes to start up and to be reset, and how many instances get destroyed either
+ * because they were idle for too long or because a task failed on them. Pool events happen once per task at most,
+ * thus these metrics are always recorded and registered as an MXBean under JuliaTaskMetrics.JMX_DOMAIN. Each record
+ * method additionally finishes the given JuliaPoolEvent for flight recordings. The borrowed and alive instances are
+ * tracked individually, thus returning or destroying the same instance twice is only counted once.
+ */
+@ThreadSafe
+public final class JuliaPoolMetrics implements JuliaPoolMetricsMXBean {
+
+    private static final Map<Class<?>, JuliaPoolMetrics> POOL_METRICS = new ConcurrentHashMap<>();
+
+    private final String pool;
+    private final JuliaHistogram borrowWait = new JuliaHistogram();
+    private final JuliaHistogram create = new JuliaHistogram();
+    private final JuliaHistogram passivate = new JuliaHistogram();
+    private final Set<Object> borrowed = ConcurrentHashMap.newKeySet();
+    private final Set<Object> alive = ConcurrentHashMap.newKeySet();
+    private final LongAdder createErrorCount = new LongAdder();
+    private final LongAdder passivateErrorCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder invalidateCount = new LongAdder();
+    private final Map<String, LongAdder> cause_count = new ConcurrentHashMap<>();
+    private volatile String lastInvalidateCause;
+
+    private JuliaPoolMetrics(final Class<?> poolClass) {
+        this.pool = poolClass.getName();
+    }
+
+    public static JuliaPoolMetrics getInstance(final Class<?> poolClass) {
+        final JuliaPoolMetrics metrics = POOL_METRICS.get(poolClass);
+        if (metrics != null) {
+            return metrics;
+        }
+        return POOL_METRICS.computeIfAbsent(poolClass, (k) -> register(new JuliaPoolMetrics(poolClass)));
+    }
+
+    public static List<JuliaPoolMetrics> getInstances() {
+        return new ArrayList<>(POOL_METRICS.values());
+    }
+
+    private static JuliaPoolMetrics register(final JuliaPoolMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, metrics.getObjectName());
+        } catch (final JMException e) {
+            //metrics are still available via getInstances()
+            Err.process(e);
+        }
+        return metrics;
+    }
+
+    public ObjectName getObjectName() throws JMException {
+        return new ObjectName(JuliaTaskMetrics.JMX_DOMAIN + ":type=" + JuliaPoolMetrics.class.getSimpleName()
+                + ",pool=" + ObjectName.quote(pool));
+    }
+
+    public void recordBorrow(final JuliaPoolEvent event, final Object element) {
+        borrowWait.record(event.getNanos());
+        borrowed.add(element);
+        event.finish(pool, JuliaPoolEvent.BORROW, null);
+    }
+
+    public void recordReturn(final Object element) {
+        borrowed.remove(element);
+    }
+
+    public void recordCreate(final JuliaPoolEvent event, final Object element) {
+        create.record(event.getNanos());
+        alive.add(element);
+        event.finish(pool, JuliaPoolEvent.CREATE, null);
+    }
+
+    public void recordCreateError() {
+        createErrorCount.increment();
+    }
+
+    public void recordPassivate(final JuliaPoolEvent event) {
+        passivate.record(event.getNanos());
+        event.finish(pool, JuliaPoolEvent.PASSIVATE, null);
+    }
+
+    public void recordPassivateError() {
+        passivateErrorCount.increment();
+    }
+
+    /**
+     * An idle instance was destroyed by the pool itself. Nothing is recorded when the instance was already destroyed
+     * with a cause before, e.g. because resetting it failed while it was returned.
+     */
+    public void recordTimeout(final JuliaPoolEvent event, final Object element) {
+        if (!alive.remove(element)) {
+            return;
+        }
+        borrowed.remove(element);
+        timeoutCount.increment();
+        event.finish(pool, JuliaPoolEvent.TIMEOUT, null);
+    }
+
+    /**
+     * A borrowed instance was destroyed because a task or resetting it failed. Nothing is recorded when the instance
+     * was already destroyed before.
+     */
+    public void recordInvalidate(final JuliaPoolEvent event, final Object element, final Throwable cause) {
+        borrowed.remove(element);
+        if (!alive.remove(element)) {
+            return;
+        }
+        invalidateCount.increment();
+        Throwable rootCause = cause;
+        while (rootCause.getCause() != null && rootCause.getCause() != rootCause) {
+            rootCause = rootCause.getCause();
+        }
+        cause_count.computeIfAbsent(rootCause.getClass().getName(), (k) -> new LongAdder()).increment();
+        lastInvalidateCause = rootCause.toString();
+        event.finish(pool, JuliaPoolEvent.INVALIDATE, lastInvalidateCause);
+    }
+
+    @Override
+    public String getPool() {
+        return pool;
+    }
+
+    @Override
+    public long getBorrowCount() {
+        return borrowWait.getCount();
+    }
+
+    @Override
+    public double getMeanBorrowWaitMillis() {
+        return toMillis(borrowWait.getMean());
+    }
+
+    @Override
+    public double getP99BorrowWaitMillis() {
+        return toMillis(borrowWait.getValueAtPercentile(99D));
+    }
+
+    @Override
+    public double getMaxBorrowWaitMillis() {
+        return toMillis(borrowWait.getMax());
+    }
+
+    @Override
+    public long getActiveCount() {
+        return borrowed.size();
+    }
+
+    /**
+     * Instances that were created and not yet destroyed, but are not borrowed right now.
+     */
+    @Override
+    public long getIdleCount() {
+        return Math.max(0, alive.size() - borrowed.size());
+    }
+
+    @Override
+    public long getCreateCount() {
+        return create.getCount();
+    }
+
+    @Override
+    public long getCreateErrorCount() {
+        return createErrorCount.sum();
+    }
+
+    @Override
+    public double getMeanCreateMillis() {
+        return toMillis(create.getMean());
+    }
+
+    @Override
+    public double getMaxCreateMillis() {
+        return toMillis(create.getMax());
+    }
+
+    @Override
+    public long getPassivateCount() {
+        return passivate.getCount();
+    }
+
+    @Override
+    public long getPassivateErrorCount() {
+        return passivateErrorCount.sum();
+    }
+
+    @Override
+    public double getMeanPassivateMillis() {
+        return toMillis(passivate.getMean());
+    }
+
+    @Override
+    public double getMaxPassivateMillis() {
+        return toMillis(passivate.getMax());
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    @Override
+    public long getInvalidateCount() {
+        return invalidateCount.sum();
+    }
+
+    @Override
+    public Map<String, Long> getInvalidateCauses() {
+        final Map<String, Long> causes = new TreeMap<>();
+        for (final Map.Entry<String, LongAdder> entry : cause_count.entrySet()) {
+            causes.put(entry.getKey(), entry.getValue().sum());
+        }
+        return causes;
+    }
+
+    @Override
+    public String getLastInvalidateCause() {
+        return lastInvalidateCause;
+    }
+
+    private static double toMillis(final double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[pool=" + pool + ", active=" + getActiveCount() + ", idle="
+                + getIdleCount() + ", created=" + getCreateCount() + ", timeouts=" + getTimeoutCount()
+                + ", invalidations=" + getInvalidateCauses() + "]";
+    }
+
+}
@@ -0,0 +1,48 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import java.util.Map;
+
+/**
+ * Durations are reported in milliseconds, invalidations are counted per root cause class.
+ */
+public interface JuliaPoolMetricsMXBean {
+
+    String getPool();
+
+    long getBorrowCount();
+
+    double getMeanBorrowWaitMillis();
+
+    double getP99BorrowWaitMillis();
+
+    double getMaxBorrowWaitMillis();
+
+    long getActiveCount();
+
+    long getIdleCount();
+
+    long getCreateCount();
+
+    long getCreateErrorCount();
+
+    double getMeanCreateMillis();
+
+    double getMaxCreateMillis();
+
+    long getPassivateCount();
+
+    long getPassivateErrorCount();
+
+    double getMeanPassivateMillis();
+
+    double getMaxPassivateMillis();
+
+    long getTimeoutCount();
+
+    long getInvalidateCount();
+
+    Map<String, Long> getInvalidateCauses();
+
+    String getLastInvalidateCause();
+
+}
@@ -0,0 +1,231 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import de.invesdwin.context.log.error.Err;
+
+/**
+ * Aggregates the phases, payload and round trips of all tasks of one script task class on one runner. Each instance is
+ * registered as an MXBean under JMX_DOMAIN so that it can be inspected with e.g. JConsole or scraped by a JMX exporter.
+ */
+@ThreadSafe
+public final class JuliaTaskMetrics implements JuliaTaskMetricsMXBean {
+
+    public static final String JMX_DOMAIN = "de.invesdwin.context.julia";
+
+    private static final JuliaTaskPhase[] PHASES = JuliaTaskPhase.values();
+    private static final Map<Class<?>, Map<Class<?>, JuliaTaskMetrics>> RUNNER_TASK_METRICS = new ConcurrentHashMap<>();
+
+    private final String runner;
+    private final String scriptTask;
+    private final JuliaHistogram[] phaseHistograms = new JuliaHistogram[PHASES.length];
+    private final LongAdder taskCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder sentBytes = new LongAdder();
+    private final LongAdder receivedBytes = new LongAdder();
+    private final LongAdder roundTrips = new LongAdder();
+    private final LongAdder callbackCount = new LongAdder();
+    private final LongAdder evalCount = new LongAdder();
+    private final JuliaHistogram allocatedBytes = new JuliaHistogram();
+
+    private JuliaTaskMetrics(final Class<?> runnerClass, final Class<?> scriptTaskClass) {
+        this.runner = runnerClass.getName();
+        this.scriptTask = scriptTaskClass.getName();
+        for (int i = 0; i < phaseHistograms.length; i++) {
+            phaseHistograms[i] = new JuliaHistogram();
+        }
+    }
+
+    public static JuliaTaskMetrics getInstance(final Class<?> runnerClass, final Class<?> scriptTaskClass) {
+        final Map<Class<?>, JuliaTaskMetrics> task_metrics = RUNNER_TASK_METRICS.computeIfAbsent(runnerClass,
+                (k) -> new ConcurrentHashMap<>());
+        final JuliaTaskMetrics metrics = task_metrics.get(scriptTaskClass);
+        if (metrics != null) {
+            return metrics;
+        }
+        return task_metrics.computeIfAbsent(scriptTaskClass,
+                (k) -> register(new JuliaTaskMetrics(runnerClass, scriptTaskClass)));
+    }
+
+    public static List<JuliaTaskMetrics> getInstances() {
+        final List<JuliaTaskMetrics> instances = new ArrayList<>();
+        for (final Map<Class<?>, JuliaTaskMetrics> task_metrics : RUNNER_TASK_METRICS.values()) {
+            instances.addAll(task_metrics.values());
+        }
+        return instances;
+    }
+
+    private static JuliaTaskMetrics register(final JuliaTaskMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, metrics.getObjectName());
+        } catch (final JMException e) {
+            //metrics are still available via getInstances()
+            Err.process(e);
+        }
+        return metrics;
+    }
+
+    public ObjectName getObjectName() throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=" + JuliaTaskMetrics.class.getSimpleName() + ",runner="
+                + ObjectName.quote(runner) + ",scriptTask=" + ObjectName.quote(scriptTask));
+    }
+
+    public JuliaHistogram getHistogram(final JuliaTaskPhase phase) {
+        return phaseHistograms[phase.ordinal()];
+    }
+
+    public void record(final JuliaTaskPhase phase, final long nanos) {
+        phaseHistograms[phase.ordinal()].record(nanos);
+    }
+
+    public void recordTransfers(final long sent, final long received, final long trips) {
+        sentBytes.add(sent);
+        receivedBytes.add(received);
+        roundTrips.add(trips);
+    }
+
+    public void recordCallbacks(final long count, final long nanos) {
+        callbackCount.add(count);
+        record(JuliaTaskPhase.CALLBACK, nanos);
+    }
+
+    /**
+     * Expects the difference of two JuliaEvalStats fetches.
+     */
+    public void recordEvalStats(final long[] evalStats) {
+        evalCount.add(evalStats[JuliaEvalStats.COUNT]);
+        allocatedBytes.record(evalStats[JuliaEvalStats.ALLOCATED_BYTES]);
+        record(JuliaTaskPhase.JULIA_EVAL, evalStats[JuliaEvalStats.ELAPSED_NANOS]);
+        record(JuliaTaskPhase.JULIA_GC, evalStats[JuliaEvalStats.GC_NANOS]);
+        record(JuliaTaskPhase.JULIA_COMPILE, evalStats[JuliaEvalStats.COMPILE_NANOS]);
+    }
+
+    public void recordTask(final boolean success) {
+        taskCount.increment();
+        if (!success) {
+            errorCount.increment();
+        }
+    }
+
+    @Override
+    public String getRunner() {
+        return runner;
+    }
+
+    @Override
+    public String getScriptTask() {
+        return scriptTask;
+    }
+
+    @Override
+    public long getTaskCount() {
+        return taskCount.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    @Override
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    @Override
+    public long getReceivedBytes() {
+        return receivedBytes.sum();
+    }
+
+    @Override
+    public long getRoundTrips() {
+        return roundTrips.sum();
+    }
+
+    @Override
+    public long getCallbackCount() {
+        return callbackCount.sum();
+    }
+
+    @Override
+    public long getEvalCount() {
+        return evalCount.sum();
+    }
+
+    /**
+     * Sum over all tasks, the histogram contains the bytes allocated per task.
+     */
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.getSum();
+    }
+
+    @Override
+    public double getMeanAllocatedBytes() {
+        return allocatedBytes.getMean();
+    }
+
+    @Override
+    public long getMaxAllocatedBytes() {
+        return allocatedBytes.getMax();
+    }
+
+    @Override
+    public Map<String, Double> getMeanMillis() {
+        final Map<String, Double> phase_millis = new LinkedHashMap<>();
+        for (final JuliaTaskPhase phase : PHASES) {
+            phase_millis.put(phase.name(), toMillis(getHistogram(phase).getMean()));
+        }
+        return phase_millis;
+    }
+
+    @Override
+    public Map<String, Double> getP50Millis() {
+        return getPercentileMillis(50D);
+    }
+
+    @Override
+    public Map<String, Double> getP99Millis() {
+        return getPercentileMillis(99D);
+    }
+
+    @Override
+    public Map<String, Double> getMaxMillis() {
+        final Map<String, Double> phase_millis = new LinkedHashMap<>();
+        for (final JuliaTaskPhase phase : PHASES) {
+            phase_millis.put(phase.name(), toMillis(getHistogram(phase).getMax()));
+        }
+        return phase_millis;
+    }
+
+    private Map<String, Double> getPercentileMillis(final double percentile) {
+        final Map<String, Double> phase_millis = new LinkedHashMap<>();
+        for (final JuliaTaskPhase phase : PHASES) {
+            phase_millis.put(phase.name(), toMillis(getHistogram(phase).getValueAtPercentile(percentile)));
+        }
+        return phase_millis;
+    }
+
+    private static double toMillis(final double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[runner=" + runner + ", scriptTask=" + scriptTask + ", tasks="
+                + getTaskCount() + ", errors=" + getErrorCount() + ", meanMillis=" + getMeanMillis() + "]";
+    }
+
+}
@@ -0,0 +1,42 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import java.util.Map;
+
+/**
+ * Durations are reported in milliseconds per JuliaTaskPhase name.
+ */
+public interface JuliaTaskMetricsMXBean {
+
+    String getRunner();
+
+    String getScriptTask();
+
+    long getTaskCount();
+
+    long getErrorCount();
+
+    long getSentBytes();
+
+    long getReceivedBytes();
+
+    long getRoundTrips();
+
+    long getCallbackCount();
+
+    long getEvalCount();
+
+    long getAllocatedBytes();
+
+    double getMeanAllocatedBytes();
+
+    long getMaxAllocatedBytes();
+
+    Map<String, Double> getMeanMillis();
+
+    Map<String, Double> getP50Millis();
+
+    Map<String, Double> getP99Millis();
+
+    Map<String, Double> getMaxMillis();
+
+}
@@ -0,0 +1,45 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import javax.annotation.concurrent.Immutable;
+
+@Immutable
+public enum JuliaTaskPhase {
+    /**
+     * Waiting for a pooled instance or for the lock of an embedded engine.
+     */
+    BORROW,
+    /**
+     * Callback context initialization and populateInputs.
+     */
+    INPUTS,
+    /**
+     * executeScript, this includes the time spent in callbacks.
+     */
+    EXECUTE,
+    /**
+     * extractResults and callback context deinitialization.
+     */
+    RESULTS,
+    /**
+     * Resetting the instance after the task (or the light reset before the next task of a batch).
+     */
+    RESET,
+    /**
+     * Sum of all callback invocations of a task, only recorded for tasks that invoked callbacks.
+     */
+    CALLBACK,
+    /**
+     * Time of all evals of a task as measured inside julia (see JuliaEvalStats), the remainder of the java side phases
+     * is protocol and conversion overhead.
+     */
+    JULIA_EVAL,
+    /**
+     * Garbage collection time inside julia during the evals of a task.
+     */
+    JULIA_GC,
+    /**
+     * Compilation time inside julia during the evals of a task, scripts that show this on every run get recompiled.
+     */
+    JULIA_COMPILE;
+
+}
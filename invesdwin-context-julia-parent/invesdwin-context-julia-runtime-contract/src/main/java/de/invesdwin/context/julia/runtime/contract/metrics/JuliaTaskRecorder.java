@@ -0,0 +1,131 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.julia.runtime.contract.AScriptTaskJulia;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
+import de.invesdwin.context.julia.runtime.contract.JuliaProperties;
+import de.invesdwin.context.julia.runtime.contract.callback.AScriptTaskCallbackContextJulia;
+
+/**
+ * Measures one task run of a runner, each lap records the time since the previous lap for the given phase. When
+ * JuliaProperties.TASK_METRICS is disabled a shared recorder is returned that does nothing.
+ */
+@NotThreadSafe
+public final class JuliaTaskRecorder {
+
+    private static final JuliaTaskRecorder DISABLED = new JuliaTaskRecorder(null);
+
+    private final JuliaTaskMetrics metrics;
+    private long lapNanos;
+    private JuliaTransferCounter transferCounter;
+    private long startSentBytes;
+    private long startReceivedBytes;
+    private long startRoundTrips;
+    private IScriptTaskEngine evalStatsEngine;
+    private long[] startEvalStats;
+
+    private JuliaTaskRecorder(final JuliaTaskMetrics metrics) {
+        this.metrics = metrics;
+        if (metrics != null) {
+            this.lapNanos = System.nanoTime();
+        }
+    }
+
+    public static JuliaTaskRecorder start(final IScriptTaskRunnerJulia runner, final AScriptTaskJulia<?> scriptTask) {
+        if (!JuliaProperties.TASK_METRICS) {
+            return DISABLED;
+        }
+        return start(JuliaTaskMetrics.getInstance(runner.getClass(), scriptTask.getClass()));
+    }
+
+    static JuliaTaskRecorder start(final JuliaTaskMetrics metrics) {
+        return new JuliaTaskRecorder(metrics);
+    }
+
+    public void lap(final JuliaTaskPhase phase) {
+        if (metrics == null) {
+            return;
+        }
+        final long nanos = System.nanoTime();
+        metrics.record(phase, nanos - lapNanos);
+        lapNanos = nanos;
+    }
+
+    /**
+     * Remembers the counter of the instance that executes the task, the counter may be null when the runtime does not
+     * count its transfers.
+     */
+    public void beginTransfers(final JuliaTransferCounter counter) {
+        if (metrics == null || counter == null) {
+            return;
+        }
+        transferCounter = counter;
+        startSentBytes = counter.getSentBytes();
+        startReceivedBytes = counter.getReceivedBytes();
+        startRoundTrips = counter.getRoundTrips();
+    }
+
+    /**
+     * Needs to be called before the instance is handed to another task.
+     */
+    public void endTransfers() {
+        if (transferCounter == null) {
+            return;
+        }
+        metrics.recordTransfers(transferCounter.getSentBytes() - startSentBytes,
+                transferCounter.getReceivedBytes() - startReceivedBytes,
+                transferCounter.getRoundTrips() - startRoundTrips);
+        transferCounter = null;
+    }
+
+    /**
+     * Fetches the julia side totals of the instance, should be called while the engine is still open.
+     */
+    public void beginEvalStats(final IScriptTaskEngine engine) {
+        if (metrics == null) {
+            return;
+        }
+        evalStatsEngine = engine;
+        startEvalStats = JuliaEvalStats.get(engine);
+    }
+
+    public void endEvalStats() {
+        if (evalStatsEngine == null) {
+            return;
+        }
+        final long[] evalStats = JuliaEvalStats.get(evalStatsEngine);
+        for (int i = 0; i < evalStats.length; i++) {
+            evalStats[i] -= startEvalStats[i];
+        }
+        metrics.recordEvalStats(evalStats);
+        evalStatsEngine = null;
+        startEvalStats = null;
+    }
+
+    public void callbacks(final AScriptTaskCallbackContextJulia context) {
+        if (metrics == null || context == null) {
+            return;
+        }
+        final long count = context.getCallbackCount();
+        if (count > 0) {
+            metrics.recordCallbacks(count, context.getCallbackNanos());
+        }
+    }
+
+    public void finish() {
+        if (metrics == null) {
+            return;
+        }
+        metrics.recordTask(true);
+    }
+
+    public void fail() {
+        if (metrics == null) {
+            return;
+        }
+        metrics.recordTask(false);
+    }
+
+}
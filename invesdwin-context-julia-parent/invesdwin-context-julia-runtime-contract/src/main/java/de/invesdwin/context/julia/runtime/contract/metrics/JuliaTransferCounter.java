@@ -0,0 +1,40 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Counts the payload of the protocol between java and a julia instance. Each instance is only used by one task at a
+ * time, thus plain fields suffice. Sizes are measured in bytes as written to or read from the transport.
+ */
+@NotThreadSafe
+public class JuliaTransferCounter {
+
+    private long sentBytes;
+    private long receivedBytes;
+    private long roundTrips;
+
+    public void sent(final long bytes) {
+        sentBytes += bytes;
+    }
+
+    public void received(final long bytes) {
+        receivedBytes += bytes;
+    }
+
+    public void roundTrip() {
+        roundTrips++;
+    }
+
+    public long getSentBytes() {
+        return sentBytes;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public long getRoundTrips() {
+        return roundTrips;
+    }
+
+}
@@ -0,0 +1,88 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import java.lang.reflect.Array;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@NotThreadSafe
+@Name(JuliaTransferEvent.NAME)
+@Label("Julia Transfer")
+@Description("Put or get of a variable that is transferred in its raw or json representation")
+public class JuliaTransferEvent extends AJuliaBridgeEvent {
+
+    public static final String NAME = "de.invesdwin.context.julia.Transfer";
+    public static final String PUT = "put";
+    public static final String GET = "get";
+
+    @Label("Operation")
+    protected String operation;
+
+    @Label("Variable")
+    protected String variable;
+
+    @Label("Elements")
+    protected long elements;
+
+    public void finish(final String runtime, final String operation, final String variable, final long elements) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.runtime = runtime;
+        this.operation = operation;
+        this.variable = variable;
+        this.elements = elements;
+        endTransfers();
+        commit();
+    }
+
+    /**
+     * Counts the elements of the json or (nested) array only when the event gets recorded.
+     */
+    public void finishValue(final String runtime, final String operation, final String variable, final Object value) {
+        if (!shouldCommit()) {
+            return;
+        }
+        finish(runtime, operation, variable, countElements(value));
+    }
+
+    private static long countElements(final Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof JsonNode) {
+            return countJsonElements((JsonNode) value);
+        } else if (value.getClass().isArray()) {
+            final int length = Array.getLength(value);
+            if (!value.getClass().getComponentType().isArray()) {
+                return length;
+            }
+            long count = 0;
+            for (int i = 0; i < length; i++) {
+                count += countElements(Array.get(value, i));
+            }
+            return count;
+        } else {
+            return 1;
+        }
+    }
+
+    private static long countJsonElements(final JsonNode node) {
+        if (node == null || node.isNull()) {
+            return 0;
+        } else if (node.isArray()) {
+            long count = 0;
+            for (int i = 0; i < node.size(); i++) {
+                count += countJsonElements(node.get(i));
+            }
+            return count;
+        } else {
+            return 1;
+        }
+    }
+
+}
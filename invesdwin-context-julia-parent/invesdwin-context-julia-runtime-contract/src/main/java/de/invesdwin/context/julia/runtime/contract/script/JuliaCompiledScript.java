@@ -0,0 +1,156 @@
+package de.invesdwin.context.julia.runtime.contract.script;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.springframework.core.io.Resource;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskEngineJulia;
+
+/**
+ * Wraps a script into a julia function that gets defined once per julia instance. Subsequent runs only call that
+ * function with the declared parameters and assign the declared returns as global variables so that results can be
+ * extracted as usual. Definitions (using, import, function, struct, const, ...) are evaluated once during compilation
+ * instead of on each invocation. The statements before the last definition are evaluated with them in source order
+ * (e.g. a package installation guard before its using) unless they reference a parameter. All other statements stay
+ * in the function body, even when they do not reference any parameter, because globals in Main are cleared when the
+ * instance is reset. For the same reason assignments before the last definition are repeated in the body.
+ *
+ * The function name is derived from a hash of the script content and its signature, thus changed scripts will be
+ * compiled again instead of reusing a stale definition.
+ */
+@Immutable
+public class JuliaCompiledScript {
+
+    private static final String FUNCTION_NAME_PREFIX = "__compiledScript_";
+    private static final String FUNCTION_NAME_SUFFIX = "__";
+
+    private final String script;
+    private final String[] parameters;
+    private final String[] returns;
+    private final String hash;
+    private final String functionName;
+    private final String compileExpression;
+    private final String invokeExpression;
+
+    public JuliaCompiledScript(final Resource resource, final String[] parameters, final String[] returns) {
+        this(JuliaScriptSource.readScript(resource), parameters, returns);
+    }
+
+    public JuliaCompiledScript(final String script, final String[] parameters, final String[] returns) {
+        this.script = script;
+        this.parameters = parameters.clone();
+        this.returns = returns.clone();
+        this.hash = newHash(script, parameters, returns);
+        this.functionName = FUNCTION_NAME_PREFIX + hash + FUNCTION_NAME_SUFFIX;
+        this.compileExpression = newCompileExpression();
+        this.invokeExpression = newInvokeExpression();
+    }
+
+    public String getScript() {
+        return script;
+    }
+
+    public String[] getParameters() {
+        return parameters.clone();
+    }
+
+    public String[] getReturns() {
+        return returns.clone();
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    /**
+     * Defines the function inside the julia instance.
+     */
+    public String getCompileExpression() {
+        return compileExpression;
+    }
+
+    /**
+     * Calls the function with the global variables named like the parameters and assigns the returned values to the
+     * global variables named like the returns.
+     */
+    public String getInvokeExpression() {
+        return invokeExpression;
+    }
+
+    /**
+     * Uses the compiled function when the engine supports it, otherwise the script is evaluated as is.
+     */
+    public void eval(final IScriptTaskEngine engine) {
+        if (engine instanceof IScriptTaskEngineJulia) {
+            final IScriptTaskEngineJulia cEngine = (IScriptTaskEngineJulia) engine;
+            cEngine.getScriptCache().eval(cEngine, this);
+        } else {
+            engine.eval(script);
+        }
+    }
+
+    private String newCompileExpression() {
+        final StringBuilder sb = new StringBuilder("scriptCache_compile(:");
+        sb.append(functionName);
+        sb.append(", ");
+        appendSymbols(sb, parameters);
+        sb.append(", ");
+        appendSymbols(sb, returns);
+        sb.append(", \"");
+        sb.append(Base64.getEncoder().encodeToString(script.getBytes(StandardCharsets.UTF_8)));
+        sb.append("\")");
+        return sb.toString();
+    }
+
+    private String newInvokeExpression() {
+        final StringBuilder sb = new StringBuilder();
+        if (returns.length == 1) {
+            sb.append(returns[0]);
+            sb.append(" = ");
+        } else if (returns.length > 1) {
+            sb.append("(");
+            for (int i = 0; i < returns.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(returns[i]);
+            }
+            sb.append(") = ");
+        }
+        sb.append(functionName);
+        sb.append("(");
+        for (int i = 0; i < parameters.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(parameters[i]);
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+
+    private static void appendSymbols(final StringBuilder sb, final String[] symbols) {
+        sb.append("Symbol[");
+        for (int i = 0; i < symbols.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(":");
+            sb.append(symbols[i]);
+        }
+        sb.append("]");
+    }
+
+    private static String newHash(final String script, final String[] parameters, final String[] returns) {
+        return JuliaScriptSource.newHash(script, String.join(",", parameters), String.join(",", returns));
+    }
+
+}
@@ -0,0 +1,75 @@
+package de.invesdwin.context.julia.runtime.contract.script;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.springframework.core.io.ClassPathResource;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+
+/**
+ * Remembers which scripts were already compiled or stored inside a given julia instance. Each instance (process or
+ * embedded engine) has its own cache which needs to be initialized before the reset context protects the current
+ * variables.
+ *
+ * Scripts are evaluated via the engine of the caller so that thread bound engines are accessed from the correct
+ * thread. Engines that evaluate multiple tasks concurrently (e.g. in separate modules) share the cache, thus
+ * compilation is synchronized.
+ */
+@ThreadSafe
+public class JuliaScriptCache {
+
+    /**
+     * Can not be evaluated via the cache itself because the cache functions get defined by this script.
+     */
+    private static final String INIT_SCRIPT = JuliaScriptSource.readScript(
+            new ClassPathResource(JuliaScriptCache.class.getSimpleName() + ".jl", JuliaScriptCache.class));
+
+    private final IScriptTaskEngine engine;
+    private final Set<String> compiledFunctions = ConcurrentHashMap.newKeySet();
+    private final Set<String> storedSources = ConcurrentHashMap.newKeySet();
+
+    public JuliaScriptCache(final IScriptTaskEngine engine) {
+        this.engine = engine;
+    }
+
+    public void init() {
+        engine.eval(INIT_SCRIPT);
+    }
+
+    public boolean isCompiled(final JuliaCompiledScript script) {
+        return compiledFunctions.contains(script.getFunctionName());
+    }
+
+    public void compile(final IScriptTaskEngine engine, final JuliaCompiledScript script) {
+        if (!compiledFunctions.contains(script.getFunctionName())) {
+            synchronized (compiledFunctions) {
+                if (!compiledFunctions.contains(script.getFunctionName())) {
+                    engine.eval(script.getCompileExpression());
+                    compiledFunctions.add(script.getFunctionName());
+                }
+            }
+        }
+    }
+
+    public void eval(final IScriptTaskEngine engine, final JuliaCompiledScript script) {
+        compile(engine, script);
+        engine.eval(script.getInvokeExpression());
+    }
+
+    public boolean isStored(final JuliaScriptSource source) {
+        return storedSources.contains(source.getId());
+    }
+
+    public void eval(final IScriptTaskEngine engine, final JuliaScriptSource source) {
+        if (storedSources.contains(source.getId())) {
+            engine.eval(source.getEvalExpression());
+        } else {
+            engine.eval(source.getStoreAndEvalExpression());
+            storedSources.add(source.getId());
+        }
+    }
+
+}
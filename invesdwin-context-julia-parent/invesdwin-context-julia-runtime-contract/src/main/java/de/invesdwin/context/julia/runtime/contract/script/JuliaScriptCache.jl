@@ -0,0 +1,121 @@
+#disable repl output during initialization by wrapping everything in a begin ... end
+begin
+
+	using Base64
+
+	const scriptCache_sources = Dict{String, Expr}()
+	# sources might be stored and evaluated by tasks on multiple julia threads
+	const scriptCache_lock = ReentrantLock()
+
+	# tasks that are evaluated in their own module store it in the task local storage
+	scriptCache_module() = get(task_local_storage(), :scriptCache_module, Main)
+
+	function scriptCache_eval(id::String)
+		source = lock(scriptCache_lock) do
+			scriptCache_sources[id]
+		end
+		return Core.eval(scriptCache_module(), source)
+	end
+
+	function scriptCache_storeAndEval(id::String, scriptBase64::String)
+		source = Meta.parseall(String(base64decode(scriptBase64)))
+		lock(scriptCache_lock) do
+			scriptCache_sources[id] = source
+		end
+		return scriptCache_eval(id)
+	end
+
+	function scriptCache_isDefinition(ex)
+		if !(ex isa Expr)
+			return false
+		end
+		if ex.head in (:using, :import, :export, :module, :struct, :abstract, :primitive, :macro, :const, :function)
+			return true
+		end
+		# short function definitions like f(x) = ...
+		return ex.head == :(=) && ex.args[1] isa Expr && ex.args[1].head in (:call, :where)
+	end
+
+	function scriptCache_references(ex, parameters::Vector{Symbol})
+		if ex isa Symbol
+			return ex in parameters
+		elseif ex isa Expr
+			return any(arg -> scriptCache_references(arg, parameters), ex.args)
+		end
+		return false
+	end
+
+	# the statements keep their source order: everything up to the last definition is evaluated once as the setup
+	# (e.g. a package installation guard before its using) as long as it does not reference a parameter, definitions
+	# after that are evaluated once too because they can not be part of a function body, all other statements become
+	# the body of the compiled function so that they stay local and are not reset as globals in Main. Assignments of
+	# the setup are repeated in the body for the same reason.
+	function scriptCache_compile(name::Symbol, parameters::Vector{Symbol}, returns::Vector{Symbol}, scriptBase64::String)
+		parsed = Meta.parseall(String(base64decode(scriptBase64)))
+		statements = Tuple{Union{Nothing, LineNumberNode}, Any}[]
+		line = nothing
+		for ex in parsed.args
+			if ex isa LineNumberNode
+				line = ex
+				continue
+			end
+			push!(statements, (line, ex))
+			line = nothing
+		end
+		prefix = 0
+		for (i, (_, ex)) in enumerate(statements)
+			if scriptCache_isDefinition(ex)
+				prefix = i
+			elseif scriptCache_references(ex, parameters)
+				break
+			end
+		end
+		setup = Any[]
+		body = Any[]
+		for (i, (line, ex)) in enumerate(statements)
+			if scriptCache_isDefinition(ex)
+				targets = (setup,)
+			elseif i > prefix
+				targets = (body,)
+			elseif ex isa Expr && ex.head == :(=)
+				targets = (setup, body)
+			else
+				targets = (setup,)
+			end
+			for target in targets
+				if line !== nothing
+					push!(target, line)
+				end
+				push!(target, ex)
+			end
+		end
+		for ex in setup
+			Core.eval(Main, ex)
+		end
+		if isempty(returns)
+			result = :nothing
+		elseif length(returns) == 1
+			result = returns[1]
+		else
+			result = Expr(:tuple, returns...)
+		end
+		Core.eval(Main, Expr(:function, Expr(:call, name, parameters...), Expr(:block, body..., Expr(:return, result))))
+		return nothing
+	end
+
+	# calls a compiled function once per input set of fused tasks and returns the results in the same order
+	function scriptCache_fuse(f::Function, args::Vector{Any}, threaded::Bool)
+		results = Vector{Any}(undef, length(args))
+		if threaded && Threads.nthreads() > 1
+			Threads.@threads for i in eachindex(args)
+				results[i] = f(args[i]...)
+			end
+		else
+			for i in eachindex(args)
+				results[i] = f(args[i]...)
+			end
+		end
+		return results
+	end
+
+end
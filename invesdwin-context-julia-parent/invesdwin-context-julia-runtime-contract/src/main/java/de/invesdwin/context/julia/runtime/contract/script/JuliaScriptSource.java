@@ -0,0 +1,125 @@
+package de.invesdwin.context.julia.runtime.contract.script;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskEngineJulia;
+
+/**
+ * A script that is transferred only once per julia instance. The julia side stores the parsed expression under the
+ * content hash of the script so that subsequent evaluations only need to send the id.
+ */
+@Immutable
+public class JuliaScriptSource {
+
+    private static final int HASH_LENGTH = 32;
+    /**
+     * Classpath resources can not change at runtime, so they only need to be read and hashed once.
+     */
+    private static final Map<Resource, JuliaScriptSource> CLASSPATH_RESOURCE_SOURCE = new ConcurrentHashMap<>();
+
+    private final String script;
+    private final String id;
+    private final String storeAndEvalExpression;
+    private final String evalExpression;
+
+    public JuliaScriptSource(final Resource resource) {
+        this(readScript(resource));
+    }
+
+    public JuliaScriptSource(final String script) {
+        this.script = script;
+        this.id = newHash(script);
+        this.storeAndEvalExpression = "scriptCache_storeAndEval(\"" + id + "\", \""
+                + Base64.getEncoder().encodeToString(script.getBytes(StandardCharsets.UTF_8)) + "\")";
+        this.evalExpression = "scriptCache_eval(\"" + id + "\")";
+    }
+
+    public String getScript() {
+        return script;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Transfers the script, stores the parsed expression and evaluates it.
+     */
+    public String getStoreAndEvalExpression() {
+        return storeAndEvalExpression;
+    }
+
+    /**
+     * Evaluates the already stored expression.
+     */
+    public String getEvalExpression() {
+        return evalExpression;
+    }
+
+    /**
+     * Uses the cached expression when the engine supports it, otherwise the script is evaluated as is.
+     */
+    public void eval(final IScriptTaskEngine engine) {
+        if (engine instanceof IScriptTaskEngineJulia) {
+            final IScriptTaskEngineJulia cEngine = (IScriptTaskEngineJulia) engine;
+            cEngine.getScriptCache().eval(cEngine, this);
+        } else {
+            engine.eval(script);
+        }
+    }
+
+    public static JuliaScriptSource valueOf(final Resource resource) {
+        if (resource instanceof ClassPathResource) {
+            return CLASSPATH_RESOURCE_SOURCE.computeIfAbsent(resource, (key) -> new JuliaScriptSource(key));
+        } else {
+            return new JuliaScriptSource(resource);
+        }
+    }
+
+    public static String readScript(final Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns a hex encoded SHA-256 hash prefix that can be used as a julia identifier suffix.
+     */
+    public static String newHash(final String... parts) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    digest.update((byte) 0);
+                }
+                digest.update(parts[i].getBytes(StandardCharsets.UTF_8));
+            }
+            final String hex = new BigInteger(1, digest.digest()).toString(16);
+            final StringBuilder sb = new StringBuilder(HASH_LENGTH);
+            for (int i = hex.length(); i < HASH_LENGTH * 2; i++) {
+                sb.append('0');
+            }
+            sb.append(hex);
+            return sb.substring(0, HASH_LENGTH);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
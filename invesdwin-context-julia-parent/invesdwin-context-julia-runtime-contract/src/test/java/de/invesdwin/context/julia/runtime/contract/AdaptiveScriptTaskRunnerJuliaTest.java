@@ -0,0 +1,154 @@
+package de.invesdwin.context.julia.runtime.contract;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.junit.jupiter.api.Test;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+import de.invesdwin.util.assertions.Assertions;
+
+@NotThreadSafe
+public class AdaptiveScriptTaskRunnerJuliaTest {
+
+    private static final int WARMUP_TASKS = 2;
+    private static final int TASKS = 10;
+
+    @Test
+    public void testFailingRunner() {
+        final StubRunner failing = new StubRunner(true);
+        final StubRunner working = new StubRunner(false);
+        final AdaptiveScriptTaskRunnerJulia runner = new AdaptiveScriptTaskRunnerJulia(
+                Arrays.asList(failing, working), WARMUP_TASKS, 0);
+        final StubTask task = new StubTask();
+        int failed = 0;
+        for (int i = 0; i < TASKS; i++) {
+            try {
+                task.run(runner);
+            } catch (final IllegalStateException e) {
+                failed++;
+            }
+        }
+        //the failing runner only gets its warmup tasks
+        Assertions.checkEquals(WARMUP_TASKS, failing.calls.get());
+        Assertions.checkEquals(TASKS - WARMUP_TASKS, working.calls.get());
+        Assertions.checkEquals(WARMUP_TASKS, failed);
+        Assertions.checkEquals(WARMUP_TASKS, (int) runner.getFailures(StubTask.class)[0]);
+        Assertions.checkEquals(0, (int) runner.getFailures(StubTask.class)[1]);
+    }
+
+    @Test
+    public void testAllRunnersFailing() {
+        final StubRunner first = new StubRunner(true);
+        final StubRunner second = new StubRunner(true);
+        final AdaptiveScriptTaskRunnerJulia runner = new AdaptiveScriptTaskRunnerJulia(Arrays.asList(first, second),
+                WARMUP_TASKS, 0);
+        final StubTask task = new StubTask();
+        for (int i = 0; i < TASKS; i++) {
+            try {
+                task.run(runner);
+                Assertions.failExceptionExpected();
+            } catch (final IllegalStateException e) {
+                //expected
+            }
+        }
+        //the runner with fewer consecutive failures is tried next
+        Assertions.checkEquals(TASKS / 2, first.calls.get());
+        Assertions.checkEquals(TASKS / 2, second.calls.get());
+    }
+
+    @Test
+    public void testRunAllGroupsByClass() {
+        final StubRunner first = new StubRunner(false);
+        final StubRunner second = new StubRunner(false);
+        final AdaptiveScriptTaskRunnerJulia runner = new AdaptiveScriptTaskRunnerJulia(Arrays.asList(first, second),
+                1, 0);
+        final List<StubIndexTask> tasks = Arrays.asList(new StubIndexTask(0), new StubOtherIndexTask(1),
+                new StubIndexTask(2), new StubOtherIndexTask(3));
+        //each class is one batch on the runner selected for it, the results keep the order of the tasks
+        Assertions.assertThat(runner.runAll(tasks)).containsExactly(0, 1, 2, 3);
+        Assertions.checkEquals(2, first.batches.get());
+        Assertions.checkEquals(0, second.batches.get());
+        //the second runner still needs its warmup for both classes
+        Assertions.assertThat(runner.runAll(tasks)).containsExactly(0, 1, 2, 3);
+        Assertions.checkEquals(2, second.batches.get());
+    }
+
+    private static final class StubRunner implements IScriptTaskRunnerJulia {
+
+        private final boolean fail;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger batches = new AtomicInteger();
+
+        private StubRunner(final boolean fail) {
+            this.fail = fail;
+        }
+
+        @Override
+        public <T> T run(final AScriptTaskJulia<T> scriptTask) {
+            calls.incrementAndGet();
+            if (fail) {
+                throw new IllegalStateException("julia not available");
+            }
+            return scriptTask.extractResults(null);
+        }
+
+        @Override
+        public <T> List<T> runAll(final Collection<? extends AScriptTaskJulia<T>> scriptTasks) {
+            batches.incrementAndGet();
+            return IScriptTaskRunnerJulia.super.runAll(scriptTasks);
+        }
+
+    }
+
+    private static final class StubTask extends AScriptTaskJulia<Void> {
+
+        @Override
+        public void populateInputs(final IScriptTaskInputs inputs) {}
+
+        @Override
+        public void executeScript(final IScriptTaskEngine engine) {}
+
+        @Override
+        public Void extractResults(final IScriptTaskResults results) {
+            return null;
+        }
+
+    }
+
+    private static class StubIndexTask extends AScriptTaskJulia<Integer> {
+
+        private final int index;
+
+        StubIndexTask(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void populateInputs(final IScriptTaskInputs inputs) {}
+
+        @Override
+        public void executeScript(final IScriptTaskEngine engine) {}
+
+        @Override
+        public Integer extractResults(final IScriptTaskResults results) {
+            return index;
+        }
+
+    }
+
+    private static final class StubOtherIndexTask extends StubIndexTask {
+
+        StubOtherIndexTask(final int index) {
+            super(index);
+        }
+
+    }
+
+}
@@ -0,0 +1,174 @@
+package de.invesdwin.context.julia.runtime.contract;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTransferCounter;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaCompiledScript;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
+import de.invesdwin.util.assertions.Assertions;
+import de.invesdwin.util.concurrent.WrappedExecutorService;
+import de.invesdwin.util.concurrent.lock.ILock;
+import de.invesdwin.util.concurrent.lock.disabled.DisabledLock;
+
+@NotThreadSafe
+public class FusedScriptTaskJuliaTest {
+
+    private static final int TASKS = 10;
+    private static final JuliaCompiledScript SCRIPT = new JuliaCompiledScript("world = \"Hello \" * hello * \"!\"",
+            new String[] { "hello" }, new String[] { "world" });
+
+    @Test
+    public void testRoundTrips() {
+        final StubEngine engine = new StubEngine();
+        final List<ACompiledScriptTaskJulia<String>> tasks = newTasks();
+        //compiling happens once per instance in both variants
+        engine.getScriptCache().compile(engine, SCRIPT);
+
+        final long unfusedStart = engine.counter.getRoundTrips();
+        for (int i = 0; i < TASKS; i++) {
+            final ACompiledScriptTaskJulia<String> task = tasks.get(i);
+            task.populateInputs(engine.getInputs());
+            task.executeScript(engine);
+            Assertions.assertThat(task.extractResults(engine.getResults())).isEqualTo("Hello World" + i + "!");
+        }
+        final long unfusedRoundTrips = engine.counter.getRoundTrips() - unfusedStart;
+        //putting the input, invoking the function and getting the return for each task
+        Assertions.checkEquals(3L * TASKS, unfusedRoundTrips);
+
+        final long fusedStart = engine.counter.getRoundTrips();
+        final FusedScriptTaskJulia<String> fused = new FusedScriptTaskJulia<String>(tasks);
+        fused.populateInputs(engine.getInputs());
+        fused.executeScript(engine);
+        final List<String> results = fused.extractResults(engine.getResults());
+        final long fusedRoundTrips = engine.counter.getRoundTrips() - fusedStart;
+        //invoking the function with all inputs, getting the stacked return and clearing it
+        Assertions.checkEquals(3L, fusedRoundTrips);
+        Assertions.checkEquals(TASKS, results.size());
+        for (int i = 0; i < TASKS; i++) {
+            Assertions.assertThat(results.get(i)).isEqualTo("Hello World" + i + "!");
+        }
+    }
+
+    private static List<ACompiledScriptTaskJulia<String>> newTasks() {
+        final List<ACompiledScriptTaskJulia<String>> tasks = new ArrayList<ACompiledScriptTaskJulia<String>>();
+        for (int i = 0; i < TASKS; i++) {
+            final String hello = "World" + i;
+            tasks.add(new ACompiledScriptTaskJulia<String>() {
+
+                @Override
+                public JuliaCompiledScript getCompiledScript() {
+                    return SCRIPT;
+                }
+
+                @Override
+                public void populateInputs(final IScriptTaskInputs inputs) {
+                    inputs.putString("hello", hello);
+                }
+
+                @Override
+                public String extractResults(final IScriptTaskResults results) {
+                    return results.getString("world");
+                }
+            });
+        }
+        return tasks;
+    }
+
+    /**
+     * Counts each eval and get as a round trip and answers them like julia would for the script above.
+     */
+    private static final class StubEngine implements IScriptTaskEngineJulia {
+
+        private static final Pattern STRING = Pattern.compile("String\\(\"([^\"]*)\"\\)");
+
+        private final JuliaTransferCounter counter = new JuliaTransferCounter();
+        private final JuliaScriptCache scriptCache = new JuliaScriptCache(this);
+        private final List<String> hellos = new ArrayList<String>();
+        private final AScriptTaskInputsJuliaToExpression inputs = new AScriptTaskInputsJuliaToExpression() {
+            @Override
+            public IScriptTaskEngine getEngine() {
+                return StubEngine.this;
+            }
+        };
+        private final AScriptTaskResultsJuliaFromJson results = new AScriptTaskResultsJuliaFromJson() {
+            @Override
+            public IScriptTaskEngine getEngine() {
+                return StubEngine.this;
+            }
+
+            @Override
+            protected JsonNode getAsJsonNode(final String variable) {
+                counter.roundTrip();
+                if ("world".equals(variable)) {
+                    return JsonNodeFactory.instance.textNode("Hello " + hellos.get(hellos.size() - 1) + "!");
+                }
+                final ArrayNode worlds = JsonNodeFactory.instance.arrayNode();
+                for (final String hello : hellos) {
+                    worlds.add("Hello " + hello + "!");
+                }
+                return worlds;
+            }
+        };
+
+        @Override
+        public void eval(final String expression) {
+            counter.roundTrip();
+            final Matcher matcher = STRING.matcher(expression);
+            if (matcher.find()) {
+                hellos.clear();
+                do {
+                    hellos.add(matcher.group(1));
+                } while (matcher.find());
+            }
+        }
+
+        @Override
+        public AScriptTaskInputsJuliaToExpression getInputs() {
+            return inputs;
+        }
+
+        @Override
+        public AScriptTaskResultsJuliaFromJson getResults() {
+            return results;
+        }
+
+        @Override
+        public JuliaScriptCache getScriptCache() {
+            return scriptCache;
+        }
+
+        @Override
+        public void close() {}
+
+        @Override
+        public Object unwrap() {
+            return null;
+        }
+
+        @Override
+        public ILock getSharedLock() {
+            return DisabledLock.INSTANCE;
+        }
+
+        @Override
+        public WrappedExecutorService getSharedExecutor() {
+            return null;
+        }
+
+    }
+
+}
@@ -5,7 +5,14 @@ import java.util.List;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+import de.invesdwin.context.julia.runtime.contract.hello.HelloWorldCompiledScript;
+import de.invesdwin.context.julia.runtime.contract.hello.HelloWorldLocalsCompiledScript;
+import de.invesdwin.context.julia.runtime.contract.hello.HelloWorldSetupCompiledScript;
 import de.invesdwin.context.julia.runtime.contract.hello.HelloWorldScript;
+import de.invesdwin.util.assertions.Assertions;
 import de.invesdwin.util.concurrent.Executors;
 import de.invesdwin.util.concurrent.WrappedExecutorService;
 import de.invesdwin.util.concurrent.future.Futures;
@@ -21,6 +28,10 @@ public class InputsAndResultsTests {
 
     public void test() {
         new HelloWorldScript(runner).testHelloWorld();
+        new HelloWorldCompiledScript(runner).testHelloWorldCompiled();
+        new HelloWorldCompiledScript(runner).testHelloWorldFused();
+        new HelloWorldLocalsCompiledScript(runner).testHelloWorldLocalsCompiled();
+        new HelloWorldSetupCompiledScript(runner).testHelloWorldSetupCompiled();
         new InputsAndResultsTestByte(runner).testByte();
         new InputsAndResultsTestFloat(runner).testFloat();
         new InputsAndResultsTestDouble(runner).testDouble();
@@ -39,6 +50,35 @@ public class InputsAndResultsTests {
         new InputsAndResultsTestDoubleNan(runner).testDoubleNan();
     }
 
+    public void testRunAll() {
+        final List<AScriptTaskJulia<Integer>> tasks = new ArrayList<AScriptTaskJulia<Integer>>();
+        for (int i = 0; i < 100; i++) {
+            final int index = i;
+            tasks.add(new AScriptTaskJulia<Integer>() {
+
+                @Override
+                public void populateInputs(final IScriptTaskInputs inputs) {
+                    inputs.putInteger("batchIndex", index);
+                }
+
+                @Override
+                public void executeScript(final IScriptTaskEngine engine) {
+                    engine.eval("batchResult = batchIndex * 2");
+                }
+
+                @Override
+                public Integer extractResults(final IScriptTaskResults results) {
+                    return results.getInteger("batchResult");
+                }
+            });
+        }
+        final List<Integer> results = runner.runAll(tasks);
+        Assertions.checkEquals(tasks.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Assertions.checkEquals(i * 2, results.get(i).intValue());
+        }
+    }
+
     public void testParallel() {
         final List<Runnable> tasks = new ArrayList<Runnable>();
         for (int i = 0; i < 10; i++) {
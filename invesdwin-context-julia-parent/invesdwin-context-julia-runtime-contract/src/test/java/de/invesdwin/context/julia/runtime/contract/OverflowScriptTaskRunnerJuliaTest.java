@@ -0,0 +1,115 @@
+package de.invesdwin.context.julia.runtime.contract;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.junit.jupiter.api.Test;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+import de.invesdwin.util.assertions.Assertions;
+
+@NotThreadSafe
+public class OverflowScriptTaskRunnerJuliaTest {
+
+    private static final int TASKS = 10;
+
+    @Test
+    public void testPrimaryPendingCount() {
+        final StubRunner primary = new StubRunner(0);
+        final StubRunner overflow = new StubRunner(-1);
+        final OverflowScriptTaskRunnerJulia runner = new OverflowScriptTaskRunnerJulia(primary, overflow, 1);
+        final StubTask task = new StubTask();
+        for (int i = 0; i < TASKS; i++) {
+            task.run(runner);
+        }
+        Assertions.checkEquals(TASKS, primary.calls.get());
+        Assertions.checkEquals(0, overflow.calls.get());
+        Assertions.checkEquals(TASKS, (int) runner.getPrimaryCount());
+        Assertions.checkEquals(0, (int) runner.getOverflowCount());
+
+        //tasks submitted to the primary runner by other callers spill the following tasks over
+        primary.pending.set(1);
+        Assertions.checkEquals(1, runner.getPrimaryPending());
+        for (int i = 0; i < TASKS; i++) {
+            task.run(runner);
+        }
+        Assertions.checkEquals(TASKS, primary.calls.get());
+        Assertions.checkEquals(TASKS, overflow.calls.get());
+        Assertions.checkEquals(TASKS, (int) runner.getPrimaryCount());
+        Assertions.checkEquals(TASKS, (int) runner.getOverflowCount());
+
+        runner.runAll(Arrays.asList(task, task));
+        Assertions.checkEquals(TASKS + 2, overflow.calls.get());
+        Assertions.checkEquals(TASKS + 2, (int) runner.getOverflowCount());
+
+        primary.pending.set(0);
+        runner.runAll(Arrays.asList(task, task));
+        Assertions.checkEquals(TASKS + 2, primary.calls.get());
+        Assertions.checkEquals(TASKS + 2, (int) runner.getPrimaryCount());
+    }
+
+    @Test
+    public void testUnknownPrimaryPendingCount() {
+        final StubRunner overflow = new StubRunner(-1);
+        //the primary runner submits a task while another one is still running
+        final StubRunner primary = new StubRunner(-1);
+        final OverflowScriptTaskRunnerJulia runner = new OverflowScriptTaskRunnerJulia(primary, overflow, 1);
+        primary.nested = runner;
+        final StubTask task = new StubTask();
+        task.run(runner);
+        //without a queue depth from the primary runner only the tasks sent through the overflow runner are counted
+        Assertions.checkEquals(1, primary.calls.get());
+        Assertions.checkEquals(1, overflow.calls.get());
+        Assertions.checkEquals(1, (int) runner.getPrimaryCount());
+        Assertions.checkEquals(1, (int) runner.getOverflowCount());
+        Assertions.checkEquals(0, runner.getPrimaryPending());
+    }
+
+    private static final class StubRunner implements IScriptTaskRunnerJulia {
+
+        private final AtomicInteger pending;
+        private final AtomicInteger calls = new AtomicInteger();
+        private IScriptTaskRunnerJulia nested;
+
+        private StubRunner(final int pending) {
+            this.pending = new AtomicInteger(pending);
+        }
+
+        @Override
+        public <T> T run(final AScriptTaskJulia<T> scriptTask) {
+            calls.incrementAndGet();
+            final IScriptTaskRunnerJulia nestedCopy = nested;
+            if (nestedCopy != null) {
+                nested = null;
+                scriptTask.run(nestedCopy);
+            }
+            return null;
+        }
+
+        @Override
+        public int getPendingCount() {
+            return pending.get();
+        }
+
+    }
+
+    private static final class StubTask extends AScriptTaskJulia<Void> {
+
+        @Override
+        public void populateInputs(final IScriptTaskInputs inputs) {}
+
+        @Override
+        public void executeScript(final IScriptTaskEngine engine) {}
+
+        @Override
+        public Void extractResults(final IScriptTaskResults results) {
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,98 @@
+package de.invesdwin.context.julia.runtime.contract.callback;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.springframework.core.io.ClassPathResource;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+import de.invesdwin.context.integration.script.callback.IScriptTaskCallback;
+import de.invesdwin.context.integration.script.callback.ReflectiveScriptTaskCallback;
+import de.invesdwin.context.julia.runtime.contract.AScriptTaskJulia;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
+import de.invesdwin.util.assertions.Assertions;
+import de.invesdwin.util.error.Throwables;
+
+@NotThreadSafe
+public class AsyncCallbackTest {
+
+    private static final String FAILURE = "failingMethod failed on purpose";
+
+    private final IScriptTaskRunnerJulia runner;
+    private int failingMethodCalled;
+    private int voidMethodCalled;
+
+    public AsyncCallbackTest(final IScriptTaskRunnerJulia runner) {
+        this.runner = runner;
+    }
+
+    public void failingMethod() {
+        failingMethodCalled++;
+        throw new IllegalStateException(FAILURE);
+    }
+
+    public void voidMethod() {
+        voidMethodCalled++;
+    }
+
+    public void testAsyncCallbackFailure() {
+        final String asyncFailure = new AScriptTaskJulia<String>() {
+
+            @Override
+            public IScriptTaskCallback getCallback() {
+                return new ReflectiveScriptTaskCallback(AsyncCallbackTest.this);
+            }
+
+            @Override
+            public void populateInputs(final IScriptTaskInputs inputs) {}
+
+            @Override
+            public void executeScript(final IScriptTaskEngine engine) {
+                engine.eval(new ClassPathResource(AsyncCallbackTest.class.getSimpleName() + ".jl",
+                        AsyncCallbackTest.class));
+            }
+
+            @Override
+            public String extractResults(final IScriptTaskResults results) {
+                return results.getString("asyncFailure");
+            }
+        }.run(runner);
+        Assertions.assertThat(asyncFailure).contains(FAILURE);
+        Assertions.checkEquals(1, failingMethodCalled);
+        //the synchronous callback that reported the failure was not invoked
+        Assertions.checkEquals(1, voidMethodCalled);
+    }
+
+    public void testAsyncCallbackFailureAtDeinit() {
+        try {
+            new AScriptTaskJulia<Void>() {
+
+                @Override
+                public IScriptTaskCallback getCallback() {
+                    return new ReflectiveScriptTaskCallback(AsyncCallbackTest.this);
+                }
+
+                @Override
+                public void populateInputs(final IScriptTaskInputs inputs) {}
+
+                @Override
+                public void executeScript(final IScriptTaskEngine engine) {
+                    //no synchronous callback follows, thus the failure is reported when the task is finished
+                    engine.eval("callback_async(\"failingMethod\")");
+                }
+
+                @Override
+                public Void extractResults(final IScriptTaskResults results) {
+                    return null;
+                }
+            }.run(runner);
+            Assertions.failExceptionExpected();
+        } catch (final RuntimeException e) {
+            //the runners might wrap the error of julia
+            Assertions.assertThat(Throwables.concatMessages(e)).contains(FAILURE);
+        }
+        Assertions.checkEquals(1, failingMethodCalled);
+    }
+
+}
@@ -0,0 +1,14 @@
+# the failure of the asynchronous callback is reported with the response of the next synchronous callback
+asyncFailure = try
+	callback_async("failingMethod")
+	callback("voidMethod")
+	""
+catch e
+	sprint(showerror, e)
+end
+if isempty(asyncFailure)
+	error("asyncFailure expected")
+end
+
+# the failure is only reported once
+callback("voidMethod")
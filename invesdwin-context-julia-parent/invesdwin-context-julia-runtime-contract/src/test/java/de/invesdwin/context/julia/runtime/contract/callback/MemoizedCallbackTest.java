@@ -0,0 +1,74 @@
+package de.invesdwin.context.julia.runtime.contract.callback;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.springframework.core.io.ClassPathResource;
+
+import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+import de.invesdwin.context.integration.script.callback.IScriptTaskCallback;
+import de.invesdwin.context.julia.runtime.contract.AScriptTaskJulia;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
+import de.invesdwin.util.assertions.Assertions;
+
+@NotThreadSafe
+public class MemoizedCallbackTest {
+
+    private static final int TASKS = 2;
+
+    private final IScriptTaskRunnerJulia runner;
+    private int offset;
+    private int memoizedSquareCalled;
+    private int memoizedCubeCalled;
+
+    public MemoizedCallbackTest(final IScriptTaskRunnerJulia runner) {
+        this.runner = runner;
+    }
+
+    @Memoized
+    public int memoizedSquare(final int value) {
+        memoizedSquareCalled++;
+        return value * value + offset;
+    }
+
+    @Memoized(julia = true)
+    public int memoizedCube(final int value) {
+        memoizedCubeCalled++;
+        return value * value * value + offset;
+    }
+
+    public void testMemoizedCallback() {
+        for (int task = 1; task <= TASKS; task++) {
+            //the values differ per task, thus cached values of the previous task would fail the checks in julia
+            offset = task * 1000;
+            new AScriptTaskJulia<Void>() {
+
+                @Override
+                public IScriptTaskCallback getCallback() {
+                    return new MemoizedReflectiveScriptTaskCallback(MemoizedCallbackTest.this);
+                }
+
+                @Override
+                public void populateInputs(final IScriptTaskInputs inputs) {
+                    inputs.putInteger("putOffset", offset);
+                }
+
+                @Override
+                public void executeScript(final IScriptTaskEngine engine) {
+                    engine.eval(new ClassPathResource(MemoizedCallbackTest.class.getSimpleName() + ".jl",
+                            MemoizedCallbackTest.class));
+                }
+
+                @Override
+                public Void extractResults(final IScriptTaskResults results) {
+                    return null;
+                }
+            }.run(runner);
+            //each distinct argument is only invoked once per task, either cached by java or by julia
+            Assertions.checkEquals(task * 2, memoizedSquareCalled);
+            Assertions.checkEquals(task * 2, memoizedCubeCalled);
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+memoizedSquares = [callback("memoizedSquare", 3), callback("memoizedSquare", 3), callback("memoizedSquare", 4), callback("memoizedSquare", 3)]
+if memoizedSquares != [9, 9, 16, 9] .+ putOffset
+	error("memoizedSquares unexpected result: $(memoizedSquares)")
+end
+# only @Memoized(julia = true) is cached inside julia, entries of the previous task were dropped due to its different uuid
+if !isempty(CALLBACK_MEMOIZED_CACHE)
+	error("CALLBACK_MEMOIZED_CACHE unexpected entries: $(CALLBACK_MEMOIZED_CACHE)")
+end
+
+memoizedCubes = [callback("memoizedCube", 2), callback("memoizedCube", 2), callback("memoizedCube", 3), callback("memoizedCube", 2)]
+if memoizedCubes != [8, 8, 27, 8] .+ putOffset
+	error("memoizedCubes unexpected result: $(memoizedCubes)")
+end
+if length(CALLBACK_MEMOIZED_CACHE) != 2
+	error("CALLBACK_MEMOIZED_CACHE unexpected entries: $(CALLBACK_MEMOIZED_CACHE)")
+end
@@ -133,6 +133,17 @@ public class SimpleCallbackTest {
     }
 
     public void testSimpleCallback() {
+        testSimpleCallback(false);
+    }
+
+    /**
+     * Only works for julia processes that are separate from this jvm.
+     */
+    public void testSimpleCallbackSharedMemory() {
+        testSimpleCallback(true);
+    }
+
+    private void testSimpleCallback(final boolean sharedMemory) {
         final String uuid = UUIDs.newPseudoRandomUUID();
         final String secret = "secret123";
         UUID_SECRET.put(uuid, secret);
@@ -141,7 +152,12 @@ public class SimpleCallbackTest {
 
                 @Override
                 public IScriptTaskCallback getCallback() {
-                    return new ReflectiveScriptTaskCallback(SimpleCallbackTest.this);
+                    final IScriptTaskCallback callback = new ReflectiveScriptTaskCallback(SimpleCallbackTest.this);
+                    if (sharedMemory) {
+                        return new SharedMemoryScriptTaskCallback(callback);
+                    } else {
+                        return callback;
+                    }
                 }
 
                 @Override
@@ -165,6 +181,10 @@ public class SimpleCallbackTest {
 
                 @Override
                 public Void extractResults(final IScriptTaskResults results) {
+                    if (sharedMemory) {
+                        Assertions.assertThat(results.getString("socketScriptTaskCallbackSharedMemoryPath"))
+                                .isNotBlank();
+                    }
                     final String getSecretStaticCallback = results.getString("getSecretStaticCallback");
                     Assertions.assertThat(getSecretStaticCallback).isEqualTo(secret);
 
@@ -174,7 +194,7 @@ public class SimpleCallbackTest {
                     final String getSecretExpressionCallback = results.getString("getSecretExpressionCallback");
                     Assertions.assertThat(getSecretExpressionCallback).isEqualTo(secret);
 
-                    Assertions.assertThat(voidMethodCalled).isEqualTo(1);
+                    Assertions.assertThat(voidMethodCalled).isEqualTo(2);
 
                     final double getManyParamsExpression = results.getDouble("getManyParamsExpression");
                     Assertions.assertThat(getManyParamsExpression).isEqualTo(55.0);
@@ -14,6 +14,7 @@ println("getSecretExpressionCallback")
 println(getSecretExpressionCallback)
 
 callback("voidMethod")
+callback_async("voidMethod")
 
 callManyParams = callback("callManyParams", true, 2, 3, '4', 5, 6, 7.0, 8.0, "123456789", 10.0)
 if callManyParams != 55
@@ -27,6 +28,14 @@ callManyParamsExpressionMultiline = callback("callManyParamsExpressionMultiline"
 if callManyParamsExpressionMultiline != 55
 	error("callManyParamsExpressionMultiline unexpected result: $(callManyParamsExpressionMultiline)")
 end
+callManyParamsBatch = callback_batch("callManyParams", [(true, 2, 3, '4', 5, 6, 7.0, 8.0, "123456789", 10.0), (false, 2, 3, '4', 5, 6, 7.0, 8.0, "123456789", 10.0)])
+if callManyParamsBatch != [55, 54]
+	error("callManyParamsBatch unexpected result: $(callManyParamsBatch)")
+end
+callManyParamsBatchParallel = callback_batch("callManyParams", [(true, 2, 3, '4', 5, 6, 7.0, 8.0, "123456789", 10.0) for i in 1:10]; parallel=true)
+if callManyParamsBatchParallel != fill(55, 10)
+	error("callManyParamsBatchParallel unexpected result: $(callManyParamsBatchParallel)")
+end
 
 getManyParamsExpression = putManyParamsExpression
 println("getManyParamsExpression")
@@ -0,0 +1,100 @@
+package de.invesdwin.context.julia.runtime.contract.callback.shm;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.junit.jupiter.api.Test;
+
+import de.invesdwin.util.assertions.Assertions;
+
+@NotThreadSafe
+public class SharedMemoryScriptTaskCallbackRingTest {
+
+    private static final int CAPACITY = 64;
+    /**
+     * int32 length + 20 bytes are padded to 24 bytes, which does not divide the capacity and thus wraps around
+     */
+    private static final int MESSAGE_LENGTH = 20;
+
+    @Test
+    public void testEmpty() {
+        final SharedMemoryScriptTaskCallbackRing ring = newRing();
+        Assertions.checkNull(ring.read(newBuffer(MESSAGE_LENGTH)));
+    }
+
+    @Test
+    public void testWrapAround() {
+        final SharedMemoryScriptTaskCallbackRing ring = newRing();
+        ByteBuffer target = newBuffer(1);
+        for (int i = 0; i < 100; i++) {
+            Assertions.checkTrue(ring.write(newMessage(i)));
+            final ByteBuffer message = ring.read(target);
+            Assertions.checkNotNull(message);
+            assertMessage(i, message);
+            target = message;
+        }
+    }
+
+    @Test
+    public void testFull() {
+        final SharedMemoryScriptTaskCallbackRing ring = newRing();
+        Assertions.checkTrue(ring.write(newMessage(0)));
+        Assertions.checkTrue(ring.write(newMessage(1)));
+        //only 16 bytes left
+        Assertions.checkFalse(ring.write(newMessage(2)));
+        assertMessage(0, ring.read(newBuffer(MESSAGE_LENGTH)));
+        Assertions.checkTrue(ring.write(newMessage(2)));
+        assertMessage(1, ring.read(newBuffer(MESSAGE_LENGTH)));
+        assertMessage(2, ring.read(newBuffer(MESSAGE_LENGTH)));
+        Assertions.checkNull(ring.read(newBuffer(MESSAGE_LENGTH)));
+    }
+
+    @Test
+    public void testTooLarge() {
+        final SharedMemoryScriptTaskCallbackRing ring = newRing();
+        Assertions.checkFalse(ring.isWritable(CAPACITY));
+        try {
+            ring.write(ByteBuffer.allocate(CAPACITY));
+            Assertions.failExceptionExpected();
+        } catch (final IllegalArgumentException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testClosed() {
+        final SharedMemoryScriptTaskCallbackRing ring = newRing();
+        Assertions.checkFalse(ring.isClosed());
+        ring.close();
+        Assertions.checkTrue(ring.isClosed());
+    }
+
+    private static SharedMemoryScriptTaskCallbackRing newRing() {
+        //direct like the memory mapped file, so that the sequences can be accessed atomically
+        final ByteBuffer mapping = ByteBuffer.allocateDirect(SharedMemoryScriptTaskCallbackRing.getSize(CAPACITY));
+        return new SharedMemoryScriptTaskCallbackRing(mapping, 0, CAPACITY);
+    }
+
+    private static ByteBuffer newBuffer(final int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer newMessage(final int index) {
+        final ByteBuffer message = newBuffer(MESSAGE_LENGTH);
+        for (int i = 0; i < MESSAGE_LENGTH; i++) {
+            message.put((byte) (index + i));
+        }
+        message.flip();
+        return message;
+    }
+
+    private static void assertMessage(final int index, final ByteBuffer message) {
+        Assertions.checkEquals(MESSAGE_LENGTH, message.remaining());
+        for (int i = 0; i < MESSAGE_LENGTH; i++) {
+            Assertions.checkEquals((byte) (index + i), message.get(message.position() + i));
+        }
+    }
+
+}
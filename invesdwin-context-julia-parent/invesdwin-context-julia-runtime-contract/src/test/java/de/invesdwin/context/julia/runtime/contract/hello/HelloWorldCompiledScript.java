@@ -0,0 +1,85 @@
+package de.invesdwin.context.julia.runtime.contract.hello;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.springframework.core.io.ClassPathResource;
+
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+import de.invesdwin.context.julia.runtime.contract.ACompiledScriptTaskJulia;
+import de.invesdwin.context.julia.runtime.contract.FusedScriptTaskJulia;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaCompiledScript;
+import de.invesdwin.util.assertions.Assertions;
+
+@NotThreadSafe
+public class HelloWorldCompiledScript {
+
+    private static final JuliaCompiledScript SCRIPT = new JuliaCompiledScript(
+            new ClassPathResource(HelloWorldScript.class.getSimpleName() + ".jl", HelloWorldScript.class),
+            new String[] { "hello" }, new String[] { "world" });
+
+    private final IScriptTaskRunnerJulia runner;
+
+    public HelloWorldCompiledScript(final IScriptTaskRunnerJulia runner) {
+        this.runner = runner;
+    }
+
+    public void testHelloWorldCompiled() {
+        //the first run compiles the script, the second one only invokes the function
+        for (final String hello : new String[] { "World", "Julia" }) {
+            final ACompiledScriptTaskJulia<String> script = new ACompiledScriptTaskJulia<String>() {
+
+                @Override
+                public JuliaCompiledScript getCompiledScript() {
+                    return SCRIPT;
+                }
+
+                @Override
+                public void populateInputs(final IScriptTaskInputs inputs) {
+                    inputs.putString("hello", hello);
+                }
+
+                @Override
+                public String extractResults(final IScriptTaskResults results) {
+                    return results.getString("world");
+                }
+            };
+            final String result = script.run(runner);
+            Assertions.assertThat(result).isEqualTo("Hello " + hello + "!");
+        }
+    }
+
+    public void testHelloWorldFused() {
+        final List<ACompiledScriptTaskJulia<String>> tasks = new ArrayList<ACompiledScriptTaskJulia<String>>();
+        for (int i = 0; i < 10; i++) {
+            final String hello = "World" + i;
+            tasks.add(new ACompiledScriptTaskJulia<String>() {
+
+                @Override
+                public JuliaCompiledScript getCompiledScript() {
+                    return SCRIPT;
+                }
+
+                @Override
+                public void populateInputs(final IScriptTaskInputs inputs) {
+                    inputs.putString("hello", hello);
+                }
+
+                @Override
+                public String extractResults(final IScriptTaskResults results) {
+                    return results.getString("world");
+                }
+            });
+        }
+        final List<String> results = new FusedScriptTaskJulia<String>(tasks).run(runner);
+        Assertions.checkEquals(tasks.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Assertions.assertThat(results.get(i)).isEqualTo("Hello World" + i + "!");
+        }
+    }
+
+}
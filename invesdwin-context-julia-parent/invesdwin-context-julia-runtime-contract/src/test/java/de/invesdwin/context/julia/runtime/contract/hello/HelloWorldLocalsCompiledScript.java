@@ -0,0 +1,56 @@
+package de.invesdwin.context.julia.runtime.contract.hello;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.springframework.core.io.ClassPathResource;
+
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+import de.invesdwin.context.julia.runtime.contract.ACompiledScriptTaskJulia;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaCompiledScript;
+import de.invesdwin.util.assertions.Assertions;
+
+/**
+ * The script assigns a local that does not reference any parameter, it has to stay in the function body so that it is
+ * still available after the instance was reset between the tasks.
+ */
+@NotThreadSafe
+public class HelloWorldLocalsCompiledScript {
+
+    private static final JuliaCompiledScript SCRIPT = new JuliaCompiledScript(
+            new ClassPathResource("HelloWorldLocalsScript.jl", HelloWorldLocalsCompiledScript.class),
+            new String[] { "hello" }, new String[] { "world" });
+
+    private final IScriptTaskRunnerJulia runner;
+
+    public HelloWorldLocalsCompiledScript(final IScriptTaskRunnerJulia runner) {
+        this.runner = runner;
+    }
+
+    public void testHelloWorldLocalsCompiled() {
+        //sequential tasks reuse the pooled instance which gets reset in between
+        for (final String hello : new String[] { "World", "Julia" }) {
+            final ACompiledScriptTaskJulia<String> script = new ACompiledScriptTaskJulia<String>() {
+
+                @Override
+                public JuliaCompiledScript getCompiledScript() {
+                    return SCRIPT;
+                }
+
+                @Override
+                public void populateInputs(final IScriptTaskInputs inputs) {
+                    inputs.putString("hello", hello);
+                }
+
+                @Override
+                public String extractResults(final IScriptTaskResults results) {
+                    return results.getString("world");
+                }
+            };
+            final String result = script.run(runner);
+            Assertions.assertThat(result).isEqualTo("Hello " + hello + "!");
+        }
+    }
+
+}
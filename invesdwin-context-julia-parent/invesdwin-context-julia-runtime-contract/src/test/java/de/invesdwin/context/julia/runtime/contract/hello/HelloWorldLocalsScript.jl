@@ -0,0 +1,2 @@
+greeting = "Hello "
+world = greeting * hello * "!"
\ No newline at end of file
@@ -0,0 +1,56 @@
+package de.invesdwin.context.julia.runtime.contract.hello;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.springframework.core.io.ClassPathResource;
+
+import de.invesdwin.context.integration.script.IScriptTaskInputs;
+import de.invesdwin.context.integration.script.IScriptTaskResults;
+import de.invesdwin.context.julia.runtime.contract.ACompiledScriptTaskJulia;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaCompiledScript;
+import de.invesdwin.util.assertions.Assertions;
+
+/**
+ * The script mixes setup and body statements: the const of the setup depends on the assignment before it, the
+ * assignment is also used by the body and thus has to be available after the instance was reset between the tasks.
+ */
+@NotThreadSafe
+public class HelloWorldSetupCompiledScript {
+
+    private static final JuliaCompiledScript SCRIPT = new JuliaCompiledScript(
+            new ClassPathResource("HelloWorldSetupScript.jl", HelloWorldSetupCompiledScript.class),
+            new String[] { "hello" }, new String[] { "world" });
+
+    private final IScriptTaskRunnerJulia runner;
+
+    public HelloWorldSetupCompiledScript(final IScriptTaskRunnerJulia runner) {
+        this.runner = runner;
+    }
+
+    public void testHelloWorldSetupCompiled() {
+        //sequential tasks reuse the pooled instance which gets reset in between
+        for (final String hello : new String[] { "World", "Julia" }) {
+            final ACompiledScriptTaskJulia<String> script = new ACompiledScriptTaskJulia<String>() {
+
+                @Override
+                public JuliaCompiledScript getCompiledScript() {
+                    return SCRIPT;
+                }
+
+                @Override
+                public void populateInputs(final IScriptTaskInputs inputs) {
+                    inputs.putString("hello", hello);
+                }
+
+                @Override
+                public String extractResults(final IScriptTaskResults results) {
+                    return results.getString("world");
+                }
+            };
+            final String result = script.run(runner);
+            Assertions.assertThat(result).isEqualTo("Hello " + hello + "! ");
+        }
+    }
+
+}
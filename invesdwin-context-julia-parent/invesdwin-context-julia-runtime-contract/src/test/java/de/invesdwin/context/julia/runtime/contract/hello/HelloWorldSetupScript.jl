@@ -0,0 +1,5 @@
+# the setup statements keep their order, the const depends on the assignment before it
+helloWorldSetup_greeting = "Hello "
+const HELLO_WORLD_SETUP_GREETING = helloWorldSetup_greeting
+greeting = HELLO_WORLD_SETUP_GREETING * hello
+world = greeting * "!" * helloWorldSetup_greeting[end:end]
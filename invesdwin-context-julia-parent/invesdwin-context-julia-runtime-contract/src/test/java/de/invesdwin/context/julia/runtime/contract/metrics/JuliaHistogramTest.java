@@ -0,0 +1,118 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.junit.jupiter.api.Test;
+
+import de.invesdwin.util.assertions.Assertions;
+
+@NotThreadSafe
+public class JuliaHistogramTest {
+
+    private static final int THREADS = 4;
+    private static final int VALUES_PER_THREAD = 100_000;
+
+    @Test
+    public void testEmpty() {
+        final JuliaHistogram histogram = new JuliaHistogram();
+        Assertions.checkEquals(0L, histogram.getCount());
+        Assertions.checkEquals(0L, histogram.getMax());
+        Assertions.checkEquals(0D, histogram.getMean());
+        Assertions.checkEquals(0L, histogram.getValueAtPercentile(0D));
+        Assertions.checkEquals(0L, histogram.getValueAtPercentile(100D));
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        //values below the sub buckets are counted exactly
+        for (long value = 0; value < 32; value++) {
+            Assertions.checkEquals(value, lowerValueAtMedian(value));
+        }
+        //above that each power of two is split into 16 buckets, the median reports the highest value of its bucket
+        Assertions.checkEquals(33L, lowerValueAtMedian(32));
+        Assertions.checkEquals(33L, lowerValueAtMedian(33));
+        Assertions.checkEquals(35L, lowerValueAtMedian(34));
+        Assertions.checkEquals(63L, lowerValueAtMedian(62));
+        Assertions.checkEquals(63L, lowerValueAtMedian(63));
+        Assertions.checkEquals(67L, lowerValueAtMedian(64));
+        Assertions.checkEquals(1023L, lowerValueAtMedian(1000));
+        Assertions.checkEquals(1087L, lowerValueAtMedian(1024));
+    }
+
+    /**
+     * Records the value together with a larger one so that the median is not capped by the max.
+     */
+    private static long lowerValueAtMedian(final long value) {
+        final JuliaHistogram histogram = new JuliaHistogram();
+        histogram.record(value);
+        histogram.record(Long.MAX_VALUE);
+        return histogram.getValueAtPercentile(50D);
+    }
+
+    @Test
+    public void testPercentileEdges() {
+        final JuliaHistogram histogram = new JuliaHistogram();
+        histogram.record(-5);
+        histogram.record(1000);
+        histogram.record(Long.MAX_VALUE);
+        //negative values are recorded as zero
+        Assertions.checkEquals(0L, histogram.getValueAtPercentile(0D));
+        Assertions.checkEquals(0L, histogram.getValueAtPercentile(-1D));
+        Assertions.checkEquals(1023L, histogram.getValueAtPercentile(50D));
+        //the highest bucket is capped by the recorded max
+        Assertions.checkEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(99D));
+        Assertions.checkEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100D));
+        Assertions.checkEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(150D));
+        Assertions.checkEquals(3L, histogram.getCount());
+        Assertions.checkEquals(Long.MAX_VALUE, histogram.getMax());
+
+        final JuliaHistogram single = new JuliaHistogram();
+        single.record(1000);
+        Assertions.checkEquals(1000L, single.getValueAtPercentile(0D));
+        Assertions.checkEquals(1000L, single.getValueAtPercentile(100D));
+        Assertions.checkEquals(1000D, single.getMean());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        final JuliaHistogram histogram = new JuliaHistogram();
+        final long[] values = new long[THREADS * VALUES_PER_THREAD];
+        final Random random = new Random(42);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1 + random.nextInt(10_000_000);
+        }
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int offset = t * VALUES_PER_THREAD;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < VALUES_PER_THREAD; i++) {
+                    histogram.record(values[offset + i]);
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        Arrays.sort(values);
+        long sum = 0;
+        for (final long value : values) {
+            sum += value;
+        }
+        Assertions.checkEquals((long) values.length, histogram.getCount());
+        Assertions.checkEquals(sum, histogram.getSum());
+        Assertions.checkEquals(values[values.length - 1], histogram.getMax());
+        Assertions.checkEquals(values[values.length - 1], histogram.getValueAtPercentile(100D));
+        for (final double percentile : new double[] { 1D, 50D, 99D }) {
+            final long expected = values[(int) Math.ceil(percentile / 100D * values.length) - 1];
+            final long actual = histogram.getValueAtPercentile(percentile);
+            //the bucket of the value is at most 1/16 of it wide
+            Assertions.checkTrue(actual >= expected);
+            Assertions.checkTrue(actual <= expected + expected / 16);
+        }
+    }
+
+}
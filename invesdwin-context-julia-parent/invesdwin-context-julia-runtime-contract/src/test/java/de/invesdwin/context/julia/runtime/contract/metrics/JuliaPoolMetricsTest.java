@@ -0,0 +1,45 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import java.io.IOException;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.junit.jupiter.api.Test;
+
+import de.invesdwin.util.assertions.Assertions;
+
+@NotThreadSafe
+public class JuliaPoolMetricsTest {
+
+    @Test
+    public void testFailedReset() {
+        final JuliaPoolMetrics metrics = JuliaPoolMetrics.getInstance(JuliaPoolMetricsTest.class);
+        final Object failing = new Object();
+        final Object idle = new Object();
+        metrics.recordCreate(JuliaPoolEvent.start(), failing);
+        metrics.recordCreate(JuliaPoolEvent.start(), idle);
+        metrics.recordBorrow(JuliaPoolEvent.start(), failing);
+        Assertions.checkEquals(1L, metrics.getActiveCount());
+        Assertions.checkEquals(1L, metrics.getIdleCount());
+
+        //the reset fails while returning, then the pool and the runner both invalidate the instance
+        final IOException cause = new IOException("broken pipe");
+        metrics.recordPassivateError();
+        metrics.recordInvalidate(JuliaPoolEvent.start(), failing, cause);
+        metrics.recordTimeout(JuliaPoolEvent.start(), failing);
+        metrics.recordInvalidate(JuliaPoolEvent.start(), failing, new RuntimeException(cause));
+        metrics.recordReturn(failing);
+        Assertions.checkEquals(0L, metrics.getActiveCount());
+        Assertions.checkEquals(1L, metrics.getIdleCount());
+        Assertions.checkEquals(1L, metrics.getPassivateErrorCount());
+        Assertions.checkEquals(1L, metrics.getInvalidateCount());
+        Assertions.checkEquals(0L, metrics.getTimeoutCount());
+        Assertions.checkEquals(1L, metrics.getInvalidateCauses().get(IOException.class.getName()));
+
+        metrics.recordTimeout(JuliaPoolEvent.start(), idle);
+        metrics.recordTimeout(JuliaPoolEvent.start(), idle);
+        Assertions.checkEquals(0L, metrics.getIdleCount());
+        Assertions.checkEquals(1L, metrics.getTimeoutCount());
+    }
+
+}
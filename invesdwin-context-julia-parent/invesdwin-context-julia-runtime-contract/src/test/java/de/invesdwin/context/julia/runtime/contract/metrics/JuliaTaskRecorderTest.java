@@ -0,0 +1,68 @@
+package de.invesdwin.context.julia.runtime.contract.metrics;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.junit.jupiter.api.Test;
+
+import de.invesdwin.util.assertions.Assertions;
+
+@NotThreadSafe
+public class JuliaTaskRecorderTest {
+
+    @Test
+    public void testAggregationPerClass() {
+        final JuliaTaskMetrics metrics = JuliaTaskMetrics.getInstance(RunnerA.class, TaskA.class);
+        Assertions.assertThat(JuliaTaskMetrics.getInstance(RunnerA.class, TaskA.class)).isSameAs(metrics);
+        final JuliaTaskMetrics otherTask = JuliaTaskMetrics.getInstance(RunnerA.class, TaskB.class);
+        final JuliaTaskMetrics otherRunner = JuliaTaskMetrics.getInstance(RunnerB.class, TaskA.class);
+        Assertions.assertThat(otherTask).isNotSameAs(metrics);
+        Assertions.assertThat(otherRunner).isNotSameAs(metrics);
+        Assertions.assertThat(otherRunner).isNotSameAs(otherTask);
+        Assertions.assertThat(JuliaTaskMetrics.getInstances()).contains(metrics, otherTask, otherRunner);
+
+        //two tasks on the same instance, each recorder only counts the transfers of its own task
+        final JuliaTransferCounter counter = new JuliaTransferCounter();
+        final JuliaTaskRecorder first = JuliaTaskRecorder.start(metrics);
+        first.lap(JuliaTaskPhase.BORROW);
+        first.beginTransfers(counter);
+        counter.sent(100);
+        counter.received(10);
+        counter.roundTrip();
+        first.lap(JuliaTaskPhase.EXECUTE);
+        first.endTransfers();
+        first.finish();
+
+        final JuliaTaskRecorder second = JuliaTaskRecorder.start(metrics);
+        second.beginTransfers(counter);
+        counter.sent(50);
+        counter.roundTrip();
+        counter.roundTrip();
+        second.lap(JuliaTaskPhase.EXECUTE);
+        second.endTransfers();
+        second.fail();
+
+        Assertions.checkEquals(2L, metrics.getTaskCount());
+        Assertions.checkEquals(1L, metrics.getErrorCount());
+        Assertions.checkEquals(150L, metrics.getSentBytes());
+        Assertions.checkEquals(10L, metrics.getReceivedBytes());
+        Assertions.checkEquals(3L, metrics.getRoundTrips());
+        Assertions.checkEquals(1L, metrics.getHistogram(JuliaTaskPhase.BORROW).getCount());
+        Assertions.checkEquals(2L, metrics.getHistogram(JuliaTaskPhase.EXECUTE).getCount());
+        Assertions.checkEquals(0L, metrics.getHistogram(JuliaTaskPhase.RESET).getCount());
+        Assertions.checkEquals(JuliaTaskPhase.values().length, metrics.getMeanMillis().size());
+
+        //other classes are aggregated separately
+        Assertions.checkEquals(0L, otherTask.getTaskCount());
+        Assertions.checkEquals(0L, otherRunner.getTaskCount());
+        Assertions.checkEquals(0L, otherRunner.getRoundTrips());
+    }
+
+    private static final class RunnerA {}
+
+    private static final class RunnerB {}
+
+    private static final class TaskA {}
+
+    private static final class TaskB {}
+
+}
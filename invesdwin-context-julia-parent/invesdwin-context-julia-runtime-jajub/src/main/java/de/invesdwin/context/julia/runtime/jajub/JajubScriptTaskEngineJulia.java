@@ -2,7 +2,8 @@ package de.invesdwin.context.julia.runtime.jajub;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
-import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskEngineJulia;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
 import de.invesdwin.context.julia.runtime.jajub.pool.ExtendedJuliaBridge;
 import de.invesdwin.context.julia.runtime.jajub.pool.JajubObjectPool;
 import de.invesdwin.util.concurrent.WrappedExecutorService;
@@ -10,7 +11,7 @@ import de.invesdwin.util.concurrent.lock.ILock;
 import de.invesdwin.util.concurrent.lock.disabled.DisabledLock;
 
 @NotThreadSafe
-public class JajubScriptTaskEngineJulia implements IScriptTaskEngine {
+public class JajubScriptTaskEngineJulia implements IScriptTaskEngineJulia {
 
     private ExtendedJuliaBridge bridge;
     private final JajubScriptTaskInputsJulia inputs;
@@ -37,6 +38,11 @@ public class JajubScriptTaskEngineJulia implements IScriptTaskEngine {
         return results;
     }
 
+    @Override
+    public JuliaScriptCache getScriptCache() {
+        return bridge.getScriptCache();
+    }
+
     @Override
     public void close() {
         bridge = null;
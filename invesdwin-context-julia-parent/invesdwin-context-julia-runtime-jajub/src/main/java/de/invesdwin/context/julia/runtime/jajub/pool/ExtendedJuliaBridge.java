@@ -5,28 +5,46 @@ import java.io.IOException;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import de.invesdwin.context.julia.runtime.contract.JuliaResetContext;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaEvalStats;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
 import de.invesdwin.context.julia.runtime.jajub.JajubScriptTaskEngineJulia;
 
 @NotThreadSafe
 public class ExtendedJuliaBridge extends ModifiedJuliaBridge {
 
+    private final JuliaScriptCache scriptCache;
     private final JuliaResetContext resetContext;
 
     public ExtendedJuliaBridge() {
         super();
-        this.resetContext = new JuliaResetContext(new JajubScriptTaskEngineJulia(this));
+        final JajubScriptTaskEngineJulia engine = new JajubScriptTaskEngineJulia(this);
+        this.scriptCache = new JuliaScriptCache(engine);
+        this.resetContext = new JuliaResetContext(engine);
     }
 
     @Override
     public void open() throws IOException {
         super.open();
+        scriptCache.init();
+        JuliaEvalStats.init(new JajubScriptTaskEngineJulia(this));
         resetContext.init();
     }
 
+    public JuliaScriptCache getScriptCache() {
+        return scriptCache;
+    }
+
     public void reset() throws IOException {
         getErrWatcher().clearLog();
         resetContext.reset();
         getErrWatcher().clearLog();
     }
 
+    /**
+     * Used between the tasks of a batch, the full reset happens when the instance is returned to the pool.
+     */
+    public void resetLight() {
+        resetContext.resetLight();
+    }
+
 }
@@ -6,7 +6,10 @@ import javax.annotation.concurrent.ThreadSafe;
 
 import org.springframework.beans.factory.FactoryBean;
 
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaPoolEvent;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaPoolMetrics;
 import de.invesdwin.util.concurrent.pool.timeout.ATimeoutObjectPool;
+import de.invesdwin.util.error.Throwables;
 import de.invesdwin.util.time.date.FTimeUnit;
 import de.invesdwin.util.time.duration.Duration;
 import jakarta.inject.Named;
@@ -18,35 +21,75 @@ public final class JajubObjectPool extends ATimeoutObjectPool<ExtendedJuliaBridg
 
     public static final JajubObjectPool INSTANCE = new JajubObjectPool();
 
+    private final JuliaPoolMetrics metrics = JuliaPoolMetrics.getInstance(JajubObjectPool.class);
+
     private JajubObjectPool() {
         //julia compilation is a lot of overhead, thus keep instances open longer
         super(new Duration(10, FTimeUnit.MINUTES), new Duration(10, FTimeUnit.SECONDS));
     }
 
+    @Override
+    public ExtendedJuliaBridge borrowObject() {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
+        final ExtendedJuliaBridge element = super.borrowObject();
+        metrics.recordBorrow(event, element);
+        return element;
+    }
+
+    @Override
+    public void returnObject(final ExtendedJuliaBridge element) {
+        super.returnObject(element);
+        metrics.recordReturn(element);
+    }
+
+    /**
+     * Destroys a borrowed instance that a task failed on, the cause is recorded in the pool metrics.
+     */
+    public void invalidateObject(final ExtendedJuliaBridge element, final Throwable cause) {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
+        element.close();
+        metrics.recordInvalidate(event, element, cause);
+    }
+
+    /**
+     * Called by the pool itself for idle instances that timed out and for instances that could not be reset, the latter
+     * were already recorded with their cause.
+     */
     @Override
     public void invalidateObject(final ExtendedJuliaBridge element) {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
         element.close();
+        metrics.recordTimeout(event, element);
     }
 
     @Override
     protected ExtendedJuliaBridge newObject() {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
         final ExtendedJuliaBridge session = new ExtendedJuliaBridge();
         try {
             session.open();
         } catch (final IOException e) {
+            metrics.recordCreateError();
             throw new RuntimeException(e);
         }
+        metrics.recordCreate(event, session);
         return session;
     }
 
     @Override
     protected boolean passivateObject(final ExtendedJuliaBridge element) {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
         try {
             element.reset();
-            return true;
-        } catch (final IOException e) {
-            throw new RuntimeException(e);
+        } catch (final Throwable t) {
+            //usually a JuliaScriptException or a broken connection, the instance can not be reused in either case
+            metrics.recordPassivateError();
+            element.close();
+            metrics.recordInvalidate(event, element, t);
+            throw Throwables.propagate(t);
         }
+        metrics.recordPassivate(event);
+        return true;
     }
 
     @Override
@@ -3,29 +3,30 @@ package de.invesdwin.context.julia.runtime.jajub.pool;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
-import org.apache.commons.lang3.mutable.MutableInt;
-
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.NullNode;
 
 import de.invesdwin.context.integration.marshaller.MarshallerJsonJackson;
 import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
+import de.invesdwin.context.julia.runtime.contract.JuliaScriptException;
+import de.invesdwin.context.julia.runtime.contract.io.AJuliaInputReader;
+import de.invesdwin.context.julia.runtime.contract.io.JuliaWaitStrategy;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaEvalEvent;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTransferCounter;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTransferEvent;
 import de.invesdwin.context.julia.runtime.jajub.JajubProperties;
 import de.invesdwin.util.collections.Arrays;
-import de.invesdwin.util.concurrent.loop.ASpinWait;
-import de.invesdwin.util.concurrent.loop.LoopInterruptedCheck;
 import de.invesdwin.util.error.Throwables;
 import de.invesdwin.util.lang.Closeables;
 import de.invesdwin.util.lang.string.Strings;
-import de.invesdwin.util.streams.buffer.bytes.ByteBuffers;
-import de.invesdwin.util.streams.buffer.bytes.IByteBuffer;
-import de.invesdwin.util.time.date.FTimeUnit;
 
 /**
  * Fork of: https://github.com/org-arl/jajub/issues/2
@@ -33,35 +34,41 @@ import de.invesdwin.util.time.date.FTimeUnit;
 @NotThreadSafe
 public class ModifiedJuliaBridge {
 
+    private static final String RUNTIME = "jajub";
     private static final char NEW_LINE = '\n';
     private static final String TERMINATOR_RAW = "__##@@##__";
     private static final String TERMINATOR = "\"" + TERMINATOR_RAW + "\"";
     private static final String TERMINATOR_SUFFIX = ";\nprintln(" + TERMINATOR + ")";
     private static final byte[] TERMINATOR_SUFFIX_BYTES = TERMINATOR_SUFFIX.getBytes();
+    private static final String ERROR_MARKER = "__##@ERROR@##__";
+    private static final String EXEC_PREFIX = "__jajub_exec__(\"";
+    private static final String EXEC_SUFFIX = "\")";
+    private static final byte[] EXEC_PREFIX_BYTES = EXEC_PREFIX.getBytes();
+    private static final byte[] EXEC_SUFFIX_BYTES = EXEC_SUFFIX.getBytes();
 
     private static final String[] JULIA_ARGS = { "-iq", "--depwarn=no", "--startup-file=no", "--compiled-modules=yes",
             "--banner=no", "-e", "using InteractiveUtils;" //
                     + "__type__(::AbstractArray{T,N}) where T where N = Array{T,N};" //
                     + "__type__(a) = typeof(a);" //
                     + "using Pkg; isinstalled(pkg::String) = any(x -> x.name == pkg && x.is_direct_dep, values(Pkg.dependencies())); if !isinstalled(\"JSON\"); redirect_stderr(stdout) do; Pkg.add(\"JSON\"); end; end; using JSON;" //
+                    //errors are caught and printed as a structured json line instead of being scraped from stderr
+                    + "using Base64; import REPL;" //
+                    + "function __jajub_evalAll__(exs); for ex in exs; if !(ex isa LineNumberNode); Core.eval(Main, REPL.softscope(ex)); end; end; end;" //
+                    //evals are only timed when JuliaEvalStats was initialized
+                    + "function __jajub_exec__(code::String); try; exs = Meta.parseall(String(base64decode(code))).args; if isdefined(Main, :evalStats_timed); evalStats_timed(() -> __jajub_evalAll__(exs)); else; __jajub_evalAll__(exs); end; catch err; println(\""
+                    + ERROR_MARKER
+                    + "\", JSON.json(Dict(\"type\" => string(parentmodule(typeof(err)), \".\", nameof(typeof(err))), \"message\" => sprint(showerror, err), \"backtrace\" => sprint(Base.show_backtrace, catch_backtrace())))); end; nothing; end;" //
                     + "println(" + TERMINATOR + ");" };
 
     private final ProcessBuilder jbuilder;
     private Process julia = null;
     private InputStream inp = null;
+    private AJuliaInputReader reader = null;
     private ModifiedJuliaErrorConsoleWatcher errWatcher = null;
     private OutputStream out = null;
     private String ver = null;
-    private final LoopInterruptedCheck interruptedCheck = new LoopInterruptedCheck() {
-        @Override
-        protected boolean onInterval() throws InterruptedException {
-            //don't throw on interrupt because this makes tests flaky
-            return true;
-        }
-    };
-    private final IByteBuffer readLineBuffer = ByteBuffers.allocateExpandable();
-    private int readLineBufferPosition = 0;
     private final ObjectMapper mapper;
+    private final JuliaTransferCounter transferCounter = new JuliaTransferCounter();
 
     private final List<String> rsp = new ArrayList<>();
 
@@ -108,6 +115,17 @@ public class ModifiedJuliaBridge {
         }
         julia = jbuilder.start();
         inp = julia.getInputStream();
+        reader = new AJuliaInputReader(JuliaWaitStrategy.DEFAULT) {
+            @Override
+            protected int readAvailable(final byte[] buffer, final int offset, final int length) throws IOException {
+                return AJuliaInputReader.readAvailable(inp, buffer, offset, length);
+            }
+
+            @Override
+            protected void checkError() {
+                checkProcess();
+            }
+        };
         errWatcher = new ModifiedJuliaErrorConsoleWatcher(julia);
         errWatcher.startWatching();
         out = julia.getOutputStream();
@@ -136,6 +154,7 @@ public class ModifiedJuliaBridge {
         julia = null;
         Closeables.closeQuietly(inp);
         inp = null;
+        reader = null;
         Closeables.closeQuietly(errWatcher);
         errWatcher = null;
         Closeables.closeQuietly(out);
@@ -150,15 +169,26 @@ public class ModifiedJuliaBridge {
         return ver;
     }
 
+    public JuliaTransferCounter getTransferCounter() {
+        return transferCounter;
+    }
+
     private void exec(final String jcode, final String logMessage, final Object... logArgs) {
         rsp.clear();
         try {
             flush();
             IScriptTaskRunnerJulia.LOG.debug(logMessage, logArgs);
-            out.write(jcode.getBytes());
+            final byte[] encoded = Base64.getEncoder().encode(jcode.getBytes(StandardCharsets.UTF_8));
+            out.write(EXEC_PREFIX_BYTES);
+            out.write(encoded);
+            out.write(EXEC_SUFFIX_BYTES);
             out.write(TERMINATOR_SUFFIX_BYTES);
             out.write(NEW_LINE);
             out.flush();
+            transferCounter.roundTrip();
+            transferCounter.sent(EXEC_PREFIX_BYTES.length + encoded.length + EXEC_SUFFIX_BYTES.length
+                    + TERMINATOR_SUFFIX_BYTES.length + 1);
+            String error = null;
             while (true) {
                 final String s = readline();
                 if (s == null) {
@@ -166,9 +196,16 @@ public class ModifiedJuliaBridge {
                     continue;
                 }
                 if (Strings.equalsAny(s, TERMINATOR_RAW, TERMINATOR)) {
-                    return;
+                    break;
+                }
+                if (s.startsWith(ERROR_MARKER)) {
+                    error = s.substring(ERROR_MARKER.length());
+                } else {
+                    rsp.add(s);
                 }
-                rsp.add(s);
+            }
+            if (error != null) {
+                throw JuliaScriptException.valueOf(mapper.readTree(error));
             }
         } catch (final IOException ex) {
             throw new RuntimeException("JuliaBridge connection broken", ex);
@@ -176,25 +213,37 @@ public class ModifiedJuliaBridge {
     }
 
     public JsonNode getAsJsonNode(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        event.beginTransfers(transferCounter);
+        JsonNode node = null;
+        try {
+            node = getAsJsonNodeUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, node);
+        }
+        return node;
+    }
+
+    private JsonNode getAsJsonNodeUnmeasured(final String variable) {
         final StringBuilder message = new StringBuilder("__ans__ = JSON.json(");
         message.append(variable);
         message.append("); println(sizeof(__ans__))");
         exec(message.toString(), "> get %s", variable);
 
         final String result = get();
+        if (result == null) {
+            return null;
+        }
         try {
             final JsonNode node = mapper.readTree(result);
-            checkError();
-            if (result == null) {
-                checkErrorDelayed();
-            }
             if (node instanceof NullNode) {
                 return null;
             } else {
                 return node;
             }
         } catch (final Throwable t) {
-            checkErrorDelayed();
             throw Throwables.propagate(t);
         }
     }
@@ -213,6 +262,7 @@ public class ModifiedJuliaBridge {
             write("write(stdout, __ans__)");
             final byte[] buf = new byte[n];
             read(buf);
+            transferCounter.roundTrip();
             return new String(buf);
         } catch (final IOException ex) {
             throw new RuntimeException("JuliaBridge connection broken", ex);
@@ -227,104 +277,60 @@ public class ModifiedJuliaBridge {
      * @return value of the expression.
      */
     public void eval(final String jcode) {
-        exec(jcode, "> exec %s", jcode);
-        checkError();
+        final JuliaEvalEvent event = new JuliaEvalEvent();
+        event.begin();
+        event.beginTransfers(transferCounter);
+        try {
+            exec(jcode, "> exec %s", jcode);
+            event.success();
+        } finally {
+            event.finish(RUNTIME, jcode);
+        }
     }
 
     ////// private stuff
 
     private void write(final String s) throws IOException {
         IScriptTaskRunnerJulia.LOG.trace("> " + s);
-        out.write(s.getBytes());
+        final byte[] bytes = s.getBytes();
+        out.write(bytes);
         out.write(NEW_LINE);
         out.flush();
+        transferCounter.sent(bytes.length + 1);
     }
 
     private void flush() throws IOException {
-        while (inp.available() > 0) {
-            inp.read();
-        }
+        reader.skipAvailable();
     }
 
     private int read(final byte[] buf) throws IOException {
-        final MutableInt ofs = new MutableInt(0);
-        //WORKAROUND: sleeping 10 ms between messages is way too slow
-        final ASpinWait spinWait = new ASpinWait() {
-            @Override
-            public boolean isConditionFulfilled() throws Exception {
-                if (interruptedCheck.check()) {
-                    checkError();
-                }
-                int n = inp.available();
-                while (n > 0 && !Thread.interrupted()) {
-                    final int m = buf.length - ofs.intValue();
-                    ofs.add(inp.read(buf, ofs.intValue(), n > m ? m : n));
-                    if (ofs.intValue() == buf.length) {
-                        return true;
-                    }
-                    n = inp.available();
-                }
-                return false;
-            }
-        };
-        try {
-            spinWait.awaitFulfill(System.nanoTime());
-        } catch (final Exception e) {
-            throw new RuntimeException(e);
-        }
-        IScriptTaskRunnerJulia.LOG.trace("< (" + ofs + " bytes)");
-        return ofs.intValue();
+        reader.readFully(buf);
+        transferCounter.received(buf.length);
+        IScriptTaskRunnerJulia.LOG.trace("< (" + buf.length + " bytes)");
+        return buf.length;
     }
 
     private String readline() throws IOException {
-        readLineBufferPosition = 0;
-        //WORKAROUND: sleeping 10 ms between messages is way too slow
-        final ASpinWait spinWait = new ASpinWait() {
-            @Override
-            public boolean isConditionFulfilled() throws Exception {
-                if (interruptedCheck.check()) {
-                    checkError();
-                }
-                while (inp.available() > 0 && !Thread.interrupted()) {
-                    final int b = inp.read();
-                    if (b == NEW_LINE) {
-                        return true;
-                    }
-                    readLineBuffer.putByte(readLineBufferPosition++, (byte) b);
-                }
-                return false;
-            }
-        };
-        try {
-            spinWait.awaitFulfill(System.nanoTime());
-        } catch (final Exception e) {
-            throw new RuntimeException(e);
-        }
-        if (readLineBufferPosition == 0) {
+        final String s = reader.readLine();
+        transferCounter.received(s.length() + 1);
+        if (s.isEmpty()) {
             return null;
         }
-        final String s = readLineBuffer.getStringUtf8(0, readLineBufferPosition);
         if (!Strings.equalsAny(s, TERMINATOR_RAW, TERMINATOR)) {
             IScriptTaskRunnerJulia.LOG.debug("< %s", s);
         }
         return s;
     }
 
-    protected void checkError() {
-        final String error = getErrWatcher().getErrorMessage();
-        if (error != null) {
-            throw new IllegalStateException(error);
-        }
-    }
-
-    private void checkErrorDelayed() {
-        //give a bit of time to read the actual error
-        try {
-            FTimeUnit.MILLISECONDS.sleep(10);
-        } catch (final InterruptedException e) {
-            throw new RuntimeException(e);
+    /**
+     * Errors are returned in-band, stderr is only logged. Though when the process died, the recent stderr output is
+     * used to describe the reason.
+     */
+    protected void checkProcess() {
+        if (julia != null && !julia.isAlive()) {
+            throw new IllegalStateException(
+                    "Julia process exited with code " + julia.exitValue() + ": " + errWatcher.getErrorMessage());
         }
-        checkError();
     }
 
 }
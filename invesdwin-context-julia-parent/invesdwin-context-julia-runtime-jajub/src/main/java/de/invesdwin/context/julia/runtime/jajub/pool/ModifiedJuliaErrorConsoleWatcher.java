@@ -1,103 +1,57 @@
 package de.invesdwin.context.julia.runtime.jajub.pool;
 
-import java.io.BufferedReader;
 import java.io.Closeable;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 
-import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
-import de.invesdwin.util.concurrent.Threads;
+import de.invesdwin.context.julia.runtime.contract.io.JuliaConsoleLog;
+import de.invesdwin.context.julia.runtime.contract.io.JuliaConsoleMultiplexer;
+import de.invesdwin.util.lang.Closeables;
 import de.invesdwin.util.lang.string.Strings;
-import de.invesdwin.util.time.date.FTimeUnit;
 
 @ThreadSafe
 public class ModifiedJuliaErrorConsoleWatcher implements Closeable {
 
-    private final BufferedReader errorReader;
+    private final InputStream errorStream;
+    private final JuliaConsoleLog errorLog = new JuliaConsoleLog();
 
-    private volatile Thread errorThread;
-
-    @GuardedBy("self")
-    private final StringBuilder errorMessage = new StringBuilder();
+    private volatile Closeable errorRegistration;
 
     public ModifiedJuliaErrorConsoleWatcher(final Process process) {
-        this.errorReader = new BufferedReader(new InputStreamReader(process.getErrorStream()));
+        this.errorStream = process.getErrorStream();
     }
 
     public void startWatching() {
-        errorThread = new Thread(new Runnable() {
-            @Override
-            public void run() {
-                final Thread currentThread = Thread.currentThread();
-                try {
-                    while (!Threads.isInterrupted() && errorThread == currentThread) {
-                        final String s = errorReader.readLine();
-                        if (errorThread != currentThread) {
-                            return;
-                        }
-                        if (Strings.isNotBlank(s) && !s.contains("Info: Precompiling ")) {
-                            IScriptTaskRunnerJulia.LOG.warn("< %s", s);
-                            synchronized (errorMessage) {
-                                if (errorMessage.length() > 0) {
-                                    errorMessage.append("\n");
-                                }
-                                errorMessage.append(s);
-                            }
-                        } else {
-                            FTimeUnit.MILLISECONDS.sleep(1);
-                        }
-                    }
-                } catch (final Throwable e) {
-                    //ignore, process must have been closed
-                }
-            }
-        });
-        errorThread.start();
+        errorRegistration = JuliaConsoleMultiplexer.INSTANCE.register(errorStream, this::onErrorLine);
+    }
+
+    private void onErrorLine(final String s) {
+        if (Strings.isNotBlank(s) && !s.contains("Info: Precompiling ")) {
+            IScriptTaskRunnerJulia.LOG.warn("< %s", s);
+            errorLog.add(s);
+        }
     }
 
     @Override
     public void close() {
-        errorThread = null;
+        final Closeable errorRegistrationCopy = errorRegistration;
+        if (errorRegistrationCopy != null) {
+            errorRegistration = null;
+            Closeables.closeQuietly(errorRegistrationCopy);
+        }
         clearLog();
     }
 
     public void clearLog() {
-        synchronized (errorMessage) {
-            errorMessage.setLength(0);
-        }
-    }
-
-    private int getErrorMessageLength() {
-        synchronized (errorMessage) {
-            return errorMessage.length();
-        }
+        errorLog.clear();
     }
 
+    /**
+     * Only used for diagnostics since errors are reported in-band, thus there is no need to wait for further output.
+     */
     public String getErrorMessage() {
-        int prevLength = 0;
-        while (true) {
-            final int length = getErrorMessageLength();
-            if (length == 0) {
-                return null;
-            }
-            if (length > prevLength) {
-                prevLength = length;
-                //wait for the whole messsage to arrive
-                FTimeUnit.MILLISECONDS.sleepNoInterrupt(50);
-            } else {
-                break;
-            }
-        }
-        final String str;
-        synchronized (errorMessage) {
-            if (errorMessage.length() == 0) {
-                return null;
-            }
-            str = String.valueOf(errorMessage).trim();
-            errorMessage.setLength(0);
-        }
-        return str;
+        return errorLog.drain();
     }
-}
\ No newline at end of file
+}
@@ -2,14 +2,15 @@ package de.invesdwin.context.julia.runtime.julia4j;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
-import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskEngineJulia;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
 import de.invesdwin.context.julia.runtime.julia4j.internal.ExecutorJuliaEngineWrapper;
 import de.invesdwin.context.julia.runtime.julia4j.internal.IJuliaEngineWrapper;
 import de.invesdwin.util.concurrent.WrappedExecutorService;
 import de.invesdwin.util.concurrent.lock.ILock;
 
 @NotThreadSafe
-public class Julia4jScriptTaskEngineJulia implements IScriptTaskEngine {
+public class Julia4jScriptTaskEngineJulia implements IScriptTaskEngineJulia {
 
     private IJuliaEngineWrapper juliaEngine;
     private final Julia4jScriptTaskInputsJulia inputs;
@@ -36,6 +37,11 @@ public class Julia4jScriptTaskEngineJulia implements IScriptTaskEngine {
         return results;
     }
 
+    @Override
+    public JuliaScriptCache getScriptCache() {
+        return juliaEngine.getScriptCache();
+    }
+
     @Override
     public void close() {
         if (juliaEngine != null) {
@@ -1,5 +1,8 @@
 package de.invesdwin.context.julia.runtime.julia4j;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Future;
 
 import javax.annotation.concurrent.Immutable;
@@ -7,10 +10,12 @@ import javax.annotation.concurrent.Immutable;
 import org.springframework.beans.factory.FactoryBean;
 
 import de.invesdwin.context.integration.script.callback.IScriptTaskCallback;
-import de.invesdwin.context.integration.script.callback.LoggingDelegateScriptTaskCallback;
 import de.invesdwin.context.julia.runtime.contract.AScriptTaskJulia;
 import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
-import de.invesdwin.context.julia.runtime.contract.callback.socket.SocketScriptTaskCallbackContext;
+import de.invesdwin.context.julia.runtime.contract.callback.AScriptTaskCallbackContextJulia;
+import de.invesdwin.context.julia.runtime.contract.callback.JuliaCallbackContexts;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTaskPhase;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTaskRecorder;
 import de.invesdwin.context.julia.runtime.julia4j.internal.UnsafeJuliaEngineWrapper;
 import de.invesdwin.util.concurrent.future.Futures;
 import de.invesdwin.util.concurrent.lock.ILock;
@@ -33,48 +38,116 @@ public final class Julia4jScriptTaskRunnerJulia
     public <T> T run(final AScriptTaskJulia<T> scriptTask) {
         //get session
         final Julia4jScriptTaskEngineJulia engine = new Julia4jScriptTaskEngineJulia(UnsafeJuliaEngineWrapper.INSTANCE);
+        final JuliaTaskRecorder recorder = JuliaTaskRecorder.start(this, scriptTask);
         final Future<T> future = engine.getSharedExecutor().submit(() -> {
-            final IScriptTaskCallback callback = scriptTask.getCallback();
-            final SocketScriptTaskCallbackContext context;
-            if (callback != null) {
-                context = new SocketScriptTaskCallbackContext(
-                        LoggingDelegateScriptTaskCallback.maybeWrap(LOG, callback));
-            } else {
-                context = null;
-            }
             final ILock lock = engine.getSharedLock();
             lock.lock();
+            recorder.lap(JuliaTaskPhase.BORROW);
             try {
-                //inputs
-                if (context != null) {
-                    context.init(engine);
-                }
-                scriptTask.populateInputs(engine.getInputs());
+                final T result = run(engine, scriptTask, recorder);
+                engine.close();
+                recorder.lap(JuliaTaskPhase.RESET);
+                recorder.finish();
 
-                //execute
-                scriptTask.executeScript(engine);
+                //return
+                return result;
+            } catch (final Throwable t) {
+                recorder.fail();
+                throw Throwables.propagate(t);
+            } finally {
+                lock.unlock();
+            }
+        });
+        return Futures.getNoInterrupt(future);
+    }
 
-                //results
-                final T result = scriptTask.extractResults(engine.getResults());
-                if (context != null) {
-                    context.deinit(engine);
+    /**
+     * There is only one engine, thus the whole batch runs on the engine thread with only a light reset between tasks.
+     */
+    @Override
+    public <T> List<T> runAll(final Collection<? extends AScriptTaskJulia<T>> scriptTasks) {
+        //get session
+        final Julia4jScriptTaskEngineJulia engine = new Julia4jScriptTaskEngineJulia(UnsafeJuliaEngineWrapper.INSTANCE);
+        final Future<List<T>> future = engine.getSharedExecutor().submit(() -> {
+            final ILock lock = engine.getSharedLock();
+            lock.lock();
+            try {
+                final List<T> results = new ArrayList<>(scriptTasks.size());
+                for (final AScriptTaskJulia<T> scriptTask : scriptTasks) {
+                    final JuliaTaskRecorder recorder = JuliaTaskRecorder.start(this, scriptTask);
+                    if (!results.isEmpty()) {
+                        UnsafeJuliaEngineWrapper.INSTANCE.resetLight();
+                        recorder.lap(JuliaTaskPhase.RESET);
+                    }
+                    try {
+                        results.add(run(engine, scriptTask, recorder));
+                    } catch (final Throwable t) {
+                        recorder.fail();
+                        throw t;
+                    }
+                    recorder.finish();
                 }
                 engine.close();
 
                 //return
-                return result;
+                return results;
             } catch (final Throwable t) {
                 throw Throwables.propagate(t);
             } finally {
                 lock.unlock();
-                if (context != null) {
-                    context.close();
-                }
             }
         });
         return Futures.getNoInterrupt(future);
     }
 
+    /**
+     * All tasks queue up on the single engine thread.
+     */
+    @Override
+    public int getPendingCount() {
+        return UnsafeJuliaEngineWrapper.EXECUTOR.getPendingCount();
+    }
+
+    private static <T> T run(final Julia4jScriptTaskEngineJulia engine, final AScriptTaskJulia<T> scriptTask,
+            final JuliaTaskRecorder recorder) {
+        recorder.beginTransfers(UnsafeJuliaEngineWrapper.INSTANCE.getTransferCounter());
+        final IScriptTaskCallback callback = scriptTask.getCallback();
+        final AScriptTaskCallbackContextJulia context;
+        if (callback != null) {
+            context = JuliaCallbackContexts.newInProcessContext(callback);
+        } else {
+            context = null;
+        }
+        try {
+            //inputs
+            recorder.beginEvalStats(engine);
+            if (context != null) {
+                context.init(engine);
+            }
+            scriptTask.populateInputs(engine.getInputs());
+            recorder.lap(JuliaTaskPhase.INPUTS);
+
+            //execute
+            scriptTask.executeScript(engine);
+            recorder.lap(JuliaTaskPhase.EXECUTE);
+
+            //results
+            final T result = scriptTask.extractResults(engine.getResults());
+            if (context != null) {
+                context.deinit(engine);
+            }
+            recorder.endEvalStats();
+            recorder.lap(JuliaTaskPhase.RESULTS);
+            recorder.endTransfers();
+            return result;
+        } finally {
+            if (context != null) {
+                recorder.callbacks(context);
+                context.close();
+            }
+        }
+    }
+
     @Override
     public Julia4jScriptTaskRunnerJulia getObject() throws Exception {
         return INSTANCE;
@@ -6,6 +6,7 @@ import javax.annotation.concurrent.ThreadSafe;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
 import de.invesdwin.util.concurrent.WrappedExecutorService;
 import de.invesdwin.util.concurrent.future.Futures;
 import de.invesdwin.util.concurrent.lock.IReentrantLock;
@@ -53,4 +54,9 @@ public final class ExecutorJuliaEngineWrapper implements IJuliaEngineWrapper {
         return delegate.getLock();
     }
 
+    @Override
+    public JuliaScriptCache getScriptCache() {
+        return delegate.getScriptCache();
+    }
+
 }
@@ -2,6 +2,7 @@ package de.invesdwin.context.julia.runtime.julia4j.internal;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
 import de.invesdwin.util.concurrent.lock.IReentrantLock;
 
 public interface IJuliaEngineWrapper {
@@ -14,4 +15,6 @@ public interface IJuliaEngineWrapper {
 
     IReentrantLock getLock();
 
+    JuliaScriptCache getScriptCache();
+
 }
@@ -16,6 +16,11 @@ import com.fasterxml.jackson.databind.node.NullNode;
 import de.invesdwin.context.integration.marshaller.MarshallerJsonJackson;
 import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
 import de.invesdwin.context.julia.runtime.contract.JuliaResetContext;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaEvalStats;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaEvalEvent;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTransferCounter;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTransferEvent;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
 import de.invesdwin.context.julia.runtime.julia4j.Julia4jProperties;
 import de.invesdwin.context.julia.runtime.julia4j.Julia4jScriptTaskEngineJulia;
 import de.invesdwin.util.concurrent.Executors;
@@ -38,10 +43,13 @@ public final class UnsafeJuliaEngineWrapper implements IJuliaEngineWrapper {
     public static final WrappedExecutorService EXECUTOR = Executors
             .newFixedThreadPool(UnsafeJuliaEngineWrapper.class.getSimpleName(), 1);
     public static final UnsafeJuliaEngineWrapper INSTANCE = new UnsafeJuliaEngineWrapper();
+    private static final String RUNTIME = "julia4j";
 
     private final IReentrantLock lock;
+    private final JuliaScriptCache scriptCache;
     private final JuliaResetContext resetContext;
     private final ObjectMapper mapper;
+    private final JuliaTransferCounter transferCounter = new JuliaTransferCounter();
     private boolean initialized = false;
 
     private UnsafeJuliaEngineWrapper() {
@@ -59,7 +67,9 @@ public final class UnsafeJuliaEngineWrapper implements IJuliaEngineWrapper {
         }
         this.mapper = MarshallerJsonJackson.getInstance().getJsonMapper(false);
         this.lock = Locks.newReentrantLock(UnsafeJuliaEngineWrapper.class.getSimpleName() + "_lock");
-        this.resetContext = new JuliaResetContext(new Julia4jScriptTaskEngineJulia(this));
+        final Julia4jScriptTaskEngineJulia engine = new Julia4jScriptTaskEngineJulia(this);
+        this.scriptCache = new JuliaScriptCache(engine);
+        this.resetContext = new JuliaResetContext(engine);
         Futures.waitNoInterrupt(EXECUTOR.submit(() -> init()));
     }
 
@@ -73,22 +83,43 @@ public final class UnsafeJuliaEngineWrapper implements IJuliaEngineWrapper {
         evalUnchecked(
                 "using InteractiveUtils; using Pkg; isinstalled(pkg::String) = any(x -> x.name == pkg && x.is_direct_dep, values(Pkg.dependencies())); if !isinstalled(\"JSON\"); Pkg.add(\"JSON\"); end; using JSON;");
         evalUnchecked(
-                "function j4j_exec(cmd) try eval(Meta.parse(cmd)); return nothing catch err @error err; return sprint(showerror, err, backtrace()); end; end");
+                "function j4j_eval(ex) if isdefined(Main, :evalStats_timed) evalStats_timed(() -> eval(ex)) else eval(ex) end end");
+        evalUnchecked(
+                "function j4j_exec(cmd) try j4j_eval(Meta.parse(cmd)); return nothing catch err @error err; return sprint(showerror, err, backtrace()); end; end");
         evalUnchecked(
                 "function j4j_get(cmd) try return JSON.json(eval(Meta.parse(cmd))); catch err @error err; return sprint(showerror, err, backtrace()); end; end;");
+        this.scriptCache.init();
+        JuliaEvalStats.init(new Julia4jScriptTaskEngineJulia(this));
         this.resetContext.init();
         initialized = true;
     }
 
     @Override
     public void exec(final String eval) {
+        final JuliaEvalEvent event = new JuliaEvalEvent();
+        event.begin();
+        event.beginTransfers(transferCounter);
+        try {
+            execUnmeasured(eval);
+            event.success();
+        } finally {
+            event.finish(RUNTIME, eval);
+        }
+    }
+
+    private void execUnmeasured(final String eval) {
         final String command = "j4j_exec(\"begin "
                 + Strings.normalizeNewlines(eval.trim()).replace("\n", "\\n").replace("\"", "\\\"") + "\\nend\")";
         IScriptTaskRunnerJulia.LOG.debug("> exec %s", eval);
         final SWIGTYPE_p_jl_value_t value = Julia4J.jl_eval_string(command);
+        transferCounter.roundTrip();
+        transferCounter.sent(command.length());
         try {
             assertResponseNotNull(eval, value);
             final String error = Julia4J.jl_unbox_string(value);
+            if (error != null) {
+                transferCounter.received(error.length());
+            }
             assertResponseSuccess(eval, error);
         } catch (final Exception e) {
             throw new RuntimeException(e);
@@ -110,12 +141,29 @@ public final class UnsafeJuliaEngineWrapper implements IJuliaEngineWrapper {
 
     @Override
     public JsonNode getAsJsonNode(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        event.beginTransfers(transferCounter);
+        JsonNode node = null;
+        try {
+            node = getAsJsonNodeUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, node);
+        }
+        return node;
+    }
+
+    private JsonNode getAsJsonNodeUnmeasured(final String variable) {
         final String command = "j4j_get(\"" + variable + "\")";
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final SWIGTYPE_p_jl_value_t value = Julia4J.jl_eval_string(command);
+        transferCounter.roundTrip();
+        transferCounter.sent(command.length());
         try {
             assertResponseNotNull(variable, value);
             final String result = Julia4J.jl_unbox_string(value);
+            transferCounter.received(result.length());
             final JsonNode node = mapper.readTree(result);
             if (node instanceof NullNode) {
                 return null;
@@ -153,9 +201,28 @@ public final class UnsafeJuliaEngineWrapper implements IJuliaEngineWrapper {
         resetContext.reset();
     }
 
+    /**
+     * Used between the tasks of a batch, the full reset happens when the batch is finished.
+     */
+    public void resetLight() {
+        resetContext.resetLight();
+    }
+
     @Override
     public IReentrantLock getLock() {
         return lock;
     }
 
+    @Override
+    public JuliaScriptCache getScriptCache() {
+        return scriptCache;
+    }
+
+    /**
+     * Counts the characters of the evaluated commands and of the returned strings since the values are not serialized.
+     */
+    public JuliaTransferCounter getTransferCounter() {
+        return transferCounter;
+    }
+
 }
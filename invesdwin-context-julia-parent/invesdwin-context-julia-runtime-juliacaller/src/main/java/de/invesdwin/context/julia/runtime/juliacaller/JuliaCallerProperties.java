@@ -2,12 +2,16 @@ package de.invesdwin.context.julia.runtime.juliacaller;
 
 import javax.annotation.concurrent.ThreadSafe;
 
+import org.apache.commons.lang3.SystemUtils;
+
 import de.invesdwin.context.system.properties.SystemProperties;
 
 @ThreadSafe
 public final class JuliaCallerProperties {
 
     public static final String JULIA_COMMAND;
+    public static final boolean FRAMED_PROTOCOL;
+    public static final boolean UNIX_DOMAIN_SOCKET;
 
     static {
 
@@ -17,6 +21,17 @@ public final class JuliaCallerProperties {
         } else {
             JULIA_COMMAND = null;
         }
+        if (systemProperties.containsValue("FRAMED_PROTOCOL")) {
+            FRAMED_PROTOCOL = systemProperties.getBoolean("FRAMED_PROTOCOL");
+        } else {
+            FRAMED_PROTOCOL = true;
+        }
+        if (systemProperties.containsValue("UNIX_DOMAIN_SOCKET")) {
+            UNIX_DOMAIN_SOCKET = systemProperties.getBoolean("UNIX_DOMAIN_SOCKET");
+        } else {
+            //julia uses named pipes instead of unix domain sockets on windows
+            UNIX_DOMAIN_SOCKET = !SystemUtils.IS_OS_WINDOWS;
+        }
     }
 
     private JuliaCallerProperties() {
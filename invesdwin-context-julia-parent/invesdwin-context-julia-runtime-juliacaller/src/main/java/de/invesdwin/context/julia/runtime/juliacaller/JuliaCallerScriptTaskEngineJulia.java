@@ -4,7 +4,8 @@ import java.io.IOException;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
-import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskEngineJulia;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
 import de.invesdwin.context.julia.runtime.juliacaller.pool.ExtendedJuliaCaller;
 import de.invesdwin.context.julia.runtime.juliacaller.pool.JuliaCallerObjectPool;
 import de.invesdwin.util.concurrent.WrappedExecutorService;
@@ -12,7 +13,7 @@ import de.invesdwin.util.concurrent.lock.ILock;
 import de.invesdwin.util.concurrent.lock.disabled.DisabledLock;
 
 @NotThreadSafe
-public class JuliaCallerScriptTaskEngineJulia implements IScriptTaskEngine {
+public class JuliaCallerScriptTaskEngineJulia implements IScriptTaskEngineJulia {
 
     private ExtendedJuliaCaller juliaCaller;
     private final JuliaCallerScriptTaskInputsJulia inputs;
@@ -43,6 +44,11 @@ public class JuliaCallerScriptTaskEngineJulia implements IScriptTaskEngine {
         return results;
     }
 
+    @Override
+    public JuliaScriptCache getScriptCache() {
+        return juliaCaller.getScriptCache();
+    }
+
     @Override
     public void close() {
         juliaCaller = null;
@@ -1,8 +1,13 @@
 package de.invesdwin.context.julia.runtime.juliacaller;
 
+import java.io.IOException;
+
 import javax.annotation.concurrent.NotThreadSafe;
 
 import de.invesdwin.context.julia.runtime.contract.AScriptTaskInputsJuliaToExpression;
+import de.invesdwin.context.julia.runtime.juliacaller.pool.JuliaCallerArray;
+import de.invesdwin.context.julia.runtime.juliacaller.pool.JuliaCallerArrayType;
+import de.invesdwin.util.assertions.Assertions;
 
 @NotThreadSafe
 public class JuliaCallerScriptTaskInputsJulia extends AScriptTaskInputsJuliaToExpression {
@@ -18,4 +23,243 @@ public class JuliaCallerScriptTaskInputsJulia extends AScriptTaskInputsJuliaToEx
         return engine;
     }
 
+    /**
+     * Numeric arrays are transferred in their raw memory layout when the framed protocol is enabled.
+     */
+    private boolean isFramedProtocolEnabled() {
+        return engine.unwrap().isFramedProtocolEnabled();
+    }
+
+    private void putArray(final String variable, final JuliaCallerArray array) {
+        try {
+            engine.unwrap().putArray(variable, array);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void putBooleanVector(final String variable, final boolean[] value) {
+        if (value == null || !isFramedProtocolEnabled()) {
+            super.putBooleanVector(variable, value);
+        } else {
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.BOOLEAN, value.length);
+            for (int i = 0; i < value.length; i++) {
+                array.setBoolean(i, value[i]);
+            }
+            putArray(variable, array);
+        }
+    }
+
+    @Override
+    public void putBooleanMatrix(final String variable, final boolean[][] value) {
+        if (value == null || value.length == 0 || value[0].length == 0 || !isFramedProtocolEnabled()) {
+            super.putBooleanMatrix(variable, value);
+        } else {
+            final int rows = value.length;
+            final int cols = value[0].length;
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.BOOLEAN, rows, cols);
+            for (int row = 0; row < rows; row++) {
+                final boolean[] valueRow = value[row];
+                Assertions.checkEquals(valueRow.length, cols);
+                for (int col = 0; col < cols; col++) {
+                    array.setBoolean(array.index(row, col), valueRow[col]);
+                }
+            }
+            putArray(variable, array);
+        }
+    }
+
+    @Override
+    public void putByteVector(final String variable, final byte[] value) {
+        if (value == null || !isFramedProtocolEnabled()) {
+            super.putByteVector(variable, value);
+        } else {
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.BYTE, value.length);
+            for (int i = 0; i < value.length; i++) {
+                array.setByte(i, value[i]);
+            }
+            putArray(variable, array);
+        }
+    }
+
+    @Override
+    public void putByteMatrix(final String variable, final byte[][] value) {
+        if (value == null || value.length == 0 || value[0].length == 0 || !isFramedProtocolEnabled()) {
+            super.putByteMatrix(variable, value);
+        } else {
+            final int rows = value.length;
+            final int cols = value[0].length;
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.BYTE, rows, cols);
+            for (int row = 0; row < rows; row++) {
+                final byte[] valueRow = value[row];
+                Assertions.checkEquals(valueRow.length, cols);
+                for (int col = 0; col < cols; col++) {
+                    array.setByte(array.index(row, col), valueRow[col]);
+                }
+            }
+            putArray(variable, array);
+        }
+    }
+
+    @Override
+    public void putShortVector(final String variable, final short[] value) {
+        if (value == null || !isFramedProtocolEnabled()) {
+            super.putShortVector(variable, value);
+        } else {
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.SHORT, value.length);
+            for (int i = 0; i < value.length; i++) {
+                array.setShort(i, value[i]);
+            }
+            putArray(variable, array);
+        }
+    }
+
+    @Override
+    public void putShortMatrix(final String variable, final short[][] value) {
+        if (value == null || value.length == 0 || value[0].length == 0 || !isFramedProtocolEnabled()) {
+            super.putShortMatrix(variable, value);
+        } else {
+            final int rows = value.length;
+            final int cols = value[0].length;
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.SHORT, rows, cols);
+            for (int row = 0; row < rows; row++) {
+                final short[] valueRow = value[row];
+                Assertions.checkEquals(valueRow.length, cols);
+                for (int col = 0; col < cols; col++) {
+                    array.setShort(array.index(row, col), valueRow[col]);
+                }
+            }
+            putArray(variable, array);
+        }
+    }
+
+    @Override
+    public void putIntegerVector(final String variable, final int[] value) {
+        if (value == null || !isFramedProtocolEnabled()) {
+            super.putIntegerVector(variable, value);
+        } else {
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.INTEGER, value.length);
+            for (int i = 0; i < value.length; i++) {
+                array.setInteger(i, value[i]);
+            }
+            putArray(variable, array);
+        }
+    }
+
+    @Override
+    public void putIntegerMatrix(final String variable, final int[][] value) {
+        if (value == null || value.length == 0 || value[0].length == 0 || !isFramedProtocolEnabled()) {
+            super.putIntegerMatrix(variable, value);
+        } else {
+            final int rows = value.length;
+            final int cols = value[0].length;
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.INTEGER, rows, cols);
+            for (int row = 0; row < rows; row++) {
+                final int[] valueRow = value[row];
+                Assertions.checkEquals(valueRow.length, cols);
+                for (int col = 0; col < cols; col++) {
+                    array.setInteger(array.index(row, col), valueRow[col]);
+                }
+            }
+            putArray(variable, array);
+        }
+    }
+
+    @Override
+    public void putLongVector(final String variable, final long[] value) {
+        if (value == null || !isFramedProtocolEnabled()) {
+            super.putLongVector(variable, value);
+        } else {
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.LONG, value.length);
+            for (int i = 0; i < value.length; i++) {
+                array.setLong(i, value[i]);
+            }
+            putArray(variable, array);
+        }
+    }
+
+    @Override
+    public void putLongMatrix(final String variable, final long[][] value) {
+        if (value == null || value.length == 0 || value[0].length == 0 || !isFramedProtocolEnabled()) {
+            super.putLongMatrix(variable, value);
+        } else {
+            final int rows = value.length;
+            final int cols = value[0].length;
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.LONG, rows, cols);
+            for (int row = 0; row < rows; row++) {
+                final long[] valueRow = value[row];
+                Assertions.checkEquals(valueRow.length, cols);
+                for (int col = 0; col < cols; col++) {
+                    array.setLong(array.index(row, col), valueRow[col]);
+                }
+            }
+            putArray(variable, array);
+        }
+    }
+
+    @Override
+    public void putFloatVector(final String variable, final float[] value) {
+        if (value == null || !isFramedProtocolEnabled()) {
+            super.putFloatVector(variable, value);
+        } else {
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.FLOAT, value.length);
+            for (int i = 0; i < value.length; i++) {
+                array.setFloat(i, value[i]);
+            }
+            putArray(variable, array);
+        }
+    }
+
+    @Override
+    public void putFloatMatrix(final String variable, final float[][] value) {
+        if (value == null || value.length == 0 || value[0].length == 0 || !isFramedProtocolEnabled()) {
+            super.putFloatMatrix(variable, value);
+        } else {
+            final int rows = value.length;
+            final int cols = value[0].length;
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.FLOAT, rows, cols);
+            for (int row = 0; row < rows; row++) {
+                final float[] valueRow = value[row];
+                Assertions.checkEquals(valueRow.length, cols);
+                for (int col = 0; col < cols; col++) {
+                    array.setFloat(array.index(row, col), valueRow[col]);
+                }
+            }
+            putArray(variable, array);
+        }
+    }
+
+    @Override
+    public void putDoubleVector(final String variable, final double[] value) {
+        if (value == null || !isFramedProtocolEnabled()) {
+            super.putDoubleVector(variable, value);
+        } else {
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.DOUBLE, value.length);
+            for (int i = 0; i < value.length; i++) {
+                array.setDouble(i, value[i]);
+            }
+            putArray(variable, array);
+        }
+    }
+
+    @Override
+    public void putDoubleMatrix(final String variable, final double[][] value) {
+        if (value == null || value.length == 0 || value[0].length == 0 || !isFramedProtocolEnabled()) {
+            super.putDoubleMatrix(variable, value);
+        } else {
+            final int rows = value.length;
+            final int cols = value[0].length;
+            final JuliaCallerArray array = new JuliaCallerArray(JuliaCallerArrayType.DOUBLE, rows, cols);
+            for (int row = 0; row < rows; row++) {
+                final double[] valueRow = value[row];
+                Assertions.checkEquals(valueRow.length, cols);
+                for (int col = 0; col < cols; col++) {
+                    array.setDouble(array.index(row, col), valueRow[col]);
+                }
+            }
+            putArray(variable, array);
+        }
+    }
+
 }
@@ -7,6 +7,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import de.invesdwin.context.julia.runtime.contract.AScriptTaskResultsJuliaFromJson;
+import de.invesdwin.context.julia.runtime.juliacaller.pool.JuliaCallerArray;
+import de.invesdwin.context.julia.runtime.juliacaller.pool.JuliaCallerArrayType;
 
 @NotThreadSafe
 public class JuliaCallerScriptTaskResultsJulia extends AScriptTaskResultsJuliaFromJson {
@@ -31,4 +33,239 @@ public class JuliaCallerScriptTaskResultsJulia extends AScriptTaskResultsJuliaFr
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Returns null when the value is not a numeric array or the framed protocol is disabled, then JSON is used.
+     */
+    private JuliaCallerArray getAsArray(final String variable) {
+        try {
+            return engine.unwrap().getAsArray(variable);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public boolean[] getBooleanVector(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || array.getType() != JuliaCallerArrayType.BOOLEAN || !array.isVector()) {
+            return super.getBooleanVector(variable);
+        }
+        final boolean[] values = new boolean[array.getLength()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.getBoolean(i);
+        }
+        return values;
+    }
+
+    @Override
+    public boolean[][] getBooleanMatrix(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || array.getType() != JuliaCallerArrayType.BOOLEAN || !array.isMatrix()) {
+            return super.getBooleanMatrix(variable);
+        }
+        final int rows = array.getRows();
+        final int cols = array.getColumns();
+        final boolean[][] matrix = new boolean[rows][];
+        for (int row = 0; row < rows; row++) {
+            final boolean[] values = new boolean[cols];
+            matrix[row] = values;
+            for (int col = 0; col < cols; col++) {
+                values[col] = array.getBoolean(array.index(row, col));
+            }
+        }
+        return matrix;
+    }
+
+    @Override
+    public byte[] getByteVector(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || !array.getType().isIntegral() || !array.isVector()) {
+            return super.getByteVector(variable);
+        }
+        final byte[] values = new byte[array.getLength()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.getByte(i);
+        }
+        return values;
+    }
+
+    @Override
+    public byte[][] getByteMatrix(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || !array.getType().isIntegral() || !array.isMatrix()) {
+            return super.getByteMatrix(variable);
+        }
+        final int rows = array.getRows();
+        final int cols = array.getColumns();
+        final byte[][] matrix = new byte[rows][];
+        for (int row = 0; row < rows; row++) {
+            final byte[] values = new byte[cols];
+            matrix[row] = values;
+            for (int col = 0; col < cols; col++) {
+                values[col] = array.getByte(array.index(row, col));
+            }
+        }
+        return matrix;
+    }
+
+    @Override
+    public short[] getShortVector(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || !array.getType().isIntegral() || !array.isVector()) {
+            return super.getShortVector(variable);
+        }
+        final short[] values = new short[array.getLength()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.getShort(i);
+        }
+        return values;
+    }
+
+    @Override
+    public short[][] getShortMatrix(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || !array.getType().isIntegral() || !array.isMatrix()) {
+            return super.getShortMatrix(variable);
+        }
+        final int rows = array.getRows();
+        final int cols = array.getColumns();
+        final short[][] matrix = new short[rows][];
+        for (int row = 0; row < rows; row++) {
+            final short[] values = new short[cols];
+            matrix[row] = values;
+            for (int col = 0; col < cols; col++) {
+                values[col] = array.getShort(array.index(row, col));
+            }
+        }
+        return matrix;
+    }
+
+    @Override
+    public int[] getIntegerVector(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || !array.getType().isIntegral() || !array.isVector()) {
+            return super.getIntegerVector(variable);
+        }
+        final int[] values = new int[array.getLength()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.getInteger(i);
+        }
+        return values;
+    }
+
+    @Override
+    public int[][] getIntegerMatrix(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || !array.getType().isIntegral() || !array.isMatrix()) {
+            return super.getIntegerMatrix(variable);
+        }
+        final int rows = array.getRows();
+        final int cols = array.getColumns();
+        final int[][] matrix = new int[rows][];
+        for (int row = 0; row < rows; row++) {
+            final int[] values = new int[cols];
+            matrix[row] = values;
+            for (int col = 0; col < cols; col++) {
+                values[col] = array.getInteger(array.index(row, col));
+            }
+        }
+        return matrix;
+    }
+
+    @Override
+    public long[] getLongVector(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || !array.getType().isIntegral() || !array.isVector()) {
+            return super.getLongVector(variable);
+        }
+        final long[] values = new long[array.getLength()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.getLong(i);
+        }
+        return values;
+    }
+
+    @Override
+    public long[][] getLongMatrix(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || !array.getType().isIntegral() || !array.isMatrix()) {
+            return super.getLongMatrix(variable);
+        }
+        final int rows = array.getRows();
+        final int cols = array.getColumns();
+        final long[][] matrix = new long[rows][];
+        for (int row = 0; row < rows; row++) {
+            final long[] values = new long[cols];
+            matrix[row] = values;
+            for (int col = 0; col < cols; col++) {
+                values[col] = array.getLong(array.index(row, col));
+            }
+        }
+        return matrix;
+    }
+
+    @Override
+    public float[] getFloatVector(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || array.getType() == JuliaCallerArrayType.BOOLEAN || !array.isVector()) {
+            return super.getFloatVector(variable);
+        }
+        final float[] values = new float[array.getLength()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.getFloat(i);
+        }
+        return values;
+    }
+
+    @Override
+    public float[][] getFloatMatrix(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || array.getType() == JuliaCallerArrayType.BOOLEAN || !array.isMatrix()) {
+            return super.getFloatMatrix(variable);
+        }
+        final int rows = array.getRows();
+        final int cols = array.getColumns();
+        final float[][] matrix = new float[rows][];
+        for (int row = 0; row < rows; row++) {
+            final float[] values = new float[cols];
+            matrix[row] = values;
+            for (int col = 0; col < cols; col++) {
+                values[col] = array.getFloat(array.index(row, col));
+            }
+        }
+        return matrix;
+    }
+
+    @Override
+    public double[] getDoubleVector(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || array.getType() == JuliaCallerArrayType.BOOLEAN || !array.isVector()) {
+            return super.getDoubleVector(variable);
+        }
+        final double[] values = new double[array.getLength()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.getDouble(i);
+        }
+        return values;
+    }
+
+    @Override
+    public double[][] getDoubleMatrix(final String variable) {
+        final JuliaCallerArray array = getAsArray(variable);
+        if (array == null || array.getType() == JuliaCallerArrayType.BOOLEAN || !array.isMatrix()) {
+            return super.getDoubleMatrix(variable);
+        }
+        final int rows = array.getRows();
+        final int cols = array.getColumns();
+        final double[][] matrix = new double[rows][];
+        for (int row = 0; row < rows; row++) {
+            final double[] values = new double[cols];
+            matrix[row] = values;
+            for (int col = 0; col < cols; col++) {
+                values[col] = array.getDouble(array.index(row, col));
+            }
+        }
+        return matrix;
+    }
+
+}
@@ -1,14 +1,21 @@
 package de.invesdwin.context.julia.runtime.juliacaller;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import javax.annotation.concurrent.Immutable;
 
 import org.springframework.beans.factory.FactoryBean;
 
 import de.invesdwin.context.integration.script.callback.IScriptTaskCallback;
-import de.invesdwin.context.integration.script.callback.LoggingDelegateScriptTaskCallback;
 import de.invesdwin.context.julia.runtime.contract.AScriptTaskJulia;
 import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
-import de.invesdwin.context.julia.runtime.contract.callback.socket.SocketScriptTaskCallbackContext;
+import de.invesdwin.context.julia.runtime.contract.JuliaBatches;
+import de.invesdwin.context.julia.runtime.contract.callback.AScriptTaskCallbackContextJulia;
+import de.invesdwin.context.julia.runtime.contract.callback.JuliaCallbackContexts;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTaskPhase;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTaskRecorder;
 import de.invesdwin.context.julia.runtime.juliacaller.pool.ExtendedJuliaCaller;
 import de.invesdwin.context.julia.runtime.juliacaller.pool.JuliaCallerObjectPool;
 import de.invesdwin.util.error.Throwables;
@@ -28,42 +35,101 @@ public final class JuliaCallerScriptTaskRunnerJulia
 
     @Override
     public <T> T run(final AScriptTaskJulia<T> scriptTask) {
+        final JuliaTaskRecorder recorder = JuliaTaskRecorder.start(this, scriptTask);
         //get session
         final ExtendedJuliaCaller juliaCaller = JuliaCallerObjectPool.INSTANCE.borrowObject();
+        recorder.lap(JuliaTaskPhase.BORROW);
+        try {
+            final T result = run(juliaCaller, scriptTask, recorder);
+
+            //return
+            JuliaCallerObjectPool.INSTANCE.returnObject(juliaCaller);
+            recorder.lap(JuliaTaskPhase.RESET);
+            recorder.finish();
+            return result;
+        } catch (final Throwable t) {
+            recorder.fail();
+            //we have to destroy instances on exceptions, otherwise e.g. SFrontiers.jl might get stuck with some inconsistent state
+            JuliaCallerObjectPool.INSTANCE.invalidateObject(juliaCaller, t);
+            throw Throwables.propagate(t);
+        }
+    }
+
+    /**
+     * Each partition of the batch borrows one instance and only does a light reset between its tasks.
+     */
+    @Override
+    public <T> List<T> runAll(final Collection<? extends AScriptTaskJulia<T>> scriptTasks) {
+        return JuliaBatches.runPartitioned(scriptTasks, this::runPartition);
+    }
+
+    private <T> List<T> runPartition(final List<? extends AScriptTaskJulia<T>> scriptTasks) {
+        //get session
+        final ExtendedJuliaCaller juliaCaller = JuliaCallerObjectPool.INSTANCE.borrowObject();
+        try {
+            final List<T> results = new ArrayList<>(scriptTasks.size());
+            for (int i = 0; i < scriptTasks.size(); i++) {
+                final AScriptTaskJulia<T> scriptTask = scriptTasks.get(i);
+                final JuliaTaskRecorder recorder = JuliaTaskRecorder.start(this, scriptTask);
+                if (i > 0) {
+                    juliaCaller.resetLight();
+                    recorder.lap(JuliaTaskPhase.RESET);
+                }
+                try {
+                    results.add(run(juliaCaller, scriptTask, recorder));
+                } catch (final Throwable t) {
+                    recorder.fail();
+                    throw t;
+                }
+                recorder.finish();
+            }
+
+            //return
+            JuliaCallerObjectPool.INSTANCE.returnObject(juliaCaller);
+            return results;
+        } catch (final Throwable t) {
+            JuliaCallerObjectPool.INSTANCE.invalidateObject(juliaCaller, t);
+            throw Throwables.propagate(t);
+        }
+    }
+
+    private <T> T run(final ExtendedJuliaCaller juliaCaller, final AScriptTaskJulia<T> scriptTask,
+            final JuliaTaskRecorder recorder) {
+        recorder.beginTransfers(juliaCaller.getTransferCounter());
         final IScriptTaskCallback callback = scriptTask.getCallback();
-        final SocketScriptTaskCallbackContext context;
+        final AScriptTaskCallbackContextJulia context;
         if (callback != null) {
-            context = new SocketScriptTaskCallbackContext(LoggingDelegateScriptTaskCallback.maybeWrap(LOG, callback));
+            context = JuliaCallbackContexts.newContext(callback);
         } else {
             context = null;
         }
         try {
             //inputs
             final JuliaCallerScriptTaskEngineJulia engine = new JuliaCallerScriptTaskEngineJulia(juliaCaller);
+            recorder.beginEvalStats(engine);
             if (context != null) {
                 context.init(engine);
             }
             scriptTask.populateInputs(engine.getInputs());
+            recorder.lap(JuliaTaskPhase.INPUTS);
 
             //execute
             scriptTask.executeScript(engine);
+            recorder.lap(JuliaTaskPhase.EXECUTE);
 
             //results
             final T result = scriptTask.extractResults(engine.getResults());
             if (context != null) {
                 context.deinit(engine);
             }
+            recorder.endEvalStats();
             engine.close();
-
-            //return
-            JuliaCallerObjectPool.INSTANCE.returnObject(juliaCaller);
+            recorder.lap(JuliaTaskPhase.RESULTS);
+            recorder.endTransfers();
             return result;
-        } catch (final Throwable t) {
-            //we have to destroy instances on exceptions, otherwise e.g. SFrontiers.jl might get stuck with some inconsistent state
-            JuliaCallerObjectPool.INSTANCE.invalidateObject(juliaCaller);
-            throw Throwables.propagate(t);
         } finally {
             if (context != null) {
+                recorder.callbacks(context);
                 context.close();
             }
         }
@@ -1,33 +1,58 @@
 package de.invesdwin.context.julia.runtime.juliacaller.pool;
 
 import java.io.IOException;
+import java.net.SocketAddress;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
 import de.invesdwin.context.julia.runtime.contract.JuliaResetContext;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaEvalStats;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
+import de.invesdwin.context.julia.runtime.juliacaller.JuliaCallerProperties;
 import de.invesdwin.context.julia.runtime.juliacaller.JuliaCallerScriptTaskEngineJulia;
 
 @NotThreadSafe
 public class ExtendedJuliaCaller extends ModifiedJuliaCaller {
 
+    private final JuliaScriptCache scriptCache;
     private final JuliaResetContext resetContext;
 
-    public ExtendedJuliaCaller(final String pathToJulia, final int port) {
-        super(pathToJulia, port);
-        this.resetContext = new JuliaResetContext(new JuliaCallerScriptTaskEngineJulia(this));
+    public ExtendedJuliaCaller(final String pathToJulia, final SocketAddress address) {
+        super(pathToJulia, address);
+        final JuliaCallerScriptTaskEngineJulia engine = new JuliaCallerScriptTaskEngineJulia(this);
+        this.scriptCache = new JuliaScriptCache(engine);
+        this.resetContext = new JuliaResetContext(engine);
+    }
+
+    @Override
+    public boolean isFramedProtocolEnabled() {
+        return JuliaCallerProperties.FRAMED_PROTOCOL;
     }
 
     @Override
     public void connect() throws IOException {
         super.connect();
         getWatcher().clearLog();
+        scriptCache.init();
+        JuliaEvalStats.init(new JuliaCallerScriptTaskEngineJulia(this));
         resetContext.init();
     }
 
+    public JuliaScriptCache getScriptCache() {
+        return scriptCache;
+    }
+
     public void reset() throws IOException {
         getWatcher().clearLog();
         resetContext.reset();
         getWatcher().clearLog();
     }
 
+    /**
+     * Used between the tasks of a batch, the full reset happens when the instance is returned to the pool.
+     */
+    public void resetLight() {
+        resetContext.resetLight();
+    }
+
 }
@@ -0,0 +1,196 @@
+package de.invesdwin.context.julia.runtime.juliacaller.pool;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A numeric julia array in its raw memory layout (column-major, little endian) as it is transferred by the framed
+ * protocol.
+ *
+ * Payload layout: type code (1 byte), dimension count (1 byte), dimensions (int32 each), data. Put requests prepend
+ * the variable name (int32 length + utf8 bytes).
+ */
+@NotThreadSafe
+public class JuliaCallerArray {
+
+    private final JuliaCallerArrayType type;
+    private final int[] dimensions;
+    private final int length;
+    private final ByteBuffer data;
+
+    public JuliaCallerArray(final JuliaCallerArrayType type, final int... dimensions) {
+        this.type = type;
+        this.dimensions = dimensions.clone();
+        this.length = newLength(dimensions);
+        this.data = ByteBuffer.allocate(length * type.getBytes()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private JuliaCallerArray(final JuliaCallerArrayType type, final int[] dimensions, final ByteBuffer data) {
+        this.type = type;
+        this.dimensions = dimensions;
+        this.length = newLength(dimensions);
+        this.data = data;
+    }
+
+    public JuliaCallerArrayType getType() {
+        return type;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * One dimensional arrays and column vectors (n x 1) are vectors.
+     */
+    public boolean isVector() {
+        return dimensions.length == 1 || dimensions.length == 2 && dimensions[1] == 1;
+    }
+
+    public boolean isMatrix() {
+        return dimensions.length == 2;
+    }
+
+    public int getRows() {
+        return dimensions[0];
+    }
+
+    public int getColumns() {
+        if (dimensions.length == 1) {
+            return 1;
+        } else {
+            return dimensions[1];
+        }
+    }
+
+    public int index(final int row, final int column) {
+        return column * dimensions[0] + row;
+    }
+
+    public boolean getBoolean(final int index) {
+        return getLong(index) != 0;
+    }
+
+    public byte getByte(final int index) {
+        final long value = getLong(index);
+        if ((byte) value != value) {
+            throw new ArithmeticException("byte overflow: " + value);
+        }
+        return (byte) value;
+    }
+
+    public short getShort(final int index) {
+        final long value = getLong(index);
+        if ((short) value != value) {
+            throw new ArithmeticException("short overflow: " + value);
+        }
+        return (short) value;
+    }
+
+    public int getInteger(final int index) {
+        return Math.toIntExact(getLong(index));
+    }
+
+    public long getLong(final int index) {
+        switch (type) {
+        case BOOLEAN:
+        case BYTE:
+            return data.get(index);
+        case SHORT:
+            return data.getShort(index * Short.BYTES);
+        case INTEGER:
+            return data.getInt(index * Integer.BYTES);
+        case LONG:
+            return data.getLong(index * Long.BYTES);
+        default:
+            throw new UnsupportedOperationException("Not an integral type: " + type);
+        }
+    }
+
+    public float getFloat(final int index) {
+        if (type == JuliaCallerArrayType.FLOAT) {
+            return data.getFloat(index * Float.BYTES);
+        } else {
+            return (float) getDouble(index);
+        }
+    }
+
+    public double getDouble(final int index) {
+        switch (type) {
+        case FLOAT:
+            return data.getFloat(index * Float.BYTES);
+        case DOUBLE:
+            return data.getDouble(index * Double.BYTES);
+        default:
+            return getLong(index);
+        }
+    }
+
+    public void setBoolean(final int index, final boolean value) {
+        data.put(index, value ? (byte) 1 : (byte) 0);
+    }
+
+    public void setByte(final int index, final byte value) {
+        data.put(index, value);
+    }
+
+    public void setShort(final int index, final short value) {
+        data.putShort(index * Short.BYTES, value);
+    }
+
+    public void setInteger(final int index, final int value) {
+        data.putInt(index * Integer.BYTES, value);
+    }
+
+    public void setLong(final int index, final long value) {
+        data.putLong(index * Long.BYTES, value);
+    }
+
+    public void setFloat(final int index, final float value) {
+        data.putFloat(index * Float.BYTES, value);
+    }
+
+    public void setDouble(final int index, final double value) {
+        data.putDouble(index * Double.BYTES, value);
+    }
+
+    public byte[] toPayload(final String variable) {
+        final byte[] variableBytes = variable.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer payload = ByteBuffer
+                .allocate(Integer.BYTES + variableBytes.length + 2 + dimensions.length * Integer.BYTES
+                        + data.capacity())
+                .order(ByteOrder.LITTLE_ENDIAN);
+        payload.putInt(variableBytes.length);
+        payload.put(variableBytes);
+        payload.put(type.getCode());
+        payload.put((byte) dimensions.length);
+        for (int i = 0; i < dimensions.length; i++) {
+            payload.putInt(dimensions[i]);
+        }
+        payload.put(data.array(), data.arrayOffset(), data.capacity());
+        return payload.array();
+    }
+
+    public static JuliaCallerArray valueOf(final byte[] payload) {
+        final ByteBuffer buffer = ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN);
+        final JuliaCallerArrayType type = JuliaCallerArrayType.valueOfCode(buffer.get());
+        final int[] dimensions = new int[buffer.get()];
+        for (int i = 0; i < dimensions.length; i++) {
+            dimensions[i] = buffer.getInt();
+        }
+        final ByteBuffer data = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        return new JuliaCallerArray(type, dimensions, data);
+    }
+
+    private static int newLength(final int[] dimensions) {
+        int length = 1;
+        for (int i = 0; i < dimensions.length; i++) {
+            length = Math.multiplyExact(length, dimensions[i]);
+        }
+        return length;
+    }
+
+}
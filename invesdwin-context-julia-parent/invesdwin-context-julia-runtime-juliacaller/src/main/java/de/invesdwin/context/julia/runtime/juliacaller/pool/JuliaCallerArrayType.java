@@ -0,0 +1,57 @@
+package de.invesdwin.context.julia.runtime.juliacaller.pool;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Element types that can be transferred as raw arrays, the codes need to match FRAME_ARRAY_TYPES in
+ * ModifiedJuliaCaller.jl.
+ */
+@Immutable
+public enum JuliaCallerArrayType {
+    BOOLEAN(1, 1, false),
+    BYTE(2, Byte.BYTES, true),
+    SHORT(3, Short.BYTES, true),
+    INTEGER(4, Integer.BYTES, true),
+    LONG(5, Long.BYTES, true),
+    FLOAT(6, Float.BYTES, false),
+    DOUBLE(7, Double.BYTES, false);
+
+    private static final JuliaCallerArrayType[] CODE_LOOKUP;
+
+    static {
+        CODE_LOOKUP = new JuliaCallerArrayType[values().length + 1];
+        for (final JuliaCallerArrayType type : values()) {
+            CODE_LOOKUP[type.code] = type;
+        }
+    }
+
+    private final byte code;
+    private final int bytes;
+    private final boolean integral;
+
+    JuliaCallerArrayType(final int code, final int bytes, final boolean integral) {
+        this.code = (byte) code;
+        this.bytes = bytes;
+        this.integral = integral;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public int getBytes() {
+        return bytes;
+    }
+
+    public boolean isIntegral() {
+        return integral;
+    }
+
+    public static JuliaCallerArrayType valueOfCode(final byte code) {
+        if (code <= 0 || code >= CODE_LOOKUP.length) {
+            throw new IllegalArgumentException("Unknown array type code: " + code);
+        }
+        return CODE_LOOKUP[code];
+    }
+
+}
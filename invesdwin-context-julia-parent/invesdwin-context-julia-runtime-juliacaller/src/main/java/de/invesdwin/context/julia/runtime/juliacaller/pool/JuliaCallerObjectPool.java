@@ -1,14 +1,25 @@
 package de.invesdwin.context.julia.runtime.juliacaller.pool;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.concurrent.ThreadSafe;
 
 import org.springframework.beans.factory.FactoryBean;
 
+import de.invesdwin.context.ContextProperties;
 import de.invesdwin.context.integration.network.NetworkUtil;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaPoolEvent;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaPoolMetrics;
 import de.invesdwin.context.julia.runtime.juliacaller.JuliaCallerProperties;
 import de.invesdwin.util.concurrent.pool.timeout.ATimeoutObjectPool;
+import de.invesdwin.util.error.Throwables;
 import de.invesdwin.util.time.date.FTimeUnit;
 import de.invesdwin.util.time.duration.Duration;
 import jakarta.inject.Named;
@@ -19,14 +30,58 @@ public final class JuliaCallerObjectPool extends ATimeoutObjectPool<ExtendedJuli
         implements FactoryBean<JuliaCallerObjectPool> {
 
     public static final JuliaCallerObjectPool INSTANCE = new JuliaCallerObjectPool();
+    //unix domain socket paths are limited to about 108 characters
+    private static final int MAX_SOCKET_PATH_LENGTH = 100;
+    private static final AtomicInteger SOCKET_FILE_INDEX = new AtomicInteger();
+
+    private final JuliaPoolMetrics metrics = JuliaPoolMetrics.getInstance(JuliaCallerObjectPool.class);
 
     private JuliaCallerObjectPool() {
         //julia compilation is a lot of overhead, thus keep instances open longer
         super(new Duration(10, FTimeUnit.MINUTES), new Duration(10, FTimeUnit.SECONDS));
     }
 
+    @Override
+    public ExtendedJuliaCaller borrowObject() {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
+        final ExtendedJuliaCaller element = super.borrowObject();
+        metrics.recordBorrow(event, element);
+        return element;
+    }
+
+    @Override
+    public void returnObject(final ExtendedJuliaCaller element) {
+        super.returnObject(element);
+        metrics.recordReturn(element);
+    }
+
+    /**
+     * Destroys a borrowed instance that a task failed on, the cause is recorded in the pool metrics.
+     */
+    public void invalidateObject(final ExtendedJuliaCaller element, final Throwable cause) {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
+        try {
+            shutdownServer(element);
+        } finally {
+            metrics.recordInvalidate(event, element, cause);
+        }
+    }
+
+    /**
+     * Called by the pool itself for idle instances that timed out and for instances that could not be reset, the latter
+     * were already recorded with their cause.
+     */
     @Override
     public void invalidateObject(final ExtendedJuliaCaller element) {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
+        try {
+            shutdownServer(element);
+        } finally {
+            metrics.recordTimeout(event, element);
+        }
+    }
+
+    private static void shutdownServer(final ExtendedJuliaCaller element) {
         try {
             element.shutdownServer();
         } catch (final IOException e) {
@@ -36,25 +91,55 @@ public final class JuliaCallerObjectPool extends ATimeoutObjectPool<ExtendedJuli
 
     @Override
     protected ExtendedJuliaCaller newObject() {
-        final int port = NetworkUtil.findAvailableTcpPort();
-        final ExtendedJuliaCaller session = new ExtendedJuliaCaller(JuliaCallerProperties.JULIA_COMMAND, port);
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
         try {
+            final SocketAddress address;
+            if (JuliaCallerProperties.UNIX_DOMAIN_SOCKET) {
+                address = UnixDomainSocketAddress.of(newSocketFile());
+            } else {
+                address = new InetSocketAddress("localhost", NetworkUtil.findAvailableTcpPort());
+            }
+            final ExtendedJuliaCaller session = new ExtendedJuliaCaller(JuliaCallerProperties.JULIA_COMMAND,
+                    address);
             session.startServer();
             session.connect();
+            metrics.recordCreate(event, session);
+            return session;
         } catch (final IOException e) {
+            metrics.recordCreateError();
             throw new RuntimeException(e);
         }
-        return session;
+    }
+
+    private static Path newSocketFile() throws IOException {
+        final String name = "juliacaller_" + SOCKET_FILE_INDEX.incrementAndGet() + ".sock";
+        Path path = ContextProperties.TEMP_DIRECTORY.toPath().resolve(name);
+        if (path.toString().length() > MAX_SOCKET_PATH_LENGTH) {
+            path = Paths.get(System.getProperty("java.io.tmpdir")).resolve(ProcessHandle.current().pid() + "_" + name);
+        }
+        Files.createDirectories(path.getParent());
+        return path;
     }
 
     @Override
     protected boolean passivateObject(final ExtendedJuliaCaller element) {
+        final JuliaPoolEvent event = JuliaPoolEvent.start();
         try {
             element.reset();
-            return true;
-        } catch (final IOException e) {
-            throw new RuntimeException(e);
+        } catch (final Throwable t) {
+            //usually a JuliaScriptException or a broken connection, the instance can not be reused in either case
+            metrics.recordPassivateError();
+            try {
+                shutdownServer(element);
+            } catch (final Throwable shutdownError) {
+                t.addSuppressed(shutdownError);
+            } finally {
+                metrics.recordInvalidate(event, element, t);
+            }
+            throw Throwables.propagate(t);
         }
+        metrics.recordPassivate(event);
+        return true;
     }
 
     @Override
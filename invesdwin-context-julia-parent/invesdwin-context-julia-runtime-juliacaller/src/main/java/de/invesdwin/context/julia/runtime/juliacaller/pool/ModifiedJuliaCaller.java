@@ -1,13 +1,23 @@
 package de.invesdwin.context.julia.runtime.juliacaller.pool;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.net.ConnectException;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -17,8 +27,12 @@ import com.fasterxml.jackson.databind.node.NullNode;
 
 import de.invesdwin.context.integration.marshaller.MarshallerJsonJackson;
 import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
-import de.invesdwin.util.concurrent.loop.ASpinWait;
-import de.invesdwin.util.concurrent.loop.LoopInterruptedCheck;
+import de.invesdwin.context.julia.runtime.contract.JuliaScriptException;
+import de.invesdwin.context.julia.runtime.contract.io.AJuliaInputReader;
+import de.invesdwin.context.julia.runtime.contract.io.JuliaWaitStrategy;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaEvalEvent;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTransferCounter;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTransferEvent;
 import de.invesdwin.util.lang.string.Strings;
 import de.invesdwin.util.time.date.FTimeUnit;
 
@@ -29,26 +43,49 @@ import de.invesdwin.util.time.date.FTimeUnit;
 public class ModifiedJuliaCaller {
 
     protected static final char NEW_LINE = '\n';
+    /**
+     * Printed by the julia server on stdout as soon as clients can connect.
+     */
+    public static final String READY_MARKER = "__JuliaCaller_ready__";
+    private static final long READY_CHECK_INTERVAL_MILLIS = 100;
+    //command bytes are below any printable character so that julia can distinguish frames from text lines
+    protected static final byte FRAME_EXECUTE = 0x01;
+    protected static final byte FRAME_GET_JSON = 0x02;
+    protected static final byte FRAME_GET_ARRAY = 0x03;
+    protected static final byte FRAME_PUT_ARRAY = 0x04;
+    protected static final byte FRAME_EXIT = 0x05;
+    protected static final byte FRAME_SHUTDOWN = 0x06;
+    protected static final byte FRAME_OK = 0x10;
+    protected static final byte FRAME_ERROR = 0x11;
+    protected static final byte FRAME_ARRAY = 0x12;
+    protected static final byte FRAME_UNSUPPORTED = 0x13;
+    private static final int FRAME_HEADER_LENGTH = 1 + Integer.BYTES;
+    private static final String RUNTIME = "juliacaller";
+    private static final byte[] EMPTY_PAYLOAD = new byte[0];
     private final String pathToJulia;
     private final ObjectMapper objectMapper;
     private Socket socket;
+    private SocketChannel channel;
     private BufferedWriter bufferedWriterForJuliaConsole, bufferedWriterForSocket;
-    private InputStream readerForSocket;
-    private final int port;
-    private int maximumTriesToConnect = 300;
+    private BufferedOutputStream outputStreamForSocket;
+    private AJuliaInputReader readerForSocket;
+    private final byte[] frameHeader = new byte[FRAME_HEADER_LENGTH];
+    private final SocketAddress address;
+    private int maximumSecondsToConnect = 300;
     private ModifiedJuliaErrorConsoleWatcher watcher;
     private Process process;
-    private final LoopInterruptedCheck interruptedCheck = new LoopInterruptedCheck() {
-        @Override
-        protected boolean onInterval() throws InterruptedException {
-            //don't throw on interrupt because this makes tests flaky
-            return true;
-        }
-    };
+    private final JuliaTransferCounter transferCounter = new JuliaTransferCounter();
 
     public ModifiedJuliaCaller(final String pathToJulia, final int port) {
+        this(pathToJulia, new InetSocketAddress("localhost", port));
+    }
+
+    /**
+     * Either an InetSocketAddress for TCP or an UnixDomainSocketAddress for a local socket file.
+     */
+    public ModifiedJuliaCaller(final String pathToJulia, final SocketAddress address) {
         this.pathToJulia = pathToJulia;
-        this.port = port;
+        this.address = address;
         this.objectMapper = getObjectMapper();
     }
 
@@ -56,12 +93,12 @@ public class ModifiedJuliaCaller {
         return MarshallerJsonJackson.getInstance().getJsonMapper(false);
     }
 
-    public void setMaximumTriesToConnect(final int tries) {
-        this.maximumTriesToConnect = tries;
+    public void setMaximumSecondsToConnect(final int seconds) {
+        this.maximumSecondsToConnect = seconds;
     }
 
-    public int getMaximumTriesToConnect() {
-        return this.maximumTriesToConnect;
+    public int getMaximumSecondsToConnect() {
+        return this.maximumSecondsToConnect;
     }
 
     public void startServer() throws IOException {
@@ -89,80 +126,209 @@ public class ModifiedJuliaCaller {
         bufferedWriterForJuliaConsole.write(sb.toString());
         bufferedWriterForJuliaConsole.newLine();
         final boolean debug = isDebugOutputEnabled();
-        IScriptTaskRunnerJulia.LOG.trace("startServer: Sending serve(%s,%s) request.", this.port, debug);
-        bufferedWriterForJuliaConsole.write("serve(" + this.port + ", " + debug + ")");
+        final String serveAddress = newServeAddress();
+        IScriptTaskRunnerJulia.LOG.trace("startServer: Sending serve(%s,%s) request.", serveAddress, debug);
+        bufferedWriterForJuliaConsole.write("serve(" + serveAddress + ", " + debug + ")");
         bufferedWriterForJuliaConsole.newLine();
         bufferedWriterForJuliaConsole.flush();
     }
 
+    private String newServeAddress() {
+        if (address instanceof UnixDomainSocketAddress) {
+            final String path = ((UnixDomainSocketAddress) address).getPath().toString();
+            return "\"" + path.replace("\\", "\\\\").replace("\"", "\\\"").replace("$", "\\$") + "\"";
+        } else {
+            return String.valueOf(((InetSocketAddress) address).getPort());
+        }
+    }
+
     protected boolean isDebugOutputEnabled() {
         return IScriptTaskRunnerJulia.LOG.isDebugEnabled();
     }
 
+    /**
+     * The framed protocol sends a command byte, an int32 length and the payload instead of escaped text lines. This
+     * allows raw numeric arrays to be transferred and execution errors to be returned as structured responses (see
+     * JuliaScriptException) instead of parsing stderr.
+     */
+    public boolean isFramedProtocolEnabled() {
+        return false;
+    }
+
+    public JuliaTransferCounter getTransferCounter() {
+        return transferCounter;
+    }
+
     public ModifiedJuliaErrorConsoleWatcher getWatcher() {
         return watcher;
     }
 
     public void connect() throws IOException {
-        int numtries = 1;
-        boolean connected = false;
-        while (numtries <= this.maximumTriesToConnect) {
-            try {
-                socket = new Socket("localhost", this.port);
-                connected = true;
-                IScriptTaskRunnerJulia.LOG.trace("Connect: connected!");
-                break;
-            } catch (final ConnectException ce) {
-                numtries++;
-                try {
-                    IScriptTaskRunnerJulia.LOG.trace("Connect: retrying to connect: %s / %s", numtries,
-                            maximumTriesToConnect);
-                    Thread.sleep(1000);
-                } catch (final InterruptedException ie) {
-                    throw new RuntimeException(ie);
+        awaitReady();
+        final OutputStream socketOutputStream;
+        if (address instanceof UnixDomainSocketAddress) {
+            channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            channel.connect(address);
+            //non-blocking so that reads can check for errors while waiting
+            channel.configureBlocking(false);
+            socketOutputStream = new NonBlockingChannelOutputStream(channel, JuliaWaitStrategy.DEFAULT);
+            readerForSocket = new AJuliaInputReader(JuliaWaitStrategy.DEFAULT) {
+                @Override
+                protected int readAvailable(final byte[] buffer, final int offset, final int length)
+                        throws IOException {
+                    return channel.read(ByteBuffer.wrap(buffer, offset, length));
                 }
-            }
-        }
-        if (connected) {
-            bufferedWriterForSocket = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()));
-            readerForSocket = socket.getInputStream();
+
+                @Override
+                protected void checkError() {
+                    checkWhileWaiting();
+                }
+            };
         } else {
-            throw new IllegalStateException(
-                    "Socket cannot connect in maximum number of iterations defined as " + maximumTriesToConnect);
+            socket = new Socket();
+            socket.connect(address);
+            //frames are flushed as a whole, don't wait for further data
+            socket.setTcpNoDelay(true);
+            socketOutputStream = socket.getOutputStream();
+            final InputStream socketInputStream = socket.getInputStream();
+            readerForSocket = new AJuliaInputReader(JuliaWaitStrategy.DEFAULT) {
+                @Override
+                protected int readAvailable(final byte[] buffer, final int offset, final int length)
+                        throws IOException {
+                    return AJuliaInputReader.readAvailable(socketInputStream, buffer, offset, length);
+                }
+
+                @Override
+                protected void checkError() {
+                    checkWhileWaiting();
+                }
+            };
+        }
+        IScriptTaskRunnerJulia.LOG.trace("Connect: connected!");
+        if (isFramedProtocolEnabled()) {
+            outputStreamForSocket = new BufferedOutputStream(socketOutputStream);
+        }
+        bufferedWriterForSocket = new BufferedWriter(new OutputStreamWriter(socketOutputStream));
+    }
+
+    /**
+     * Instead of retrying to connect in fixed intervals, wait for the server to signal that it is listening.
+     */
+    private void awaitReady() {
+        final long startNanos = System.nanoTime();
+        final long timeoutNanos = TimeUnit.SECONDS.toNanos(maximumSecondsToConnect);
+        try {
+            while (!watcher.awaitReady(READY_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(
+                            "Julia process exited with code " + process.exitValue() + " before the server was ready");
+                }
+                if (System.nanoTime() - startNanos > timeoutNanos) {
+                    throw new IllegalStateException(
+                            "Julia server was not ready within " + maximumSecondsToConnect + " seconds");
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
         }
     }
 
     public synchronized void execute(final String command) throws IOException {
+        final JuliaEvalEvent event = new JuliaEvalEvent();
+        event.begin();
+        event.beginTransfers(transferCounter);
+        try {
+            executeUnmeasured(command);
+            event.success();
+        } finally {
+            event.finish(RUNTIME, command);
+        }
+    }
+
+    private void executeUnmeasured(final String command) throws IOException {
         IScriptTaskRunnerJulia.LOG.trace("execute: Sending '%s'", command);
+        if (isFramedProtocolEnabled()) {
+            writeFrame(FRAME_EXECUTE, command.getBytes(StandardCharsets.UTF_8));
+            readResponse(FRAME_OK);
+            return;
+        }
         //WORKAROUND: begin/end make sure that multiple lines are executed together, also newlines need to be escaped
         //without this we get: Error: Base.Meta.ParseError("extra token after end of expression")
         final String newlineEscaped = "__##@NL@##__";
-        bufferedWriterForSocket.write("execute begin "
-                + Strings.normalizeNewlines(command.replace("\n", newlineEscaped) + newlineEscaped + "end"));
+        final String line = "execute begin "
+                + Strings.normalizeNewlines(command.replace("\n", newlineEscaped) + newlineEscaped + "end");
+        bufferedWriterForSocket.write(line);
         bufferedWriterForSocket.newLine();
         bufferedWriterForSocket.flush();
+        //the line protocol does not wait for a response here
+        transferCounter.sent(line.length() + 1);
         checkError();
     }
 
     public void exitSession() throws IOException {
+        if (isFramedProtocolEnabled()) {
+            writeFrame(FRAME_EXIT, EMPTY_PAYLOAD);
+            return;
+        }
         bufferedWriterForSocket.write("exit");
         bufferedWriterForSocket.newLine();
         bufferedWriterForSocket.flush();
     }
 
     public void shutdownServer() throws IOException {
+        if (watcher == null) {
+            //already shut down, e.g. when resetting failed before the task is invalidated
+            return;
+        }
         watcher.close();
         watcher = null;
-        bufferedWriterForSocket.write("shutdown");
-        bufferedWriterForSocket.newLine();
-        bufferedWriterForSocket.flush();
+        try {
+            if (isFramedProtocolEnabled()) {
+                writeFrame(FRAME_SHUTDOWN, EMPTY_PAYLOAD);
+            } else {
+                bufferedWriterForSocket.write("shutdown");
+                bufferedWriterForSocket.newLine();
+                bufferedWriterForSocket.flush();
+            }
+        } finally {
+            if (address instanceof UnixDomainSocketAddress) {
+                Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+            }
+        }
     }
 
     public JsonNode getAsJsonNode(final String varname) throws IOException {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        event.beginTransfers(transferCounter);
+        JsonNode node = null;
+        try {
+            node = getAsJsonNodeUnmeasured(varname);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, varname, node);
+        }
+        return node;
+    }
+
+    private JsonNode getAsJsonNodeUnmeasured(final String varname) throws IOException {
         IScriptTaskRunnerJulia.LOG.trace("getAsJsonNode: Requesting variable %s", varname);
+        if (isFramedProtocolEnabled()) {
+            writeFrame(FRAME_GET_JSON, varname.getBytes(StandardCharsets.UTF_8));
+            final byte[] result = readResponse(FRAME_OK);
+            final JsonNode node = objectMapper.readTree(result);
+            if (node instanceof NullNode) {
+                return null;
+            } else {
+                return node;
+            }
+        }
         bufferedWriterForSocket.write("get " + varname);
         bufferedWriterForSocket.newLine();
         bufferedWriterForSocket.flush();
+        transferCounter.roundTrip();
+        transferCounter.sent(varname.length() + 5);
         final String result = readLine();
         checkError();
         if (result == null) {
@@ -181,6 +347,93 @@ public class ModifiedJuliaCaller {
         }
     }
 
+    /**
+     * Returns null when the framed protocol is disabled or when the variable is not an array of a supported numeric
+     * type. In that case the caller should fall back to JSON.
+     */
+    public JuliaCallerArray getAsArray(final String varname) throws IOException {
+        if (!isFramedProtocolEnabled()) {
+            return null;
+        }
+        IScriptTaskRunnerJulia.LOG.trace("getAsArray: Requesting variable %s", varname);
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        event.beginTransfers(transferCounter);
+        JuliaCallerArray array = null;
+        boolean fallback = false;
+        try {
+            writeFrame(FRAME_GET_ARRAY, varname.getBytes(StandardCharsets.UTF_8));
+            final byte[] result = readResponse(FRAME_ARRAY);
+            if (result == null) {
+                //the json fallback records its own event
+                fallback = true;
+                return null;
+            }
+            array = JuliaCallerArray.valueOf(result);
+            event.success();
+        } finally {
+            if (!fallback) {
+                final long elements = array == null ? 0 : array.getLength();
+                event.finish(RUNTIME, JuliaTransferEvent.GET, varname, elements);
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Requires the framed protocol to be enabled.
+     */
+    public void putArray(final String varname, final JuliaCallerArray array) throws IOException {
+        IScriptTaskRunnerJulia.LOG.trace("putArray: Sending variable %s", varname);
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        event.beginTransfers(transferCounter);
+        try {
+            writeFrame(FRAME_PUT_ARRAY, array.toPayload(varname));
+            readResponse(FRAME_OK);
+            event.success();
+        } finally {
+            event.finish(RUNTIME, JuliaTransferEvent.PUT, varname, array.getLength());
+        }
+    }
+
+    private void writeFrame(final byte command, final byte[] payload) throws IOException {
+        frameHeader[0] = command;
+        final int length = payload.length;
+        frameHeader[1] = (byte) length;
+        frameHeader[2] = (byte) (length >>> 8);
+        frameHeader[3] = (byte) (length >>> 16);
+        frameHeader[4] = (byte) (length >>> 24);
+        outputStreamForSocket.write(frameHeader);
+        outputStreamForSocket.write(payload);
+        outputStreamForSocket.flush();
+        transferCounter.sent(FRAME_HEADER_LENGTH + length);
+    }
+
+    /**
+     * Returns null for an unsupported response, throws an exception for an error response.
+     */
+    private byte[] readResponse(final byte expectedCommand) throws IOException {
+        readerForSocket.readFully(frameHeader);
+        final byte command = frameHeader[0];
+        final int length = (frameHeader[1] & 0xFF) | (frameHeader[2] & 0xFF) << 8 | (frameHeader[3] & 0xFF) << 16
+                | (frameHeader[4] & 0xFF) << 24;
+        final byte[] payload = new byte[length];
+        readerForSocket.readFully(payload);
+        transferCounter.roundTrip();
+        transferCounter.received(FRAME_HEADER_LENGTH + length);
+        if (command == expectedCommand) {
+            return payload;
+        } else if (command == FRAME_UNSUPPORTED) {
+            return null;
+        } else if (command == FRAME_ERROR) {
+            throw JuliaScriptException.valueOf(objectMapper.readTree(payload));
+        } else {
+            throw new IllegalStateException(
+                    "Unexpected response [" + command + "] while expecting [" + expectedCommand + "]");
+        }
+    }
+
     private void checkErrorDelayed() {
         //give a bit of time to read the actual error
         try {
@@ -191,6 +444,21 @@ public class ModifiedJuliaCaller {
         checkError();
     }
 
+    /**
+     * With the framed protocol errors are returned in-band, thus stderr is only logged and we only need to check if the
+     * process is still alive. The line protocol has to rely on parsing stderr.
+     */
+    private void checkWhileWaiting() {
+        if (isFramedProtocolEnabled()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(
+                        "Julia process exited with code " + process.exitValue() + ": " + watcher.getErrorMessage());
+            }
+        } else {
+            checkError();
+        }
+    }
+
     private void checkError() {
         final String error = getWatcher().getErrorMessage();
         if (error != null) {
@@ -199,33 +467,11 @@ public class ModifiedJuliaCaller {
     }
 
     private String readLine() throws IOException {
-        final StringBuilder sb = new StringBuilder();
-        //WORKAROUND: sleeping 10 ms between messages is way too slow
-        final ASpinWait spinWait = new ASpinWait() {
-            @Override
-            public boolean isConditionFulfilled() throws Exception {
-                if (interruptedCheck.check()) {
-                    checkError();
-                }
-                while (readerForSocket.available() > 0 && !Thread.interrupted()) {
-                    final int b = readerForSocket.read();
-                    if (b == NEW_LINE) {
-                        return true;
-                    }
-                    sb.append((char) b);
-                }
-                return false;
-            }
-        };
-        try {
-            spinWait.awaitFulfill(System.nanoTime());
-        } catch (final Exception e) {
-            throw new RuntimeException(e);
-        }
-        if (sb.length() == 0) {
+        final String s = readerForSocket.readLine();
+        transferCounter.received(s.length() + 1);
+        if (s.isEmpty()) {
             return null;
         }
-        final String s = sb.toString();
         return s;
     }
 
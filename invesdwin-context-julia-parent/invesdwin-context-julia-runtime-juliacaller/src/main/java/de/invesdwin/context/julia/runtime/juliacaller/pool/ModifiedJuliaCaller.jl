@@ -16,11 +16,123 @@ begin
 	
 	using JSON
 	
+	# needs to match ModifiedJuliaCaller.READY_MARKER
+	const READY_MARKER = "__JuliaCaller_ready__"
+	
 	function writeln(client, str)
 		write(client, str)
 		write(client, "\n")
 	end
 	
+	# command bytes of the framed protocol are below any printable character, thus text lines can still be used
+	const FRAME_EXECUTE = 0x01
+	const FRAME_GET_JSON = 0x02
+	const FRAME_GET_ARRAY = 0x03
+	const FRAME_PUT_ARRAY = 0x04
+	const FRAME_EXIT = 0x05
+	const FRAME_SHUTDOWN = 0x06
+	const FRAME_OK = 0x10
+	const FRAME_ERROR = 0x11
+	const FRAME_ARRAY = 0x12
+	const FRAME_UNSUPPORTED = 0x13
+	
+	# codes need to match JuliaCallerArrayType, data is transferred in native (little endian) column-major layout
+	const FRAME_ARRAY_TYPES = Dict{DataType, UInt8}(Bool => 0x01, Int8 => 0x02, Int16 => 0x03, Int32 => 0x04, Int64 => 0x05, Float32 => 0x06, Float64 => 0x07)
+	const FRAME_ARRAY_ELTYPES = Dict{UInt8, DataType}(v => k for (k, v) in FRAME_ARRAY_TYPES)
+	
+	# the frame is written at once so that header and payload do not end up in separate packets
+	function writeFrame(client, command::UInt8, payload::AbstractVector{UInt8})
+		__io__ = IOBuffer(sizehint = 5 + length(payload))
+		write(__io__, command)
+		write(__io__, htol(Int32(length(payload))))
+		write(__io__, payload)
+		write(client, take!(__io__))
+		flush(client)
+	end
+	
+	function writeArrayFrame(client, value)
+		if !(value isa Array) || !haskey(FRAME_ARRAY_TYPES, eltype(value)) || ndims(value) > 2
+			writeFrame(client, FRAME_UNSUPPORTED, UInt8[])
+			return
+		end
+		__io__ = IOBuffer(sizehint = 6 + 4 * ndims(value) + sizeof(value))
+		write(__io__, FRAME_ARRAY)
+		write(__io__, htol(Int32(2 + 4 * ndims(value) + sizeof(value))))
+		write(__io__, FRAME_ARRAY_TYPES[eltype(value)])
+		write(__io__, UInt8(ndims(value)))
+		for __dim__ in size(value)
+			write(__io__, htol(Int32(__dim__)))
+		end
+		write(__io__, value)
+		write(client, take!(__io__))
+		flush(client)
+	end
+	
+	function readArray(payload::Vector{UInt8})
+		__io__ = IOBuffer(payload)
+		__name__ = String(read(__io__, Int(ltoh(read(__io__, Int32)))))
+		__type__ = FRAME_ARRAY_ELTYPES[read(__io__, UInt8)]
+		__dims__ = Tuple(Int(ltoh(read(__io__, Int32))) for _ in 1:read(__io__, UInt8))
+		__value__ = Array{__type__}(undef, __dims__)
+		read!(__io__, __value__)
+		Core.eval(Main, Expr(:(=), Symbol(__name__), __value__))
+	end
+	
+	# structured error that is parsed by JuliaScriptException
+	function errorPayload(type::String, message::String, backtrace::String)
+		return Vector{UInt8}(json(Dict("type" => type, "message" => message, "backtrace" => backtrace)))
+	end
+	
+	function errorPayload(err, bt)
+		return errorPayload(string(parentmodule(typeof(err)), ".", nameof(typeof(err))), sprint(showerror, err), sprint(Base.show_backtrace, bt))
+	end
+	
+	# evals are only timed when JuliaEvalStats was initialized, which happens after the server loop was started
+	function evalTimed(f)
+		if isdefined(Main, :evalStats_timed)
+			return Base.invokelatest(Main.evalStats_timed, f)
+		else
+			return f()
+		end
+	end
+	
+	"""
+	Handles a framed command: command byte, payload length (Int32) and payload.
+	
+	Returns false when the client connection should be closed.
+	"""
+	function handle_frame(server, client, command, debug)
+		__payload__ = read(client, Int(ltoh(read(client, Int32))))
+		try
+			if command == FRAME_EXECUTE
+				__command__ = String(__payload__)
+				if debug
+					println(__command__)
+				end
+				evalTimed(() -> Core.eval(Main, Meta.parseall(__command__)))
+				writeFrame(client, FRAME_OK, UInt8[])
+			elseif command == FRAME_GET_JSON
+				writeFrame(client, FRAME_OK, Vector{UInt8}(json(Core.eval(Main, Meta.parse(String(__payload__))))))
+			elseif command == FRAME_GET_ARRAY
+				writeArrayFrame(client, Core.eval(Main, Meta.parse(String(__payload__))))
+			elseif command == FRAME_PUT_ARRAY
+				readArray(__payload__)
+				writeFrame(client, FRAME_OK, UInt8[])
+			elseif command == FRAME_EXIT
+				return false
+			elseif command == FRAME_SHUTDOWN
+				close(client)
+				close(server)
+				return false
+			else
+				writeFrame(client, FRAME_ERROR, errorPayload("Core.ArgumentError", "Unknown command: $command", ""))
+			end
+		catch err
+			writeFrame(client, FRAME_ERROR, errorPayload(err, catch_backtrace()))
+		end
+		return true
+	end
+	
 	"""
 	Handles the client connection.
 	
@@ -33,6 +145,8 @@ begin
 	
 		shutdown: Closes the server.
 	
+		Each command can also be sent as a frame (see handle_frame) which is detected by the first byte.
+	
 	
 	Examples:
 	
@@ -55,15 +169,29 @@ begin
 	"""
 	function handle_client(server, client, debug)
 		while true
+			if eof(client)
+				break
+			end
+			__first__ = read(client, UInt8)
+			if __first__ == UInt8('\n') || __first__ == UInt8('\r')
+				# ignore empty lines
+				continue
+			elseif __first__ < 0x20
+				if handle_frame(server, client, __first__, debug)
+					continue
+				else
+					break
+				end
+			end
 			# WORKAOUND: newlines need to be escaped over the wire, unescape here
-			__line__ = replace(readline(client), "__##@NL@##__" => "\n")
+			__line__ = replace(Char(__first__) * readline(client), "__##@NL@##__" => "\n")
 			if debug
 				println(__line__)
 			end
 			if startswith(__line__, "execute ")
 				__command__ = __line__[9:end]
 				try
-					eval(Meta.parse(__command__))
+					evalTimed(() -> eval(Meta.parse(__command__)))
 				catch err
 					@error err
 				end
@@ -91,15 +219,22 @@ begin
 	
 	
 	"""
-	Creates a TCP server socket and listens on a given port.
+	Creates a TCP server socket and listens on a given port or creates a unix domain socket at the given path.
+	Prints READY_MARKER on stdout as soon as clients can connect.
 	# Arguments
-	- `PORT::Integer`: The port number for the server socket, default is 8000.
+	- `PORT::Union{Integer, AbstractString}`: The port number for the server socket, default is 8000. Or the path for the unix domain socket.
 	"""
 	function serve(PORT=8000, DEBUG=true)
+		if PORT isa AbstractString && ispath(PORT)
+			# remove a stale socket file
+			rm(PORT)
+		end
 		server = listen(PORT)
 		if DEBUG
-			println("Listening JuliaCaller on port $PORT")
+			println("Listening JuliaCaller on $PORT")
 		end
+		println(READY_MARKER)
+		flush(stdout)
 		while true
 			try
 				client = accept(server)
@@ -1,129 +1,101 @@
 package de.invesdwin.context.julia.runtime.juliacaller.pool;
 
-import java.io.BufferedReader;
 import java.io.Closeable;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
-import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
-import de.invesdwin.util.concurrent.Threads;
+import de.invesdwin.context.julia.runtime.contract.io.JuliaConsoleLog;
+import de.invesdwin.context.julia.runtime.contract.io.JuliaConsoleMultiplexer;
+import de.invesdwin.util.lang.Closeables;
 import de.invesdwin.util.lang.string.Strings;
 import de.invesdwin.util.time.date.FTimeUnit;
 
 @ThreadSafe
 public class ModifiedJuliaErrorConsoleWatcher implements Closeable {
 
-    private final BufferedReader errorReader;
-    private final BufferedReader infoReader;
+    private final InputStream errorStream;
+    private final InputStream infoStream;
 
-    private volatile Thread errorThread;
-    private volatile Thread infoThread;
+    private volatile Closeable errorRegistration;
+    private volatile Closeable infoRegistration;
+    private final CountDownLatch ready = new CountDownLatch(1);
 
-    @GuardedBy("self")
-    private final StringBuilder errorMessage = new StringBuilder();
+    private final JuliaConsoleLog errorLog = new JuliaConsoleLog();
 
     public ModifiedJuliaErrorConsoleWatcher(final Process process) {
-        this.errorReader = new BufferedReader(new InputStreamReader(process.getErrorStream()));
-        this.infoReader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        this.errorStream = process.getErrorStream();
+        this.infoStream = process.getInputStream();
     }
 
     public void startWatching() {
-        errorThread = new Thread(new Runnable() {
-            @Override
-            public void run() {
-                final Thread currentThread = Thread.currentThread();
-                try {
-                    while (!Threads.isInterrupted() && errorThread == currentThread) {
-                        final String s = errorReader.readLine();
-                        if (errorThread != currentThread) {
-                            return;
-                        }
-                        if (Strings.isNotBlank(s) && !s.contains("Info: Precompiling ")) {
-                            IScriptTaskRunnerJulia.LOG.warn(s);
-                            synchronized (errorMessage) {
-                                if (errorMessage.length() > 0) {
-                                    errorMessage.append("\n");
-                                }
-                                errorMessage.append(s);
-                            }
-                        } else {
-                            FTimeUnit.MILLISECONDS.sleep(1);
-                        }
-                    }
-                } catch (final Throwable e) {
-                    //ignore, process must have been closed
-                }
-            }
-        });
-        errorThread.start();
-        infoThread = new Thread(new Runnable() {
-            @Override
-            public void run() {
-                final Thread currentThread = Thread.currentThread();
-                try {
-                    while (!Threads.isInterrupted() && infoThread == currentThread) {
-                        final String s = infoReader.readLine();
-                        if (infoThread != currentThread) {
-                            return;
-                        }
-                        if (Strings.isNotBlank(s)) {
-                            IScriptTaskRunnerJulia.LOG.info(s);
-                        } else {
-                            FTimeUnit.MILLISECONDS.sleep(1);
-                        }
-                    }
-                } catch (final Throwable e) {
-                    //ignore, process must have been closed
-                }
-            }
-        });
-        infoThread.start();
+        errorRegistration = JuliaConsoleMultiplexer.INSTANCE.register(errorStream, this::onErrorLine);
+        infoRegistration = JuliaConsoleMultiplexer.INSTANCE.register(infoStream, this::onInfoLine);
     }
 
-    @Override
-    public void close() {
-        errorThread = null;
-        infoThread = null;
-        clearLog();
+    private void onErrorLine(final String s) {
+        if (Strings.isNotBlank(s) && !s.contains("Info: Precompiling ")) {
+            IScriptTaskRunnerJulia.LOG.warn(s);
+            errorLog.add(s);
+        }
     }
 
-    public void clearLog() {
-        synchronized (errorMessage) {
-            errorMessage.setLength(0);
+    private void onInfoLine(final String s) {
+        if (ModifiedJuliaCaller.READY_MARKER.equals(s)) {
+            ready.countDown();
+        } else if (Strings.isNotBlank(s)) {
+            IScriptTaskRunnerJulia.LOG.info(s);
         }
     }
 
-    private int getErrorMessageLength() {
-        synchronized (errorMessage) {
-            return errorMessage.length();
+    /**
+     * Returns true as soon as the server printed its ready marker on stdout.
+     */
+    public boolean awaitReady(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return ready.await(timeout, unit);
+    }
+
+    @Override
+    public void close() {
+        final Closeable errorRegistrationCopy = errorRegistration;
+        if (errorRegistrationCopy != null) {
+            errorRegistration = null;
+            Closeables.closeQuietly(errorRegistrationCopy);
+        }
+        final Closeable infoRegistrationCopy = infoRegistration;
+        if (infoRegistrationCopy != null) {
+            infoRegistration = null;
+            Closeables.closeQuietly(infoRegistrationCopy);
         }
+        clearLog();
     }
 
+    public void clearLog() {
+        errorLog.clear();
+    }
+
+    /**
+     * The line protocol has no in-band errors, thus wait for the whole message to arrive. The framed protocol only uses
+     * this for diagnostics.
+     */
     public String getErrorMessage() {
-        int prevLength = 0;
+        int prevSize = 0;
         while (true) {
-            final int length = getErrorMessageLength();
-            if (length == 0) {
+            final int size = errorLog.size();
+            if (size == 0) {
                 return null;
             }
-            if (length > prevLength) {
-                prevLength = length;
+            if (size > prevSize) {
+                prevSize = size;
                 //wait for the whole messsage to arrive
                 FTimeUnit.MILLISECONDS.sleepNoInterrupt(50);
             } else {
                 break;
             }
         }
-        final String str;
-        synchronized (errorMessage) {
-            if (errorMessage.length() == 0) {
-                return null;
-            }
-            str = String.valueOf(errorMessage).trim();
-            errorMessage.setLength(0);
-        }
-        return str;
+        return errorLog.drain();
     }
-}
\ No newline at end of file
+}
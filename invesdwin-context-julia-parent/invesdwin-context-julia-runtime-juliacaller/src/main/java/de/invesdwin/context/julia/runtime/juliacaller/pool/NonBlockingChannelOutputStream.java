@@ -0,0 +1,55 @@
+package de.invesdwin.context.julia.runtime.juliacaller.pool;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import de.invesdwin.context.julia.runtime.contract.io.JuliaWaitStrategy;
+
+/**
+ * Channels.newOutputStream does not support non-blocking channels, thus writes are retried with the wait strategy
+ * while the socket buffer is full.
+ */
+@NotThreadSafe
+public class NonBlockingChannelOutputStream extends OutputStream {
+
+    private final WritableByteChannel channel;
+    private final JuliaWaitStrategy waitStrategy;
+    private final byte[] singleByte = new byte[1];
+
+    public NonBlockingChannelOutputStream(final WritableByteChannel channel, final JuliaWaitStrategy waitStrategy) {
+        this.channel = channel;
+        this.waitStrategy = waitStrategy;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        singleByte[0] = (byte) b;
+        write(singleByte, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+        long waitStartNanos = 0;
+        while (buffer.hasRemaining()) {
+            if (channel.write(buffer) == 0) {
+                if (waitStartNanos == 0) {
+                    waitStartNanos = System.nanoTime();
+                }
+                waitStrategy.idle(waitStartNanos);
+            } else {
+                waitStartNanos = 0;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -5,7 +5,9 @@ import javax.annotation.concurrent.NotThreadSafe;
 import org.junit.jupiter.api.Test;
 
 import de.invesdwin.context.julia.runtime.contract.InputsAndResultsTests;
+import de.invesdwin.context.julia.runtime.contract.callback.AsyncCallbackTest;
 import de.invesdwin.context.julia.runtime.contract.callback.SimpleCallbackTest;
+import de.invesdwin.context.julia.runtime.contract.callback.MemoizedCallbackTest;
 import de.invesdwin.context.julia.runtime.contract.callback.ParametersAndReturnsTests;
 import de.invesdwin.context.test.ATest;
 import jakarta.inject.Inject;
@@ -26,6 +28,11 @@ public class JuliaCallerScriptTaskRunnerJuliaTest extends ATest {
         new InputsAndResultsTests(runner).testParallel();
     }
 
+    @Test
+    public void testRunAll() {
+        new InputsAndResultsTests(runner).testRunAll();
+    }
+
     @Test
     public void testCallback() {
         new ParametersAndReturnsTests(runner).test();
@@ -41,4 +48,24 @@ public class JuliaCallerScriptTaskRunnerJuliaTest extends ATest {
         new SimpleCallbackTest(runner).testSimpleCallback();
     }
 
+    @Test
+    public void testMemoizedCallback() {
+        new MemoizedCallbackTest(runner).testMemoizedCallback();
+    }
+
+    @Test
+    public void testAsyncCallbackFailure() {
+        new AsyncCallbackTest(runner).testAsyncCallbackFailure();
+    }
+
+    @Test
+    public void testAsyncCallbackFailureAtDeinit() {
+        new AsyncCallbackTest(runner).testAsyncCallbackFailureAtDeinit();
+    }
+
+    @Test
+    public void testSimpleCallbackSharedMemory() {
+        new SimpleCallbackTest(runner).testSimpleCallbackSharedMemory();
+    }
+
 }
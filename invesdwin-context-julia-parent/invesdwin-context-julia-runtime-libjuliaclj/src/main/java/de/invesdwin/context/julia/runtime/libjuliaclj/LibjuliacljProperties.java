@@ -10,6 +10,11 @@ import de.invesdwin.context.system.properties.SystemProperties;
 public final class LibjuliacljProperties {
 
     public static final File JULIA_HOME;
+    /**
+     * Tasks without callbacks are evaluated in their own module as a spawned julia task, so independent tasks can use
+     * multiple julia threads instead of being serialized on the engine thread.
+     */
+    public static final boolean TASK_MODULES;
 
     static {
         final SystemProperties systemProperties = new SystemProperties(LibjuliacljProperties.class);
@@ -18,6 +23,7 @@ public final class LibjuliacljProperties {
         } else {
             JULIA_HOME = null;
         }
+        TASK_MODULES = systemProperties.containsValue("TASK_MODULES") && systemProperties.getBoolean("TASK_MODULES");
     }
 
     private LibjuliacljProperties() {
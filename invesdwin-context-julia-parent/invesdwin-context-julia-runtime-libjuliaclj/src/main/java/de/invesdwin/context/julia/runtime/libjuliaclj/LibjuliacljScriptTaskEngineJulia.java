@@ -2,7 +2,8 @@ package de.invesdwin.context.julia.runtime.libjuliaclj;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
-import de.invesdwin.context.integration.script.IScriptTaskEngine;
+import de.invesdwin.context.julia.runtime.contract.IScriptTaskEngineJulia;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
 import de.invesdwin.context.julia.runtime.libjuliaclj.internal.ExecutorJuliaEngineWrapper;
 import de.invesdwin.context.julia.runtime.libjuliaclj.internal.IJuliaEngineWrapper;
 import de.invesdwin.context.julia.runtime.libjuliaclj.internal.UncheckedJuliaEngineWrapper;
@@ -10,7 +11,7 @@ import de.invesdwin.util.concurrent.WrappedExecutorService;
 import de.invesdwin.util.concurrent.lock.ILock;
 
 @NotThreadSafe
-public class LibjuliacljScriptTaskEngineJulia implements IScriptTaskEngine {
+public class LibjuliacljScriptTaskEngineJulia implements IScriptTaskEngineJulia {
 
     private IJuliaEngineWrapper juliaEngine;
     private final LibjuliacljScriptTaskInputsJulia inputs;
@@ -37,6 +38,11 @@ public class LibjuliacljScriptTaskEngineJulia implements IScriptTaskEngine {
         return results;
     }
 
+    @Override
+    public JuliaScriptCache getScriptCache() {
+        return juliaEngine.getScriptCache();
+    }
+
     @Override
     public void close() {
         if (juliaEngine != null) {
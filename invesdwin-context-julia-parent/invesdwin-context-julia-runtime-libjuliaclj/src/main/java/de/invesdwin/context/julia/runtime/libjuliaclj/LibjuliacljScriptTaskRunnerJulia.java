@@ -1,5 +1,8 @@
 package de.invesdwin.context.julia.runtime.libjuliaclj;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Future;
 
 import javax.annotation.concurrent.Immutable;
@@ -7,11 +10,16 @@ import javax.annotation.concurrent.Immutable;
 import org.springframework.beans.factory.FactoryBean;
 
 import de.invesdwin.context.integration.script.callback.IScriptTaskCallback;
-import de.invesdwin.context.integration.script.callback.LoggingDelegateScriptTaskCallback;
 import de.invesdwin.context.julia.runtime.contract.AScriptTaskJulia;
 import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
-import de.invesdwin.context.julia.runtime.contract.callback.socket.SocketScriptTaskCallbackContext;
+import de.invesdwin.context.julia.runtime.contract.JuliaBatches;
+import de.invesdwin.context.julia.runtime.contract.callback.AScriptTaskCallbackContextJulia;
+import de.invesdwin.context.julia.runtime.contract.callback.JuliaCallbackContexts;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTaskPhase;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTaskRecorder;
 import de.invesdwin.context.julia.runtime.libjuliaclj.internal.InitializingJuliaEngineWrapper;
+import de.invesdwin.context.julia.runtime.libjuliaclj.internal.ModuleJuliaEngineWrapper;
+import de.invesdwin.context.julia.runtime.libjuliaclj.internal.UncheckedJuliaEngineWrapper;
 import de.invesdwin.util.concurrent.future.Futures;
 import de.invesdwin.util.concurrent.lock.ILock;
 import de.invesdwin.util.error.Throwables;
@@ -24,58 +32,190 @@ public final class LibjuliacljScriptTaskRunnerJulia
 
     public static final LibjuliacljScriptTaskRunnerJulia INSTANCE = new LibjuliacljScriptTaskRunnerJulia();
 
+    private final boolean taskModules;
+
     /**
      * public for ServiceLoader support
      */
-    public LibjuliacljScriptTaskRunnerJulia() {}
+    public LibjuliacljScriptTaskRunnerJulia() {
+        this(LibjuliacljProperties.TASK_MODULES);
+    }
+
+    /**
+     * Allows to use task modules (see LibjuliacljProperties.TASK_MODULES) independent of the system property, both
+     * modes share the same julia engine.
+     */
+    public LibjuliacljScriptTaskRunnerJulia(final boolean taskModules) {
+        this.taskModules = taskModules;
+    }
+
+    public boolean isTaskModules() {
+        return taskModules;
+    }
 
     @Override
     public <T> T run(final AScriptTaskJulia<T> scriptTask) {
+        if (taskModules && scriptTask.getCallback() == null) {
+            //callbacks rely on globals in Main, thus only tasks without callbacks can run concurrently
+            return runModule(scriptTask);
+        }
         //get session
         final LibjuliacljScriptTaskEngineJulia engine = new LibjuliacljScriptTaskEngineJulia(
                 InitializingJuliaEngineWrapper.getInstance());
+        final JuliaTaskRecorder recorder = JuliaTaskRecorder.start(this, scriptTask);
         final Future<T> future = engine.getSharedExecutor().submit(() -> {
-            final IScriptTaskCallback callback = scriptTask.getCallback();
-            final SocketScriptTaskCallbackContext context;
-            if (callback != null) {
-                context = new SocketScriptTaskCallbackContext(
-                        LoggingDelegateScriptTaskCallback.maybeWrap(LOG, callback));
-            } else {
-                context = null;
-            }
             final ILock lock = engine.getSharedLock();
             lock.lock();
+            recorder.lap(JuliaTaskPhase.BORROW);
             try {
-                //inputs
-                if (context != null) {
-                    context.init(engine);
-                }
-                scriptTask.populateInputs(engine.getInputs());
+                final T result = run(engine, scriptTask, recorder);
+                engine.close();
+                recorder.lap(JuliaTaskPhase.RESET);
+                recorder.finish();
 
-                //execute
-                scriptTask.executeScript(engine);
+                //return
+                return result;
+            } catch (final Throwable t) {
+                recorder.fail();
+                throw Throwables.propagate(t);
+            } finally {
+                lock.unlock();
+            }
+        });
+        return Futures.getNoInterrupt(future);
+    }
 
-                //results
-                final T result = scriptTask.extractResults(engine.getResults());
-                if (context != null) {
-                    context.deinit(engine);
+    /**
+     * There is only one engine, thus the whole batch runs on the engine thread with only a light reset between tasks.
+     */
+    @Override
+    public <T> List<T> runAll(final Collection<? extends AScriptTaskJulia<T>> scriptTasks) {
+        if (taskModules) {
+            //tasks in separate modules are cheap to set up, so partitions use the concurrency of julia threads instead
+            return JuliaBatches.runPartitioned(scriptTasks,
+                    (partition) -> IScriptTaskRunnerJulia.super.runAll(partition));
+        }
+        //get session
+        final LibjuliacljScriptTaskEngineJulia engine = new LibjuliacljScriptTaskEngineJulia(
+                InitializingJuliaEngineWrapper.getInstance());
+        final Future<List<T>> future = engine.getSharedExecutor().submit(() -> {
+            final ILock lock = engine.getSharedLock();
+            lock.lock();
+            try {
+                final List<T> results = new ArrayList<>(scriptTasks.size());
+                for (final AScriptTaskJulia<T> scriptTask : scriptTasks) {
+                    final JuliaTaskRecorder recorder = JuliaTaskRecorder.start(this, scriptTask);
+                    if (!results.isEmpty()) {
+                        UncheckedJuliaEngineWrapper.INSTANCE.resetLight();
+                        recorder.lap(JuliaTaskPhase.RESET);
+                    }
+                    try {
+                        results.add(run(engine, scriptTask, recorder));
+                    } catch (final Throwable t) {
+                        recorder.fail();
+                        throw t;
+                    }
+                    recorder.finish();
                 }
                 engine.close();
 
                 //return
-                return result;
+                return results;
             } catch (final Throwable t) {
                 throw Throwables.propagate(t);
             } finally {
                 lock.unlock();
-                if (context != null) {
-                    context.close();
-                }
             }
         });
         return Futures.getNoInterrupt(future);
     }
 
+    /**
+     * All tasks queue up on the single engine thread. Task modules only occupy the engine thread for short calls and
+     * run the scripts concurrently on julia threads, thus the queue depth is not known then.
+     */
+    @Override
+    public int getPendingCount() {
+        if (taskModules) {
+            return -1;
+        }
+        return UncheckedJuliaEngineWrapper.EXECUTOR.getPendingCount();
+    }
+
+    /**
+     * Values are converted natively without a protocol, thus no transfers are counted.
+     */
+    private static <T> T run(final LibjuliacljScriptTaskEngineJulia engine, final AScriptTaskJulia<T> scriptTask,
+            final JuliaTaskRecorder recorder) {
+        final IScriptTaskCallback callback = scriptTask.getCallback();
+        final AScriptTaskCallbackContextJulia context;
+        if (callback != null) {
+            context = JuliaCallbackContexts.newInProcessContext(callback);
+        } else {
+            context = null;
+        }
+        try {
+            //inputs
+            recorder.beginEvalStats(engine);
+            if (context != null) {
+                context.init(engine);
+            }
+            scriptTask.populateInputs(engine.getInputs());
+            recorder.lap(JuliaTaskPhase.INPUTS);
+
+            //execute
+            scriptTask.executeScript(engine);
+            recorder.lap(JuliaTaskPhase.EXECUTE);
+
+            //results
+            final T result = scriptTask.extractResults(engine.getResults());
+            if (context != null) {
+                context.deinit(engine);
+            }
+            recorder.endEvalStats();
+            recorder.lap(JuliaTaskPhase.RESULTS);
+            return result;
+        } finally {
+            if (context != null) {
+                recorder.callbacks(context);
+                context.close();
+            }
+        }
+    }
+
+    private <T> T runModule(final AScriptTaskJulia<T> scriptTask) {
+        //each command is dispatched to the engine thread separately, so no lock is held while the script runs
+        final JuliaTaskRecorder recorder = JuliaTaskRecorder.start(this, scriptTask);
+        final LibjuliacljScriptTaskEngineJulia engine = new LibjuliacljScriptTaskEngineJulia(
+                new ModuleJuliaEngineWrapper());
+        recorder.lap(JuliaTaskPhase.BORROW);
+        try {
+            //inputs, the eval stats are kept per module because other tasks run concurrently
+            recorder.beginEvalStats(engine);
+            scriptTask.populateInputs(engine.getInputs());
+            recorder.lap(JuliaTaskPhase.INPUTS);
+
+            //execute
+            scriptTask.executeScript(engine);
+            recorder.lap(JuliaTaskPhase.EXECUTE);
+
+            //results
+            final T result = scriptTask.extractResults(engine.getResults());
+            recorder.endEvalStats();
+            recorder.lap(JuliaTaskPhase.RESULTS);
+            recorder.finish();
+
+            //return
+            return result;
+        } catch (final Throwable t) {
+            recorder.fail();
+            throw Throwables.propagate(t);
+        } finally {
+            engine.close();
+            recorder.lap(JuliaTaskPhase.RESET);
+        }
+    }
+
     @Override
     public LibjuliacljScriptTaskRunnerJulia getObject() throws Exception {
         return INSTANCE;
@@ -6,6 +6,7 @@ import javax.annotation.concurrent.ThreadSafe;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
 import de.invesdwin.util.concurrent.WrappedExecutorService;
 import de.invesdwin.util.concurrent.future.Futures;
 import de.invesdwin.util.concurrent.lock.IReentrantLock;
@@ -415,6 +416,11 @@ public final class ExecutorJuliaEngineWrapper implements IJuliaEngineWrapper {
         return delegate.getLock();
     }
 
+    @Override
+    public JuliaScriptCache getScriptCache() {
+        return delegate.getScriptCache();
+    }
+
     public static ExecutorJuliaEngineWrapper getInstance() {
         if (InitializingJuliaEngineWrapper.isInitialized()) {
             return UNCHECKED;
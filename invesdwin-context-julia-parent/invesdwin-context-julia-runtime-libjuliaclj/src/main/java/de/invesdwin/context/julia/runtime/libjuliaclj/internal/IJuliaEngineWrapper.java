@@ -2,6 +2,7 @@ package de.invesdwin.context.julia.runtime.libjuliaclj.internal;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
 import de.invesdwin.util.concurrent.lock.IReentrantLock;
 
 public interface IJuliaEngineWrapper {
@@ -14,6 +15,8 @@ public interface IJuliaEngineWrapper {
 
     IReentrantLock getLock();
 
+    JuliaScriptCache getScriptCache();
+
     void putByteVector(String variable, byte[] vector);
 
     byte[] getByteVector(String variable);
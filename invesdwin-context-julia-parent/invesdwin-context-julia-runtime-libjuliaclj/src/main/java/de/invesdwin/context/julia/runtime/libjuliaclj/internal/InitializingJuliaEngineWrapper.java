@@ -4,6 +4,7 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
 import de.invesdwin.util.concurrent.future.Futures;
 import de.invesdwin.util.concurrent.lock.IReentrantLock;
 
@@ -432,6 +433,12 @@ public final class InitializingJuliaEngineWrapper implements IJuliaEngineWrapper
         return UncheckedJuliaEngineWrapper.INSTANCE.getLock();
     }
 
+    @Override
+    public JuliaScriptCache getScriptCache() {
+        maybeInit();
+        return UncheckedJuliaEngineWrapper.INSTANCE.getScriptCache();
+    }
+
     public static IJuliaEngineWrapper getInstance() {
         INSTANCE.maybeInit();
         return UncheckedJuliaEngineWrapper.INSTANCE;
@@ -0,0 +1,467 @@
+package de.invesdwin.context.julia.runtime.libjuliaclj.internal;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.springframework.core.io.ClassPathResource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.jna.Memory;
+import com.sun.jna.Pointer;
+
+import de.invesdwin.context.julia.runtime.contract.io.JuliaWaitStrategy;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaEvalEvent;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptSource;
+import de.invesdwin.util.concurrent.future.Futures;
+import de.invesdwin.util.concurrent.lock.IReentrantLock;
+import de.invesdwin.util.concurrent.lock.Locks;
+import de.invesdwin.util.math.Booleans;
+
+/**
+ * Evaluates one script task inside its own julia module. Each command is evaluated as a spawned julia task
+ * (Threads.@spawn) so that the EXECUTOR thread is only occupied for short calls and multiple tasks can run on the julia
+ * threads concurrently. The spawned task sets a flag in native memory when it is finished, thus waiting for it does not
+ * need the EXECUTOR thread. Values are transferred via a variable in Main that is moved into the module on the EXECUTOR
+ * thread, thus they never interfere with other tasks. Compiled scripts are defined in Main on the EXECUTOR thread and
+ * each module only imports the functions its commands refer to.
+ */
+@ThreadSafe
+public final class ModuleJuliaEngineWrapper implements IJuliaEngineWrapper {
+
+    /**
+     * Evaluated by UncheckedJuliaEngineWrapper.init() so that the functions are protected from reset.
+     */
+    public static final String INIT_SCRIPT = JuliaScriptSource.readScript(new ClassPathResource(
+            ModuleJuliaEngineWrapper.class.getSimpleName() + ".jl", ModuleJuliaEngineWrapper.class));
+    private static final String TASK_VALUE = "libjuliaclj_taskValue";
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final VarHandle DONE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final UncheckedJuliaEngineWrapper delegate;
+    private final int id;
+    private final IReentrantLock lock;
+    /**
+     * Written by the spawned julia task, thus it has to stay allocated until the module is closed.
+     */
+    private final Memory doneMemory;
+    private final ByteBuffer done;
+    private volatile boolean closed;
+
+    public ModuleJuliaEngineWrapper() {
+        this.delegate = (UncheckedJuliaEngineWrapper) InitializingJuliaEngineWrapper.getInstance();
+        this.id = NEXT_ID.incrementAndGet();
+        this.lock = Locks.newReentrantLock(ModuleJuliaEngineWrapper.class.getSimpleName() + "_" + id + "_lock");
+        this.doneMemory = new Memory(Long.BYTES);
+        this.done = doneMemory.getByteBuffer(0, Long.BYTES).order(ByteOrder.nativeOrder());
+        execute(() -> delegate.eval(
+                "libjuliaclj_newTaskModule(" + id + ", " + Pointer.nativeValue(doneMemory) + ")"));
+    }
+
+    @Override
+    public void eval(final String command) {
+        final JuliaEvalEvent event = new JuliaEvalEvent();
+        event.begin();
+        try {
+            DONE.setRelease(done, 0, 0L);
+            final Object spawned = submit(() -> libjulia_clj.java_api
+                    .runString("libjuliaclj_spawnTask(" + id + ", " + newJuliaString(command) + ")"));
+            if (!(spawned instanceof Boolean)) {
+                throw new IllegalStateException("Command [" + command + "] failed: " + spawned);
+            }
+            if (!Booleans.checkedCast(spawned)) {
+                awaitDone();
+                final Object result = submit(
+                        () -> libjulia_clj.java_api.runString("libjuliaclj_finishTask(" + id + ")"));
+                if (!(result instanceof Boolean) || !Booleans.checkedCast(result)) {
+                    throw new IllegalStateException("Command [" + command + "] failed: " + result);
+                }
+            }
+            event.success();
+        } finally {
+            event.finish(UncheckedJuliaEngineWrapper.RUNTIME, command);
+        }
+    }
+
+    private void awaitDone() {
+        final long waitStartNanos = System.nanoTime();
+        while ((long) DONE.getAcquire(done, 0) == 0L) {
+            if (UncheckedJuliaEngineWrapper.EXECUTOR.getPendingCount() == 0) {
+                //the task might have been scheduled on the engine thread where it only runs while julia yields, this
+                //only uses the EXECUTOR thread while no other commands are waiting for it
+                execute(() -> libjulia_clj.java_api.runString("libjuliaclj_yieldTasks()"));
+            }
+            JuliaWaitStrategy.DEFAULT.idle(waitStartNanos);
+        }
+    }
+
+    @Override
+    public JsonNode getAsJsonNode(final String variable) {
+        return get(variable, () -> delegate.getAsJsonNode(TASK_VALUE));
+    }
+
+    @Override
+    public void putByteVector(final String variable, final byte[] vector) {
+        put(variable, () -> delegate.putByteVector(TASK_VALUE, vector));
+    }
+
+    @Override
+    public byte[] getByteVector(final String variable) {
+        return get(variable, () -> delegate.getByteVector(TASK_VALUE));
+    }
+
+    @Override
+    public void putShortVector(final String variable, final short[] vector) {
+        put(variable, () -> delegate.putShortVector(TASK_VALUE, vector));
+    }
+
+    @Override
+    public short[] getShortVector(final String variable) {
+        return get(variable, () -> delegate.getShortVector(TASK_VALUE));
+    }
+
+    @Override
+    public void putIntegerVector(final String variable, final int[] vector) {
+        put(variable, () -> delegate.putIntegerVector(TASK_VALUE, vector));
+    }
+
+    @Override
+    public int[] getIntegerVector(final String variable) {
+        return get(variable, () -> delegate.getIntegerVector(TASK_VALUE));
+    }
+
+    @Override
+    public void putLongVector(final String variable, final long[] vector) {
+        put(variable, () -> delegate.putLongVector(TASK_VALUE, vector));
+    }
+
+    @Override
+    public long[] getLongVector(final String variable) {
+        return get(variable, () -> delegate.getLongVector(TASK_VALUE));
+    }
+
+    @Override
+    public void putFloatVector(final String variable, final float[] vector) {
+        put(variable, () -> delegate.putFloatVector(TASK_VALUE, vector));
+    }
+
+    @Override
+    public float[] getFloatVector(final String variable) {
+        return get(variable, () -> delegate.getFloatVector(TASK_VALUE));
+    }
+
+    @Override
+    public void putDoubleVector(final String variable, final double[] vector) {
+        put(variable, () -> delegate.putDoubleVector(TASK_VALUE, vector));
+    }
+
+    @Override
+    public double[] getDoubleVector(final String variable) {
+        return get(variable, () -> delegate.getDoubleVector(TASK_VALUE));
+    }
+
+    @Override
+    public void putByteMatrix(final String variable, final byte[][] matrix) {
+        put(variable, () -> delegate.putByteMatrix(TASK_VALUE, matrix));
+    }
+
+    @Override
+    public byte[][] getByteMatrix(final String variable) {
+        return get(variable, () -> delegate.getByteMatrix(TASK_VALUE));
+    }
+
+    @Override
+    public void putShortMatrix(final String variable, final short[][] matrix) {
+        put(variable, () -> delegate.putShortMatrix(TASK_VALUE, matrix));
+    }
+
+    @Override
+    public short[][] getShortMatrix(final String variable) {
+        return get(variable, () -> delegate.getShortMatrix(TASK_VALUE));
+    }
+
+    @Override
+    public void putIntegerMatrix(final String variable, final int[][] matrix) {
+        put(variable, () -> delegate.putIntegerMatrix(TASK_VALUE, matrix));
+    }
+
+    @Override
+    public int[][] getIntegerMatrix(final String variable) {
+        return get(variable, () -> delegate.getIntegerMatrix(TASK_VALUE));
+    }
+
+    @Override
+    public void putLongMatrix(final String variable, final long[][] matrix) {
+        put(variable, () -> delegate.putLongMatrix(TASK_VALUE, matrix));
+    }
+
+    @Override
+    public long[][] getLongMatrix(final String variable) {
+        return get(variable, () -> delegate.getLongMatrix(TASK_VALUE));
+    }
+
+    @Override
+    public void putFloatMatrix(final String variable, final float[][] matrix) {
+        put(variable, () -> delegate.putFloatMatrix(TASK_VALUE, matrix));
+    }
+
+    @Override
+    public float[][] getFloatMatrix(final String variable) {
+        return get(variable, () -> delegate.getFloatMatrix(TASK_VALUE));
+    }
+
+    @Override
+    public void putDoubleMatrix(final String variable, final double[][] matrix) {
+        put(variable, () -> delegate.putDoubleMatrix(TASK_VALUE, matrix));
+    }
+
+    @Override
+    public double[][] getDoubleMatrix(final String variable) {
+        return get(variable, () -> delegate.getDoubleMatrix(TASK_VALUE));
+    }
+
+    @Override
+    public String[] getStringVectorAsJson(final String variable) {
+        return get(variable, () -> delegate.getStringVectorAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public String[][] getStringMatrixAsJson(final String variable) {
+        return get(variable, () -> delegate.getStringMatrixAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public char[] getCharacterVectorAsJson(final String variable) {
+        return get(variable, () -> delegate.getCharacterVectorAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public char[][] getCharacterMatrixAsJson(final String variable) {
+        return get(variable, () -> delegate.getCharacterMatrixAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public boolean[] getBooleanVectorAsJson(final String variable) {
+        return get(variable, () -> delegate.getBooleanVectorAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public boolean[][] getBooleanMatrixAsJson(final String variable) {
+        return get(variable, () -> delegate.getBooleanMatrixAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public byte[] getByteVectorAsJson(final String variable) {
+        return get(variable, () -> delegate.getByteVectorAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public byte[][] getByteMatrixAsJson(final String variable) {
+        return get(variable, () -> delegate.getByteMatrixAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public short[] getShortVectorAsJson(final String variable) {
+        return get(variable, () -> delegate.getShortVectorAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public short[][] getShortMatrixAsJson(final String variable) {
+        return get(variable, () -> delegate.getShortMatrixAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public int[] getIntegerVectorAsJson(final String variable) {
+        return get(variable, () -> delegate.getIntegerVectorAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public int[][] getIntegerMatrixAsJson(final String variable) {
+        return get(variable, () -> delegate.getIntegerMatrixAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public long[] getLongVectorAsJson(final String variable) {
+        return get(variable, () -> delegate.getLongVectorAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public long[][] getLongMatrixAsJson(final String variable) {
+        return get(variable, () -> delegate.getLongMatrixAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public float[] getFloatVectorAsJson(final String variable) {
+        return get(variable, () -> delegate.getFloatVectorAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public float[][] getFloatMatrixAsJson(final String variable) {
+        return get(variable, () -> delegate.getFloatMatrixAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public double[] getDoubleVectorAsJson(final String variable) {
+        return get(variable, () -> delegate.getDoubleVectorAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public double[][] getDoubleMatrixAsJson(final String variable) {
+        return get(variable, () -> delegate.getDoubleMatrixAsJson(TASK_VALUE));
+    }
+
+    @Override
+    public void putCharacterVectorAsString(final String variable, final char[] value) {
+        put(variable, () -> delegate.putCharacterVectorAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putCharacterMatrixAsString(final String variable, final char[][] value) {
+        put(variable, () -> delegate.putCharacterMatrixAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putStringVectorAsString(final String variable, final String[] value) {
+        put(variable, () -> delegate.putStringVectorAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putStringMatrixAsString(final String variable, final String[][] value) {
+        put(variable, () -> delegate.putStringMatrixAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putBooleanVectorAsString(final String variable, final boolean[] value) {
+        put(variable, () -> delegate.putBooleanVectorAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putBooleanMatrixAsString(final String variable, final boolean[][] value) {
+        put(variable, () -> delegate.putBooleanMatrixAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putByteVectorAsString(final String variable, final byte[] value) {
+        put(variable, () -> delegate.putByteVectorAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putByteMatrixAsString(final String variable, final byte[][] value) {
+        put(variable, () -> delegate.putByteMatrixAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putShortVectorAsString(final String variable, final short[] value) {
+        put(variable, () -> delegate.putShortVectorAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putShortMatrixAsString(final String variable, final short[][] value) {
+        put(variable, () -> delegate.putShortMatrixAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putIntegerVectorAsString(final String variable, final int[] value) {
+        put(variable, () -> delegate.putIntegerVectorAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putIntegerMatrixAsString(final String variable, final int[][] value) {
+        put(variable, () -> delegate.putIntegerMatrixAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putLongVectorAsString(final String variable, final long[] value) {
+        put(variable, () -> delegate.putLongVectorAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putLongMatrixAsString(final String variable, final long[][] value) {
+        put(variable, () -> delegate.putLongMatrixAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putFloatVectorAsString(final String variable, final float[] value) {
+        put(variable, () -> delegate.putFloatVectorAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putFloatMatrixAsString(final String variable, final float[][] value) {
+        put(variable, () -> delegate.putFloatMatrixAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putDoubleVectorAsString(final String variable, final double[] value) {
+        put(variable, () -> delegate.putDoubleVectorAsString(TASK_VALUE, value));
+    }
+
+    @Override
+    public void putDoubleMatrixAsString(final String variable, final double[][] value) {
+        put(variable, () -> delegate.putDoubleMatrixAsString(TASK_VALUE, value));
+    }
+
+    private void put(final String variable, final Runnable put) {
+        execute(() -> {
+            put.run();
+            delegate.eval("libjuliaclj_moveTaskValue(" + id + ", " + newJuliaString(variable) + ")");
+        });
+    }
+
+    private <T> T get(final String expression, final Callable<T> get) {
+        return submit(() -> {
+            delegate.eval("libjuliaclj_getTaskValue(" + id + ", " + newJuliaString(expression) + ")");
+            try {
+                return get.call();
+            } finally {
+                delegate.eval("libjuliaclj_clearTaskValue()");
+            }
+        });
+    }
+
+    private static void execute(final Runnable task) {
+        final Future<?> future = UncheckedJuliaEngineWrapper.EXECUTOR.submit(task);
+        Futures.waitNoInterrupt(future);
+    }
+
+    private static <T> T submit(final Callable<T> task) {
+        final Future<T> future = UncheckedJuliaEngineWrapper.EXECUTOR.submit(task);
+        return Futures.getNoInterrupt(future);
+    }
+
+    private static String newJuliaString(final String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("$", "\\$") + "\"";
+    }
+
+    /**
+     * Drops the module, a new module is created for the next task.
+     */
+    @Override
+    public void reset() {
+        if (!closed) {
+            closed = true;
+            execute(() -> delegate.eval("libjuliaclj_closeTaskModule(" + id + ")"));
+            doneMemory.close();
+        }
+    }
+
+    /**
+     * Each instance has its own module, so no shared locking required.
+     */
+    @Override
+    public IReentrantLock getLock() {
+        return lock;
+    }
+
+    @Override
+    public JuliaScriptCache getScriptCache() {
+        return delegate.getScriptCache();
+    }
+
+}
@@ -0,0 +1,140 @@
+#disable repl output during initialization by wrapping everything in a begin ... end
+begin
+
+	# every task gets its own module so that independent tasks can be evaluated concurrently on the julia threads,
+	# these functions are only called from the engine thread, only the evaluation itself runs in a spawned task
+	const libjuliaclj_taskModules = Dict{Int, Module}()
+	const libjuliaclj_tasks = Dict{Int, Task}()
+	# a finished task sets this flag to 1, java waits on it without occupying the engine thread
+	const libjuliaclj_taskDone = Dict{Int, Ptr{Int64}}()
+	# transfers values between Main (where libjulia-clj puts and gets them) and the module of a task
+	libjuliaclj_taskValue = nothing
+
+	function libjuliaclj_newTaskModule(id::Int, done::Integer)
+		mod = Module(Symbol("libjuliaclj_task_", id))
+		Core.eval(mod, :(using JSON))
+		# eval stats of this task only, the totals in Main would include other tasks that run concurrently
+		Core.eval(mod, :(const libjuliaclj_evalStats = zeros(Int64, 5)))
+		Core.eval(mod, :(evalStats_get() = copy(libjuliaclj_evalStats)))
+		libjuliaclj_taskModules[id] = mod
+		libjuliaclj_taskDone[id] = Ptr{Int64}(UInt(done))
+		return nothing
+	end
+
+	function libjuliaclj_closeTaskModule(id::Int)
+		# a task that is still running keeps its module alive until it is finished
+		delete!(libjuliaclj_tasks, id)
+		delete!(libjuliaclj_taskModules, id)
+		delete!(libjuliaclj_taskDone, id)
+		return nothing
+	end
+
+	# functions of Main that the command refers to (e.g. compiled scripts) are made available to the module, its own
+	# definitions take precedence
+	function libjuliaclj_importMain(mod::Module, ex)
+		if ex isa Symbol
+			if !isdefined(mod, ex) && isdefined(Main, ex)
+				value = getfield(Main, ex)
+				if value isa Function && parentmodule(value) === Main
+					Core.eval(mod, Expr(:import, Expr(:., :Main, ex)))
+				end
+			end
+		elseif ex isa Expr
+			for arg in ex.args
+				libjuliaclj_importMain(mod, arg)
+			end
+		end
+		return nothing
+	end
+
+	# compiling defines the function in Main (see scriptCache_compile), thus it happens on the engine thread instead of
+	# a spawned task so that Main is never modified concurrently, the tasks of all modules then share the function
+	function libjuliaclj_isCompile(parsed::Expr)
+		found = false
+		for ex in parsed.args
+			if ex isa LineNumberNode
+				continue
+			elseif ex isa Expr && ex.head == :call && ex.args[1] === :scriptCache_compile
+				found = true
+			else
+				return false
+			end
+		end
+		return found
+	end
+
+	function libjuliaclj_evalTaskTimed(target::Module, parsed, stats::Vector{Int64})
+		if isdefined(Main, :evalStats_timed)
+			return Base.invokelatest(Main.evalStats_timed, () -> Core.eval(target, parsed), stats)
+		else
+			return Core.eval(target, parsed)
+		end
+	end
+
+	# returns true when the command was already evaluated on the engine thread, false when it was spawned or the
+	# error message when it failed
+	function libjuliaclj_spawnTask(id::Int, command::String)
+		mod = libjuliaclj_taskModules[id]
+		stats = getfield(mod, :libjuliaclj_evalStats)
+		parsed = Meta.parseall(command)
+		if libjuliaclj_isCompile(parsed)
+			try
+				libjuliaclj_evalTaskTimed(Main, parsed, stats)
+			catch err
+				return sprint(showerror, err)
+			end
+			return true
+		end
+		libjuliaclj_importMain(mod, parsed)
+		done = libjuliaclj_taskDone[id]
+		libjuliaclj_tasks[id] = Threads.@spawn begin
+			try
+				# lets the script cache evaluate cached sources inside the module
+				task_local_storage(:scriptCache_module, mod)
+				libjuliaclj_evalTaskTimed(mod, parsed, stats)
+			finally
+				# publishes the changes of the task before java reads the flag
+				Threads.atomic_fence()
+				unsafe_store!(done, 1)
+			end
+		end
+		return false
+	end
+
+	# lets a spawned task run that might have been scheduled on the engine thread
+	function libjuliaclj_yieldTasks()
+		yield()
+		return nothing
+	end
+
+	# called when the task set its flag, returns true when it succeeded or the error message when it failed
+	function libjuliaclj_finishTask(id::Int)
+		task = libjuliaclj_tasks[id]
+		# the flag is set right before the task returns
+		while !istaskdone(task)
+			yield()
+		end
+		delete!(libjuliaclj_tasks, id)
+		if istaskfailed(task)
+			return sprint(showerror, task.exception)
+		end
+		return true
+	end
+
+	function libjuliaclj_moveTaskValue(id::Int, variable::String)
+		Core.eval(libjuliaclj_taskModules[id], Expr(:(=), Symbol(variable), QuoteNode(libjuliaclj_taskValue)))
+		global libjuliaclj_taskValue = nothing
+		return nothing
+	end
+
+	function libjuliaclj_getTaskValue(id::Int, expression::String)
+		global libjuliaclj_taskValue = Core.eval(libjuliaclj_taskModules[id], Meta.parse(expression))
+		return nothing
+	end
+
+	function libjuliaclj_clearTaskValue()
+		global libjuliaclj_taskValue = nothing
+		return nothing
+	end
+
+end
@@ -13,7 +13,12 @@ import com.fasterxml.jackson.databind.node.NullNode;
 import clojure.lang.IFn;
 import de.invesdwin.context.integration.marshaller.MarshallerJsonJackson;
 import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
+import de.invesdwin.context.julia.runtime.contract.JuliaProperties;
 import de.invesdwin.context.julia.runtime.contract.JuliaResetContext;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaEvalEvent;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaEvalStats;
+import de.invesdwin.context.julia.runtime.contract.metrics.JuliaTransferEvent;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaScriptCache;
 import de.invesdwin.context.julia.runtime.libjuliaclj.LibjuliacljProperties;
 import de.invesdwin.context.julia.runtime.libjuliaclj.LibjuliacljScriptTaskEngineJulia;
 import de.invesdwin.util.assertions.Assertions;
@@ -46,16 +51,21 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
     public static final WrappedExecutorService EXECUTOR = Executors
             .newFixedThreadPool(InitializingJuliaEngineWrapper.class.getSimpleName(), 1);
     public static final UncheckedJuliaEngineWrapper INSTANCE = new UncheckedJuliaEngineWrapper();
+    static final String RUNTIME = "libjuliaclj";
 
     private final IReentrantLock lock;
+    private final JuliaScriptCache scriptCache;
     private final JuliaResetContext resetContext;
     private final ObjectMapper mapper;
     private IFn putGlobalFunction;
+    private IFn evalTimedFunction;
 
     private UncheckedJuliaEngineWrapper() {
         this.mapper = MarshallerJsonJackson.getInstance().getJsonMapper(false);
         this.lock = Locks.newReentrantLock(UncheckedJuliaEngineWrapper.class.getSimpleName() + "_lock");
-        this.resetContext = new JuliaResetContext(new LibjuliacljScriptTaskEngineJulia(this));
+        final LibjuliacljScriptTaskEngineJulia engine = new LibjuliacljScriptTaskEngineJulia(this);
+        this.scriptCache = new JuliaScriptCache(engine);
+        this.resetContext = new JuliaResetContext(engine);
     }
 
     public void init() {
@@ -74,14 +84,38 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
         this.putGlobalFunction = (IFn) libjulia_clj.java_api.runString(
                 "function libjuliaclj_putGlobal(variable, value); global __ans__ = value; eval(Meta.parse(\"global \"*variable*\" = __ans__\")); return nothing; end");
 
+        eval(ModuleJuliaEngineWrapper.INIT_SCRIPT);
+
+        this.scriptCache.init();
+        if (JuliaProperties.TASK_METRICS) {
+            JuliaEvalStats.init(new LibjuliacljScriptTaskEngineJulia(this));
+            this.evalTimedFunction = (IFn) libjulia_clj.java_api.runString(
+                    "function libjuliaclj_evalTimed(command); return evalStats_timed(() -> Core.eval(Main, Meta.parseall(command))); end");
+        }
         this.resetContext.init();
     }
 
     @Override
     public void eval(final String command) {
+        final JuliaEvalEvent event = new JuliaEvalEvent();
+        event.begin();
+        try {
+            evalUnmeasured(command);
+            event.success();
+        } finally {
+            event.finish(RUNTIME, command);
+        }
+    }
+
+    private void evalUnmeasured(final String command) {
         final String adjCommand = command + ";\ntrue";
         IScriptTaskRunnerJulia.LOG.debug("> %s", command);
-        final Object result = libjulia_clj.java_api.runString(adjCommand);
+        final Object result;
+        if (evalTimedFunction != null) {
+            result = evalTimedFunction.invoke(adjCommand);
+        } else {
+            result = libjulia_clj.java_api.runString(adjCommand);
+        }
         IScriptTaskRunnerJulia.LOG.debug("< %s", result);
         if (!(result instanceof Boolean) || !Booleans.checkedCast(result)) {
             throw new IllegalStateException("Command [" + command + "] failed: " + result);
@@ -90,6 +124,19 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
 
     @Override
     public JsonNode getAsJsonNode(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        JsonNode node = null;
+        try {
+            node = getAsJsonNodeUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, node);
+        }
+        return node;
+    }
+
+    private JsonNode getAsJsonNodeUnmeasured(final String variable) {
         final String command = "JSON.json(" + variable + ")";
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final Object result = libjulia_clj.java_api.runString(command);
@@ -500,12 +547,32 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
     @Override
     public void putByteVector(final String variable, final byte[] vector) {
         IScriptTaskRunnerJulia.LOG.debug("> put %s", variable);
-        final Object array = libjulia_clj.java_api.createArray("int8", new int[] { 1, vector.length }, vector);
-        putGlobalFunction.invoke(variable, array);
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        try {
+            final Object array = libjulia_clj.java_api.createArray("int8", new int[] { 1, vector.length }, vector);
+            putGlobalFunction.invoke(variable, array);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.PUT, variable, vector);
+        }
     }
 
     @Override
     public byte[] getByteVector(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        byte[] vector = null;
+        try {
+            vector = getByteVectorUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, vector);
+        }
+        return vector;
+    }
+
+    private byte[] getByteVectorUnmeasured(final String variable) {
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final Object array = libjulia_clj.java_api.runString("__ans__=" + variable + ";\n__ans__");
         if (array == null) {
@@ -525,12 +592,32 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
     @Override
     public void putShortVector(final String variable, final short[] vector) {
         IScriptTaskRunnerJulia.LOG.debug("> put %s", variable);
-        final Object array = libjulia_clj.java_api.createArray("int16", new int[] { 1, vector.length }, vector);
-        putGlobalFunction.invoke(variable, array);
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        try {
+            final Object array = libjulia_clj.java_api.createArray("int16", new int[] { 1, vector.length }, vector);
+            putGlobalFunction.invoke(variable, array);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.PUT, variable, vector);
+        }
     }
 
     @Override
     public short[] getShortVector(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        short[] vector = null;
+        try {
+            vector = getShortVectorUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, vector);
+        }
+        return vector;
+    }
+
+    private short[] getShortVectorUnmeasured(final String variable) {
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final Object array = libjulia_clj.java_api.runString("__ans__=" + variable + ";\n__ans__");
         if (array == null) {
@@ -546,12 +633,32 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
     @Override
     public void putIntegerVector(final String variable, final int[] vector) {
         IScriptTaskRunnerJulia.LOG.debug("> put %s", variable);
-        final Object array = libjulia_clj.java_api.createArray("int32", new int[] { 1, vector.length }, vector);
-        putGlobalFunction.invoke(variable, array);
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        try {
+            final Object array = libjulia_clj.java_api.createArray("int32", new int[] { 1, vector.length }, vector);
+            putGlobalFunction.invoke(variable, array);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.PUT, variable, vector);
+        }
     }
 
     @Override
     public int[] getIntegerVector(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        int[] vector = null;
+        try {
+            vector = getIntegerVectorUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, vector);
+        }
+        return vector;
+    }
+
+    private int[] getIntegerVectorUnmeasured(final String variable) {
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final Object array = libjulia_clj.java_api.runString("__ans__=" + variable + ";\n__ans__");
         if (array == null) {
@@ -567,12 +674,32 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
     @Override
     public void putLongVector(final String variable, final long[] vector) {
         IScriptTaskRunnerJulia.LOG.debug("> put %s", variable);
-        final Object array = libjulia_clj.java_api.createArray("int64", new int[] { 1, vector.length }, vector);
-        putGlobalFunction.invoke(variable, array);
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        try {
+            final Object array = libjulia_clj.java_api.createArray("int64", new int[] { 1, vector.length }, vector);
+            putGlobalFunction.invoke(variable, array);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.PUT, variable, vector);
+        }
     }
 
     @Override
     public long[] getLongVector(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        long[] vector = null;
+        try {
+            vector = getLongVectorUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, vector);
+        }
+        return vector;
+    }
+
+    private long[] getLongVectorUnmeasured(final String variable) {
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final Object array = libjulia_clj.java_api.runString("__ans__=" + variable + ";\n__ans__");
         if (array == null) {
@@ -588,12 +715,32 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
     @Override
     public void putFloatVector(final String variable, final float[] vector) {
         IScriptTaskRunnerJulia.LOG.debug("> put %s", variable);
-        final Object array = libjulia_clj.java_api.createArray("float32", new int[] { 1, vector.length }, vector);
-        putGlobalFunction.invoke(variable, array);
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        try {
+            final Object array = libjulia_clj.java_api.createArray("float32", new int[] { 1, vector.length }, vector);
+            putGlobalFunction.invoke(variable, array);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.PUT, variable, vector);
+        }
     }
 
     @Override
     public float[] getFloatVector(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        float[] vector = null;
+        try {
+            vector = getFloatVectorUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, vector);
+        }
+        return vector;
+    }
+
+    private float[] getFloatVectorUnmeasured(final String variable) {
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final Object array = libjulia_clj.java_api.runString("__ans__=" + variable + ";\n__ans__");
         if (array == null) {
@@ -609,12 +756,32 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
     @Override
     public void putDoubleVector(final String variable, final double[] vector) {
         IScriptTaskRunnerJulia.LOG.debug("> put %s", variable);
-        final Object array = libjulia_clj.java_api.createArray("float64", new int[] { 1, vector.length }, vector);
-        putGlobalFunction.invoke(variable, array);
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        try {
+            final Object array = libjulia_clj.java_api.createArray("float64", new int[] { 1, vector.length }, vector);
+            putGlobalFunction.invoke(variable, array);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.PUT, variable, vector);
+        }
     }
 
     @Override
     public double[] getDoubleVector(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        double[] vector = null;
+        try {
+            vector = getDoubleVectorUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, vector);
+        }
+        return vector;
+    }
+
+    private double[] getDoubleVectorUnmeasured(final String variable) {
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final Object array = libjulia_clj.java_api.runString("__ans__=" + variable + ";\n__ans__");
         if (array == null) {
@@ -630,23 +797,43 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
     @Override
     public void putByteMatrix(final String variable, final byte[][] matrix) {
         IScriptTaskRunnerJulia.LOG.debug("> put %s", variable);
-        final int cols = matrix[0].length;
-        final int rows = matrix.length;
-        final Object array = libjulia_clj.java_api
-                .runString(variable + " = Array{Int8}(undef, " + rows + ", " + cols + "); " + variable);
-        final NDBuffer tensor = Tensor.asTensor(array);
-        int i = 0;
-        for (int c = 0; c < cols; c++) {
-            for (int r = 0; r < rows; r++) {
-                tensor.ndWriteLong(i, matrix[r][c]);
-                i++;
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        try {
+            final int cols = matrix[0].length;
+            final int rows = matrix.length;
+            final Object array = libjulia_clj.java_api
+                    .runString(variable + " = Array{Int8}(undef, " + rows + ", " + cols + "); " + variable);
+            final NDBuffer tensor = Tensor.asTensor(array);
+            int i = 0;
+            for (int c = 0; c < cols; c++) {
+                for (int r = 0; r < rows; r++) {
+                    tensor.ndWriteLong(i, matrix[r][c]);
+                    i++;
+                }
             }
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.PUT, variable, matrix);
         }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public byte[][] getByteMatrix(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        byte[][] matrix = null;
+        try {
+            matrix = getByteMatrixUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, matrix);
+        }
+        return matrix;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[][] getByteMatrixUnmeasured(final String variable) {
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final Object array = libjulia_clj.java_api.runString("__ans__=" + variable + ";\n__ans__");
         if (array == null) {
@@ -680,23 +867,43 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
     @Override
     public void putShortMatrix(final String variable, final short[][] matrix) {
         IScriptTaskRunnerJulia.LOG.debug("> put %s", variable);
-        final int cols = matrix[0].length;
-        final int rows = matrix.length;
-        final Object array = libjulia_clj.java_api
-                .runString(variable + " = Array{Int16}(undef, " + rows + ", " + cols + "); " + variable);
-        final NDBuffer tensor = Tensor.asTensor(array);
-        int i = 0;
-        for (int c = 0; c < cols; c++) {
-            for (int r = 0; r < rows; r++) {
-                tensor.ndWriteLong(i, matrix[r][c]);
-                i++;
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        try {
+            final int cols = matrix[0].length;
+            final int rows = matrix.length;
+            final Object array = libjulia_clj.java_api
+                    .runString(variable + " = Array{Int16}(undef, " + rows + ", " + cols + "); " + variable);
+            final NDBuffer tensor = Tensor.asTensor(array);
+            int i = 0;
+            for (int c = 0; c < cols; c++) {
+                for (int r = 0; r < rows; r++) {
+                    tensor.ndWriteLong(i, matrix[r][c]);
+                    i++;
+                }
             }
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.PUT, variable, matrix);
         }
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public short[][] getShortMatrix(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        short[][] matrix = null;
+        try {
+            matrix = getShortMatrixUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, matrix);
+        }
+        return matrix;
+    }
+
+    private short[][] getShortMatrixUnmeasured(final String variable) {
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final Object array = libjulia_clj.java_api.runString("__ans__=" + variable + ";\n__ans__");
         if (array == null) {
@@ -730,23 +937,43 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
     @Override
     public void putIntegerMatrix(final String variable, final int[][] matrix) {
         IScriptTaskRunnerJulia.LOG.debug("> put %s", variable);
-        final int cols = matrix[0].length;
-        final int rows = matrix.length;
-        final Object array = libjulia_clj.java_api
-                .runString(variable + " = Array{Int32}(undef, " + rows + ", " + cols + "); " + variable);
-        final NDBuffer tensor = Tensor.asTensor(array);
-        int i = 0;
-        for (int c = 0; c < cols; c++) {
-            for (int r = 0; r < rows; r++) {
-                tensor.ndWriteLong(i, matrix[r][c]);
-                i++;
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        try {
+            final int cols = matrix[0].length;
+            final int rows = matrix.length;
+            final Object array = libjulia_clj.java_api
+                    .runString(variable + " = Array{Int32}(undef, " + rows + ", " + cols + "); " + variable);
+            final NDBuffer tensor = Tensor.asTensor(array);
+            int i = 0;
+            for (int c = 0; c < cols; c++) {
+                for (int r = 0; r < rows; r++) {
+                    tensor.ndWriteLong(i, matrix[r][c]);
+                    i++;
+                }
             }
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.PUT, variable, matrix);
         }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public int[][] getIntegerMatrix(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        int[][] matrix = null;
+        try {
+            matrix = getIntegerMatrixUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, matrix);
+        }
+        return matrix;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int[][] getIntegerMatrixUnmeasured(final String variable) {
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final Object array = libjulia_clj.java_api.runString("__ans__=" + variable + ";\n__ans__");
         if (array == null) {
@@ -780,23 +1007,43 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
     @Override
     public void putLongMatrix(final String variable, final long[][] matrix) {
         IScriptTaskRunnerJulia.LOG.debug("> put %s", variable);
-        final int cols = matrix[0].length;
-        final int rows = matrix.length;
-        final Object array = libjulia_clj.java_api
-                .runString(variable + " = Array{Int64}(undef, " + rows + ", " + cols + "); " + variable);
-        final NDBuffer tensor = Tensor.asTensor(array);
-        int i = 0;
-        for (int c = 0; c < cols; c++) {
-            for (int r = 0; r < rows; r++) {
-                tensor.ndWriteLong(i, matrix[r][c]);
-                i++;
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        try {
+            final int cols = matrix[0].length;
+            final int rows = matrix.length;
+            final Object array = libjulia_clj.java_api
+                    .runString(variable + " = Array{Int64}(undef, " + rows + ", " + cols + "); " + variable);
+            final NDBuffer tensor = Tensor.asTensor(array);
+            int i = 0;
+            for (int c = 0; c < cols; c++) {
+                for (int r = 0; r < rows; r++) {
+                    tensor.ndWriteLong(i, matrix[r][c]);
+                    i++;
+                }
             }
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.PUT, variable, matrix);
         }
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public long[][] getLongMatrix(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        long[][] matrix = null;
+        try {
+            matrix = getLongMatrixUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, matrix);
+        }
+        return matrix;
+    }
+
+    private long[][] getLongMatrixUnmeasured(final String variable) {
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final Object array = libjulia_clj.java_api.runString("__ans__=" + variable + ";\n__ans__");
         if (array == null) {
@@ -830,23 +1077,43 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
     @Override
     public void putFloatMatrix(final String variable, final float[][] matrix) {
         IScriptTaskRunnerJulia.LOG.debug("> put %s", variable);
-        final int cols = matrix[0].length;
-        final int rows = matrix.length;
-        final Object array = libjulia_clj.java_api
-                .runString(variable + " = Array{Float32}(undef, " + rows + ", " + cols + "); " + variable);
-        final NDBuffer tensor = Tensor.asTensor(array);
-        int i = 0;
-        for (int c = 0; c < cols; c++) {
-            for (int r = 0; r < rows; r++) {
-                tensor.ndWriteDouble(i, matrix[r][c]);
-                i++;
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        try {
+            final int cols = matrix[0].length;
+            final int rows = matrix.length;
+            final Object array = libjulia_clj.java_api
+                    .runString(variable + " = Array{Float32}(undef, " + rows + ", " + cols + "); " + variable);
+            final NDBuffer tensor = Tensor.asTensor(array);
+            int i = 0;
+            for (int c = 0; c < cols; c++) {
+                for (int r = 0; r < rows; r++) {
+                    tensor.ndWriteDouble(i, matrix[r][c]);
+                    i++;
+                }
             }
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.PUT, variable, matrix);
         }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public float[][] getFloatMatrix(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        float[][] matrix = null;
+        try {
+            matrix = getFloatMatrixUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, matrix);
+        }
+        return matrix;
+    }
+
+    @SuppressWarnings("unchecked")
+    private float[][] getFloatMatrixUnmeasured(final String variable) {
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final Object array = libjulia_clj.java_api.runString("__ans__=" + variable + ";\n__ans__");
         if (array == null) {
@@ -880,23 +1147,43 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
     @Override
     public void putDoubleMatrix(final String variable, final double[][] matrix) {
         IScriptTaskRunnerJulia.LOG.debug("> put %s", variable);
-        final int cols = matrix[0].length;
-        final int rows = matrix.length;
-        final Object array = libjulia_clj.java_api
-                .runString(variable + " = Array{Float64}(undef, " + rows + ", " + cols + "); " + variable);
-        final NDBuffer tensor = Tensor.asTensor(array);
-        int i = 0;
-        for (int c = 0; c < cols; c++) {
-            for (int r = 0; r < rows; r++) {
-                tensor.ndWriteDouble(i, matrix[r][c]);
-                i++;
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        try {
+            final int cols = matrix[0].length;
+            final int rows = matrix.length;
+            final Object array = libjulia_clj.java_api
+                    .runString(variable + " = Array{Float64}(undef, " + rows + ", " + cols + "); " + variable);
+            final NDBuffer tensor = Tensor.asTensor(array);
+            int i = 0;
+            for (int c = 0; c < cols; c++) {
+                for (int r = 0; r < rows; r++) {
+                    tensor.ndWriteDouble(i, matrix[r][c]);
+                    i++;
+                }
             }
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.PUT, variable, matrix);
         }
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public double[][] getDoubleMatrix(final String variable) {
+        final JuliaTransferEvent event = new JuliaTransferEvent();
+        event.begin();
+        double[][] matrix = null;
+        try {
+            matrix = getDoubleMatrixUnmeasured(variable);
+            event.success();
+        } finally {
+            event.finishValue(RUNTIME, JuliaTransferEvent.GET, variable, matrix);
+        }
+        return matrix;
+    }
+
+    private double[][] getDoubleMatrixUnmeasured(final String variable) {
         IScriptTaskRunnerJulia.LOG.debug("> get %s", variable);
         final Object array = libjulia_clj.java_api.runString("__ans__=" + variable + ";\n__ans__");
         if (array == null) {
@@ -1269,9 +1556,21 @@ public final class UncheckedJuliaEngineWrapper implements IJuliaEngineWrapper {
         resetContext.reset();
     }
 
+    /**
+     * Used between the tasks of a batch, the full reset happens when the batch is finished.
+     */
+    public void resetLight() {
+        resetContext.resetLight();
+    }
+
     @Override
     public IReentrantLock getLock() {
         return lock;
     }
 
+    @Override
+    public JuliaScriptCache getScriptCache() {
+        return scriptCache;
+    }
+
 }
@@ -5,6 +5,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 import org.junit.jupiter.api.Test;
 
 import de.invesdwin.context.julia.runtime.contract.InputsAndResultsTests;
+import de.invesdwin.context.julia.runtime.contract.callback.AsyncCallbackTest;
+import de.invesdwin.context.julia.runtime.contract.callback.MemoizedCallbackTest;
 import de.invesdwin.context.julia.runtime.contract.callback.ParametersAndReturnsTests;
 import de.invesdwin.context.julia.runtime.contract.callback.SimpleCallbackTest;
 import de.invesdwin.context.test.ATest;
@@ -27,6 +29,16 @@ public class LibjuliacljScriptTaskRunnerJuliaTest extends ATest {
         new InputsAndResultsTests(runner).testParallel();
     }
 
+    @Test
+    public void testParallelTaskModules() {
+        new InputsAndResultsTests(new LibjuliacljScriptTaskRunnerJulia(true)).testParallel();
+    }
+
+    @Test
+    public void testRunAll() {
+        new InputsAndResultsTests(runner).testRunAll();
+    }
+
     @Test
     public void testCallback() {
         new ParametersAndReturnsTests(runner).test();
@@ -42,4 +54,19 @@ public class LibjuliacljScriptTaskRunnerJuliaTest extends ATest {
         new SimpleCallbackTest(runner).testSimpleCallback();
     }
 
+    @Test
+    public void testMemoizedCallback() {
+        new MemoizedCallbackTest(runner).testMemoizedCallback();
+    }
+
+    @Test
+    public void testAsyncCallbackFailure() {
+        new AsyncCallbackTest(runner).testAsyncCallbackFailure();
+    }
+
+    @Test
+    public void testAsyncCallbackFailureAtDeinit() {
+        new AsyncCallbackTest(runner).testAsyncCallbackFailureAtDeinit();
+    }
+
 }
@@ -4,13 +4,22 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 import org.springframework.core.io.ClassPathResource;
 
-import de.invesdwin.context.integration.script.IScriptTaskEngine;
 import de.invesdwin.context.integration.script.IScriptTaskInputs;
 import de.invesdwin.context.integration.script.IScriptTaskResults;
-import de.invesdwin.context.julia.runtime.contract.AScriptTaskJulia;
-
+import de.invesdwin.context.julia.runtime.contract.ACompiledScriptTaskJulia;
+import de.invesdwin.context.julia.runtime.contract.script.JuliaCompiledScript;
+
+/**
+ * Many of these tasks can be combined via FusedScriptTaskJulia, though not threaded since SFrontiers keeps the model
+ * specification in global state. The package installation and loading at the start of the script is evaluated once
+ * per julia instance when the script is compiled, thus invocations and fused elements only run the model.
+ */
 @NotThreadSafe
-public class SfrontiersScriptTask extends AScriptTaskJulia<double[]> {
+public class SfrontiersScriptTask extends ACompiledScriptTaskJulia<double[]> {
+
+    private static final JuliaCompiledScript SCRIPT = new JuliaCompiledScript(
+            new ClassPathResource(SfrontiersScriptTask.class.getSimpleName() + ".jl", SfrontiersScriptTask.class),
+            new String[] { "y", "x", "cons" }, new String[] { "res" });
 
     private final double[] output;
     private final double[][] input;
@@ -35,8 +44,8 @@ public class SfrontiersScriptTask extends AScriptTaskJulia<double[]> {
     }
 
     @Override
-    public void executeScript(final IScriptTaskEngine engine) {
-        engine.eval(new ClassPathResource(SfrontiersScriptTask.class.getSimpleName() + ".jl", getClass()));
+    public JuliaCompiledScript getCompiledScript() {
+        return SCRIPT;
     }
 
     @Override
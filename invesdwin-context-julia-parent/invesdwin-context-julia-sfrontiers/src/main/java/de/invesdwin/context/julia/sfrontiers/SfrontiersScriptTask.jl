@@ -1,3 +1,5 @@
+# setup: everything up to "using LinearAlgebra" does not reference an input, thus the installation guards are evaluated
+# only once when the script is compiled and always before the using of their package
 using Pkg;
 isinstalled(pkg::String) = any(x -> x.name == pkg && x.is_direct_dep, values(Pkg.dependencies()));
 if !isinstalled("SFrontiers")
@@ -18,6 +20,7 @@ using LinearAlgebra;
 #x = [1.1 1.2 1.3;2.1 2.2 2.3;1.2 1.5 1.6;1.7 1.4 5.6;1.5 5.7 2.6;5.7 3.6 5.1;5.4 6.1 7.4;3.6 3.6 3.5;7.8 4.6 3.1;5.1 3.2 6.3]
 #cons = [1,1,1,1,1,1,1,1,1,1]
 
+# body: evaluated on each invocation
 # https://discourse.julialang.org/t/remove-identical-columns-from-matrix/62378/5
 # normalization does not change the final efficiency scores
 xNormalized = hcat(unique(normalize.(eachcol(x)))...)
@@ -9,6 +9,7 @@ import jakarta.inject.Inject;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import de.invesdwin.context.julia.runtime.contract.FusedScriptTaskJulia;
 import de.invesdwin.context.julia.runtime.contract.IScriptTaskRunnerJulia;
 import de.invesdwin.context.julia.runtime.jajub.JajubScriptTaskRunnerJulia;
 import de.invesdwin.context.julia.runtime.julia4j.Julia4jScriptTaskRunnerJulia;
@@ -58,6 +59,24 @@ public class SfrontiersScriptTaskTest extends ATest {
         }
     }
 
+    @Test
+    public void testFused() {
+        final double[] y = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+        final double[][] x = { { 1.1, 1.2, 1.3 }, { 2.1, 2.2, 2.3 }, { 1.2, 1.5, 1.6 }, { 1.7, 1.4, 5.6 },
+                { 1.5, 5.7, 2.6 }, { 5.7, 3.6, 5.1 }, { 5.4, 6.1, 7.4 }, { 3.6, 3.6, 3.5 }, { 7.8, 4.6, 3.1 },
+                { 5.1, 3.2, 6.3 } };
+        final double[] expected = new SfrontiersScriptTask(y, x).run(mainRunner);
+        final List<SfrontiersScriptTask> tasks = new ArrayList<SfrontiersScriptTask>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            tasks.add(new SfrontiersScriptTask(y, x));
+        }
+        final List<double[]> results = new FusedScriptTaskJulia<double[]>(tasks).run(mainRunner);
+        Assertions.checkEquals(ITERATIONS, results.size());
+        for (final double[] result : results) {
+            Assertions.assertThat(result).isEqualTo(expected);
+        }
+    }
+
     @Disabled("requires signal chaining via LD_PRELOAD workaround")
     @Test
     public void testJulia4j() {